@@ -0,0 +1,206 @@
+package enshud;
+
+import java.io.*;
+import java.util.*;
+
+import enshud.s1.lexer.Lexer;
+
+/**
+ * ベンチマークの入力となる pas ファイルを用意するクラスです。
+ * <p>
+ * 入力は次の二種類です。
+ * <ul>
+ * <li>{@code samples}: data/pas にある正しいプログラム (normal*.pas) 全て
+ * <li>{@code large}: {@link #generate(int) generate} メソッドで生成した大きなプログラム
+ * </ul>
+ * 生成したプログラムとベンチマークの出力ファイルは build/bench-data に置きます。
+ * 大きなプログラムの手続きの数はシステムプロパティ {@code bench.large.procedures} で変更できます。
+ */
+public final class BenchmarkPrograms {
+	/**
+	 * 入力の種類 {@code samples} を表す文字列です。
+	 */
+	public static final String SAMPLES = "samples";
+	/**
+	 * 入力の種類 {@code large} を表す文字列です。
+	 */
+	public static final String LARGE = "large";
+	/**
+	 * 生成するプログラムの手続きの数の既定値です。
+	 */
+	public static final int DEFAULT_LARGE_PROCEDURES = 2000;
+	
+	private static final String SAMPLE_DIR = "data/pas";
+	private static final String DATA_DIR = "build/bench-data";
+	
+	private static PrintStream savedOut = null;
+	private static PrintStream savedErr = null;
+	
+	private BenchmarkPrograms() {
+	}
+	
+	/**
+	 * 入力の種類に対応する pas ファイルの一覧をリターンします。
+	 * 大きなプログラムは生成されていなければ生成します。
+	 * @param input
+	 * 入力の種類 ({@link #SAMPLES SAMPLES} か {@link #LARGE LARGE})
+	 * @return
+	 * pas ファイル名の配列です。
+	 * @throws IOException
+	 */
+	public static String[] pasFiles(String input) throws IOException {
+		if(input.equals(SAMPLES)) {
+			File[] files = new File(SAMPLE_DIR).listFiles((dir, name) -> name.startsWith("normal") && name.endsWith(".pas"));
+			if(files == null || files.length == 0) throw new FileNotFoundException(SAMPLE_DIR + "/normal*.pas");
+			
+			String[] names = new String[files.length];
+			for(int i = 0; i < files.length; i++) {
+				names[i] = SAMPLE_DIR + "/" + files[i].getName();
+			}
+			Arrays.sort(names);
+			return names;
+		}
+		else if(input.equals(LARGE)) {
+			return new String[] { generate(Integer.getInteger("bench.large.procedures", DEFAULT_LARGE_PROCEDURES)) };
+		}
+		else {
+			throw new IllegalArgumentException("Unknown input: " + input);
+		}
+	}
+	
+	/**
+	 * ベンチマークの出力ファイル名をリターンします。
+	 * @param name
+	 * ファイル名
+	 * @return
+	 * build/bench-data にあるファイルの経路名です。
+	 */
+	public static String outputFile(String name) {
+		new File(DATA_DIR).mkdirs();
+		return DATA_DIR + "/" + name;
+	}
+	
+	/**
+	 * pas ファイルを字句解析した ts ファイルを build/bench-data に書き出します。
+	 * ts ファイルを読み込む run メソッドを計測するベンチマークの準備に使います。
+	 * @param pasFiles
+	 * pas ファイル名の配列
+	 * @return
+	 * pas ファイルと同じ順の ts ファイル名の配列です。
+	 */
+	public static String[] tsFiles(String[] pasFiles) {
+		String[] names = new String[pasFiles.length];
+		for(int i = 0; i < pasFiles.length; i++) {
+			names[i] = outputFile(new File(pasFiles[i]).getName().replace(".pas", ".ts"));
+			new Lexer().run(pasFiles[i], names[i]);
+		}
+		return names;
+	}
+	
+	/**
+	 * 指定された数の手続きを持つ、正しいプログラムを生成します。
+	 * 各手続きは代入・算術式・配列・論理式・if 文・while 文・手続き呼び出し・writeln を含みます。
+	 * 同じ手続きの数のプログラムが既にある場合は生成しません。
+	 * @param procedures
+	 * 手続きの数
+	 * @return
+	 * 生成したプログラムのファイル名です。
+	 * @throws IOException
+	 */
+	public static String generate(int procedures) throws IOException {
+		String fileName = outputFile("large" + procedures + ".pas");
+		if(new File(fileName).exists()) return fileName;
+		
+		StringBuilder sb = new StringBuilder();
+		sb.append("program large(output);\n");
+		sb.append("var g0, g1, g2: integer;\n");
+		sb.append("    flag: boolean;\n");
+		sb.append("    ch: char;\n");
+		sb.append("    buf: array [1..100] of integer;\n");
+		sb.append("\n");
+		for(int i = 0; i < procedures; i++) {
+			sb.append("{ procedure ").append(i).append(" }\n");
+			sb.append("procedure p").append(i).append("(n: integer; c: char);\n");
+			sb.append("var k, t: integer;\n");
+			sb.append("    ok: boolean;\n");
+			sb.append("begin\n");
+			sb.append("    k := 0;\n");
+			sb.append("    t := n * ").append(i % 9 + 2).append(" + g0 div 2 - (g1 mod 5);\n");
+			sb.append("    while k < 10 do\n");
+			sb.append("    begin\n");
+			sb.append("        buf[k + 1] := t + k;\n");
+			sb.append("        if buf[k + 1] > ").append(i % 50).append(" then\n");
+			sb.append("        begin\n");
+			sb.append("            g1 := g1 + 1\n");
+			sb.append("        end\n");
+			sb.append("        else\n");
+			sb.append("        begin\n");
+			sb.append("            g2 := g2 - 1\n");
+			sb.append("        end;\n");
+			sb.append("        k := k + 1\n");
+			sb.append("    end;\n");
+			sb.append("    ok := (t >= 0) and not (g1 = g2) or (c = 'x');\n");
+			sb.append("    if ok then\n");
+			sb.append("    begin\n");
+			sb.append("        g0 := g0 + t mod 7;\n");
+			sb.append("        writeln('p").append(i).append(" ', g0, c)\n");
+			sb.append("    end");
+			if(i > 0) {
+				sb.append(";\n");
+				sb.append("    if n > 0 then\n");
+				sb.append("    begin\n");
+				sb.append("        p").append(i - 1).append("(n - 1, c)\n");
+				sb.append("    end");
+			}
+			sb.append("\n");
+			sb.append("end;\n");
+			sb.append("\n");
+		}
+		sb.append("begin\n");
+		sb.append("    g0 := 1;\n");
+		sb.append("    g1 := 2;\n");
+		sb.append("    g2 := 3;\n");
+		sb.append("    ch := 'x';\n");
+		for(int i = 0; i < procedures; i++) {
+			sb.append("    p").append(i).append("(").append(i % 3).append(", ch);\n");
+		}
+		sb.append("    writeln(g0, g1, g2)\n");
+		sb.append("end.\n");
+		
+		File temporary = new File(fileName + ".tmp");
+		Writer out = new BufferedWriter(new FileWriter(temporary));
+		try {
+			out.write(sb.toString());
+		} finally {
+			out.close();
+		}
+		if(!temporary.renameTo(new File(fileName))) throw new IOException("Cannot create " + fileName);
+		return fileName;
+	}
+	
+	/**
+	 * 標準出力と標準エラー出力を捨てるようにします。
+	 * 各段階は "OK" などのメッセージを出力するので、計測の間はメッセージを捨てます。
+	 */
+	public static synchronized void silence() {
+		if(savedOut == null) {
+			savedOut = System.out;
+			savedErr = System.err;
+			PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+			System.setOut(discard);
+			System.setErr(discard);
+		}
+	}
+	
+	/**
+	 * {@link #silence() silence} メソッドで捨てるようにした標準出力と標準エラー出力を元に戻します。
+	 */
+	public static synchronized void restore() {
+		if(savedOut != null) {
+			System.setOut(savedOut);
+			System.setErr(savedErr);
+			savedOut = null;
+			savedErr = null;
+		}
+	}
+}
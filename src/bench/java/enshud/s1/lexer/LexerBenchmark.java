@@ -0,0 +1,60 @@
+package enshud.s1.lexer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import enshud.BenchmarkPrograms;
+
+/**
+ * pas 字句解析器のベンチマークです。
+ * 入力の全ての pas ファイルをトークン列に変換する時間を計測します。
+ * {@link #run() run} はファイルの読み込みと ts ファイルの書き出しを含めた {@link Lexer#run(String, String) Lexer.run} の時間です。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LexerBenchmark {
+	@Param({BenchmarkPrograms.SAMPLES, BenchmarkPrograms.LARGE})
+	public String input;
+	
+	private String[] pasFiles;
+	private String[] tsFiles;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		pasFiles = BenchmarkPrograms.pasFiles(input);
+		tsFiles = new String[pasFiles.length];
+		for(int i = 0; i < pasFiles.length; i++) {
+			tsFiles[i] = BenchmarkPrograms.outputFile(new File(pasFiles[i]).getName().replace(".pas", ".ts"));
+		}
+		BenchmarkPrograms.silence();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkPrograms.restore();
+	}
+	
+	@Benchmark
+	public void tokenize(Blackhole bh) {
+		Lexer lexer = new Lexer();
+		for(String pasFile: pasFiles) {
+			bh.consume(lexer.tokenize(pasFile));
+		}
+	}
+	
+	@Benchmark
+	public void run() {
+		Lexer lexer = new Lexer();
+		for(int i = 0; i < pasFiles.length; i++) {
+			lexer.run(pasFiles[i], tsFiles[i]);
+		}
+	}
+}
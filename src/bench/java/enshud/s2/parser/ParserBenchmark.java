@@ -0,0 +1,61 @@
+package enshud.s2.parser;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import enshud.BenchmarkPrograms;
+import enshud.s1.lexer.Lexer;
+import enshud.s1.lexer.LexerTokenList;
+
+/**
+ * 構文解析器のベンチマークです。
+ * 字句解析は準備の段階で済ませ、全てのトークン列を構文解析する時間だけを計測します。
+ * {@link #run() run} は準備の段階で書き出した ts ファイルの読み込みを含めた {@link Parser#run(String) Parser.run} の時間です。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+	@Param({BenchmarkPrograms.SAMPLES, BenchmarkPrograms.LARGE})
+	public String input;
+	
+	private LexerTokenList[] tokenLists;
+	private String[] tsFiles;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		String[] pasFiles = BenchmarkPrograms.pasFiles(input);
+		tokenLists = new LexerTokenList[pasFiles.length];
+		for(int i = 0; i < pasFiles.length; i++) {
+			tokenLists[i] = new Lexer().tokenize(pasFiles[i]);
+		}
+		BenchmarkPrograms.silence();
+		tsFiles = BenchmarkPrograms.tsFiles(pasFiles);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkPrograms.restore();
+	}
+	
+	@Benchmark
+	public void parse() {
+		Parser parser = new Parser();
+		for(LexerTokenList tokens: tokenLists) {
+			parser.run(tokens);
+		}
+	}
+	
+	@Benchmark
+	public void run() {
+		Parser parser = new Parser();
+		for(String tsFile: tsFiles) {
+			parser.run(tsFile);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package enshud.s3.checker;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import enshud.BenchmarkPrograms;
+import enshud.s1.lexer.Lexer;
+import enshud.s1.lexer.LexerTokenList;
+
+/**
+ * 意味解析器のベンチマークです。
+ * 字句解析は準備の段階で済ませ、全てのトークン列を構文解析・意味解析する時間だけを計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckerBenchmark {
+	@Param({BenchmarkPrograms.SAMPLES, BenchmarkPrograms.LARGE})
+	public String input;
+	
+	private LexerTokenList[] tokenLists;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		String[] pasFiles = BenchmarkPrograms.pasFiles(input);
+		tokenLists = new LexerTokenList[pasFiles.length];
+		for(int i = 0; i < pasFiles.length; i++) {
+			tokenLists[i] = new Lexer().tokenize(pasFiles[i]);
+		}
+		BenchmarkPrograms.silence();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkPrograms.restore();
+	}
+	
+	@Benchmark
+	public void check() {
+		Checker checker = new Checker();
+		for(LexerTokenList tokens: tokenLists) {
+			checker.run(tokens);
+		}
+	}
+}
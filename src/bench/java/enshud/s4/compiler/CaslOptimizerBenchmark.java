@@ -0,0 +1,62 @@
+package enshud.s4.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import enshud.BenchmarkPrograms;
+import enshud.s1.lexer.Lexer;
+
+/**
+ * CASL II プログラムの最適化のベンチマークです。
+ * 最適化前の cas ファイルは準備の段階で出力し、全ての cas ファイルを最適化する時間を計測します。
+ * <p>
+ * 最適化の時間はプログラムの大きさに対して急激に増えるので、既定では {@code samples} だけを計測します。
+ * 大きなプログラムは {@code -p input=large -Dbench.large.procedures=50} のように小さくして計測してください。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaslOptimizerBenchmark {
+	@Param({BenchmarkPrograms.SAMPLES})
+	public String input;
+	
+	private String[] casFiles;
+	private String[] optimizedFiles;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		String[] pasFiles = BenchmarkPrograms.pasFiles(input);
+		casFiles = new String[pasFiles.length];
+		optimizedFiles = new String[pasFiles.length];
+		for(int i = 0; i < pasFiles.length; i++) {
+			String name = new File(pasFiles[i]).getName().replace(".pas", "");
+			casFiles[i] = BenchmarkPrograms.outputFile(name + ".unoptimized.cas");
+			optimizedFiles[i] = BenchmarkPrograms.outputFile(name + ".optimized.cas");
+			
+			CompilerParseMain cpm = new CompilerParseMain();
+			if(!cpm.Initialize(new Lexer().tokenize(pasFiles[i])) || !cpm.doParser()) {
+				throw new IllegalStateException("Cannot compile " + pasFiles[i]);
+			}
+			cpm.createCAS(casFiles[i]);
+		}
+		BenchmarkPrograms.silence();
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkPrograms.restore();
+	}
+	
+	@Benchmark
+	public void optimize() {
+		for(int i = 0; i < casFiles.length; i++) {
+			CaslOptimizer.optimize(casFiles[i], optimizedFiles[i]);
+		}
+	}
+}
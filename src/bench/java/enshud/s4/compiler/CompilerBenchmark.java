@@ -0,0 +1,81 @@
+package enshud.s4.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import enshud.BenchmarkPrograms;
+import enshud.s1.lexer.Lexer;
+import enshud.s1.lexer.LexerTokenList;
+import enshud.s2.parser.Parser;
+import enshud.s2.parser.ParserTree;
+import enshud.s3.checker.Checker;
+
+/**
+ * コンパイラのベンチマークです。
+ * 字句解析は準備の段階で済ませ、全てのトークン列を構文解析・意味解析して cas ファイルを出力する時間を計測します。
+ * {@link #run() run} は準備の段階で書き出した ts ファイルの読み込みと CASL II プログラムの最適化を含めた {@link Compiler#run(String, String) Compiler.run} の時間です。
+ * {@link #allStages() allStages} は構文解析器・意味解析器・コンパイラの三段階を、一度だけ解析した結果を共有して実行する時間です。
+ * CASL II プログラムの最適化は {@link CaslOptimizerBenchmark CaslOptimizerBenchmark} で別に計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompilerBenchmark {
+	@Param({BenchmarkPrograms.SAMPLES, BenchmarkPrograms.LARGE})
+	public String input;
+	
+	private LexerTokenList[] tokenLists;
+	private String[] casFiles;
+	private String[] tsFiles;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		String[] pasFiles = BenchmarkPrograms.pasFiles(input);
+		tokenLists = new LexerTokenList[pasFiles.length];
+		casFiles = new String[pasFiles.length];
+		for(int i = 0; i < pasFiles.length; i++) {
+			tokenLists[i] = new Lexer().tokenize(pasFiles[i]);
+			casFiles[i] = BenchmarkPrograms.outputFile(new File(pasFiles[i]).getName().replace(".pas", ".cas"));
+		}
+		BenchmarkPrograms.silence();
+		tsFiles = BenchmarkPrograms.tsFiles(pasFiles);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		BenchmarkPrograms.restore();
+	}
+	
+	@Benchmark
+	public void compile() {
+		Compiler compiler = new Compiler();
+		for(int i = 0; i < tokenLists.length; i++) {
+			compiler.run(tokenLists[i], casFiles[i], false);
+		}
+	}
+	
+	@Benchmark
+	public void run() {
+		Compiler compiler = new Compiler();
+		for(int i = 0; i < tsFiles.length; i++) {
+			compiler.run(tsFiles[i], casFiles[i]);
+		}
+	}
+	
+	@Benchmark
+	public void allStages() {
+		Compiler compiler = new Compiler();
+		for(int i = 0; i < tokenLists.length; i++) {
+			ParserTree tree = ParserTree.parse(tokenLists[i]);
+			new Parser().run(tree);
+			new Checker().run(tree);
+			compiler.run(tree, casFiles[i], false);
+		}
+	}
+}
@@ -1,183 +1,273 @@
-package enshud.s1.lexer;
-
-import java.io.*;
-
-public class Lexer {
-	/**
-	 * サンプルmainメソッド．
-	 * 単体テストの対象ではないので自由に改変しても良い．
-	 */
-	public static void main(final String[] args) {
-		/*
-		// normalの確認
-		new Lexer().run("data/pas/normal01.pas", "tmp/out1.ts");
-		new Lexer().run("data/pas/normal02.pas", "tmp/out2.ts");
-		*/
-		new Lexer().run("data/custom/custom.pas", "tmp/custom.ts");
-	}
-
-	/**
-	 * TODO
-	 * 
-	 * 開発対象となるLexer実行メソッド．
-	 * 以下の仕様を満たすこと．
-	 * 
-	 * 仕様:
-	 * 第一引数で指定されたpasファイルを読み込み，トークン列に分割する．
-	 * トークン列は第二引数で指定されたtsファイルに書き出すこと．
-	 * 正常に処理が終了した場合は標準出力に"OK"を，
-	 * 入力ファイルが見つからない場合は標準エラーに"File not found"と出力して終了すること．
-	 * 
-	 * @param inputFileName 入力pasファイル名
-	 * @param outputFileName 出力tsファイル名
-	 */
-	public void run(final String inputFileName, final String outputFileName) {
-		LexerHelper lh = new LexerHelper(inputFileName, outputFileName);
-		int tokenID;
-		
-		/*pas 字句解析*/
-		try { //FileNotFoundException, IOException
-			lh.Start();
-			while(lh.C() != -1) { //EOF　ではない限り...
-				if(lh.CisSeparator()) { //記号分離子の場合
-					do {
-						lh.Skip();
-					}
-					while(lh.CisSeparator());
-				}
-				else if(lh.CisAlpha()) { //キーワード、識別子の場合
-					lh.Append();
-					while(lh.CisAlnum()) {
-						lh.Append();
-					}
-					tokenID = lh.getTokenID();
-					if(tokenID == -1) tokenID = 43;
-					lh.Register(tokenID);
-				}
-				else if(lh.CisNum()) { //符号なし整数の場合
-					lh.Append();
-					while(lh.CisNum()) {
-						lh.Append();
-					}
-					if(lh.CisAlpha()) {
-						/*<!--整数末尾の英字はエラー*/
-						while(lh.CisAlnum()) {
-							lh.Append();
-						}
-						lh.printErrorMessage(LexerHelper.Error.INVALID_CONSTANT);
-						return;
-						/*エラー処理はここまで-->*/
-					}
-					else{
-						tokenID = 44;
-						lh.Register(tokenID);
-					}
-				}
-				else if(lh.C() == '\'') { //文字列の場合
-					lh.Append();
-					if(lh.C() == '\'') {
-						/*<!--空の文字列はエラー*/
-						lh.printErrorMessage(LexerHelper.Error.NULL_STRING);
-						return;
-						/*エラー処理はここまで-->*/
-					}
-					while(lh.C() != '\'') {
-						if(lh.C() == '\n' || lh.C() == -1) {
-							/*<!--一行に含まれない文字列はエラー*/
-							lh.printErrorMessage(LexerHelper.Error.INVALID_STRING);
-							return;
-							/*エラー処理はここまで-->*/
-						}
-						else lh.Append();
-					}
-					lh.Append();
-					tokenID = 45;
-					lh.Register(tokenID);
-				}
-				else if(lh.C() == '{') { //注釈の場合
-					lh.Skip();
-					while(lh.C() != '}') {
-						if(lh.C() == -1) {
-							/*<!--注釈が最後まで終わらないとエラー*/
-							lh.printErrorMessage(LexerHelper.Error.UNTERMINATED_COMMENT);
-							return;
-							/*エラー処理はここまで-->*/
-						}
-						else lh.Skip();
-					}
-					lh.Skip();
-				}
-				else { //特殊記号の場合
-					switch(lh.C()) {
-					case '<':
-						lh.Append();
-						if(lh.C() == '>') lh.Append();
-						else if(lh.C() == '=') lh.Append();
-						break;
-					case '>':
-						lh.Append();
-						if(lh.C() == '=') lh.Append();
-						break;
-					case ':':
-						lh.Append();
-						if(lh.C() == '=') lh.Append();
-						break;
-					case '.':
-						lh.Append();
-						if(lh.C() == '.') lh.Append();
-						break;
-					case '+':
-					case '-':
-					case '*':
-					case '/':
-					case '=':
-					case '(':
-					case ')':
-					case '[':
-					case ']':
-					case ',':
-					case ';':
-						lh.Append();
-						break;
-					default:
-						/*<!--他の文字はエラー*/
-						lh.printErrorMessage(LexerHelper.Error.INVALID_CHARACTER);
-						return;
-						/*エラー処理はここまで-->*/
-					}
-					tokenID = lh.getTokenID();
-					if(tokenID == -1) {
-						/*MUST UNREACHABLE*/
-						/*<!--トークンIDが見つからないとエラー*/
-						lh.printErrorMessage(LexerHelper.Error.INVALID_SYMBOL);
-						return;
-						/*エラー処理はここまで-->*/
-					}
-					lh.Register(tokenID);
-				}
-			}
-			lh.End();
-		} catch (FileNotFoundException e) {
-			System.err.print("File not found");
-			return;
-		} catch (IOException e) {
-			/*<!--入出力例外処理*/
-			System.err.print("Unexpected IO exception");
-			return;
-			/*例外処理はここまで-->*/
-		}
-		
-		/*ts ファイル出力*/
-		try { //IOException
-			lh.writeTSFile();
-		} catch (IOException e) {
-			/*<!--入出力例外処理*/
-			System.err.print("Unexpected IO exception");
-			return;
-			/*例外処理はここまで-->*/
-		}
-		
-		/*正常終了*/
-		System.out.print("OK");
-	}
-}
+package enshud.s1.lexer;
+
+import java.io.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class Lexer {
+	/**
+	 * サンプルmainメソッド．
+	 * 単体テストの対象ではないので自由に改変しても良い．
+	 */
+	public static void main(final String[] args) {
+		/*
+		// normalの確認
+		new Lexer().run("data/pas/normal01.pas", "tmp/out1.ts");
+		new Lexer().run("data/pas/normal02.pas", "tmp/out2.ts");
+		*/
+		new Lexer().run("data/custom/custom.pas", "tmp/custom.ts");
+	}
+	
+	/**
+	 * TODO
+	 * 
+	 * 開発対象となるLexer実行メソッド．
+	 * 以下の仕様を満たすこと．
+	 * 
+	 * 仕様:
+	 * 第一引数で指定されたpasファイルを読み込み，トークン列に分割する．
+	 * トークン列は第二引数で指定されたtsファイルに書き出すこと．
+	 * 正常に処理が終了した場合は標準出力に"OK"を，
+	 * 入力ファイルが見つからない場合は標準エラーに"File not found"と出力して終了すること．
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @param outputFileName 出力tsファイル名
+	 */
+	public void run(final String inputFileName, final String outputFileName) {
+		run(inputFileName, outputFileName, null);
+	}
+	
+	/**
+	 * 大きな pas ファイルを並列に字句解析する {@link #run(String, String) run} メソッドです。
+	 * 入力ファイルを改行の位置で区間に分割し、共通のフォーク・ジョイン・プールで字句解析します。
+	 * 出力する ts ファイルとメッセージは {@link #run(String, String) run} メソッドと同じです。
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @param outputFileName 出力tsファイル名
+	 */
+	public void runParallel(final String inputFileName, final String outputFileName) {
+		run(inputFileName, outputFileName, ForkJoinPool.commonPool());
+	}
+	
+	private void run(final String inputFileName, final String outputFileName, final ForkJoinPool pool) {
+		LexerHelper lh = new LexerHelper(inputFileName, outputFileName);
+		
+		/*pas 字句解析*/
+		if(!analyze(lh, pool)) return;
+		
+		/*ts ファイル出力*/
+		try { //IOException
+			lh.writeTSFile();
+		} catch (IOException e) {
+			/*<!--入出力例外処理*/
+			System.err.print("Unexpected IO exception");
+			return;
+			/*例外処理はここまで-->*/
+		}
+		
+		/*正常終了*/
+		System.out.print("OK");
+	}
+	
+	/**
+	 * pasファイルを字句解析し、トークン列を ts ファイルを経由せずにメモリ上で返すメソッドです。
+	 * エラーの出力は {@link #run(String, String) run} メソッドと同じですが、
+	 * 正常終了時に標準出力へ"OK"は出力しません。
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @return
+	 * 字句解析に成功した場合はトークン列をリターンします。
+	 * エラーが発生した場合は {@code null} をリターンします。
+	 */
+	public LexerTokenList tokenize(final String inputFileName) {
+		return tokenize(inputFileName, null);
+	}
+	
+	/**
+	 * pasファイルを字句解析し、トークン列をメモリ上で返すメソッドです。
+	 * デバッグ用に ts ファイルも書き出したい場合は第二引数にファイル名を指定します。
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @param debugFileName 出力tsファイル名 (書き出さない場合は {@code null})
+	 * @return
+	 * 字句解析に成功した場合はトークン列をリターンします。
+	 * エラーが発生した場合は {@code null} をリターンします。
+	 */
+	public LexerTokenList tokenize(final String inputFileName, final String debugFileName) {
+		return tokenize(inputFileName, debugFileName, null);
+	}
+	
+	/**
+	 * pasファイルを並列に字句解析し、トークン列をメモリ上で返すメソッドです。
+	 * 結果は {@link #tokenize(String) tokenize} メソッドと同じです。
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @param pool 字句解析に使用するフォーク・ジョイン・プール
+	 * @return
+	 * 字句解析に成功した場合はトークン列をリターンします。
+	 * エラーが発生した場合は {@code null} をリターンします。
+	 */
+	public LexerTokenList tokenizeParallel(final String inputFileName, final ForkJoinPool pool) {
+		return tokenize(inputFileName, null, pool);
+	}
+	
+	private LexerTokenList tokenize(final String inputFileName, final String debugFileName, final ForkJoinPool pool) {
+		LexerHelper lh = new LexerHelper(inputFileName, debugFileName);
+		
+		/*pas 字句解析*/
+		if(!analyze(lh, pool)) return null;
+		LexerTokenList tokens = lh.getTokenList();
+		
+		/*ts ファイル出力 (デバッグ用)*/
+		if(debugFileName != null) {
+			try { //IOException
+				lh.writeTSFile();
+			} catch (IOException e) {
+				/*<!--入出力例外処理*/
+				System.err.print("Unexpected IO exception");
+				/*例外処理はここまで-->*/
+			}
+		}
+		
+		return tokens;
+	}
+	
+	/**
+	 * 字句解析したpasファイルの一部が編集された場合に、編集の影響を受ける部分だけを字句解析し直すメソッドです。
+	 * 編集位置の直前のトークンから、編集前のトークン列と同期するところまでだけを字句解析し、
+	 * それより前後のトークンは編集前のトークン列のものを (後ろは位置と行番号をずらして) 再利用するので、
+	 * 字句解析にかかる時間はファイルの大きさではなく編集の大きさに比例します。
+	 * 結果のトークン文字列・トークンID・行番号とエラーの出力は、編集後のpasファイルを
+	 * {@link #tokenize(String) tokenize} メソッドで字句解析した場合と同じです。
+	 * 編集前のトークン列は変更しません。
+	 * <p>
+	 * 識別子のシンボルIDは編集前のトークン列のものを引き継ぎ、新しい識別子には続きのシンボルIDを割り当てます。
+	 * そのため編集で消えた識別子のシンボルIDも残ります。
+	 * 
+	 * @param previous 編集前のトークン列 ({@link #tokenize(String) tokenize} メソッドか、このメソッドでリターンされたもの)
+	 * @param offset 編集位置 (編集前の入力の先頭からの文字数)
+	 * @param removedLength 編集位置から削除した文字数
+	 * @param insertedText 編集位置に挿入した文字列
+	 * @return
+	 * 字句解析に成功した場合は編集後のトークン列をリターンします。
+	 * エラーが発生した場合は {@code null} をリターンします。
+	 * @throws IllegalArgumentException
+	 * 編集前のトークン列が入力ファイルの内容を持たない場合 (ts ファイルから読み込んだ場合など) や、
+	 * 編集の範囲が入力の範囲外の場合に発生します。
+	 */
+	public LexerTokenList relex(final LexerTokenList previous, final int offset, final int removedLength, final String insertedText) {
+		if(!previous.hasSource())
+			throw new IllegalArgumentException("Token list has no source text");
+		if(offset < 0 || removedLength < 0 || offset + removedLength > previous.getTextLength())
+			throw new IllegalArgumentException("Edit out of range: " + offset + "+" + removedLength);
+		
+		return new LexerIncrementalScanner(previous, offset, removedLength, insertedText).scan();
+	}
+	
+	/**
+	 * pasファイルを必要な分だけ字句解析するトークンストリームを作成するメソッドです。
+	 * トークン列全体をメモリ上に保持しないので、大きな pas ファイルも一定のメモリで扱えます。
+	 * 字句解析のエラーはトークンを読み進めた時点で出力されます。
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @return
+	 * 入力ファイルを開くことができた場合はトークンストリームをリターンします。
+	 * エラーが発生した場合は {@code null} をリターンします。
+	 */
+	public LexerTokenStream stream(final String inputFileName) {
+		LexerHelper lh = new LexerHelper(inputFileName, null);
+		
+		try { //FileNotFoundException, IOException
+			lh.StartStream();
+		} catch (FileNotFoundException e) {
+			System.err.print("File not found");
+			return null;
+		} catch (IOException e) {
+			/*<!--入出力例外処理*/
+			System.err.print("Unexpected IO exception");
+			return null;
+			/*例外処理はここまで-->*/
+		}
+		
+		return new LexerTokenStream(this, lh);
+	}
+	
+	/**
+	 * 字句解析を別のスレッドで進めるトークンストリームを作成するメソッドです。
+	 * 字句解析はトークンを読み進める側と並行して、容量の決まったキューの分だけ先に進みます。
+	 * トークンの内容とエラーメッセージは {@link #stream(String) stream} メソッドと同じです。
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @return
+	 * 入力ファイルを開くことができた場合はトークンストリームをリターンします。
+	 * エラーが発生した場合は {@code null} をリターンします。
+	 */
+	public LexerTokenStream streamAsync(final String inputFileName) {
+		LexerHelper lh = new LexerHelper(inputFileName, null);
+		
+		try { //FileNotFoundException, IOException
+			lh.StartStream();
+		} catch (FileNotFoundException e) {
+			System.err.print("File not found");
+			return null;
+		} catch (IOException e) {
+			/*<!--入出力例外処理*/
+			System.err.print("Unexpected IO exception");
+			return null;
+			/*例外処理はここまで-->*/
+		}
+		
+		LexerTokenProducer producer = new LexerTokenProducer(this, lh);
+		producer.start();
+		return new LexerTokenStream(producer);
+	}
+	
+	/**
+	 * pas 字句解析の本体です。入力ファイル全体を {@link LexerScanner LexerScanner} で字句解析します。
+	 * エラーが発生した場合はエラーメッセージを出力します。
+	 * @param lh
+	 * 字句解析に使用する {@link LexerHelper LexerHelper} のインスタンス
+	 * @param pool
+	 * 並列に字句解析する場合はフォーク・ジョイン・プール、逐次に字句解析する場合は {@code null}
+	 * @return
+	 * 字句解析に成功した場合は {@code true}、失敗した場合は {@code false} をリターンします。
+	 */
+	private boolean analyze(LexerHelper lh, ForkJoinPool pool) {
+		/*pas 字句解析*/
+		try { //FileNotFoundException, IOException
+			lh.Start();
+			if(!((pool != null) ? lh.ScanParallel(pool) : lh.Scan())) return false;
+			lh.End();
+		} catch (FileNotFoundException e) {
+			System.err.print("File not found");
+			return false;
+		} catch (IOException e) {
+			/*<!--入出力例外処理*/
+			System.err.print("Unexpected IO exception");
+			return false;
+			/*例外処理はここまで-->*/
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * トークンを一つ取り出せるまで pas 字句解析を進めます。
+	 * 字句解析は {@link LexerHelper#ScanLines() ScanLines} メソッドで行ごとにまとめて {@link LexerScanner LexerScanner} で行い、
+	 * 登録したトークンは {@link LexerHelper#takeRegistered() takeRegistered} メソッドで取り出します。
+	 * エラーが発生した場合は、エラーより前のトークンを全て取り出した後でエラーメッセージを出力します。
+	 * @param lh
+	 * 字句解析を開始した {@link LexerHelper LexerHelper} のインスタンス
+	 * @return
+	 * トークンを登録した場合は 1、入力ファイルの最後に達した場合は 0、
+	 * エラーが発生した場合は -1 をリターンします。
+	 * @throws IOException
+	 */
+	int analyzeToken(LexerHelper lh) throws IOException {
+		while(!lh.hasRegistered()) {
+			int result = lh.ScanLines();
+			if(result <= 0) return result;
+		}
+		
+		return 1;
+	}
+}
@@ -34,43 +34,175 @@ final class LexerData {
 			"SASSIGN", "SCOMMA", "SDOT", "SIDENTIFIER", "SCONSTANT",
 			"SSTRING"
 	};
+	/**
+	 * 識別子のトークンIDです。
+	 */
+	public static final int IDENTIFIER_ID = 43;
+	/**
+	 * 符号なし整数のトークンIDです。
+	 */
+	public static final int CONSTANT_ID = 44;
+	/**
+	 * 文字列のトークンIDです。
+	 */
+	public static final int STRING_ID = 45;
 	
-	private final String string;
+	/**
+	 * キーワード・記号の最大文字数です。
+	 */
+	private static final int SymbolMaxLength;
+	/**
+	 * 文字数と先頭文字の組 ({@code (length << 7) | firstChar}) から
+	 * トークンIDの候補を引くための表です。{@link #SymbolData SymbolData} から作成します。
+	 */
+	private static final int[][] SymbolDispatch;
+	
+	static {
+		int max = 0;
+		for(int i = 0; i < SymbolData.length; i++) {
+			max = Math.max(max, SymbolData[i].length());
+		}
+		SymbolMaxLength = max;
+		
+		SymbolDispatch = new int[(max + 1) << 7][];
+		for(int i = 0; i < SymbolData.length; i++) {
+			int key = (SymbolData[i].length() << 7) | SymbolData[i].charAt(0);
+			int[] old = SymbolDispatch[key];
+			if(old == null) {
+				SymbolDispatch[key] = new int[] { i };
+			}
+			else {
+				int[] candidates = new int[old.length + 1];
+				System.arraycopy(old, 0, candidates, 0, old.length);
+				candidates[old.length] = i;
+				SymbolDispatch[key] = candidates;
+			}
+		}
+	}
+	
+	private final char[] buffer;
+	private final int offset;
+	private final int length;
 	private final int tokenID;
 	private final int lineNum;
+	private final String name;
+	private final int value;
 	
 	/**
 	 * データ・レコーディングのための
 	 * LexerData クラスのコンストラクタです。
-	 * @param string
-	 * レコードに登録する文字列
+	 * トークン文字列は入力の文字バッファ上の位置と長さで記録します。
+	 * @param buffer
+	 * 入力の文字バッファ
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
+	 * @param tokenID
+	 * トークンID
+	 * @param lineNum
+	 * 行番号
+	 */
+	LexerData(char[] buffer, int offset, int length, int tokenID, int lineNum){
+		this(buffer, offset, length, tokenID, lineNum, null, -1);
+	}
+	
+	/**
+	 * 識別子・符号なし整数のデータ・レコーディングのための
+	 * LexerData クラスのコンストラクタです。
+	 * @param buffer
+	 * 入力の文字バッファ
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
 	 * @param tokenID
 	 * トークンID
 	 * @param lineNum
 	 * 行番号
+	 * @param name
+	 * {@link LexerSymbolTable LexerSymbolTable} に登録された識別子の文字列 (識別子以外は {@code null})
+	 * @param value
+	 * トークンの値 (識別子はシンボルID、符号なし整数は {@link #parseConstant(char[], int, int) parseConstant} メソッドで求めた値)
 	 */
-	LexerData(String string, int tokenID, int lineNum){
-		this.string = string;
+	LexerData(char[] buffer, int offset, int length, int tokenID, int lineNum, String name, int value){
+		this.buffer = buffer;
+		this.offset = offset;
+		this.length = length;
 		this.tokenID = tokenID;
 		this.lineNum = lineNum;
+		this.name = name;
+		this.value = value;
 	}
 	
 	/**
-	 * 文字列からトークンIDを取得します。
-	 * @param str
-	 * トークンIDを取得する文字列
+	 * 文字バッファの一部からトークンIDを取得します。文字列は作成しません。
+	 * 文字数と先頭文字で候補を絞り込むので、{@link #SymbolData SymbolData} の全件と比較することはありません。
+	 * @param buffer
+	 * 文字バッファ
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
 	 * @return
 	 * トークンIDをリターンします。
 	 * トークンIDが見つからなかった場合は -1 をリターンします。
 	 */
-	public static int getTokenIDfromString(String str) {
-		for(int i = 0; i < SymbolData.length; i++) {
-			if(str.equals(SymbolData[i])) return i;
+	public static int getTokenIDfromChars(char[] buffer, int offset, int length) {
+		if(length <= 0 || length > SymbolMaxLength) return -1;
+		
+		char first = buffer[offset];
+		if(first >= 128) return -1;
+		if(length == 1 && first == '/') return 5;
+		
+		int[] candidates = SymbolDispatch[(length << 7) | first];
+		if(candidates != null) {
+			for(int i = 0; i < candidates.length; i++) {
+				if(regionEquals(SymbolData[candidates[i]], buffer, offset, length)) return candidates[i];
+			}
 		}
-		if(str.equals("/"))
-			return 5;
-		else
-			return -1;
+		return -1;
+	}
+	
+	static boolean regionEquals(String str, char[] buffer, int offset, int length) {
+		if(str.length() != length) return false;
+		for(int i = 0; i < length; i++) {
+			if(str.charAt(i) != buffer[offset + i]) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * 符号なし整数のトークン文字列から整数値を求めます。
+	 * 値の範囲は意味解析と同じく 0 以上 65535 以下で、{@link Integer#parseUnsignedInt(String) Integer.parseUnsignedInt}
+	 * で解釈できない場合やこの範囲にない場合は -1 をリターンします。
+	 * @param buffer
+	 * 文字バッファ
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
+	 * @return
+	 * 整数値です。
+	 */
+	public static int parseConstant(char[] buffer, int offset, int length) {
+		if(length <= 0) return -1;
+		
+		int value = 0;
+		for(int i = 0; i < length; i++) {
+			char c = buffer[offset + i];
+			if(c < '0' || c > '9') {
+				/*数字以外を含む場合は Integer.parseUnsignedInt と同じ規則で解釈する*/
+				try {
+					value = Integer.parseUnsignedInt(new String(buffer, offset, length));
+					return (value >= 0 && value < 65536) ? value : -1;
+				} catch (NumberFormatException e) {
+					return -1;
+				}
+			}
+			if(value < 65536) value = value * 10 + (c - '0');
+		}
+		return (value < 65536) ? value : -1;
 	}
 	
 	/**
@@ -89,11 +221,33 @@ final class LexerData {
 	}
 	
 	/**
-	 * データ・レコードから ts 書式の文字列を作成します。
+	 * データ・レコードのトークン文字列をリターンします。
 	 * @return
-	 * 作成した ts 書式の文字列です。
+	 * トークン文字列です。
 	 */
-	public String getTSData() {
-		return (string + "\t" + getTokenNamefromTokenID(tokenID) + "\t" + tokenID + "\t" + lineNum);
-	}
+	public String getString() { return (name != null) ? name : new String(buffer, offset, length); }
+	/**
+	 * データ・レコードのトークンIDをリターンします。
+	 * @return
+	 * トークンIDです。
+	 */
+	public int getTokenID() { return tokenID; }
+	/**
+	 * データ・レコードの行番号をリターンします。
+	 * @return
+	 * 行番号です。
+	 */
+	public int getLineNum() { return lineNum; }
+	/**
+	 * データ・レコードのシンボルIDをリターンします。
+	 * @return
+	 * 識別子の場合はシンボルID、それ以外の場合は -1 です。
+	 */
+	public int getSymbolID() { return (tokenID == IDENTIFIER_ID) ? value : -1; }
+	/**
+	 * データ・レコードの符号なし整数の値をリターンします。
+	 * @return
+	 * 符号なし整数の場合は 0 以上 65535 以下の値、値がこの範囲にない場合やそれ以外の場合は -1 です。
+	 */
+	public int getConstant() { return (tokenID == CONSTANT_ID) ? value : -1; }
 }
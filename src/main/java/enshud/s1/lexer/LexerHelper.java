@@ -1,21 +1,38 @@
 package enshud.s1.lexer;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * {@link enshud.s1.lexer.Lexer Lexer} クラスのヘルパクラスです。
  */
 final class LexerHelper {
+	/**
+	 * ストリームとして字句解析する場合の文字バッファの初期サイズです。
+	 */
+	static final int STREAM_BUFFER_SIZE = 8192;
+	
 	private final String inputFileName;
 	private final String outputFileName;
 	
-	private BufferedReader inputFile = null;
-	private ArrayList<LexerData> list = null;
+	private boolean active = false;
+	private Reader reader = null;
+	private LexerTokenList tokens = null;
+	private LexerSymbolTable symbols = null;
+	
+	private char[] buffer;
+	private int limit;
 	
-	private int c;
-	private String string;
+	/*Stream*/
+	private int pos;
 	private int lineNum;
+	private boolean eof;
+	private boolean inComment;
+	private LexerScanner failed;	//scanner that stopped at an error not yet printed
+	private LexerTokenList registered;	//tokens of the lines scanned last
+	private int taken;
 	
 	/**
 	 * LexerHelper クラスのコンストラクタです。
@@ -31,108 +48,208 @@ final class LexerHelper {
 	
 	/**
 	 * pas 字句解析を開始します。既に字句解析を開始している場合は何もせずにリターンします。
+	 * 入力ファイルの内容は {@link LexerSource LexerSource} で一度に文字バッファへ読み込まれます。
 	 * @throws FileNotFoundException
 	 * @throws IOException
 	 */
 	public void Start() throws FileNotFoundException, IOException {
-		if(inputFile == null) {
-			inputFile = new BufferedReader(new FileReader(inputFileName));
-			list = new ArrayList<LexerData>();
-			c = inputFile.read();
-			string = "";
-			lineNum = 1;
+		if(!active) {
+			LexerSource inputFile = LexerSource.load(inputFileName);
+			active = true;
+			symbols = new LexerSymbolTable();
+			buffer = inputFile.buffer();
+			limit = inputFile.length();
+			tokens = new LexerTokenList(buffer, limit, symbols);
 		}
 	}
 	
 	/**
-	 * 入力ファイル (*.pas) から読み込んだ文字をリターンします。
+	 * {@link #Start() Start} メソッドで読み込んだ文字バッファ全体を、
+	 * {@link LexerScanner LexerScanner} の文字種の表と記号のDFAで字句解析します。
+	 * エラーが発生した場合はエラーメッセージを出力します。
 	 * このメソッドを呼び出す前に必ず {@linkplain #Start() Start} メソッドで
 	 * pas 字句解析を開始してください。
 	 * @return
-	 * 現在の文字をリターンします。
+	 * 字句解析に成功した場合は {@code true}、失敗した場合は {@code false} をリターンします。
 	 */
-	public int C() {
-		if(inputFile != null)
-			return c;
+	public boolean Scan() {
+		if(active && tokens != null)
+			return new LexerScanner(buffer, limit, tokens).scan();
 		else
-			return -1;
+			return false;
 	}
 	
 	/**
-	 * 現在の文字 ({@link #C() C} メソッドのリターン値) をトークン文字列の最後に併合します
-	 * (pas 字句解析の開始直後にはトークン文字列は空の状態です)。
-	 * また、入力 pas ファイルから次の文字を読み込みます。
+	 * {@link #Start() Start} メソッドで読み込んだ文字バッファ全体を、
+	 * {@link LexerParallelScanner LexerParallelScanner} で区間に分割して並列に字句解析します。
+	 * 結果とエラーメッセージは {@link #Scan() Scan} メソッドと同じです。
 	 * このメソッドを呼び出す前に必ず {@linkplain #Start() Start} メソッドで
 	 * pas 字句解析を開始してください。
+	 * @param pool
+	 * 字句解析に使用するフォーク・ジョイン・プール
+	 * @return
+	 * 字句解析に成功した場合は {@code true}、失敗した場合は {@code false} をリターンします。
+	 */
+	public boolean ScanParallel(ForkJoinPool pool) {
+		if(active && tokens != null)
+			return new LexerParallelScanner(buffer, limit, tokens, pool).scan();
+		else
+			return false;
+	}
+	
+	/**
+	 * pas 字句解析をストリームとして開始します。既に字句解析を開始している場合は何もせずにリターンします。
+	 * 入力ファイルは文字バッファに少しずつ読み込まれ、読み終えた部分は捨てられます。
+	 * 登録したトークンはリストに蓄積せず、{@link #takeRegistered() takeRegistered} メソッドで一つずつ取り出します。
+	 * @throws FileNotFoundException
 	 * @throws IOException
 	 */
-	public void Append() throws IOException {
-		if(inputFile != null) {
-			if(c == '\n') lineNum++;
-			string += (char)c; c = inputFile.read();
+	public void StartStream() throws FileNotFoundException, IOException {
+		if(!active) {
+			reader = new FileReader(inputFileName);
+			active = true;
+			tokens = null;
+			symbols = new LexerSymbolTable();
+			buffer = new char[STREAM_BUFFER_SIZE];
+			limit = 0;
+			pos = 0;
+			lineNum = 1;
+			eof = false;
+			inComment = false;
+			failed = null;
+			registered = null;
+			taken = 0;
 		}
 	}
 	
 	/**
-	 * 現在の文字 ({@link #C() C} メソッドのリターン値) を読み飛ばし、
-	 * 入力 pas ファイルから次の文字を読み込みます。
-	 * このメソッドを呼び出す前に必ず {@linkplain #Start() Start} メソッドで
-	 * pas 字句解析を開始してください。
+	 * ストリームとして字句解析している場合に、入力ファイルの続きを読み込み、文字バッファにある完全な行
+	 * (入力ファイルの最後では残り全体) を {@link LexerScanner LexerScanner} でまとめて字句解析します。
+	 * トークンは改行をまたがないので、行の終わりで字句解析を区切っても結果は変わりません。
+	 * 行の終わりが注釈の途中である場合は、次の行を注釈の途中から字句解析します。
+	 * 登録したトークンは {@link #takeRegistered() takeRegistered} メソッドで取り出します。
+	 * エラーが発生した場合は、エラーより前のトークンを全て取り出した後の呼出しでエラーメッセージを出力します。
+	 * @return
+	 * 字句解析した場合は 1 (登録したトークンがない場合もあります)、入力ファイルの最後に達した場合は 0、
+	 * エラーが発生した場合は -1 をリターンします。
 	 * @throws IOException
 	 */
-	public void Skip() throws IOException {
-		if(inputFile != null) {
-			if(c == '\n') lineNum++;
-			c = inputFile.read();
+	public int ScanLines() throws IOException {
+		if(!active || reader == null) return 0;
+		
+		if(failed != null) {
+			failed.printErrorMessage(0);
+			failed = null;
+			eof = true;
+			inComment = false;
+			return -1;
+		}
+		if(eof) {
+			if(!inComment) return 0;
+			/*<!--注釈が最後まで終わらないとエラー*/
+			printErrorMessage(Error.UNTERMINATED_COMMENT, lineNum, null, -1);
+			inComment = false;
+			return -1;
+			/*エラー処理はここまで-->*/
 		}
+		
+		int end = readLines();
+		registered = new LexerTokenList(buffer, symbols);
+		taken = 0;
+		LexerScanner scanner = new LexerScanner(buffer, pos, end, registered);
+		scanner.scanRange(inComment, lineNum);
+		inComment = scanner.endsInComment();
+		lineNum = scanner.getLineNum();
+		if(scanner.getError() != null) failed = scanner;
+		pos = end;
+		return 1;
 	}
 	
 	/**
-	 * トークン文字列からトークンIDを調べます。
-	 * このメソッドを呼び出す前に必ず {@linkplain #Start() Start} メソッドで
-	 * pas 字句解析を開始してください。
+	 * 字句解析を終えた部分を文字バッファから捨て、文字バッファに完全な行が入るか入力ファイルの最後に達するまで続きを読み込みます。
 	 * @return
-	 * トークンIDをリターンします。
-	 * トークン文字列に対応するトークンIDが見つからない場合や
-	 * pas 字句解析をまだ開始していない場合は -1 をリターンします。
+	 * 最後の改行の直後の位置です。入力ファイルの最後に達した場合は文字バッファの有効な文字数です。
+	 * @throws IOException
 	 */
-	public int getTokenID() {
-		if(inputFile != null)
-			return LexerData.getTokenIDfromString(string);
-		else
-			return -1;
+	private int readLines() throws IOException {
+		if(pos > 0) {
+			System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+			limit -= pos;
+			pos = 0;
+		}
+		
+		int searched = limit; //残りの部分は改行を含まない
+		while(true) {
+			if(limit == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			int n = reader.read(buffer, limit, buffer.length - limit);
+			if(n < 0) {
+				eof = true;
+				return limit;
+			}
+			limit += n;
+			
+			for(int i = limit - 1; i >= searched; i--) {
+				if(buffer[i] == '\n') return i + 1;
+			}
+			searched = limit;
+		}
 	}
 	
 	/**
-	 * 現在のトークン文字列をデータ・レコードに登録し、トークン文字列を空にします。
-	 * このメソッドを呼び出す前に必ず {@linkplain #Start() Start} メソッドで
-	 * pas 字句解析を開始してください。
-	 * @param tokenID
-	 * 登録するトークン文字列のトークンID
+	 * ストリームとして字句解析している場合に、{@link #ScanLines() ScanLines} メソッドで登録したトークンがまだ残っているか調べます。
+	 * @return
+	 * 取り出していないトークンがある場合は {@code true} をリターンします。
 	 */
-	public void Register(int tokenID) {
-		if(inputFile != null) {
-			list.add(new LexerData(string, tokenID, lineNum));
-			string = "";
+	public boolean hasRegistered() {
+		return registered != null && taken < registered.size();
+	}
+	
+	/**
+	 * ストリームとして字句解析している場合に、登録したトークンを一つ取り出します。
+	 * 文字バッファは再利用されるので、トークン文字列を複製したデータ・レコードを作成します。
+	 * @return
+	 * 登録した順で次のトークンのデータ・レコードです。取り出していないトークンがない場合は {@code null} をリターンします。
+	 */
+	public LexerData takeRegistered() {
+		if(!hasRegistered()) return null;
+		
+		int index = taken++;
+		int tokenID = registered.getTokenID(index);
+		int offset = registered.getOffset(index);
+		int length = registered.getLength(index);
+		char[] text = Arrays.copyOfRange(buffer, offset, offset + length);
+		
+		if(tokenID == LexerData.IDENTIFIER_ID) {
+			int symbolID = registered.getSymbolID(index);
+			return new LexerData(text, 0, length, tokenID, registered.getLineNum(index), symbols.getName(symbolID), symbolID);
+		}
+		else if(tokenID == LexerData.CONSTANT_ID) {
+			return new LexerData(text, 0, length, tokenID, registered.getLineNum(index), null, registered.getConstant(index));
+		}
+		else {
+			return new LexerData(text, 0, length, tokenID, registered.getLineNum(index));
 		}
 	}
 	
 	/**
-	 * pas 字句解析を終了します。
+	 * pas 字句解析を終了します。ストリームとして字句解析している場合は入力ファイルを閉じます。
+	 * @throws IOException
 	 */
-	public void End() {
-		if(inputFile != null) {
-			try {
-				inputFile.close();
-			} catch (IOException e) {
-				//Close silently...
+	public void End() throws IOException {
+		if(active) {
+			active = false;
+			if(reader != null) {
+				reader.close();
+				reader = null;
 			}
-			inputFile = null;
 		}
 	}
 	
 	/**
 	 * pas 字句解析の結果を出力ファイル (*.ts) に書き込みます。
+	 * 出力ファイルの拡張子が {@link LexerTokenReader#BINARY_EXTENSION .tsb} の場合はバイナリ形式で書き込みます。
 	 * このメソッドが正しく動作するためには、
 	 * {@link #Start() Start} メソッドから始まり、
 	 * {@link #End() End} メソッドで終わる
@@ -140,20 +257,99 @@ final class LexerHelper {
 	 * @throws IOException
 	 */
 	public void writeTSFile() throws IOException {
-		if (inputFile == null && list != null) {
+		if (!active && tokens != null && LexerTokenReader.isBinaryFileName(outputFileName)) {
+			writeTSBFile();
+		}
+		else if (!active && tokens != null) {
 			BufferedWriter outputFile = new BufferedWriter(new FileWriter(outputFileName));
-			for (int i = 0; i < list.size(); i++) {
-				LexerData data = list.get(i);
-				outputFile.write(data.getTSData());
+			char[] text = tokens.getText();
+			for (int i = 0; i < tokens.size(); i++) {
+				int tokenID = tokens.getTokenID(i);
+				outputFile.write(text, tokens.getOffset(i), tokens.getLength(i));
+				outputFile.write('\t');
+				outputFile.write(LexerData.getTokenNamefromTokenID(tokenID));
+				outputFile.write('\t');
+				outputFile.write(Integer.toString(tokenID));
+				outputFile.write('\t');
+				outputFile.write(Integer.toString(tokens.getLineNum(i)));
 				outputFile.newLine();
 			}
 			outputFile.close();
-			list = null;
+			tokens = null;
 		}
 	}
 	
-	protected void finalize() {
-			this.End();
+	/**
+	 * pas 字句解析の結果をバイナリ形式で出力ファイル (*.tsb) に書き込みます。
+	 * 形式は {@link LexerTokenReader LexerTokenReader} クラスを参照してください。
+	 * @throws IOException
+	 */
+	private void writeTSBFile() throws IOException {
+		HashMap<String, Integer> entryMap = new HashMap<String, Integer>();
+		ArrayList<Integer> entries = new ArrayList<Integer>();
+		int[] entryIndex = new int[tokens.size()];
+		for (int i = 0; i < tokens.size(); i++) {
+			String key = tokens.getString(i);
+			Integer entry = entryMap.get(key);
+			if (entry == null || tokens.getTokenID(entries.get(entry)) != tokens.getTokenID(i)) {
+				entry = entries.size();
+				entryMap.put(key, entry);
+				entries.add(i);
+			}
+			entryIndex[i] = entry;
+		}
+		
+		OutputStream outputFile = new BufferedOutputStream(new FileOutputStream(outputFileName));
+		outputFile.write(LexerTokenReader.MAGIC);
+		outputFile.write(LexerTokenReader.VERSION);
+		writeVarint(outputFile, tokens.size());
+		writeVarint(outputFile, entries.size());
+		
+		for (int i = 0; i < entries.size(); i++) {
+			int token = entries.get(i);
+			byte[] text = tokens.getString(token).getBytes(StandardCharsets.UTF_8);
+			writeVarint(outputFile, tokens.getTokenID(token));
+			writeVarint(outputFile, text.length);
+			outputFile.write(text);
+		}
+		
+		int lastLineNum = 0;
+		for (int i = 0; i < tokens.size(); i++) {
+			int delta = tokens.getLineNum(i) - lastLineNum;
+			if (delta == 0) {
+				writeVarint(outputFile, entryIndex[i] << 1);
+			}
+			else {
+				writeVarint(outputFile, (entryIndex[i] << 1) | 1);
+				writeVarint(outputFile, (delta << 1) ^ (delta >> 31));
+			}
+			lastLineNum += delta;
+		}
+		
+		outputFile.close();
+		tokens = null;
+	}
+	
+	private static void writeVarint(OutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+	
+	/**
+	 * pas 字句解析の結果をトークン列としてリターンします。
+	 * ts ファイルを書き出す場合は {@link #writeTSFile() writeTSFile} メソッドより先に呼び出してください。
+	 * @return
+	 * 字句解析の結果のトークン列です。
+	 * pas 字句解析がまだ終了していない場合は {@code null} をリターンします。
+	 */
+	public LexerTokenList getTokenList() {
+		if (!active && tokens != null)
+			return tokens;
+		else
+			return null;
 	}
 	
 	public static boolean isAlpha(int c) {
@@ -181,59 +377,6 @@ final class LexerHelper {
 			return false;
 	}
 	
-	/**
-	 * 現在の文字 ({@link #C() C} メソッドのリターン値) がアルファベット(英字)なのか調べます。
-	 * @return
-	 * 現在の文字がアルファベットであれば {@code true}、
-	 * そうでなければ {@code false} をリターンします。
-	 */
-	public boolean CisAlpha() {
-		if(inputFile != null)
-			return isAlpha(c);
-		else
-			return false;
-	}
-	
-	/**
-	 * 現在の文字 ({@link #C() C} メソッドのリターン値) が数字なのか調べます。
-	 * @return
-	 * 現在の文字が数字であれば {@code true}、
-	 * そうでなければ {@code false} をリターンします。
-	 */
-	public boolean CisNum() {
-		if(inputFile != null)
-			return isNum(c);
-		else
-			return false;
-	}
-	
-	/**
-	 * 現在の文字 ({@link #C() C} メソッドのリターン値) がアルファベット(英字)、
-	 * もしくは数字なのか調べます。
-	 * @return
-	 * 現在の文字がアルファベットか数字であれば {@code true}、
-	 * そうでなければ {@code false} をリターンします。
-	 */
-	public boolean CisAlnum() {
-		if(inputFile != null)
-			return isAlnum(c);
-		else
-			return false;
-	}
-	
-	/**
-	 * 現在の文字 ({@link #C() C} メソッドのリターン値) が記号分離子なのか調べます。
-	 * @return
-	 * 現在の文字が記号分離子であれば {@code true}、
-	 * そうでなければ {@code false} をリターンします。
-	 */
-	public boolean CisSeparator() {
-		if(inputFile != null)
-			return isSeparator(c);
-		else
-			return false;
-	}
-	
 	/**
 	 * エラーの種類を表す列挙型です。
 	 */
@@ -260,24 +403,30 @@ final class LexerHelper {
 	 * pas 字句解析中に発生したエラーの内容を標準エラー出力に表示します。
 	 * @param errorType
 	 * エラーの種類を表す {@link Error Error} 列挙型
+	 * @param lineNum
+	 * エラーが発生した行番号
+	 * @param token
+	 * エラーが発生した時点のトークン文字列
+	 * @param c
+	 * エラーが発生した時点の文字
 	 */
-	public void printErrorMessage(Error errorType) {
+	static void printErrorMessage(Error errorType, int lineNum, String token, int c) {
 		String errorMessage = "Line " + lineNum + ": error: ";
 		
 		switch(errorType) {
 		case INVALID_SYMBOL:
 			/*MUST UNREACHABLE*/
-			errorMessage += "Invalid symbol \"" + string + "\"";
+			errorMessage += "Invalid symbol \"" + token + "\"";
 			break;
 		case INVALID_IDENTIFIER:
 			/*NOUSE*/
-			errorMessage += "Invalid identifier \"" + string + "\"";
+			errorMessage += "Invalid identifier \"" + token + "\"";
 			break;
 		case INVALID_CHARACTER:
 			errorMessage += "Invalid character \'" + (char)c + "\'";
 			break;
 		case INVALID_CONSTANT:
-			errorMessage += "Invalid constant \"" + string + "\"";
+			errorMessage += "Invalid constant \"" + token + "\"";
 			break;
 		case UNTERMINATED_COMMENT:
 			errorMessage += "Unterminated { comment";
@@ -0,0 +1,178 @@
+package enshud.s1.lexer;
+
+/**
+ * 入力ファイルの一部が編集された場合に、編集の影響を受ける部分だけを pas 字句解析し直すクラスです。
+ * <p>
+ * 字句解析は編集位置より前で終わる最後のトークンの直後から始めます。トークンの直後は必ず注釈の外なので、
+ * そこから {@link LexerScanner LexerScanner} で字句解析すれば、最初から字句解析した場合と同じ結果になります。
+ * 編集された部分より後ろの改行の直後まで字句解析したら、その位置が注釈の途中かどうかを
+ * 編集前のトークン列 (トークンの間にある注釈) から求め、字句解析の状態と一致すればそこで同期したものとします。
+ * 同期した位置より後ろの入力は編集前と同じなので、編集前のトークンを位置と行番号をずらして再利用します。
+ * 一致しない場合は字句解析する範囲を広げながら同期する位置を探します。
+ */
+final class LexerIncrementalScanner {
+	/**
+	 * 同期を確かめる位置が一致しなかった場合に、字句解析する範囲を広げる最初の文字数です。
+	 * 一致しないたびに倍にします。
+	 */
+	static final int INITIAL_STEP_LENGTH = 256;
+	
+	private final LexerTokenList previous;
+	private final int offset;
+	private final int removedLength;
+	private final String insertedText;
+	
+	/**
+	 * LexerIncrementalScanner クラスのコンストラクタです。
+	 * @param previous
+	 * 編集前の入力ファイルを字句解析したトークン列 (入力ファイルの内容を参照するもの)
+	 * @param offset
+	 * 編集位置
+	 * @param removedLength
+	 * 編集位置から削除した文字数
+	 * @param insertedText
+	 * 編集位置に挿入した文字列
+	 */
+	LexerIncrementalScanner(LexerTokenList previous, int offset, int removedLength, String insertedText) {
+		this.previous = previous;
+		this.offset = offset;
+		this.removedLength = removedLength;
+		this.insertedText = insertedText;
+	}
+	
+	/**
+	 * 編集後の入力ファイルを字句解析し直します。
+	 * エラーが発生した場合は最初から字句解析した場合と同じエラーメッセージを出力します。
+	 * @return
+	 * 字句解析に成功した場合は編集後のトークン列、エラーが発生した場合は {@code null} をリターンします。
+	 */
+	LexerTokenList scan() {
+		char[] oldText = previous.getText();
+		int oldLength = previous.getTextLength();
+		int oldCount = previous.size();
+		int insertedLength = insertedText.length();
+		int delta = insertedLength - removedLength;
+		
+		/*編集後の入力ファイルの内容*/
+		int length = oldLength + delta;
+		char[] text = new char[length];
+		System.arraycopy(oldText, 0, text, 0, offset);
+		insertedText.getChars(0, insertedLength, text, offset);
+		System.arraycopy(oldText, offset + removedLength, text, offset + insertedLength, oldLength - offset - removedLength);
+		
+		LexerTokenList tokens = new LexerTokenList(text, length, previous.getSymbols().copy());
+		tokens.ensureCapacity(oldCount + insertedLength + 1);
+		
+		/*編集位置より前で終わる最後のトークンまでは再利用する*/
+		int kept = lastTokenEndingBefore(offset) + 1;
+		tokens.addRange(previous, 0, kept, 0, 0);
+		
+		int pos = (kept > 0) ? previous.getOffset(kept - 1) + previous.getLength(kept - 1) : 0;
+		int lineNum = (kept > 0) ? previous.getLineNum(kept - 1) : 1;
+		boolean inComment = false;
+		
+		/*同期するまで字句解析する*/
+		int editEnd = offset + insertedLength;
+		int step = INITIAL_STEP_LENGTH;
+		int bound = nextLineStart(text, length, editEnd);
+		while(true) {
+			LexerScanner scanner = new LexerScanner(text, pos, bound, tokens);
+			scanner.scanRange(inComment, lineNum);
+			if(scanner.getError() != null) {
+				scanner.printErrorMessage(0);
+				return null;
+			}
+			pos = bound;
+			lineNum = scanner.getLineNum();
+			inComment = scanner.endsInComment();
+			if(pos == length) break;
+			
+			/*編集前の同じ位置の状態と比べる*/
+			int oldPos = pos - delta;
+			int next = firstTokenFrom(oldPos, kept);
+			int gap = (next > 0) ? previous.getOffset(next - 1) + previous.getLength(next - 1) : 0;
+			int oldLineNum = (next > 0) ? previous.getLineNum(next - 1) : 1;
+			boolean oldInComment = false;
+			for(int i = gap; i < oldPos; i++) {
+				char c = oldText[i];
+				if(c == '\n') oldLineNum++;
+				else if(!oldInComment && c == '{') oldInComment = true;
+				else if(oldInComment && c == '}') oldInComment = false;
+			}
+			if(oldInComment == inComment) {
+				/*同期した位置より後ろのトークンは再利用する*/
+				tokens.addRange(previous, next, oldCount, delta, lineNum - oldLineNum);
+				return tokens;
+			}
+			
+			bound = nextLineStart(text, length, Math.min(pos + step, length));
+			step *= 2;
+		}
+		
+		if(inComment) {
+			/*<!--注釈が最後まで終わらないとエラー*/
+			LexerHelper.printErrorMessage(LexerHelper.Error.UNTERMINATED_COMMENT, lineNum, null, -1);
+			return null;
+			/*エラー処理はここまで-->*/
+		}
+		
+		return tokens;
+	}
+	
+	/**
+	 * 指定された位置より前で終わる最後のトークンを探します。
+	 * トークンの直後の文字はトークンの終わりを決めるので、トークンの直後が指定された位置の場合は含めません。
+	 * @param position
+	 * 文字バッファ上の位置
+	 * @return
+	 * トークンの位置です。該当するトークンがない場合は -1 をリターンします。
+	 */
+	private int lastTokenEndingBefore(int position) {
+		int low = 0;
+		int high = previous.size();
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(previous.getOffset(mid) + previous.getLength(mid) < position) low = mid + 1;
+			else high = mid;
+		}
+		return low - 1;
+	}
+	
+	/**
+	 * 指定された位置以降で始まる最初のトークンを探します。
+	 * @param position
+	 * 文字バッファ上の位置
+	 * @param from
+	 * 探し始めるトークンの位置
+	 * @return
+	 * トークンの位置です。該当するトークンがない場合はトークンの数をリターンします。
+	 */
+	private int firstTokenFrom(int position, int from) {
+		int low = from;
+		int high = previous.size();
+		while(low < high) {
+			int mid = (low + high) >>> 1;
+			if(previous.getOffset(mid) < position) low = mid + 1;
+			else high = mid;
+		}
+		return low;
+	}
+	
+	/**
+	 * 指定された位置以降にある最初の改行の直後の位置をリターンします。
+	 * @param text
+	 * 文字バッファ
+	 * @param length
+	 * 文字バッファの有効な文字数
+	 * @param position
+	 * 探し始める位置
+	 * @return
+	 * 改行の直後の位置です。改行がない場合は文字バッファの有効な文字数をリターンします。
+	 */
+	private static int nextLineStart(char[] text, int length, int position) {
+		for(int i = position; i < length; i++) {
+			if(text[i] == '\n') return i + 1;
+		}
+		return length;
+	}
+}
@@ -0,0 +1,214 @@
+package enshud.s1.lexer;
+
+import java.util.concurrent.*;
+
+/**
+ * 大きな入力ファイルを複数の区間に分割し、フォーク・ジョイン・プールで並列に pas 字句解析するクラスです。
+ * <p>
+ * 区間は必ず改行の直後で区切ります。トークンは改行をまたがないので、区間の境界がトークンの途中になることはありませんが、
+ * 注釈は改行をまたぐことができるので、区間の先頭が注釈の途中である可能性があります。
+ * そこで各区間は「先頭が注釈の途中ではない」と仮定して投機的に {@link LexerScanner LexerScanner} で字句解析し、
+ * 結果を先頭の区間から順につなぐ時に、直前の区間が注釈の途中で終わっていた場合だけ
+ * 「先頭が注釈の途中である」として字句解析をやり直します。
+ * 文字列は一行に含まれなければならないので、区間の先頭が文字列の途中になることはありません。
+ * <p>
+ * 各区間は行番号を 1 から数え、独自の記号表を使います。
+ * つなぐ時に行番号をずらし、シンボルIDを全体の記号表のものに付け替えるので、
+ * 結果のトークン列とエラーメッセージは {@link LexerScanner#scan() LexerScanner.scan} メソッドで逐次に字句解析した場合と同じです。
+ */
+final class LexerParallelScanner {
+	/**
+	 * この文字数未満の入力は分割せずに逐次に字句解析します。
+	 */
+	static final int MIN_PARALLEL_LENGTH = 1 << 20;
+	/**
+	 * 区間の最小の文字数です。
+	 */
+	static final int MIN_CHUNK_LENGTH = 1 << 16;
+	/**
+	 * プールの並列度に対する区間の数の倍率です。区間の大きさのばらつきを吸収するために多めに分割します。
+	 */
+	static final int CHUNKS_PER_THREAD = 4;
+	
+	private final char[] buffer;
+	private final int limit;
+	private final LexerTokenList tokens;
+	private final ForkJoinPool pool;
+	
+	/**
+	 * LexerParallelScanner クラスのコンストラクタです。
+	 * @param buffer
+	 * 入力ファイルの内容を読み込んだ文字バッファ
+	 * @param limit
+	 * 文字バッファの有効な文字数
+	 * @param tokens
+	 * トークンを登録するトークン列 (文字バッファを参照するもの)
+	 * @param pool
+	 * 字句解析に使用するフォーク・ジョイン・プール
+	 */
+	LexerParallelScanner(char[] buffer, int limit, LexerTokenList tokens, ForkJoinPool pool) {
+		this.buffer = buffer;
+		this.limit = limit;
+		this.tokens = tokens;
+		this.pool = pool;
+	}
+	
+	/**
+	 * 文字バッファ全体を並列に字句解析し、トークンをトークン列に登録します。
+	 * エラーが発生した場合は逐次に字句解析した場合と同じエラーメッセージを出力します。
+	 * @return
+	 * 字句解析に成功した場合は {@code true}、エラーが発生した場合は {@code false} をリターンします。
+	 */
+	boolean scan() {
+		if(limit < MIN_PARALLEL_LENGTH || pool.getParallelism() < 2) {
+			return new LexerScanner(buffer, limit, tokens).scan();
+		}
+		
+		int[] bounds = split(Math.max(limit / (pool.getParallelism() * CHUNKS_PER_THREAD), MIN_CHUNK_LENGTH));
+		int chunkCount = bounds.length - 1;
+		LexerTokenList[] lists = new LexerTokenList[chunkCount];
+		LexerScanner[] scanners = new LexerScanner[chunkCount];
+		for(int i = 0; i < chunkCount; i++) {
+			lists[i] = new LexerTokenList(buffer, new LexerSymbolTable());
+			scanners[i] = new LexerScanner(buffer, bounds[i], bounds[i + 1], lists[i]);
+		}
+		
+		/*投機的な並列字句解析*/
+		pool.invoke(new ScanTask(scanners, 0, chunkCount));
+		
+		/*先頭の区間から順に、注釈の途中から始まる区間を字句解析し直し、行番号と識別子を決める*/
+		int[] lineOffsets = new int[chunkCount];
+		int[][] symbolMaps = new int[chunkCount][];
+		int lineOffset = 0;
+		boolean inComment = false;
+		for(int i = 0; i < chunkCount; i++) {
+			LexerScanner scanner = scanners[i];
+			if(inComment) {
+				/*投機に失敗した区間は注釈の途中から字句解析し直す*/
+				lists[i] = new LexerTokenList(buffer, new LexerSymbolTable());
+				scanner = new LexerScanner(buffer, bounds[i], bounds[i + 1], lists[i]);
+				scanner.scanRange(true);
+			}
+			
+			if(scanner.getError() != null) {
+				scanner.printErrorMessage(lineOffset);
+				return false;
+			}
+			lineOffsets[i] = lineOffset;
+			symbolMaps[i] = tokens.internSymbols(lists[i]);
+			lineOffset += scanner.getLineNum() - 1;
+			inComment = scanner.endsInComment();
+		}
+		if(inComment) {
+			/*<!--注釈が最後まで終わらないとエラー*/
+			LexerHelper.printErrorMessage(LexerHelper.Error.UNTERMINATED_COMMENT, lineOffset + 1, null, -1);
+			return false;
+			/*エラー処理はここまで-->*/
+		}
+		
+		/*各区間のトークンを並列にトークン列へ書き込む*/
+		int total = 0;
+		for(int i = 0; i < chunkCount; i++) {
+			total += lists[i].size();
+		}
+		int start = tokens.allocate(total);
+		int[] indexes = new int[chunkCount];
+		for(int i = 0; i < chunkCount; i++) {
+			indexes[i] = start;
+			start += lists[i].size();
+		}
+		pool.invoke(new CopyTask(tokens, lists, indexes, lineOffsets, symbolMaps, 0, chunkCount));
+		
+		return true;
+	}
+	
+	/**
+	 * 文字バッファを改行の直後で区間に分割します。
+	 * @param chunkLength
+	 * 区間のおおよその文字数
+	 * @return
+	 * 区間の境界の位置の配列です。先頭は 0、最後は文字バッファの有効な文字数です。
+	 */
+	private int[] split(int chunkLength) {
+		int[] bounds = new int[limit / chunkLength + 2];
+		int count = 0;
+		bounds[count++] = 0;
+		int pos = chunkLength;
+		while(pos < limit) {
+			while(pos < limit && buffer[pos - 1] != '\n') pos++;
+			if(pos >= limit) break;
+			bounds[count++] = pos;
+			pos += chunkLength;
+		}
+		bounds[count++] = limit;
+		
+		int[] result = new int[count];
+		System.arraycopy(bounds, 0, result, 0, count);
+		return result;
+	}
+	
+	/**
+	 * 区間の範囲を二分しながら、各区間を投機的に字句解析するタスクです。
+	 */
+	private static final class ScanTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final LexerScanner[] scanners;
+		private final int from;
+		private final int to;
+		
+		ScanTask(LexerScanner[] scanners, int from, int to) {
+			this.scanners = scanners;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to - from == 1) {
+				scanners[from].scanRange(false);
+			}
+			else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new ScanTask(scanners, from, mid), new ScanTask(scanners, mid, to));
+			}
+		}
+	}
+	
+	/**
+	 * 区間の範囲を二分しながら、各区間のトークンをトークン列に書き込むタスクです。
+	 */
+	private static final class CopyTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final LexerTokenList tokens;
+		private final LexerTokenList[] lists;
+		private final int[] indexes;
+		private final int[] lineOffsets;
+		private final int[][] symbolMaps;
+		private final int from;
+		private final int to;
+		
+		CopyTask(LexerTokenList tokens, LexerTokenList[] lists, int[] indexes, int[] lineOffsets, int[][] symbolMaps, int from, int to) {
+			this.tokens = tokens;
+			this.lists = lists;
+			this.indexes = indexes;
+			this.lineOffsets = lineOffsets;
+			this.symbolMaps = symbolMaps;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected void compute() {
+			if(to - from == 1) {
+				tokens.copy(lists[from], indexes[from], lineOffsets[from], symbolMaps[from]);
+			}
+			else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new CopyTask(tokens, lists, indexes, lineOffsets, symbolMaps, from, mid),
+						new CopyTask(tokens, lists, indexes, lineOffsets, symbolMaps, mid, to));
+			}
+		}
+	}
+}
@@ -0,0 +1,355 @@
+package enshud.s1.lexer;
+
+import java.util.*;
+
+/**
+ * 文字種の表と記号の決定性有限オートマトン (DFA) で pas 字句解析を行うクラスです。
+ * 入力ファイル全体を読み込んだ文字バッファを一つのループで走査し、
+ * {@link LexerHelper LexerHelper} のメソッドを一文字ごとに呼び出すことはしません。
+ * <p>
+ * 表はどちらも {@link LexerData LexerData} の静的データから作成します。
+ * 記号のDFAは {@link LexerData#SymbolData SymbolData} のうち英字で始まらないものから作成し、
+ * 各状態のトークンIDは {@link LexerData#getTokenIDfromChars(char[], int, int) getTokenIDfromChars} で求めるので、
+ * トークンを追加する場合は {@link LexerData LexerData} を変更するだけで済みます。
+ * キーワードは識別子と同じく英数字の並びとして読み込んだ後、{@link LexerData#getTokenIDfromChars(char[], int, int) getTokenIDfromChars} で判別します。
+ */
+final class LexerScanner {
+	/** 不正な文字です。 */
+	static final byte CLASS_INVALID = 0;
+	/** 記号分離子 (空白・タブ・改行) です。 */
+	static final byte CLASS_SEPARATOR = 1;
+	/** 英字です。 */
+	static final byte CLASS_ALPHA = 2;
+	/** 数字です。 */
+	static final byte CLASS_DIGIT = 3;
+	/** 文字列の開始 ({@code '}) です。 */
+	static final byte CLASS_QUOTE = 4;
+	/** 注釈の開始 ({@code {}) です。 */
+	static final byte CLASS_COMMENT = 5;
+	/** 記号の開始です。 */
+	static final byte CLASS_SYMBOL = 6;
+	
+	/**
+	 * ASCII 文字の文字種の表です。ASCII 以外の文字は全て {@link #CLASS_INVALID CLASS_INVALID} です。
+	 */
+	static final byte[] CharClass = new byte[128];
+	/**
+	 * 記号のDFAの遷移表です。状態 {@code s} で文字 {@code c} を読んだ後の状態が
+	 * {@code SymbolNext[(s << 7) | c]} に入っています。遷移がない場合は 0 (開始状態) です。
+	 */
+	private static final int[] SymbolNext;
+	/**
+	 * 記号のDFAの各状態で受理するトークンIDです。受理しない状態は -1 です。
+	 */
+	private static final int[] SymbolAccept;
+	
+	static {
+		for(int c = 0; c < 128; c++) {
+			if(LexerHelper.isSeparator(c)) CharClass[c] = CLASS_SEPARATOR;
+			else if(LexerHelper.isAlpha(c)) CharClass[c] = CLASS_ALPHA;
+			else if(LexerHelper.isNum(c)) CharClass[c] = CLASS_DIGIT;
+		}
+		CharClass['\''] = CLASS_QUOTE;
+		CharClass['{'] = CLASS_COMMENT;
+		
+		/*記号のDFA (トライ) の作成*/
+		ArrayList<String> states = new ArrayList<String>();
+		ArrayList<int[]> next = new ArrayList<int[]>();
+		states.add("");
+		next.add(new int[128]);
+		for(int c = 0; c < 128; c++) {
+			char[] single = { (char)c };
+			if(CharClass[c] == CLASS_INVALID && LexerData.getTokenIDfromChars(single, 0, 1) >= 0) {
+				addSymbol(String.valueOf((char)c), states, next);
+			}
+		}
+		for(String symbol : LexerData.SymbolData) {
+			char first = symbol.charAt(0);
+			if(first < 128 && CharClass[first] == CLASS_INVALID) {
+				addSymbol(symbol, states, next);
+			}
+		}
+		
+		SymbolNext = new int[states.size() << 7];
+		SymbolAccept = new int[states.size()];
+		for(int s = 0; s < states.size(); s++) {
+			System.arraycopy(next.get(s), 0, SymbolNext, s << 7, 128);
+			char[] str = states.get(s).toCharArray();
+			SymbolAccept[s] = (s == 0) ? -1 : LexerData.getTokenIDfromChars(str, 0, str.length);
+		}
+		for(int c = 0; c < 128; c++) {
+			if(SymbolNext[c] != 0) CharClass[c] = CLASS_SYMBOL;
+		}
+	}
+	
+	private static void addSymbol(String symbol, ArrayList<String> states, ArrayList<int[]> next) {
+		int state = 0;
+		for(int i = 0; i < symbol.length(); i++) {
+			char c = symbol.charAt(i);
+			if(c >= 128) return;
+			if(next.get(state)[c] == 0) {
+				next.get(state)[c] = states.size();
+				states.add(symbol.substring(0, i + 1));
+				next.add(new int[128]);
+			}
+			state = next.get(state)[c];
+		}
+	}
+	
+	private final char[] buffer;
+	private final int from;
+	private final int limit;
+	private final LexerTokenList tokens;
+	
+	private int lineNum;
+	private boolean inComment;
+	private LexerHelper.Error error;
+	private String errorToken;
+	private int errorChar;
+	
+	/**
+	 * 文字バッファ全体を字句解析する LexerScanner クラスのコンストラクタです。
+	 * @param buffer
+	 * 入力ファイルの内容を読み込んだ文字バッファ
+	 * @param limit
+	 * 文字バッファの有効な文字数
+	 * @param tokens
+	 * トークンを登録するトークン列 (文字バッファを参照するもの)
+	 */
+	LexerScanner(char[] buffer, int limit, LexerTokenList tokens) {
+		this(buffer, 0, limit, tokens);
+	}
+	
+	/**
+	 * 文字バッファの一部を字句解析する LexerScanner クラスのコンストラクタです。
+	 * 範囲の境界はトークンの途中にあってはいけません。行番号は範囲の先頭を 1 行目として数えます。
+	 * @param buffer
+	 * 入力ファイルの内容を読み込んだ文字バッファ
+	 * @param from
+	 * 範囲の開始位置
+	 * @param to
+	 * 範囲の終了位置 (この位置の文字は含みません)
+	 * @param tokens
+	 * トークンを登録するトークン列 (文字バッファを参照するもの)
+	 */
+	LexerScanner(char[] buffer, int from, int to, LexerTokenList tokens) {
+		this.buffer = buffer;
+		this.from = from;
+		this.limit = to;
+		this.tokens = tokens;
+	}
+	
+	/**
+	 * 文字の文字種をリターンします。
+	 * @param c
+	 * 文字
+	 * @return
+	 * 文字種です。
+	 */
+	static int classOf(int c) {
+		return (c >= 0 && c < 128) ? CharClass[c] : CLASS_INVALID;
+	}
+	
+	/**
+	 * 文字バッファ全体を字句解析し、トークンをトークン列に登録します。
+	 * エラーが発生した場合は {@link LexerHelper#printErrorMessage(LexerHelper.Error) LexerHelper.printErrorMessage} と同じ
+	 * エラーメッセージを出力します。
+	 * @return
+	 * 字句解析に成功した場合は {@code true}、エラーが発生した場合は {@code false} をリターンします。
+	 */
+	boolean scan() {
+		scanRange(false);
+		if(inComment) {
+			/*<!--注釈が最後まで終わらないとエラー*/
+			setError(LexerHelper.Error.UNTERMINATED_COMMENT, null, -1);
+			/*エラー処理はここまで-->*/
+		}
+		if(error != null) {
+			printErrorMessage(0);
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * 範囲を字句解析し、トークンをトークン列に登録します。
+	 * エラーが発生した場合はエラーメッセージを出力せず、{@link #getError() getError} メソッドで取り出せるように記録します。
+	 * 範囲の最後まで注釈が終わらない場合はエラーとせず、{@link #endsInComment() endsInComment} メソッドで調べられるようにします。
+	 * 行番号は範囲の先頭を 1 行目として数えます。
+	 * @param startsInComment
+	 * 範囲の先頭が注釈の途中である場合は {@code true}
+	 */
+	void scanRange(boolean startsInComment) {
+		scanRange(startsInComment, 1);
+	}
+	
+	/**
+	 * 範囲の先頭の行番号を指定して範囲を字句解析し、トークンをトークン列に登録します。
+	 * エラーと注釈の扱いは {@link #scanRange(boolean) scanRange(boolean)} メソッドと同じです。
+	 * @param startsInComment
+	 * 範囲の先頭が注釈の途中である場合は {@code true}
+	 * @param firstLineNum
+	 * 範囲の先頭の行番号
+	 */
+	void scanRange(boolean startsInComment, int firstLineNum) {
+		final char[] buf = buffer;
+		final int end = limit;
+		final LexerTokenList out = tokens;
+		int pos = from;
+		int lineNum = firstLineNum;
+		
+		inComment = false;
+		error = null;
+		if(startsInComment) {
+			/*注釈の途中から始まる場合は注釈の終わりまで読み飛ばす*/
+			while(pos < end && buf[pos] != '}') {
+				if(buf[pos] == '\n') lineNum++;
+				pos++;
+			}
+			if(pos == end) {
+				this.lineNum = lineNum;
+				inComment = true;
+				return;
+			}
+			pos++;
+		}
+		
+		while(pos < end) {
+			int c = buf[pos];
+			int start = pos;
+			
+			switch(classOf(c)) {
+			case CLASS_SEPARATOR: //記号分離子の場合
+				if(c == '\n') lineNum++;
+				pos++;
+				break;
+			case CLASS_ALPHA: { //キーワード、識別子の場合
+				do {
+					pos++;
+				}
+				while(pos < end && isAlnum(buf[pos]));
+				int tokenID = LexerData.getTokenIDfromChars(buf, start, pos - start);
+				if(tokenID == -1) tokenID = LexerData.IDENTIFIER_ID;
+				out.add(start, pos - start, tokenID, lineNum);
+				break;
+			}
+			case CLASS_DIGIT: //符号なし整数の場合
+				do {
+					pos++;
+				}
+				while(pos < end && classOf(buf[pos]) == CLASS_DIGIT);
+				if(pos < end && classOf(buf[pos]) == CLASS_ALPHA) {
+					/*<!--整数末尾の英字はエラー*/
+					while(pos < end && isAlnum(buf[pos])) pos++;
+					this.lineNum = lineNum;
+					setError(LexerHelper.Error.INVALID_CONSTANT, new String(buf, start, pos - start), -1);
+					return;
+					/*エラー処理はここまで-->*/
+				}
+				out.add(start, pos - start, LexerData.CONSTANT_ID, lineNum);
+				break;
+			case CLASS_QUOTE: //文字列の場合
+				pos++;
+				if(pos < end && buf[pos] == '\'') {
+					/*<!--空の文字列はエラー*/
+					this.lineNum = lineNum;
+					setError(LexerHelper.Error.NULL_STRING, null, -1);
+					return;
+					/*エラー処理はここまで-->*/
+				}
+				while(pos < end && buf[pos] != '\'' && buf[pos] != '\n') pos++;
+				if(pos == end || buf[pos] == '\n') {
+					/*<!--一行に含まれない文字列はエラー*/
+					this.lineNum = lineNum;
+					setError(LexerHelper.Error.INVALID_STRING, null, -1);
+					return;
+					/*エラー処理はここまで-->*/
+				}
+				pos++;
+				out.add(start, pos - start, LexerData.STRING_ID, lineNum);
+				break;
+			case CLASS_COMMENT: //注釈の場合
+				pos++;
+				while(pos < end && buf[pos] != '}') {
+					if(buf[pos] == '\n') lineNum++;
+					pos++;
+				}
+				if(pos == end) {
+					this.lineNum = lineNum;
+					inComment = true;
+					return;
+				}
+				pos++;
+				break;
+			case CLASS_SYMBOL: { //特殊記号の場合
+				int state = 0;
+				while(pos < end && (c = buf[pos]) < 128 && SymbolNext[(state << 7) | c] != 0) {
+					state = SymbolNext[(state << 7) | c];
+					pos++;
+				}
+				int tokenID = SymbolAccept[state];
+				if(tokenID == -1) {
+					/*MUST UNREACHABLE*/
+					/*<!--トークンIDが見つからないとエラー*/
+					this.lineNum = lineNum;
+					setError(LexerHelper.Error.INVALID_SYMBOL, new String(buf, start, pos - start), -1);
+					return;
+					/*エラー処理はここまで-->*/
+				}
+				out.add(start, pos - start, tokenID, lineNum);
+				break;
+			}
+			default:
+				/*<!--他の文字はエラー*/
+				this.lineNum = lineNum;
+				setError(LexerHelper.Error.INVALID_CHARACTER, null, c);
+				return;
+				/*エラー処理はここまで-->*/
+			}
+		}
+		
+		this.lineNum = lineNum;
+	}
+	
+	private void setError(LexerHelper.Error errorType, String token, int c) {
+		error = errorType;
+		errorToken = token;
+		errorChar = c;
+	}
+	
+	/**
+	 * {@link #scanRange(boolean) scanRange} メソッドで記録したエラーのエラーメッセージを出力します。
+	 * @param lineOffset
+	 * 範囲の先頭の行番号から 1 を引いた値 (範囲の行番号に足す値)
+	 */
+	void printErrorMessage(int lineOffset) {
+		LexerHelper.printErrorMessage(error, lineNum + lineOffset, errorToken, errorChar);
+	}
+	
+	/**
+	 * 字句解析を終えた位置の行番号をリターンします。
+	 * エラーが発生した場合はエラーが発生した位置の行番号です。
+	 * @return
+	 * 行番号です。
+	 */
+	int getLineNum() { return lineNum; }
+	
+	/**
+	 * 範囲の最後が注釈の途中であるか調べます。
+	 * @return
+	 * 範囲の最後まで注釈が終わらなかった場合は {@code true} をリターンします。
+	 */
+	boolean endsInComment() { return inComment; }
+	
+	/**
+	 * 字句解析で発生したエラーの種類をリターンします。
+	 * @return
+	 * エラーの種類です。エラーが発生しなかった場合は {@code null} をリターンします。
+	 */
+	LexerHelper.Error getError() { return error; }
+	
+	private static boolean isAlnum(int c) {
+		int charClass = classOf(c);
+		return (charClass == CLASS_ALPHA || charClass == CLASS_DIGIT);
+	}
+}
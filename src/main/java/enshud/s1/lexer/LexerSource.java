@@ -0,0 +1,88 @@
+package enshud.s1.lexer;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.*;
+
+/**
+ * 入力ファイル (*.pas) の内容を一つの文字バッファに読み込むクラスです。
+ * トークンはこのバッファの位置と長さだけで記録され、必要になった時点で初めて文字列になります。
+ */
+final class LexerSource {
+	/**
+	 * このサイズ (バイト) 以上のファイルはメモリマップで読み込みます。
+	 */
+	static final long MAPPED_THRESHOLD = 1L << 20;
+	
+	private final char[] buffer;
+	private final int length;
+	
+	private LexerSource(char[] buffer, int length) {
+		this.buffer = buffer;
+		this.length = length;
+	}
+	
+	/**
+	 * 入力ファイルの内容を文字バッファに読み込みます。
+	 * 文字コードは {@link FileReader FileReader} と同じく既定の文字コードを使用します。
+	 * @param fileName
+	 * 入力ファイル名 (*.pas)
+	 * @return
+	 * 読み込んだ LexerSource のインスタンスです。
+	 * @throws FileNotFoundException
+	 * @throws IOException
+	 */
+	public static LexerSource load(String fileName) throws FileNotFoundException, IOException {
+		FileInputStream in = new FileInputStream(fileName);
+		try {
+			FileChannel channel = in.getChannel();
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE) throw new IOException("Too large input file");
+			
+			ByteBuffer bytes;
+			if(size >= MAPPED_THRESHOLD) {
+				bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			}
+			else {
+				bytes = ByteBuffer.allocate((int)size);
+				while(bytes.hasRemaining()) {
+					if(channel.read(bytes) < 0) break;
+				}
+				bytes.flip();
+			}
+			return decode(bytes);
+		} finally {
+			in.close();
+		}
+	}
+	
+	private static LexerSource decode(ByteBuffer bytes) throws IOException {
+		CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		int capacity = (int)Math.ceil(bytes.remaining() * (double)decoder.maxCharsPerByte());
+		CharBuffer chars = CharBuffer.allocate(capacity);
+		
+		CoderResult result = decoder.decode(bytes, chars, true);
+		if(!result.isUnderflow()) result.throwException();
+		result = decoder.flush(chars);
+		if(!result.isUnderflow()) result.throwException();
+		
+		return new LexerSource(chars.array(), chars.position());
+	}
+	
+	/**
+	 * 文字バッファをリターンします。有効な文字は先頭から {@link #length() length} 文字までです。
+	 * @return
+	 * 文字バッファです。
+	 */
+	public char[] buffer() { return buffer; }
+	
+	/**
+	 * 有効な文字数をリターンします。
+	 * @return
+	 * 文字数です。
+	 */
+	public int length() { return length; }
+}
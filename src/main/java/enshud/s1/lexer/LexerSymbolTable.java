@@ -0,0 +1,125 @@
+package enshud.s1.lexer;
+
+import java.util.*;
+
+/**
+ * 識別子を一意な整数ID (シンボルID) に対応付ける記号表です。
+ * 同じ綴りの識別子には常に同じシンボルIDと同じ String のインスタンスが割り当てられるため、
+ * 後段では識別子を文字列ではなくシンボルIDで比較できます。
+ * シンボルIDは最初に現れた順に 0 から割り当てられます。
+ */
+final class LexerSymbolTable {
+	private String[] names;
+	private int[] hashes;
+	private int[] slots;
+	private int size;
+	
+	/**
+	 * LexerSymbolTable クラスのコンストラクタです。
+	 */
+	LexerSymbolTable() {
+		names = new String[16];
+		hashes = new int[16];
+		slots = new int[64];
+		Arrays.fill(slots, -1);
+		size = 0;
+	}
+	
+	/**
+	 * 登録されている識別子とシンボルIDが同じ記号表を複製します。
+	 * @return
+	 * 複製した記号表です。
+	 */
+	LexerSymbolTable copy() {
+		LexerSymbolTable table = new LexerSymbolTable();
+		table.names = Arrays.copyOf(names, names.length);
+		table.hashes = Arrays.copyOf(hashes, hashes.length);
+		table.slots = Arrays.copyOf(slots, slots.length);
+		table.size = size;
+		return table;
+	}
+	
+	/**
+	 * 文字バッファの一部を識別子として登録し、シンボルIDをリターンします。
+	 * 既に登録されている識別子の場合は文字列を作成しません。
+	 * @param buffer
+	 * 文字バッファ
+	 * @param offset
+	 * 識別子の開始位置
+	 * @param length
+	 * 識別子の長さ
+	 * @return
+	 * シンボルIDです。
+	 */
+	public int intern(char[] buffer, int offset, int length) {
+		int hash = 0;
+		for(int i = 0; i < length; i++) {
+			hash = 31 * hash + buffer[offset + i];
+		}
+		
+		int mask = slots.length - 1;
+		for(int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+			int id = slots[slot];
+			if(id < 0) {
+				id = add(new String(buffer, offset, length), hash);
+				slots[slot] = id;
+				if(size * 2 > slots.length) rehash();
+				return id;
+			}
+			if(hashes[id] == hash && LexerData.regionEquals(names[id], buffer, offset, length)) return id;
+		}
+	}
+	
+	/**
+	 * 識別子を登録し、シンボルIDをリターンします。
+	 * @param name
+	 * 識別子
+	 * @return
+	 * シンボルIDです。
+	 */
+	public int intern(String name) {
+		return intern(name.toCharArray(), 0, name.length());
+	}
+	
+	/**
+	 * シンボルIDに対応する識別子をリターンします。
+	 * @param id
+	 * シンボルID
+	 * @return
+	 * 識別子です。
+	 */
+	public String getName(int id) { return names[id]; }
+	
+	/**
+	 * 登録されている識別子の数をリターンします。
+	 * @return
+	 * 識別子の数です。
+	 */
+	public int size() { return size; }
+	
+	private int add(String name, int hash) {
+		if(size == names.length) {
+			names = Arrays.copyOf(names, size * 2);
+			hashes = Arrays.copyOf(hashes, size * 2);
+		}
+		names[size] = name;
+		hashes[size] = hash;
+		return size++;
+	}
+	
+	private void rehash() {
+		slots = new int[slots.length * 2];
+		Arrays.fill(slots, -1);
+		int mask = slots.length - 1;
+		for(int id = 0; id < size; id++) {
+			int slot = mix(hashes[id]) & mask;
+			while(slots[slot] >= 0) slot = (slot + 1) & mask;
+			slots[slot] = id;
+		}
+	}
+	
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+}
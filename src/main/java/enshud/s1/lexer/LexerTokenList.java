@@ -0,0 +1,429 @@
+package enshud.s1.lexer;
+
+import java.util.*;
+
+/**
+ * pas 字句解析の結果のトークン列を保持するクラスです。
+ * {@link Lexer#tokenize(String) Lexer.tokenize} メソッドで生成され、
+ * ts ファイルを経由せずに構文解析・意味解析・コンパイラに渡すことができます。
+ * <p>
+ * トークンごとにオブジェクトは作成せず、トークンID・行番号・値をそれぞれ {@code int} の配列で、
+ * トークン文字列を一つの文字バッファ上の位置と長さで保持します。
+ * トークンの値は識別子の場合はシンボルID、符号なし整数 (SCONSTANT) の場合は整数値です。
+ */
+public final class LexerTokenList {
+	private static final int INITIAL_CAPACITY = 256;
+	
+	private char[] text;
+	private int textLength;
+	private final boolean ownsText;
+	private final boolean source;
+	
+	private int[] tokenIDs;
+	private int[] lineNums;
+	private int[] offsets;
+	private int[] lengths;
+	private int[] values;
+	private int size;
+	
+	private final LexerSymbolTable symbols;
+	
+	/**
+	 * 既存の文字バッファを参照する LexerTokenList クラスのコンストラクタです。
+	 * トークンは {@link #add(int, int, int, int) add} メソッドで文字バッファ上の位置を指定して登録します。
+	 * @param text
+	 * トークン文字列を含む文字バッファ
+	 * @param symbols
+	 * 識別子を登録する記号表
+	 */
+	LexerTokenList(char[] text, LexerSymbolTable symbols) {
+		this(text, text.length, false, symbols);
+	}
+	
+	/**
+	 * 入力ファイルの内容を読み込んだ文字バッファを参照する LexerTokenList クラスのコンストラクタです。
+	 * トークン列とともに入力ファイルの内容が残るので、{@link Lexer#relex(LexerTokenList, int, int, String) Lexer.relex}
+	 * メソッドで編集された部分だけを字句解析し直すことができます。
+	 * @param text
+	 * 入力ファイルの内容を読み込んだ文字バッファ
+	 * @param textLength
+	 * 文字バッファの有効な文字数
+	 * @param symbols
+	 * 識別子を登録する記号表
+	 */
+	LexerTokenList(char[] text, int textLength, LexerSymbolTable symbols) {
+		this(text, textLength, true, symbols);
+	}
+	
+	private LexerTokenList(char[] text, int textLength, boolean source, LexerSymbolTable symbols) {
+		this.text = text;
+		this.textLength = textLength;
+		this.ownsText = false;
+		this.source = source;
+		this.symbols = symbols;
+		tokenIDs = new int[INITIAL_CAPACITY];
+		lineNums = new int[INITIAL_CAPACITY];
+		offsets = new int[INITIAL_CAPACITY];
+		lengths = new int[INITIAL_CAPACITY];
+		values = new int[INITIAL_CAPACITY];
+		size = 0;
+	}
+	
+	/**
+	 * 文字バッファを自分で持つ LexerTokenList クラスのコンストラクタです。
+	 * トークンは {@link #append(String, int, int) append} メソッドでトークン文字列を複製して登録します。
+	 * @param symbols
+	 * 識別子を登録する記号表
+	 */
+	LexerTokenList(LexerSymbolTable symbols) {
+		this.text = new char[INITIAL_CAPACITY];
+		this.textLength = 0;
+		this.ownsText = true;
+		this.source = false;
+		this.symbols = symbols;
+		tokenIDs = new int[INITIAL_CAPACITY];
+		lineNums = new int[INITIAL_CAPACITY];
+		offsets = new int[INITIAL_CAPACITY];
+		lengths = new int[INITIAL_CAPACITY];
+		values = new int[INITIAL_CAPACITY];
+		size = 0;
+	}
+	
+	/**
+	 * 文字バッファ上のトークン文字列からトークンの値を求めます。
+	 * 識別子は記号表に登録します。
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
+	 * @param tokenID
+	 * トークンID
+	 * @return
+	 * トークンの値です。
+	 */
+	int valueOf(int offset, int length, int tokenID) {
+		if(tokenID == LexerData.IDENTIFIER_ID)
+			return symbols.intern(text, offset, length);
+		else if(tokenID == LexerData.CONSTANT_ID)
+			return LexerData.parseConstant(text, offset, length);
+		else
+			return -1;
+	}
+	
+	/**
+	 * 文字バッファ上のトークン文字列をトークンとして登録します。
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
+	 * @param tokenID
+	 * トークンID
+	 * @param lineNum
+	 * 行番号
+	 */
+	void add(int offset, int length, int tokenID, int lineNum) {
+		add(offset, length, tokenID, lineNum, valueOf(offset, length, tokenID));
+	}
+	
+	/**
+	 * 文字バッファ上のトークン文字列を、既に求めたトークンの値とともに登録します。
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
+	 * @param tokenID
+	 * トークンID
+	 * @param lineNum
+	 * 行番号
+	 * @param value
+	 * {@link #valueOf(int, int, int) valueOf} メソッドで求めたトークンの値
+	 */
+	void add(int offset, int length, int tokenID, int lineNum, int value) {
+		if(size == tokenIDs.length) {
+			int capacity = size * 2;
+			tokenIDs = Arrays.copyOf(tokenIDs, capacity);
+			lineNums = Arrays.copyOf(lineNums, capacity);
+			offsets = Arrays.copyOf(offsets, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		tokenIDs[size] = tokenID;
+		lineNums[size] = lineNum;
+		offsets[size] = offset;
+		lengths[size] = length;
+		values[size] = value;
+		size++;
+	}
+	
+	/**
+	 * 同じ文字バッファを参照する別のトークン列の識別子を、このトークン列の記号表に登録します。
+	 * 別のトークン列のシンボルIDは最初に現れた順に付いているので、シンボルIDの順に登録すれば
+	 * 全てのトークンを一つずつ登録した場合と同じシンボルIDになります。
+	 * @param list
+	 * 別のトークン列
+	 * @return
+	 * 別のトークン列のシンボルIDから、このトークン列のシンボルIDへの対応表です。
+	 */
+	int[] internSymbols(LexerTokenList list) {
+		int[] symbolMap = new int[list.symbols.size()];
+		for(int id = 0; id < symbolMap.length; id++) {
+			symbolMap[id] = symbols.intern(list.symbols.getName(id));
+		}
+		return symbolMap;
+	}
+	
+	/**
+	 * 少なくとも指定された数のトークンを、配列を拡張せずに登録できるようにします。
+	 * @param capacity
+	 * トークンの数
+	 */
+	void ensureCapacity(int capacity) {
+		if(capacity > tokenIDs.length) {
+			tokenIDs = Arrays.copyOf(tokenIDs, capacity);
+			lineNums = Arrays.copyOf(lineNums, capacity);
+			offsets = Arrays.copyOf(offsets, capacity);
+			lengths = Arrays.copyOf(lengths, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+	}
+	
+	/**
+	 * トークン列の最後に指定された数のトークンの領域を確保します。
+	 * 確保した領域は {@link #copy(LexerTokenList, int, int, int[]) copy} メソッドで埋めてください。
+	 * @param count
+	 * トークンの数
+	 * @return
+	 * 確保した領域の先頭のトークンの位置です。
+	 */
+	int allocate(int count) {
+		if(size + count > tokenIDs.length) {
+			ensureCapacity(Math.max(tokenIDs.length * 2, size + count));
+		}
+		int start = size;
+		size += count;
+		return start;
+	}
+	
+	/**
+	 * 同じ文字バッファを参照する別のトークン列のトークンを、{@link #allocate(int) allocate} メソッドで確保した領域に書き込みます。
+	 * 書き込む範囲が重ならなければ、複数のスレッドから同時に呼び出すことができます。
+	 * @param list
+	 * 別のトークン列
+	 * @param index
+	 * 書き込む先頭のトークンの位置
+	 * @param lineOffset
+	 * 行番号に足す値
+	 * @param symbolMap
+	 * {@link #internSymbols(LexerTokenList) internSymbols} メソッドで求めたシンボルIDの対応表
+	 */
+	void copy(LexerTokenList list, int index, int lineOffset, int[] symbolMap) {
+		int n = list.size;
+		System.arraycopy(list.tokenIDs, 0, tokenIDs, index, n);
+		System.arraycopy(list.offsets, 0, offsets, index, n);
+		System.arraycopy(list.lengths, 0, lengths, index, n);
+		for(int i = 0; i < n; i++) {
+			lineNums[index + i] = list.lineNums[i] + lineOffset;
+			int value = list.values[i];
+			values[index + i] = (list.tokenIDs[i] == LexerData.IDENTIFIER_ID) ? symbolMap[value] : value;
+		}
+	}
+	
+	/**
+	 * 文字バッファが同じ内容の別のトークン列のトークンの一部を、位置と行番号をずらして最後に登録します。
+	 * 別のトークン列と記号表の内容が同じ (記号表を複製した) 場合に使用します。シンボルIDは付け替えません。
+	 * @param list
+	 * 別のトークン列
+	 * @param from
+	 * 登録する最初のトークンの位置
+	 * @param to
+	 * 登録する最後のトークンの次の位置
+	 * @param offsetDelta
+	 * 文字バッファ上の開始位置に足す値
+	 * @param lineDelta
+	 * 行番号に足す値
+	 */
+	void addRange(LexerTokenList list, int from, int to, int offsetDelta, int lineDelta) {
+		int index = allocate(to - from);
+		System.arraycopy(list.tokenIDs, from, tokenIDs, index, to - from);
+		System.arraycopy(list.lengths, from, lengths, index, to - from);
+		System.arraycopy(list.values, from, values, index, to - from);
+		for(int i = from; i < to; i++, index++) {
+			offsets[index] = list.offsets[i] + offsetDelta;
+			lineNums[index] = list.lineNums[i] + lineDelta;
+		}
+	}
+	
+	/**
+	 * トークン文字列を文字バッファの最後に複製し、トークンとして登録します。
+	 * {@link #LexerTokenList(LexerSymbolTable) 文字バッファを自分で持つ} 場合のみ使用できます。
+	 * @param string
+	 * トークン文字列
+	 * @param tokenID
+	 * トークンID
+	 * @param lineNum
+	 * 行番号
+	 */
+	void append(String string, int tokenID, int lineNum) {
+		if(!ownsText) throw new IllegalStateException("Shared text buffer");
+		
+		int length = string.length();
+		if(textLength + length > text.length) {
+			text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + length));
+		}
+		string.getChars(0, length, text, textLength);
+		add(textLength, length, tokenID, lineNum);
+		textLength += length;
+	}
+	
+	/**
+	 * 文字の配列上のトークン文字列を文字バッファの最後に複製し、トークンとして登録します。
+	 * {@link #append(String, int, int) append} メソッドと同じですが、トークン文字列のオブジェクトを作成しません。
+	 * @param buffer
+	 * トークン文字列を含む文字の配列
+	 * @param offset
+	 * トークン文字列の開始位置
+	 * @param length
+	 * トークン文字列の長さ
+	 * @param tokenID
+	 * トークンID
+	 * @param lineNum
+	 * 行番号
+	 */
+	void append(char[] buffer, int offset, int length, int tokenID, int lineNum) {
+		if(!ownsText) throw new IllegalStateException("Shared text buffer");
+		
+		if(textLength + length > text.length) {
+			text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + length));
+		}
+		System.arraycopy(buffer, offset, text, textLength, length);
+		add(textLength, length, tokenID, lineNum);
+		textLength += length;
+	}
+	
+	/**
+	 * トークン文字列を含む文字バッファをリターンします。
+	 * @return
+	 * 文字バッファです。
+	 */
+	char[] getText() { return text; }
+	
+	/**
+	 * 文字バッファの有効な文字数をリターンします。
+	 * @return
+	 * 文字数です。
+	 */
+	int getTextLength() { return textLength; }
+	
+	/**
+	 * 文字バッファが入力ファイルの内容そのものであるか調べます。
+	 * @return
+	 * {@link #LexerTokenList(char[], int, LexerSymbolTable) 入力ファイルの内容を読み込んだ文字バッファを参照する} 場合は {@code true} をリターンします。
+	 */
+	boolean hasSource() { return source; }
+	
+	/**
+	 * 識別子を登録する記号表をリターンします。
+	 * @return
+	 * 記号表です。
+	 */
+	LexerSymbolTable getSymbols() { return symbols; }
+	
+	/**
+	 * 指定された位置のトークン文字列の、文字バッファ上の開始位置をリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 開始位置です。
+	 */
+	int getOffset(int index) { return offsets[index]; }
+	
+	/**
+	 * 指定された位置のトークン文字列の長さをリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 長さです。
+	 */
+	int getLength(int index) { return lengths[index]; }
+	
+	/**
+	 * トークンの数をリターンします。
+	 * @return
+	 * トークンの数です。
+	 */
+	public int size() { return size; }
+	
+	/**
+	 * 指定された位置のトークン文字列をリターンします。
+	 * 識別子の場合は記号表に登録された文字列をリターンするので、文字列は作成しません。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * トークン文字列です。
+	 */
+	public String getString(int index) {
+		if(tokenIDs[index] == LexerData.IDENTIFIER_ID)
+			return symbols.getName(values[index]);
+		else
+			return new String(text, offsets[index], lengths[index]);
+	}
+	
+	/**
+	 * 指定された位置のトークンIDをリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * トークンIDです。
+	 */
+	public int getTokenID(int index) { return tokenIDs[index]; }
+	
+	/**
+	 * 指定された位置のトークンの行番号をリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 行番号です。
+	 */
+	public int getLineNum(int index) { return lineNums[index]; }
+	
+	/**
+	 * 指定された位置の識別子のシンボルIDをリターンします。
+	 * 同じ綴りの識別子は同じシンボルIDを持つので、識別子は文字列の代わりにシンボルIDで比較できます。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 識別子の場合は 0 以上 {@link #getSymbolCount() getSymbolCount()} 未満のシンボルID、
+	 * それ以外の場合は -1 です。
+	 */
+	public int getSymbolID(int index) {
+		return (tokenIDs[index] == LexerData.IDENTIFIER_ID) ? values[index] : -1;
+	}
+	
+	/**
+	 * 指定された位置の符号なし整数の値をリターンします。字句解析の時点で求めた値なので、文字列の解析は行いません。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 符号なし整数 (SCONSTANT) の場合は 0 以上 65535 以下の値、
+	 * 値がこの範囲にない場合やそれ以外のトークンの場合は -1 です。
+	 */
+	public int getConstant(int index) {
+		return (tokenIDs[index] == LexerData.CONSTANT_ID) ? values[index] : -1;
+	}
+	
+	/**
+	 * トークン列に現れる識別子の種類の数をリターンします。
+	 * @return
+	 * シンボルIDの数です。
+	 */
+	public int getSymbolCount() { return symbols.size(); }
+	
+	/**
+	 * シンボルIDに対応する識別子をリターンします。
+	 * @param symbolID
+	 * シンボルID
+	 * @return
+	 * 識別子です。
+	 */
+	public String getSymbolName(int symbolID) { return symbols.getName(symbolID); }
+}
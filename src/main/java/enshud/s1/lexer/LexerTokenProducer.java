@@ -0,0 +1,171 @@
+package enshud.s1.lexer;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * pas ファイルを別のスレッドで字句解析し、トークンを一定数ずつまとめて {@link LexerTokenStream LexerTokenStream} に渡すクラスです。
+ * {@link Lexer#streamAsync(String) Lexer.streamAsync} メソッドで生成されます。
+ * <p>
+ * トークンのまとまりは容量の決まったキューで受け渡すので、字句解析はトークンを読み進める側より
+ * キューの容量の分だけ先に進んだところで待ちます。入力ファイルの最後に達するかエラーが発生した場合は、
+ * 残りのトークンの後に空のまとまりを渡して終わりを知らせます。
+ * 字句解析のスレッドで実行時例外かエラーが発生した場合も空のまとまりを渡し、
+ * その例外をトークンを読み進める側のスレッドで {@link #rethrow() rethrow} メソッドで投げ直します。
+ * トークンを読み進める側が途中でやめる場合は {@link #cancel() cancel} メソッドで字句解析のスレッドを終わらせます。
+ * エラーメッセージは {@link LexerTokenStream LexerTokenStream} と同じく字句解析のスレッドで出力します。
+ */
+final class LexerTokenProducer implements Runnable {
+	/*一度に渡すトークンの数*/
+	private static final int BATCH_SIZE = 256;
+	/*キューに置けるまとまりの数*/
+	private static final int QUEUE_CAPACITY = 16;
+	private static final LexerData[] END = new LexerData[0];
+	
+	private final Lexer lexer;
+	private final LexerHelper helper;
+	private final BlockingQueue<LexerData[]> queue;
+	private Thread thread;
+	
+	private volatile boolean error;
+	private volatile boolean cancelled;
+	private volatile Throwable failure;
+	
+	/**
+	 * LexerTokenProducer クラスのコンストラクタです。
+	 * @param lexer
+	 * 字句解析を行う {@link Lexer Lexer} のインスタンス
+	 * @param helper
+	 * {@link LexerHelper#StartStream() StartStream} メソッドで字句解析を開始した {@link LexerHelper LexerHelper} のインスタンス
+	 */
+	LexerTokenProducer(Lexer lexer, LexerHelper helper) {
+		this.lexer = lexer;
+		this.helper = helper;
+		this.queue = new ArrayBlockingQueue<LexerData[]>(QUEUE_CAPACITY);
+		this.error = false;
+		this.cancelled = false;
+	}
+	
+	/**
+	 * 字句解析のスレッドを開始します。
+	 */
+	void start() {
+		thread = new Thread(this, "lexer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	@Override
+	public void run() {
+		LexerData[] batch = new LexerData[BATCH_SIZE];
+		int count = 0;
+		
+		try { //InterruptedException
+			while(!cancelled) {
+				int result;
+				try { //IOException
+					result = lexer.analyzeToken(helper);
+					if(result <= 0) helper.End();
+				} catch (IOException e) {
+					/*<!--入出力例外処理*/
+					System.err.print("Unexpected IO exception");
+					result = -1;
+					/*例外処理はここまで-->*/
+				}
+				
+				if(result > 0) {
+					batch[count++] = helper.takeRegistered();
+					if(count == BATCH_SIZE) {
+						queue.put(batch);
+						batch = new LexerData[BATCH_SIZE];
+						count = 0;
+					}
+				}
+				else {
+					error = (result < 0);
+					break;
+				}
+			}
+			
+			if(count > 0) queue.put(Arrays.copyOf(batch, count));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException | Error e) {
+			failure = e;
+		} finally {
+			try { //IOException
+				helper.End();
+			} catch (IOException e) {
+				/*入力ファイルを閉じられなくても字句解析の結果は変わらない*/
+			}
+			putEnd();
+		}
+	}
+	
+	/**
+	 * 終わりを知らせる空のまとまりを渡します。
+	 * 取り消された場合は受け取る側がいないので、キューが一杯でも待ちません。
+	 */
+	private void putEnd() {
+		if(cancelled) {
+			queue.offer(END);
+			return;
+		}
+		try { //InterruptedException
+			queue.put(END);
+		} catch (InterruptedException e) {
+			/*割り込みは取り消しのときだけ発生し、受け取る側はもう待っていない*/
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * 字句解析をやめ、字句解析のスレッドが入力ファイルを閉じて終わるまで待ちます。
+	 * キューが一杯で待っている字句解析のスレッドは割り込みで起こします。既に終わっている場合は何もしません。
+	 */
+	void cancel() {
+		cancelled = true;
+		thread.interrupt();
+		try { //InterruptedException
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * 次のトークンのまとまりを受け取ります。まとまりが渡されるまで待ちます。
+	 * @return
+	 * トークンの配列です。入力ファイルの最後に達したか、エラーが発生した場合は空の配列をリターンします。
+	 */
+	LexerData[] take() {
+		try { //InterruptedException
+			return queue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			error = true;
+			return END;
+		}
+	}
+	
+	/**
+	 * 字句解析でエラーが発生したか調べます。空のまとまりを受け取った後に呼び出します。
+	 * @return
+	 * エラーが発生した場合は {@code true} をリターンします。
+	 */
+	boolean hasError() {
+		return error || failure != null;
+	}
+	
+	/**
+	 * 字句解析のスレッドで発生した実行時例外かエラーを、このスレッドで投げ直します。
+	 * 空のまとまりを受け取った後に呼び出します。例外が発生していない場合は何もしません。
+	 */
+	void rethrow() {
+		Throwable t = failure;
+		if(t instanceof RuntimeException) throw (RuntimeException)t;
+		if(t instanceof Error) throw (Error)t;
+	}
+}
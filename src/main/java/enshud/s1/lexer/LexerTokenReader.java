@@ -0,0 +1,173 @@
+package enshud.s1.lexer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * トークン列ファイルを読み込むクラスです。
+ * 構文解析・意味解析・コンパイラの TS ファイル読み込みで共通に使用します。
+ * テキスト形式 (*.ts) とバイナリ形式 (*.tsb) はファイルの先頭のマジックナンバーで判別します。
+ * <p>
+ * バイナリ形式は次の順に並びます。整数は全て符号なし可変長 (7ビットずつ、下位から) で書き込みます。
+ * <ol>
+ * <li>マジックナンバー {@code 0x89 'T' 'S' 'B'} とバージョン (1バイト)
+ * <li>トークンの数、字句表の項目数
+ * <li>字句表: 項目ごとにトークンID、UTF-8 のバイト数、UTF-8 のバイト列
+ * <li>トークン: トークンごとに {@code (字句表の位置 << 1) | 行番号が変わったか}、
+ * 行番号が変わった場合は前のトークンからの行番号の差 (ZigZag 符号化)
+ * </ol>
+ * 同じ字句とトークンIDの組は字句表に一度だけ書き込まれるので、
+ * キーワードや識別子が繰り返し現れても字句表の位置だけで表せます。
+ */
+public final class LexerTokenReader {
+	/**
+	 * バイナリ形式のトークン列ファイルの拡張子です。
+	 */
+	public static final String BINARY_EXTENSION = ".tsb";
+	
+	static final byte[] MAGIC = { (byte)0x89, 'T', 'S', 'B' };
+	static final int VERSION = 1;
+	
+	private final byte[] data;
+	private int pos;
+	
+	private LexerTokenReader(byte[] data) {
+		this.data = data;
+		this.pos = 0;
+	}
+	
+	/**
+	 * ファイル名がバイナリ形式のトークン列ファイルの拡張子を持つか調べます。
+	 * @param fileName
+	 * ファイル名
+	 * @return
+	 * 拡張子が {@link #BINARY_EXTENSION BINARY_EXTENSION} の場合は {@code true} をリターンします。
+	 */
+	public static boolean isBinaryFileName(String fileName) {
+		return fileName.endsWith(BINARY_EXTENSION);
+	}
+	
+	/**
+	 * トークン列ファイルを読み込みます。ファイルの先頭を読み込んで形式を判別し、続きをそのまま読み込みます。
+	 * テキスト形式は {@link LexerTokenTextReader LexerTokenTextReader} で読み込みます。
+	 * テキスト形式の各行はタブ区切りでトークン文字列・トークン名・トークンID・行番号の順に並び、
+	 * トークン名はトークンIDと一致している必要があります。
+	 * テキスト形式の数値の欄が整数でない場合は {@link NumberFormatException NumberFormatException} が発生します。
+	 * @param fileName
+	 * ファイル名
+	 * @return
+	 * 読み込んだトークン列です。ファイルの形式に問題がある場合は {@code null} をリターンします。
+	 * @throws FileNotFoundException
+	 * @throws IOException
+	 */
+	public static LexerTokenList read(String fileName) throws FileNotFoundException, IOException {
+		FileInputStream in = new FileInputStream(fileName);
+		try {
+			long size = in.getChannel().size();
+			byte[] buffer = new byte[(int)Math.max(MAGIC.length, Math.min(size + 1, LexerTokenTextReader.BUFFER_SIZE))];
+			int n = 0;
+			while(n < buffer.length) {
+				int r = in.read(buffer, n, buffer.length - n);
+				if(r < 0) break;
+				n += r;
+			}
+			
+			if(n >= MAGIC.length && Arrays.equals(buffer, 0, MAGIC.length, MAGIC, 0, MAGIC.length))
+				return readBinary(in, buffer, n);
+			else
+				return new LexerTokenTextReader(in, buffer, n).read();
+		} finally {
+			in.close();
+		}
+	}
+	
+	/**
+	 * バイナリ形式のトークン列ファイルを読み込みます。
+	 * @param in
+	 * 入力ストリーム
+	 * @param head
+	 * 入力ストリームから既に読み込んだファイルの先頭部分
+	 * @param length
+	 * 既に読み込んだバイト数
+	 * @return
+	 * 読み込んだトークン列です。ファイルの形式に問題がある場合は {@code null} をリターンします。
+	 * @throws IOException
+	 */
+	private static LexerTokenList readBinary(InputStream in, byte[] head, int length) throws IOException {
+		byte[] rest = in.readAllBytes();
+		byte[] data = Arrays.copyOf(head, length + rest.length);
+		System.arraycopy(rest, 0, data, length, rest.length);
+		
+		try {
+			return new LexerTokenReader(data).decode();
+		} catch (IndexOutOfBoundsException e) {
+			return null;
+		}
+	}
+	
+	private LexerTokenList decode() {
+		for(int i = 0; i < MAGIC.length; i++) {
+			if(data[pos++] != MAGIC[i]) return null;
+		}
+		if(data[pos++] != VERSION) return null;
+		
+		int tokenCount = readVarint();
+		int entryCount = readVarint();
+		if(tokenCount < 0 || entryCount < 0) return null;
+		if(tokenCount > data.length - pos || entryCount > data.length - pos) return null;
+		
+		/*字句表*/
+		StringBuilder text = new StringBuilder();
+		int[] entryOffset = new int[entryCount];
+		int[] entryLength = new int[entryCount];
+		int[] entryTokenID = new int[entryCount];
+		for(int i = 0; i < entryCount; i++) {
+			int tokenID = readVarint();
+			int length = readVarint();
+			if(tokenID < 0 || tokenID >= LexerData.TokenNameData.length) return null;
+			if(length < 0 || length > data.length - pos) return null;
+			
+			entryOffset[i] = text.length();
+			text.append(new String(data, pos, length, StandardCharsets.UTF_8));
+			entryLength[i] = text.length() - entryOffset[i];
+			entryTokenID[i] = tokenID;
+			pos += length;
+		}
+		
+		LexerTokenList tokens = new LexerTokenList(text.toString().toCharArray(), new LexerSymbolTable());
+		int[] entryValue = new int[entryCount];
+		for(int i = 0; i < entryCount; i++) {
+			entryValue[i] = tokens.valueOf(entryOffset[i], entryLength[i], entryTokenID[i]);
+		}
+		
+		/*トークン*/
+		int lineNum = 0;
+		for(int i = 0; i < tokenCount; i++) {
+			int head = readVarint();
+			if(head < 0) return null;
+			int entry = head >>> 1;
+			if(entry >= entryCount) return null;
+			if((head & 1) != 0) {
+				int delta = readVarint();
+				if(delta < 0) return null;
+				lineNum += (delta >>> 1) ^ -(delta & 1);
+			}
+			
+			tokens.add(entryOffset[entry], entryLength[entry], entryTokenID[entry], lineNum, entryValue[entry]);
+		}
+		if(pos != data.length) return null;
+		
+		return tokens;
+	}
+	
+	private int readVarint() {
+		int value = 0;
+		for(int shift = 0; shift < 35; shift += 7) {
+			int b = data[pos++];
+			value |= (b & 0x7F) << shift;
+			if((b & 0x80) == 0) return value;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,263 @@
+package enshud.s1.lexer;
+
+import java.io.*;
+
+/**
+ * pas ファイルを必要な分だけ字句解析し、トークンを一つずつ供給するクラスです。
+ * {@link Lexer#stream(String) Lexer.stream} メソッドで生成されます。
+ * <p>
+ * トークンは {@link LexerTokenList LexerTokenList} と同じくトークンの位置で参照しますが、
+ * 全てのトークンを保持するのではなく、{@link #release(int) release} メソッドで解放されていない
+ * 小さな窓の分だけを保持します。入力ファイルも固定長の文字バッファで少しずつ読み込むので、
+ * 入力ファイルの大きさによらず一定のメモリで字句解析できます。
+ * <p>
+ * 字句解析でエラーが発生した場合は {@link Lexer#run(String, String) Lexer.run} メソッドと同じ
+ * エラーメッセージを出力し、そこで入力が終わったものとして扱います。
+ * <p>
+ * {@link Lexer#streamAsync(String) Lexer.streamAsync} メソッドで生成した場合は、字句解析を別のスレッドで進め、
+ * {@link LexerTokenProducer LexerTokenProducer} からトークンを一定数ずつまとめて受け取ります。
+ * 字句解析のスレッドで実行時例外かエラーが発生した場合は、それまでのトークンを読み進めたところでその例外を投げます。
+ * <p>
+ * 入力ファイルの最後まで読み進めずにやめる場合は {@link #close() close} メソッドで入力ファイルを閉じ、
+ * 字句解析のスレッドを終わらせます。
+ */
+public final class LexerTokenStream implements AutoCloseable {
+	private static final int INITIAL_WINDOW_SIZE = 16;
+	
+	private final Lexer lexer;
+	private final LexerHelper helper;
+	private final LexerTokenProducer producer; //null: 字句解析を同じスレッドで進める
+	
+	private LexerData[] window;
+	private int base;
+	private int count;
+	private boolean finished;
+	private boolean error;
+	
+	/**
+	 * LexerTokenStream クラスのコンストラクタです。
+	 * @param lexer
+	 * 字句解析を行う {@link Lexer Lexer} のインスタンス
+	 * @param helper
+	 * {@link LexerHelper#StartStream() StartStream} メソッドで字句解析を開始した {@link LexerHelper LexerHelper} のインスタンス
+	 */
+	LexerTokenStream(Lexer lexer, LexerHelper helper) {
+		this.lexer = lexer;
+		this.helper = helper;
+		this.producer = null;
+		window = new LexerData[INITIAL_WINDOW_SIZE];
+		base = 0;
+		count = 0;
+		finished = false;
+		error = false;
+	}
+	
+	/**
+	 * 別のスレッドで字句解析したトークンを受け取る LexerTokenStream クラスのコンストラクタです。
+	 * @param producer
+	 * 字句解析のスレッドを開始した {@link LexerTokenProducer LexerTokenProducer} のインスタンス
+	 */
+	LexerTokenStream(LexerTokenProducer producer) {
+		this.lexer = null;
+		this.helper = null;
+		this.producer = producer;
+		window = new LexerData[INITIAL_WINDOW_SIZE];
+		base = 0;
+		count = 0;
+		finished = false;
+		error = false;
+	}
+	
+	/**
+	 * 指定された位置のトークンまで字句解析を進めます。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 指定された位置にトークンがある場合は {@code true}、
+	 * 入力ファイルの最後に達したか、エラーが発生した場合は {@code false} をリターンします。
+	 */
+	private boolean fill(int index) {
+		if(producer != null) return receive(index);
+		
+		while(count <= index && !finished) {
+			int result;
+			try { //IOException
+				result = lexer.analyzeToken(helper);
+				if(result <= 0) helper.End();
+			} catch (IOException e) {
+				/*<!--入出力例外処理*/
+				System.err.print("Unexpected IO exception");
+				result = -1;
+				/*例外処理はここまで-->*/
+			}
+			
+			if(result > 0) {
+				push(helper.takeRegistered());
+			}
+			else {
+				finished = true;
+				error = (result < 0);
+			}
+		}
+		
+		return index < count;
+	}
+	
+	/**
+	 * 指定された位置のトークンまで、字句解析のスレッドからトークンのまとまりを受け取ります。
+	 */
+	private boolean receive(int index) {
+		while(count <= index && !finished) {
+			LexerData[] batch = producer.take();
+			for(LexerData data : batch) push(data);
+			
+			if(batch.length == 0) {
+				finished = true;
+				error = producer.hasError();
+				producer.rethrow();
+			}
+		}
+		
+		return index < count;
+	}
+	
+	private void push(LexerData data) {
+		if(count - base == window.length) {
+			LexerData[] grown = new LexerData[window.length * 2];
+			for(int i = base; i < count; i++) {
+				grown[i & (grown.length - 1)] = window[i & (window.length - 1)];
+			}
+			window = grown;
+		}
+		window[count & (window.length - 1)] = data;
+		count++;
+	}
+	
+	private LexerData get(int index) {
+		if(index < base) throw new IndexOutOfBoundsException("Released token: " + index);
+		
+		if(fill(index))
+			return window[index & (window.length - 1)];
+		else
+			return null;
+	}
+	
+	/**
+	 * 指定された位置のトークン文字列をリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * トークン文字列です。指定された位置にトークンがない場合は {@code null} をリターンします。
+	 */
+	public String getString(int index) {
+		LexerData data = get(index);
+		return (data != null) ? data.getString() : null;
+	}
+	
+	/**
+	 * 指定された位置のトークンIDをリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * トークンIDです。指定された位置にトークンがない場合は -1 をリターンします。
+	 */
+	public int getTokenID(int index) {
+		LexerData data = get(index);
+		return (data != null) ? data.getTokenID() : -1;
+	}
+	
+	/**
+	 * 指定された位置のトークンの行番号をリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 行番号です。指定された位置にトークンがない場合は -1 をリターンします。
+	 */
+	public int getLineNum(int index) {
+		LexerData data = get(index);
+		return (data != null) ? data.getLineNum() : -1;
+	}
+	
+	/**
+	 * 指定された位置の識別子のシンボルIDをリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 識別子の場合はシンボルID、それ以外の場合や指定された位置にトークンがない場合は -1 です。
+	 */
+	public int getSymbolID(int index) {
+		LexerData data = get(index);
+		return (data != null) ? data.getSymbolID() : -1;
+	}
+	
+	/**
+	 * 指定された位置の符号なし整数の値をリターンします。
+	 * @param index
+	 * トークンの位置
+	 * @return
+	 * 符号なし整数 (SCONSTANT) の場合は 0 以上 65535 以下の値、
+	 * 値がこの範囲にない場合やそれ以外のトークンの場合、指定された位置にトークンがない場合は -1 です。
+	 */
+	public int getConstant(int index) {
+		LexerData data = get(index);
+		return (data != null) ? data.getConstant() : -1;
+	}
+	
+	/**
+	 * 指定された位置より前のトークンを今後参照しないことを通知し、窓から解放します。
+	 * 解放したトークンを参照すると {@link IndexOutOfBoundsException IndexOutOfBoundsException} が発生します。
+	 * @param index
+	 * 今後参照する最初のトークンの位置
+	 */
+	public void release(int index) {
+		if(index > base) base = Math.min(index, count);
+	}
+	
+	/**
+	 * 残りの入力を最後まで字句解析します。読み込んだトークンは保持しません。
+	 * 字句解析でエラーが発生した場合はエラーメッセージを出力します。
+	 * @return
+	 * 最後まで字句解析に成功した場合は {@code true}、エラーが発生した場合は {@code false} をリターンします。
+	 */
+	public boolean drain() {
+		while(!finished) {
+			release(count);
+			fill(count);
+		}
+		
+		return !error;
+	}
+	
+	/**
+	 * これまでに字句解析したトークンの数をリターンします。
+	 * {@link #drain() drain} メソッドの後では全てのトークンの数になります。
+	 * @return
+	 * トークンの数です。
+	 */
+	public int size() { return count; }
+	
+	/**
+	 * 字句解析でエラーが発生したか調べます。
+	 * @return
+	 * エラーが発生した場合は {@code true} をリターンします。
+	 */
+	public boolean hasError() { return error; }
+	
+	/**
+	 * トークンを読み進めるのをやめ、入力ファイルを閉じます。
+	 * 字句解析を別のスレッドで進めている場合は、そのスレッドが終わるまで待ちます。
+	 * 閉じた後は、それまでに字句解析したトークンの後で入力ファイルの最後に達したものとして扱います。
+	 */
+	@Override
+	public void close() {
+		if(producer != null) producer.cancel();
+		else {
+			try { //IOException
+				helper.End();
+			} catch (IOException e) {
+				/*入力ファイルを閉じられなくても字句解析の結果は変わらない*/
+			}
+		}
+		finished = true;
+	}
+}
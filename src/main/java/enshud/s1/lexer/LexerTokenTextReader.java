@@ -0,0 +1,244 @@
+package enshud.s1.lexer;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.util.*;
+
+/**
+ * テキスト形式のトークン列ファイル (*.ts) を読み込むクラスです。
+ * {@link LexerTokenReader#read(String) LexerTokenReader.read} メソッドから使用します。
+ * <p>
+ * ファイルは固定長のバイトバッファで少しずつ読み込み、行ごとに一つの文字バッファに展開して、
+ * 各欄をその場で解析します。行や欄ごとに文字列や配列は作成せず、トークン文字列だけを
+ * {@link LexerTokenList LexerTokenList} の文字バッファに複製します。
+ * トークン名はトークンIDから引いた表の文字列と直接比較します。
+ * <p>
+ * 受け付ける行は従来の {@code String.split("\t")} と {@code Integer.parseInt} による読み込みと同じです。
+ * 行末の空の欄は無視され、数値の欄が整数でない場合は {@link NumberFormatException NumberFormatException} が発生します。
+ * 文字コードは {@link FileReader FileReader} と同じく既定の文字コードを使用します。
+ */
+final class LexerTokenTextReader {
+	/**
+	 * バイトバッファの大きさ (バイト) です。長い行を読み込むときは必要なだけ大きくします。
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+	
+	/*トークンIDからトークン名への表*/
+	private static final char[][] TokenNames;
+	
+	static {
+		TokenNames = new char[LexerData.TokenNameData.length][];
+		for(int i = 0; i < TokenNames.length; i++) {
+			TokenNames[i] = LexerData.TokenNameData[i].toCharArray();
+		}
+	}
+	
+	private final InputStream in;
+	private byte[] buffer;
+	private int start;
+	private int limit;
+	private boolean eof;
+	private boolean skipLF;
+	
+	private char[] line;
+	private int lineLength;
+	private CharsetDecoder decoder;
+	
+	/**
+	 * LexerTokenTextReader クラスのコンストラクタです。
+	 * @param in
+	 * 入力ストリーム
+	 * @param buffer
+	 * バイトバッファ
+	 * @param limit
+	 * バイトバッファに既に読み込んだバイト数
+	 */
+	LexerTokenTextReader(InputStream in, byte[] buffer, int limit) {
+		this.in = in;
+		this.buffer = buffer;
+		this.start = 0;
+		this.limit = limit;
+		this.eof = false;
+		this.skipLF = false;
+		this.line = new char[256];
+		this.lineLength = 0;
+	}
+	
+	/**
+	 * 入力ストリームの最後までトークン列を読み込みます。
+	 * @return
+	 * 読み込んだトークン列です。ファイルの形式に問題がある場合は {@code null} をリターンします。
+	 * @throws IOException
+	 */
+	LexerTokenList read() throws IOException {
+		LexerTokenList tokens = new LexerTokenList(new LexerSymbolTable());
+		
+		while(nextLine()) {
+			if(!parseLine(tokens)) return null;
+		}
+		
+		return tokens;
+	}
+	
+	/**
+	 * 次の行を文字バッファに展開します。行末は {@link BufferedReader#readLine() BufferedReader.readLine} と同じく
+	 * {@code "\n"}, {@code "\r"}, {@code "\r\n"} のいずれかです。
+	 * @return
+	 * 行がある場合は {@code true}、ファイルの最後に達した場合は {@code false} をリターンします。
+	 * @throws IOException
+	 */
+	private boolean nextLine() throws IOException {
+		if(skipLF) {
+			if(start == limit) fill();
+			if(start < limit && buffer[start] == '\n') start++;
+			skipLF = false;
+		}
+		
+		int i = start;
+		boolean ascii = true;
+		while(true) {
+			for(; i < limit; i++) {
+				byte b = buffer[i];
+				if(b == '\n' || b == '\r') {
+					decodeLine(start, i, ascii);
+					start = i + 1;
+					skipLF = (b == '\r');
+					return true;
+				}
+				if(b < 0) ascii = false;
+			}
+			
+			if(eof) {
+				if(start == limit) return false;
+				decodeLine(start, limit, ascii);
+				start = limit;
+				return true;
+			}
+			
+			i -= start;
+			fill();
+			i += start;
+		}
+	}
+	
+	/**
+	 * バイトバッファの未処理の部分を先頭に移し、続きを読み込みます。
+	 * @throws IOException
+	 */
+	private void fill() throws IOException {
+		if(start > 0) {
+			System.arraycopy(buffer, start, buffer, 0, limit - start);
+			limit -= start;
+			start = 0;
+		}
+		if(limit == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		
+		int n = in.read(buffer, limit, buffer.length - limit);
+		if(n < 0) eof = true;
+		else limit += n;
+	}
+	
+	/**
+	 * バイトバッファ上の一行を文字バッファに展開します。
+	 * ASCII 文字だけの行はそのまま展開し、それ以外の行は既定の文字コードで復号します。
+	 */
+	private void decodeLine(int from, int to, boolean ascii) throws IOException {
+		int length = to - from;
+		
+		if(ascii) {
+			if(line.length < length) line = new char[Math.max(line.length * 2, length)];
+			for(int i = 0; i < length; i++) {
+				line[i] = (char)buffer[from + i];
+			}
+			lineLength = length;
+		}
+		else {
+			if(decoder == null) {
+				decoder = Charset.defaultCharset().newDecoder()
+						.onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			}
+			int capacity = (int)Math.ceil(length * (double)decoder.maxCharsPerByte());
+			if(line.length < capacity) line = new char[Math.max(line.length * 2, capacity)];
+			
+			CharBuffer chars = CharBuffer.wrap(line);
+			decoder.reset();
+			CoderResult result = decoder.decode(ByteBuffer.wrap(buffer, from, length), chars, true);
+			if(!result.isUnderflow()) result.throwException();
+			result = decoder.flush(chars);
+			if(!result.isUnderflow()) result.throwException();
+			lineLength = chars.position();
+		}
+	}
+	
+	/**
+	 * 文字バッファ上の一行を解析してトークンを登録します。
+	 * 行はタブ区切りでトークン文字列・トークン名・トークンID・行番号の順に並びます。
+	 * @return
+	 * 行の形式が正しい場合は {@code true} をリターンします。
+	 */
+	private boolean parseLine(LexerTokenList tokens) {
+		int tab1 = indexOfTab(0);
+		if(tab1 < 0) return false;
+		int tab2 = indexOfTab(tab1 + 1);
+		if(tab2 < 0) return false;
+		int tab3 = indexOfTab(tab2 + 1);
+		if(tab3 < 0) return false;
+		int end = indexOfTab(tab3 + 1);
+		if(end < 0) end = lineLength;
+		
+		//行番号の欄の後には空の欄しか置けず、行番号の欄が空の場合は欄が足りない
+		if(end == tab3 + 1) return false;
+		for(int i = end; i < lineLength; i++) {
+			if(line[i] != '\t') return false;
+		}
+		
+		int tokenID = parseInt(tab2 + 1, tab3);
+		int lineNum = parseInt(tab3 + 1, end);
+		if(tokenID < 0 || tokenID >= TokenNames.length || !equalsTokenName(tokenID, tab1 + 1, tab2)) return false;
+		
+		tokens.append(line, 0, tab1, tokenID, lineNum);
+		return true;
+	}
+	
+	private int indexOfTab(int from) {
+		for(int i = from; i < lineLength; i++) {
+			if(line[i] == '\t') return i;
+		}
+		return -1;
+	}
+	
+	private boolean equalsTokenName(int tokenID, int from, int to) {
+		char[] name = TokenNames[tokenID];
+		if(name.length != to - from) return false;
+		for(int i = 0; i < name.length; i++) {
+			if(line[from + i] != name[i]) return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * 文字バッファ上の整数を解析します。
+	 * 9桁以下の ASCII 数字 (符号付きを含む) はその場で解析し、それ以外は {@link Integer#parseInt(String) Integer.parseInt} に任せます。
+	 */
+	private int parseInt(int from, int to) {
+		int i = from;
+		boolean negative = false;
+		if(i < to && (line[i] == '-' || line[i] == '+')) {
+			negative = (line[i] == '-');
+			i++;
+		}
+		if(i == to || to - i > 9) return Integer.parseInt(new String(line, from, to - from));
+		
+		int value = 0;
+		for(; i < to; i++) {
+			char c = line[i];
+			if(c < '0' || c > '9') return Integer.parseInt(new String(line, from, to - from));
+			value = value * 10 + (c - '0');
+		}
+		return negative ? -value : value;
+	}
+}
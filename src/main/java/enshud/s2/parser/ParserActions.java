@@ -0,0 +1,39 @@
+package enshud.s2.parser;
+
+/**
+ * {@link ParserEngine ParserEngine} が構文解析の途中で呼び出す意味動作と述語のフックです。
+ * <p>
+ * 意味動作と述語の番号は文法記述ファイルから生成した {@link ParserTable ParserTable} の
+ * {@code ACTION_*}・{@code PREDICATE_*} 定数です。構文解析器は {@link ParserSyntaxActions ParserSyntaxActions}、
+ * 意味解析器とコンパイラは {@link ParserSemanticActions ParserSemanticActions} を使用します。
+ * 意味動作と述語はトークンの位置や値を {@link ParserEngine ParserEngine} から参照します。
+ */
+interface ParserActions {
+	/**
+	 * 意味動作を実行するかどうかをリターンします。
+	 * {@code false} をリターンした意味動作は解析の前に生成規則から取り除かれ、呼び出されません。
+	 * @param action
+	 * 意味動作の番号
+	 * @return
+	 * 意味動作を実行する場合は {@code true} をリターンします。
+	 */
+	boolean handles(int action);
+	
+	/**
+	 * 意味動作を実行します。
+	 * @param action
+	 * 意味動作の番号
+	 * @throws ParserException
+	 * 構文エラーまたは意味エラーが見つかった場合
+	 */
+	void action(int action) throws ParserException;
+	
+	/**
+	 * 先読みトークンだけでは選べない生成規則の述語を評価します。
+	 * @param predicate
+	 * 述語の番号
+	 * @return
+	 * 述語の付いた生成規則を選ぶ場合は {@code true} をリターンします。
+	 */
+	boolean predicate(int predicate);
+}
@@ -1,9 +1,9 @@
 package enshud.s2.parser;
 
 /**
- * ParserData クラスです。
+ * ParserData クラスです。トークンIDは抽象構文木の演算子の番号としても使用します。
  */
-final class ParserData {
+public final class ParserData {
 	/**トークンID*/
 	public static final int
 			SAND = 0,
@@ -72,21 +72,6 @@ final class ParserData {
 			"SSTRING"
 	};
 	
-	private final int tokenID;
-	private final int lineNum;
-	
-	/**
-	 * ParserData クラスのコンストラクタです。
-	 * @param tokenID
-	 * トークンID
-	 * @param lineNum
-	 * 行番号
-	 */
-	ParserData(int tokenID, int lineNum) {
-		this.tokenID = tokenID;
-		this.lineNum = lineNum;
-	}
-	
 	/**
 	 * トークンIDに対応するトークン名をリターンします。
 	 * @param tokenID
@@ -100,17 +85,4 @@ final class ParserData {
 		else
 			return null;
 	}
-	
-	/**
-	 * データレコードのトークンIDをリターンします。
-	 * @return
-	 * トークンIDです。
-	 */
-	public int getTokenID() { return tokenID; }
-	/**
-	 * データレコードの行番号をリターンします。
-	 * @return
-	 * 行番号です。
-	 */
-	public int getLineNum() { return lineNum; }
 }
@@ -0,0 +1,980 @@
+package enshud.s2.parser;
+
+import java.util.*;
+
+import enshud.s2.parser.ParserNode.*;
+
+/**
+ * 意味モードの解析器です。宣言された識別子の種類に従って構文を選びながら再帰下降で構文・意味解析を行い、抽象構文木を作成します。
+ * <p>
+ * 意味動作をメソッドの中で直接実行し、抽象構文木の節をローカル変数で受け渡すので、
+ * 解析表に従う {@link ParserEngine ParserEngine} で意味解析するより速く解析できます。
+ * ただし入れ子の深い文や式では Java のスタックが溢れるので、文と因子の入れ子が {@link #DEPTH_LIMIT DEPTH_LIMIT} に達したところで、
+ * その文や因子の解析を {@link ParserSemanticActions ParserSemanticActions} とともに {@link ParserEngine ParserEngine} に任せます。
+ * 二つの解析器は記号表 ({@link ParserTypeCheck ParserTypeCheck})・先読みトークンの位置・記録したエラーを共有するので、
+ * どこで任せても解析の結果は変わりません。
+ */
+final class ParserDescent {
+	/**文と因子の入れ子の深さの上限の既定値です。これより深い文や因子は {@link ParserEngine ParserEngine} で解析します。*/
+	static final int DEPTH_LIMIT = 256;
+	
+	private final ParserEngine engine;
+	private final boolean keepTree;
+	private final int depthLimit;
+	
+	private final ParserTypeCheck typeCheck = new ParserTypeCheck();
+	private final ParserSemanticActions actions;
+	
+	private int depth = 0; //文と因子の入れ子の深さ
+	
+	/**
+	 * ParserDescent クラスのコンストラクタです。
+	 * @param engine
+	 * トークンの位置や値を参照し、入れ子の深い文や因子を解析する解析器
+	 * @param keepTree
+	 * 抽象構文木を保持する場合は {@code true}。{@code false} の場合は解析の終わった文を捨てます。
+	 */
+	ParserDescent(ParserEngine engine, boolean keepTree) {
+		this(engine, keepTree, DEPTH_LIMIT);
+	}
+	
+	/**
+	 * 入れ子の深さの上限を指定する ParserDescent クラスのコンストラクタです。
+	 * @param engine
+	 * トークンの位置や値を参照し、入れ子の深い文や因子を解析する解析器
+	 * @param keepTree
+	 * 抽象構文木を保持する場合は {@code true}。{@code false} の場合は解析の終わった文を捨てます。
+	 * @param depthLimit
+	 * 再帰下降で解析する文と因子の入れ子の深さの上限
+	 */
+	ParserDescent(ParserEngine engine, boolean keepTree, int depthLimit) {
+		this.engine = engine;
+		this.keepTree = keepTree;
+		this.depthLimit = depthLimit;
+		this.actions = new ParserSemanticActions(engine, typeCheck, keepTree);
+	}
+	
+	/**
+	 * トークン列の先頭からプログラムを解析します。
+	 * @return
+	 * プログラムの節です。
+	 * @throws ParserException
+	 * 構文エラーまたは意味エラーが見つかった場合
+	 */
+	Program parse() throws ParserException {
+		return parseProgram();
+	}
+	
+	/**
+	 * コード生成だけが必要とする型の確認で見つかった最初のエラーをリターンします。
+	 * @return
+	 * エラーメッセージです。エラーがない場合は {@code null} をリターンします。
+	 */
+	String getStrictError() {
+		return actions.getStrictError();
+	}
+	
+	private String getStringofIndex() {
+		return engine.getString(engine.getIndex());
+	}
+	
+	private int getSymbolIDofIndex() {
+		return engine.getSymbolID(engine.getIndex());
+	}
+	
+	private int getConstantofIndex() {
+		return engine.getConstant(engine.getIndex());
+	}
+	
+	private int getTokenIDofIndex() {
+		return engine.getTokenID();
+	}
+	
+	private int getLineNumofIndex() {
+		return engine.getLineNum();
+	}
+	
+	/**Exception*/
+	private void throwParseException() throws ParserException {
+		throw new ParserException(getLineNumofIndex(), true);
+	}
+	private void throwCheckException() throws ParserException {
+		throw new ParserException(getLineNumofIndex(), false);
+	}
+	private void recordStrictError() {
+		actions.recordStrictError();
+	}
+	
+	/**プログラム*/
+	private Program parseProgram() throws ParserException {
+		int lineNum = getLineNumofIndex();
+		if(getTokenIDofIndex() != ParserData.SPROGRAM) throwParseException();
+		else engine.next();
+		
+		String name = getStringofIndex();
+		parseProgramName();
+		
+		if(getTokenIDofIndex() != ParserData.SLPAREN) throwParseException();
+		else engine.next();
+		
+		parseNameArray();
+		
+		if(getTokenIDofIndex() != ParserData.SRPAREN) throwParseException();
+		else engine.next();
+		
+		if(getTokenIDofIndex() != ParserData.SSEMICOLON) throwParseException();
+		else engine.next();
+		
+		List<ParserSymbol> variables = new ArrayList<ParserSymbol>();
+		List<Procedure> procedures = new ArrayList<Procedure>();
+		parseBlock(variables, procedures);
+		
+		Block body = parseStatementBlock(false);
+		
+		if(getTokenIDofIndex() != ParserData.SDOT) throwParseException();
+		else engine.next();
+		
+		return new Program(lineNum, name, variables, procedures, body);
+	}
+	
+	/**プログラム名*/
+	private void parseProgramName() throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SIDENTIFIER) throwParseException();
+		else engine.next();
+	}
+	
+	/**名前の並び*/
+	private void parseNameArray() throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SIDENTIFIER) throwParseException();
+		else engine.next();
+		
+		while(getTokenIDofIndex() == ParserData.SCOMMA) {
+			engine.next();
+			
+			if(getTokenIDofIndex() != ParserData.SIDENTIFIER) throwParseException();
+			else engine.next();
+		}
+	}
+	
+	/**ブロック*/
+	private void parseBlock(List<ParserSymbol> variables, List<Procedure> procedures) throws ParserException {
+		parseVarDecl(true, variables);
+		
+		parseSubProgramDeclArray(procedures);
+	}
+	
+	/**変数宣言*/
+	private void parseVarDecl(boolean isGlobal, List<ParserSymbol> variables) throws ParserException {
+		if(getTokenIDofIndex() == ParserData.SVAR) {
+			engine.next();
+			
+			parseVarDeclArray(isGlobal, variables);
+		}
+	}
+	
+	/**変数宣言の並び*/
+	private void parseVarDeclArray(boolean isGlobal, List<ParserSymbol> variables) throws ParserException {
+		parseVarNameArray(false);
+		
+		if(getTokenIDofIndex() != ParserData.SCOLON) throwParseException();
+		else engine.next();
+		
+		parseType();
+		
+		addIdentifiers(isGlobal, variables);
+		
+		if(getTokenIDofIndex() != ParserData.SSEMICOLON) throwParseException();
+		else engine.next();
+		
+		while(parseVarNameArray(true)) {
+			if(getTokenIDofIndex() != ParserData.SCOLON) throwParseException();
+			else engine.next();
+			
+			parseType();
+			
+			addIdentifiers(isGlobal, variables);
+			
+			if(getTokenIDofIndex() != ParserData.SSEMICOLON) throwParseException();
+			else engine.next();
+		}
+	}
+	
+	/**変数名の並びの登録*/
+	private void addIdentifiers(boolean isGlobal, List<ParserSymbol> variables) throws ParserException {
+		if(isGlobal) {
+			if(!typeCheck.addGlobalIdentifiers(variables)) throwCheckException();
+		}
+		else {
+			if(!typeCheck.addLocalIdentifiers(variables)) throwCheckException();
+		}
+		typeCheck.clearIdentifierList();
+	}
+	
+	/**変数名の並び*/
+	private boolean parseVarNameArray(boolean isOption) throws ParserException {
+		engine.release();
+		
+		if(!parseVarName(true)) {
+			if(isOption) return false;
+			else throwParseException();
+		}
+		
+		while(getTokenIDofIndex() == ParserData.SCOMMA) {
+			engine.next();
+			
+			parseVarName(false);
+		}
+		
+		return true;
+	}
+	
+	/**変数名*/
+	private boolean parseVarName(boolean isOption) throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SIDENTIFIER) {
+			if(isOption) return false;
+			else throwParseException();
+		}
+		else {
+			typeCheck.addIdentifier(getSymbolIDofIndex());
+			engine.next();
+		}
+		
+		return true;
+	}
+	
+	/**型*/
+	private void parseType() throws ParserException {
+		if(parseNormalType(true)) return;
+		else if(parseArrayType(true)) return;
+		else throwParseException();
+	}
+	
+	/**標準型*/
+	private boolean parseNormalType(boolean isOption) throws ParserException {
+		if(getTokenIDofIndex() == ParserData.SINTEGER) {
+			typeCheck.pushType(ParserType.TYPE_INTEGER);
+			engine.next();
+		}
+		else if(getTokenIDofIndex() == ParserData.SCHAR) {
+			typeCheck.pushType(ParserType.TYPE_CHAR);
+			engine.next();
+		}
+		else if(getTokenIDofIndex() == ParserData.SBOOLEAN) {
+			typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+			engine.next();
+		}
+		else {
+			if(isOption) return false;
+			else throwParseException();
+		}
+		
+		return true;
+	}
+	
+	/**配列型*/
+	private boolean parseArrayType(boolean isOption) throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SARRAY){
+			if(isOption) return false;
+			else throwParseException();
+		}
+		else engine.next();
+		
+		if(getTokenIDofIndex() != ParserData.SLBRACKET) throwParseException();
+		else engine.next();
+		
+		parseIndexMin();
+		
+		if(getTokenIDofIndex() != ParserData.SRANGE) throwParseException();
+		else engine.next();
+		
+		parseIndexMax();
+		
+		if(!typeCheck.checkIndex()) throwCheckException();
+		
+		if(getTokenIDofIndex() != ParserData.SRBRACKET) throwParseException();
+		else engine.next();
+		
+		if(getTokenIDofIndex() != ParserData.SOF) throwParseException();
+		else engine.next();
+		
+		parseNormalType(false);
+		typeCheck.fromNormalTypeToArrayType();
+		
+		return true;
+	}
+	
+	/**添字の最小値*/
+	private void parseIndexMin() throws ParserException {
+		parseInteger();
+		if(!typeCheck.setIndexMin()) throwCheckException();
+	}
+	
+	/**添字の最大値*/
+	private void parseIndexMax() throws ParserException {
+		parseInteger();
+		if(!typeCheck.setIndexMax()) throwCheckException();
+	}
+	
+	/**整数*/
+	private void parseInteger() throws ParserException {
+		parseSign(true);
+		
+		if(getTokenIDofIndex() != ParserData.SCONSTANT) throwParseException();
+		else {
+			if(!typeCheck.setNumberConstant(getConstantofIndex())) throwCheckException();
+			engine.next();
+		}
+	}
+	
+	/**符号*/
+	private boolean parseSign(boolean isOption) throws ParserException {
+		if(getTokenIDofIndex() == ParserData.SPLUS) {
+			typeCheck.setSign('+');
+			engine.next();
+		}
+		else if(getTokenIDofIndex() == ParserData.SMINUS) {
+			typeCheck.setSign('-');
+			engine.next();
+		}
+		else {
+			if(isOption) {
+				typeCheck.setSign('\0');
+				return false;
+			}
+			else throwParseException();
+		}
+		
+		return true;
+	}
+	
+	/**副プログラム宣言群*/
+	private void parseSubProgramDeclArray(List<Procedure> procedures) throws ParserException {
+		Procedure procedure;
+		while((procedure = parseSubProgramDecl(true)) != null) {
+			if(keepTree) procedures.add(procedure);
+			
+			if(getTokenIDofIndex() != ParserData.SSEMICOLON) throwParseException();
+			else engine.next();
+		}
+	}
+	
+	/**副プログラム宣言*/
+	private Procedure parseSubProgramDecl(boolean isOption) throws ParserException {
+		engine.release();
+		
+		int lineNum = getLineNumofIndex();
+		List<ParserSymbol> parameters = new ArrayList<ParserSymbol>();
+		if(!parseSubProgramHeader(true, parameters)) {
+			if(isOption) return null;
+			else throwParseException();
+		}
+		ParserSymbol symbol = typeCheck.getSubroutineSymbol();
+		
+		List<ParserSymbol> variables = new ArrayList<ParserSymbol>();
+		parseVarDecl(false, variables);
+		
+		Block body = parseStatementBlock(false);
+		
+		typeCheck.clearLocalIdentifierList();
+		
+		return new Procedure(lineNum, symbol, parameters, variables, body);
+	}
+	
+	/**副プログラム頭部*/
+	private boolean parseSubProgramHeader(boolean isOption, List<ParserSymbol> parameters) throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SPROCEDURE) {
+			if(isOption) return false;
+			else throwParseException();
+		}
+		else engine.next();
+		
+		parseRoutineName(false);
+		
+		parseParam(parameters);
+		
+		if(!typeCheck.addGlobalSubroutineIdentifier()) throwCheckException();
+		else typeCheck.clearArgumentTypeList();
+		
+		if(getTokenIDofIndex() != ParserData.SSEMICOLON) throwParseException();
+		else engine.next();
+		
+		return true;
+	}
+	
+	/**手続き名*/
+	private boolean parseRoutineName(boolean isOption) throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SIDENTIFIER) {
+			if(isOption) return false;
+			else throwParseException();
+		}
+		else {
+			typeCheck.setSubroutineIdentifier(getSymbolIDofIndex());
+			engine.next();
+		}
+		
+		return true;
+	}
+	
+	/**仮パラメータ*/
+	private void parseParam(List<ParserSymbol> parameters) throws ParserException {
+		if(getTokenIDofIndex() == ParserData.SLPAREN) {
+			engine.next();
+			
+			parseParamArray(parameters);
+			
+			if(getTokenIDofIndex() != ParserData.SRPAREN) throwParseException();
+			else engine.next();
+		}
+	}
+	
+	/**仮パラメータの並び*/
+	private void parseParamArray(List<ParserSymbol> parameters) throws ParserException {
+		parseParamNameArray();
+		
+		if(getTokenIDofIndex() != ParserData.SCOLON) throwParseException();
+		else engine.next();
+		
+		parseNormalType(false);
+		
+		addParameters(parameters);
+		
+		while(getTokenIDofIndex() == ParserData.SSEMICOLON) {
+			engine.next();
+			
+			parseParamNameArray();
+			
+			if(getTokenIDofIndex() != ParserData.SCOLON) throwParseException();
+			else engine.next();
+			
+			parseNormalType(false);
+			
+			addParameters(parameters);
+		}
+	}
+	
+	/**仮パラメータ名の並びの登録*/
+	private void addParameters(List<ParserSymbol> parameters) throws ParserException {
+		typeCheck.addArgumentTypes();
+		if(!typeCheck.addParameterIdentifiers(parameters)) throwCheckException();
+		else typeCheck.clearIdentifierList();
+	}
+	
+	/**仮パラメータ名の並び*/
+	private void parseParamNameArray() throws ParserException {
+		parseParamName();
+		
+		while(getTokenIDofIndex() == ParserData.SCOMMA) {
+			engine.next();
+			
+			parseParamName();
+		}
+	}
+	
+	/**仮パラメータ名*/
+	private void parseParamName() throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SIDENTIFIER) throwParseException();
+		else {
+			typeCheck.addIdentifier(getSymbolIDofIndex());
+			engine.next();
+		}
+	}
+	
+	/**複合文*/
+	private Block parseStatementBlock(boolean isOption) throws ParserException {
+		int lineNum = getLineNumofIndex();
+		if(getTokenIDofIndex() != ParserData.SBEGIN) {
+			if(isOption) return null;
+			else throwParseException();
+		}
+		else engine.next();
+		
+		List<Statement> statements = new ArrayList<Statement>();
+		parseStatementArray(statements);
+		
+		if(getTokenIDofIndex() != ParserData.SEND) throwParseException();
+		else engine.next();
+		
+		return new Block(lineNum, statements);
+	}
+	
+	/**文の並び*/
+	private void parseStatementArray(List<Statement> statements) throws ParserException {
+		Statement statement = parseStatement();
+		if(keepTree) statements.add(statement);
+		
+		while(getTokenIDofIndex() == ParserData.SSEMICOLON) {
+			engine.next();
+			
+			statement = parseStatement();
+			if(keepTree) statements.add(statement);
+		}
+	}
+	
+	/**文*/
+	private Statement parseStatement() throws ParserException {
+		if(depth == depthLimit) return (Statement)parseByEngine(ParserTable.NONTERMINAL_STATEMENT);
+		
+		engine.release();
+		
+		depth++;
+		Statement statement;
+		int lineNum = getLineNumofIndex();
+		if(getTokenIDofIndex() == ParserData.SIF) {
+			engine.next();
+			
+			Expression condition = parseCondition();
+			
+			if(getTokenIDofIndex() != ParserData.STHEN) throwParseException();
+			else engine.next();
+			
+			Block thenBlock = parseStatementBlock(false);
+			Block elseBlock = null;
+			
+			if(getTokenIDofIndex() == ParserData.SELSE) {
+				engine.next();
+				
+				elseBlock = parseStatementBlock(false);
+			}
+			
+			statement = new If(lineNum, condition, thenBlock, elseBlock);
+		}
+		else if(getTokenIDofIndex() == ParserData.SWHILE) {
+			engine.next();
+			
+			Expression condition = parseCondition();
+			
+			if(getTokenIDofIndex() != ParserData.SDO) throwParseException();
+			else engine.next();
+			
+			Statement body = parseStatement();
+			
+			statement = new While(lineNum, condition, body);
+		}
+		else {
+			statement = parseNormalStatement(true);
+			if(statement == null) throwParseException();
+		}
+		depth--;
+		
+		return statement;
+	}
+	
+	/**入れ子の深い文・因子 (解析器に任せる)*/
+	private ParserNode parseByEngine(int nonterminal) throws ParserException {
+		engine.parse(actions, nonterminal);
+		return actions.popNode();
+	}
+	
+	/**条件式*/
+	private Expression parseCondition() throws ParserException {
+		typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+		Expression condition = parseExpression();
+		if(!typeCheck.checkType(true)) throwCheckException();
+		
+		return condition;
+	}
+	
+	/**基本文*/
+	private Statement parseNormalStatement(boolean isOption) throws ParserException {
+		Statement statement;
+		if(getTokenIDofIndex() == ParserData.SIDENTIFIER) {
+			/*代入文と手続き呼出し文は識別子の種類で選ぶ*/
+			ParserSymbol symbol;
+			if((symbol = typeCheck.findVariable(getSymbolIDofIndex())) != null)
+				statement = parseAssignStatement(symbol);
+			else
+				statement = parseRoutineCallStatement();
+		}
+		else if((statement = parseIOStatement(true)) != null) ;
+		else if((statement = parseStatementBlock(true)) != null) ;
+		else {
+			if(isOption) return null;
+			else throwParseException();
+		}
+		
+		return statement;
+	}
+	
+	/**代入文*/
+	private Statement parseAssignStatement(ParserSymbol symbol) throws ParserException {
+		int lineNum = getLineNumofIndex();
+		
+		Variable target = parseLeftValue(symbol);
+		
+		if(getTokenIDofIndex() != ParserData.SASSIGN) throwParseException();
+		else engine.next();
+		
+		if(!ParserType.isNormalType(typeCheck.peekType())) throwCheckException();
+		
+		Expression value = parseExpression();
+		if(!typeCheck.checkType(true)) throwCheckException();
+		
+		return new Assign(lineNum, target, value);
+	}
+	
+	/**左辺*/
+	private Variable parseLeftValue(ParserSymbol symbol) throws ParserException {
+		return parseVariable(symbol);
+	}
+	
+	/**変数 (識別子の種類を確認する)*/
+	private Variable parseVariable() throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SIDENTIFIER) throwParseException();
+		
+		ParserSymbol symbol;
+		if((symbol = typeCheck.findVariable(getSymbolIDofIndex())) == null) throwParseException();
+		
+		return parseVariable(symbol);
+	}
+	
+	/**変数 (識別子の種類が分かっている)*/
+	private Variable parseVariable(ParserSymbol symbol) throws ParserException {
+		int lineNum = getLineNumofIndex();
+		engine.next();
+		
+		typeCheck.pushType(symbol.getType());
+		
+		/*配列型の変数の後に "[" が続く場合は添字付き変数*/
+		if(getTokenIDofIndex() == ParserData.SLBRACKET && ParserType.isArrayType(symbol.getType()))
+			return parseIndexedVariable(lineNum, symbol);
+		else
+			return parseNormalVariable(lineNum, symbol);
+	}
+	
+	/**純変数*/
+	private Variable parseNormalVariable(int lineNum, ParserSymbol symbol) throws ParserException {
+		return new Variable(lineNum, typeCheck.peekType(), symbol, null);
+	}
+	
+	/**添字付き変数*/
+	private Variable parseIndexedVariable(int lineNum, ParserSymbol symbol) throws ParserException {
+		if(getTokenIDofIndex() != ParserData.SLBRACKET) throwParseException();
+		else engine.next();
+		
+		Expression indexExpression = parseIndex();
+		
+		if(getTokenIDofIndex() != ParserData.SRBRACKET) throwParseException();
+		else engine.next();
+		
+		if(!typeCheck.fromArrayTypeToNormalType()) throwCheckException();
+		
+		return new Variable(lineNum, typeCheck.peekType(), symbol, indexExpression);
+	}
+	
+	/**添字*/
+	private Expression parseIndex() throws ParserException {
+		typeCheck.pushType(ParserType.TYPE_INTEGER);
+		Expression indexExpression = parseExpression();
+		if(!typeCheck.checkType(true)) throwCheckException();
+		
+		return indexExpression;
+	}
+	
+	/**手続き呼出し文*/
+	private Statement parseRoutineCallStatement() throws ParserException {
+		int lineNum = getLineNumofIndex();
+		
+		parseRoutineName(false);
+		
+		if(!typeCheck.pushSubroutineArgumentsType()) throw new ParserException(lineNum, false);
+		ParserSymbol symbol = typeCheck.getSubroutineSymbol();
+		
+		List<Expression> arguments = new ArrayList<Expression>();
+		if(getTokenIDofIndex() == ParserData.SLPAREN) {
+			engine.next();
+			
+			parseExpressionArray(false, arguments);
+			
+			if(getTokenIDofIndex() != ParserData.SRPAREN) throwParseException();
+			else engine.next();
+		}
+		
+		if(typeCheck.popType() != ParserType.TYPE_SUBROUTINE) throwCheckException();
+		
+		return new Call(lineNum, symbol, arguments);
+	}
+	
+	/**式の並び*/
+	private void parseExpressionArray(boolean isIORoutine, List<Expression> expressions) throws ParserException {
+		expressions.add(parseArgument(isIORoutine));
+		
+		while(getTokenIDofIndex() == ParserData.SCOMMA) {
+			engine.next();
+			
+			expressions.add(parseArgument(isIORoutine));
+		}
+	}
+	
+	/**式の並びの式*/
+	private Expression parseArgument(boolean isIORoutine) throws ParserException {
+		Expression expression = parseExpression();
+		if(!isIORoutine) {
+			if(!typeCheck.checkType(true)) throwCheckException();
+		}
+		else {
+			int type = typeCheck.popType();
+			if(type != ParserType.TYPE_INTEGER && type != ParserType.TYPE_CHAR && type != ParserType.TYPE_ARRAY_CHAR) recordStrictError();
+		}
+		
+		return expression;
+	}
+	
+	/**式*/
+	private Expression parseExpression() throws ParserException {
+		int lineNum = getLineNumofIndex();
+		Expression left = parseSimpleExpression();
+		
+		int op;
+		if(!((op = parseRelativeOp(true)) < 0)) {
+			Expression right = parseSimpleExpression();
+			if(!ParserType.isNormalType(typeCheck.peekType())) recordStrictError();
+			if(!typeCheck.checkType(true)) throwCheckException();
+			else typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+			
+			left = new Binary(lineNum, ParserType.TYPE_BOOLEAN, op, left, right);
+		}
+		
+		return left;
+	}
+	
+	/**単純式*/
+	private Expression parseSimpleExpression() throws ParserException {
+		int lineNum = getLineNumofIndex();
+		parseSign(true);
+		
+		Expression left = parseTerm();
+		/*符号は項の中の単純式で上書きされることがあるが、これまでの意味解析器と同じく項の後の値で判断する*/
+		char sign = typeCheck.getSign();
+		if(sign != '\0') {
+			if(typeCheck.peekType() != ParserType.TYPE_INTEGER) throwCheckException();
+			
+			if(sign == '-') left = new Unary(lineNum, ParserType.TYPE_INTEGER, ParserData.SMINUS, left);
+		}
+		
+		int op;
+		while(!((op = parseAdditiveOp(true)) < 0)) {
+			Expression right = parseTerm();
+			
+			if(!typeCheck.checkType(false)) throwCheckException();
+			
+			left = new Binary(lineNum, typeCheck.peekType(), op, left, right);
+		}
+		
+		return left;
+	}
+	
+	/**項*/
+	private Expression parseTerm() throws ParserException {
+		int lineNum = getLineNumofIndex();
+		Expression left = parseFactor();
+		
+		int op;
+		while(!((op = parseMultiplicativeOp(true)) < 0)) {
+			Expression right = parseFactor();
+			
+			if(!typeCheck.checkType(false)) throwCheckException();
+			
+			left = new Binary(lineNum, typeCheck.peekType(), op, left, right);
+		}
+		
+		return left;
+	}
+	
+	/**因子*/
+	private Expression parseFactor() throws ParserException {
+		if(depth == depthLimit) return (Expression)parseByEngine(ParserTable.NONTERMINAL_FACTOR);
+		
+		depth++;
+		int lineNum = getLineNumofIndex();
+		Expression factor;
+		if(getTokenIDofIndex() == ParserData.SIDENTIFIER) {
+			factor = parseVariable();
+		}
+		else if((factor = parseConstant(true)) != null) ;
+		else if(getTokenIDofIndex() == ParserData.SLPAREN) {
+			engine.next();
+			
+			factor = parseExpression();
+			
+			if(getTokenIDofIndex() != ParserData.SRPAREN) throwParseException();
+			else engine.next();
+		}
+		else if(getTokenIDofIndex() == ParserData.SNOT) {
+			engine.next();
+			
+			Expression operand = parseFactor();
+			if(typeCheck.peekType() != ParserType.TYPE_BOOLEAN) throwCheckException();
+			
+			factor = new Unary(lineNum, ParserType.TYPE_BOOLEAN, ParserData.SNOT, operand);
+		}
+		else throwParseException();
+		depth--;
+		
+		return factor;
+	}
+	
+	/**関係演算子*/
+	private int parseRelativeOp(boolean isOption) throws ParserException {
+		int op = getTokenIDofIndex();
+		
+		switch(op) {
+		case ParserData.SEQUAL:
+		case ParserData.SNOTEQUAL:
+		case ParserData.SLESS:
+		case ParserData.SLESSEQUAL:
+		case ParserData.SGREAT:
+		case ParserData.SGREATEQUAL:
+			engine.next();
+			break;
+		default:
+			if(isOption) return -1;
+			else throwParseException();
+		}
+		
+		return op;
+	}
+	
+	/**加法演算子*/
+	private int parseAdditiveOp(boolean isOption) throws ParserException {
+		int op = getTokenIDofIndex();
+		
+		switch(op) {
+		case ParserData.SPLUS:
+		case ParserData.SMINUS:
+			if(typeCheck.peekType() != ParserType.TYPE_INTEGER) throwCheckException();
+			break;
+		case ParserData.SOR:
+			if(typeCheck.peekType() != ParserType.TYPE_BOOLEAN) throwCheckException();
+			break;
+		default:
+			if(isOption) return -1;
+			else throwParseException();
+		}
+		engine.next();
+		
+		return op;
+	}
+	
+	/**乗法演算子*/
+	private int parseMultiplicativeOp(boolean isOption) throws ParserException {
+		int op = getTokenIDofIndex();
+		
+		switch(op) {
+		case ParserData.SSTAR:
+		case ParserData.SDIVD:
+		case ParserData.SMOD:
+			if(typeCheck.peekType() != ParserType.TYPE_INTEGER) throwCheckException();
+			break;
+		case ParserData.SAND:
+			if(typeCheck.peekType() != ParserType.TYPE_BOOLEAN) throwCheckException();
+			break;
+		default:
+			if(isOption) return -1;
+			else throwParseException();
+		}
+		engine.next();
+		
+		return op;
+	}
+	
+	/**入出力文*/
+	private Statement parseIOStatement(boolean isOption) throws ParserException {
+		int lineNum = getLineNumofIndex();
+		if(getTokenIDofIndex() == ParserData.SREADLN) {
+			engine.next();
+			
+			List<Variable> variables = new ArrayList<Variable>();
+			if(getTokenIDofIndex() == ParserData.SLPAREN) {
+				engine.next();
+				
+				parseVarArray(variables);
+				
+				if(getTokenIDofIndex() != ParserData.SRPAREN) throwParseException();
+				else engine.next();
+			}
+			
+			return new Read(lineNum, variables);
+		}
+		else if(getTokenIDofIndex() == ParserData.SWRITELN) {
+			engine.next();
+			
+			List<Expression> arguments = new ArrayList<Expression>();
+			if(getTokenIDofIndex() == ParserData.SLPAREN) {
+				engine.next();
+				
+				parseExpressionArray(true, arguments);
+				
+				if(getTokenIDofIndex() != ParserData.SRPAREN) throwParseException();
+				else engine.next();
+			}
+			
+			return new Write(lineNum, arguments);
+		}
+		else {
+			if(isOption) return null;
+			else throwParseException();
+		}
+		
+		return null;
+	}
+	
+	/**変数の並び*/
+	private void parseVarArray(List<Variable> variables) throws ParserException {
+		variables.add(parseReadVariable());
+		
+		while(getTokenIDofIndex() == ParserData.SCOMMA) {
+			engine.next();
+			
+			variables.add(parseReadVariable());
+		}
+	}
+	
+	/**変数の並びの変数*/
+	private Variable parseReadVariable() throws ParserException {
+		Variable variable = parseVariable();
+		int type = typeCheck.popType();
+		if(type != ParserType.TYPE_INTEGER && type != ParserType.TYPE_CHAR && type != ParserType.TYPE_ARRAY_CHAR) recordStrictError();
+		
+		return variable;
+	}
+	
+	/**定数*/
+	private Constant parseConstant(boolean isOption) throws ParserException {
+		int lineNum = getLineNumofIndex();
+		Constant constant = null;
+		if(getTokenIDofIndex() == ParserData.SCONSTANT) {
+			typeCheck.pushType(ParserType.TYPE_INTEGER);
+			if(!typeCheck.setNumberConstant(getConstantofIndex())) throwCheckException();
+			constant = new Constant(lineNum, ParserType.TYPE_INTEGER, getConstantofIndex(), getStringofIndex());
+			engine.next();
+		}
+		else if(getTokenIDofIndex() == ParserData.SSTRING) {
+			String text = getStringofIndex();
+			if(text.length() == 3) {
+				typeCheck.pushType(ParserType.TYPE_CHAR);
+				constant = new Constant(lineNum, ParserType.TYPE_CHAR, text.charAt(1), text);
+			}
+			else {
+				typeCheck.pushType(ParserType.TYPE_ARRAY_CHAR);
+				constant = new Constant(lineNum, ParserType.TYPE_ARRAY_CHAR, 0, text);
+			}
+			engine.next();
+		}
+		else if(getTokenIDofIndex() == ParserData.SFALSE) {
+			typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+			constant = new Constant(lineNum, ParserType.TYPE_BOOLEAN, 0, "false");
+			engine.next();
+		}
+		else if(getTokenIDofIndex() == ParserData.STRUE) {
+			typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+			constant = new Constant(lineNum, ParserType.TYPE_BOOLEAN, 1, "true");
+			engine.next();
+		}
+		else {
+			if(isOption) return null;
+			else throwParseException();
+		}
+		
+		return constant;
+	}
+}
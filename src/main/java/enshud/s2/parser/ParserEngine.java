@@ -0,0 +1,331 @@
+package enshud.s2.parser;
+
+import java.util.*;
+
+import enshud.s1.lexer.LexerTokenList;
+import enshud.s1.lexer.LexerTokenStream;
+
+/**
+ * LL(1) 解析表 {@link ParserTable ParserTable} に従ってトークン列を構文解析するクラスです。
+ * <p>
+ * 記号のスタックから記号を一つずつ取り出し、終端記号は先読みトークンと照合し、
+ * 非終端記号は解析表で選んだ生成規則の右辺に置き換え、意味動作は {@link ParserActions ParserActions} を呼び出します。
+ * 再帰呼出しを使用しないので、深く入れ子になった複合文や式でも Java のスタックは溢れません。
+ * <p>
+ * 先読みトークンに対応する生成規則がない場合は、空になり得る生成規則 (既定の生成規則) を選びます。
+ * 再帰下降の解析器で省略可能な部分を読み飛ばすのと同じく、エラーは次に終端記号を照合する位置で見つかります。
+ * <p>
+ * 構文モードではプログラム全体をこのクラスで解析します。意味モードでは {@link ParserDescent ParserDescent} が
+ * 再帰下降で解析し、入れ子の深い文や因子だけを {@link #parse(ParserActions, int) parse(actions, start)} で任されます。
+ */
+final class ParserEngine {
+	/*解析表の列の数 (終端記号とトークン列の終わり)*/
+	private static final int COLUMN_COUNT = ParserTable.TERMINAL_COUNT + 1;
+	/*非終端記号と先読みトークンで引く解析表*/
+	private static final int[] PREDICT = flattenPredict();
+	/*生成規則が一つしかない非終端記号の生成規則*/
+	private static final int[] SINGLE = singleProductions();
+	/*解析器が実行する意味動作の記号*/
+	private static final int LINE = ParserTable.ACTION_BASE + ParserTable.ACTION_LINE;
+	private static final int END_LINE = ParserTable.ACTION_BASE + ParserTable.ACTION_END_LINE;
+	
+	private final LexerTokenList tokens;
+	private final LexerTokenStream stream;
+	private final int tokenCount; //トークン列の長さ
+	
+	private int index;
+	
+	/*意味動作のフックごとに作成した生成規則の右辺*/
+	private ParserActions rulesOwner;
+	private int[][] rules;
+	
+	/*行番号のスタック*/
+	private int[] lines = new int[64];
+	private int lineCount;
+	
+	/**
+	 * トークン列を解析する ParserEngine クラスのコンストラクタです。
+	 * @param tokens
+	 * {@link enshud.s1.lexer.Lexer#tokenize(String) Lexer.tokenize} メソッドで生成されたトークン列
+	 */
+	ParserEngine(LexerTokenList tokens) {
+		this.tokens = tokens;
+		this.stream = null;
+		this.tokenCount = tokens.size();
+	}
+	
+	/**
+	 * トークンストリームを解析する ParserEngine クラスのコンストラクタです。
+	 * @param tokens
+	 * {@link enshud.s1.lexer.Lexer#stream(String) Lexer.stream} メソッドで生成されたトークンストリーム
+	 */
+	ParserEngine(LexerTokenStream tokens) {
+		this.tokens = null;
+		this.stream = tokens;
+		this.tokenCount = -1;
+	}
+	
+	/**
+	 * 開始記号からトークン列を解析します。解析はトークン列の最後に達していなくても、開始記号の解析が終わったところで終わります。
+	 * @param actions
+	 * 意味動作と述語のフック
+	 * @throws ParserException
+	 * 構文エラーまたは意味エラーが見つかった場合
+	 */
+	void parse(ParserActions actions) throws ParserException {
+		index = 0;
+		lineCount = 0;
+		parse(actions, ParserTable.START);
+	}
+	
+	/**
+	 * 先読みトークンの位置から非終端記号を一つ解析します。解析はその非終端記号の解析が終わったところで終わり、
+	 * 先読みトークンの位置は解析した記号の次のトークンになります。
+	 * @param actions
+	 * 意味動作と述語のフック
+	 * @param start
+	 * 解析する非終端記号 ({@code ParserTable.NONTERMINAL_*})
+	 * @throws ParserException
+	 * 構文エラーまたは意味エラーが見つかった場合
+	 */
+	void parse(ParserActions actions, int start) throws ParserException {
+		if(actions != rulesOwner) {
+			rules = new int[ParserTable.RIGHT.length][];
+			for(int production = 0; production < rules.length; production++) expand(production, actions, rules);
+			rulesOwner = actions;
+		}
+		int[][] rules = this.rules;
+		int[] stack = new int[64];
+		int top = 0;
+		
+		int tokenID = getTokenID();
+		stack[top++] = start;
+		
+		while(top > 0) {
+			int symbol = stack[--top];
+			
+			if(symbol < ParserTable.TERMINAL_COUNT) {
+				if(tokenID != symbol) throw new ParserException(getLineNum(), true);
+				tokenID = getTokenID(++index);
+			}
+			else if(symbol < ParserTable.ACTION_BASE) {
+				int nonterminal = symbol - ParserTable.TERMINAL_COUNT;
+				int production = PREDICT[nonterminal * COLUMN_COUNT + ((tokenID >= 0 && tokenID < ParserTable.TERMINAL_COUNT) ? tokenID : ParserTable.TERMINAL_COUNT)];
+				if(production < -1) production = predict(nonterminal, tokenID, actions);
+				if(production < 0) throw new ParserException(getLineNum(), true);
+				
+				int[] rule = rules[production];
+				if(top + rule.length > stack.length) stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + rule.length));
+				for(int symbolInRule : rule) stack[top++] = symbolInRule;
+			}
+			else if(symbol == LINE) {
+				if(lineCount == lines.length) lines = Arrays.copyOf(lines, lineCount * 2);
+				lines[lineCount++] = getLineNum(index);
+			}
+			else if(symbol == END_LINE) {
+				lineCount--;
+			}
+			else {
+				actions.action(symbol - ParserTable.ACTION_BASE);
+			}
+		}
+	}
+	
+	/**
+	 * 記号のスタックに積む順 (右辺の逆順) に並べた生成規則の右辺を作成します。
+	 * 実行しない意味動作は取り除き、生成規則が一つしかない非終端記号はその右辺に置き換えるので、
+	 * 解析表を引く回数が減ります。置き換えた右辺の先頭の意味動作は、先読みトークンが右辺に合わない場合にも
+	 * 構文エラーの前に実行されますが、エラーは置き換えない場合と同じトークンで見つかります。
+	 * @param production
+	 * 生成規則の番号
+	 * @param rules
+	 * 作成した右辺 (まだ作成していない生成規則は {@code null})
+	 * @return
+	 * 作成した右辺です。
+	 */
+	private static int[] expand(int production, ParserActions actions, int[][] rules) {
+		if(rules[production] != null) return rules[production];
+		
+		int[] right = ParserTable.RIGHT[production];
+		int[] rule = new int[right.length];
+		int length = 0;
+		for(int i = right.length - 1; i >= 0; i--) {
+			int symbol = right[i];
+			if(symbol >= ParserTable.ACTION_BASE && !actions.handles(symbol - ParserTable.ACTION_BASE)) continue;
+			
+			int single = (symbol >= ParserTable.TERMINAL_COUNT && symbol < ParserTable.ACTION_BASE) ? SINGLE[symbol - ParserTable.TERMINAL_COUNT] : -1;
+			int[] part = (single >= 0) ? expand(single, actions, rules) : new int[] { symbol };
+			if(length + part.length > rule.length) rule = Arrays.copyOf(rule, length + part.length + right.length);
+			System.arraycopy(part, 0, rule, length, part.length);
+			length += part.length;
+		}
+		
+		return rules[production] = Arrays.copyOf(rule, length);
+	}
+	
+	/**
+	 * 述語の付いた生成規則がある場合に、先読みトークンと述語で非終端記号の生成規則を選びます。
+	 * @return
+	 * 生成規則の番号です。選べる生成規則がない場合は -1 をリターンします。
+	 */
+	private static int predict(int nonterminal, int tokenID, ParserActions actions) {
+		int production = ParserTable.PREDICT[nonterminal][tokenID];
+		
+		if(production >= 0) {
+			if(!actions.predicate(ParserTable.PREDICATES[production])) production = -1;
+		}
+		else if(production < -1) {
+			int[] choices = ParserTable.CHOICES[-2 - production];
+			production = -1;
+			for(int candidate : choices) {
+				int predicate = ParserTable.PREDICATES[candidate];
+				if(predicate < 0 || actions.predicate(predicate)) {
+					production = candidate;
+					break;
+				}
+			}
+		}
+		
+		return (production >= 0) ? production : ParserTable.DEFAULTS[nonterminal];
+	}
+	
+	/**
+	 * 解析表を非終端記号と先読みトークンで引く一次元の表に変換します。
+	 * 表にない組合せは既定の生成規則 (既定の生成規則もない場合は -1) とし、
+	 * 述語を評価する必要がある組合せは -2 として {@link #predict(int, int, ParserActions) predict} メソッドで選びます。
+	 * 最後の列はトークン列の終わりに対応します。
+	 */
+	private static int[] flattenPredict() {
+		int[] table = new int[ParserTable.NONTERMINAL_COUNT * COLUMN_COUNT];
+		
+		for(int nonterminal = 0; nonterminal < ParserTable.NONTERMINAL_COUNT; nonterminal++) {
+			for(int column = 0; column < COLUMN_COUNT; column++) {
+				int production = (column < ParserTable.TERMINAL_COUNT) ? ParserTable.PREDICT[nonterminal][column] : -1;
+				if(production < -1 || (production >= 0 && ParserTable.PREDICATES[production] >= 0)) production = -2;
+				else if(production == -1) production = ParserTable.DEFAULTS[nonterminal];
+				table[nonterminal * COLUMN_COUNT + column] = production;
+			}
+		}
+		
+		return table;
+	}
+	
+	/**
+	 * 先読みトークンによらず同じ生成規則を選ぶ非終端記号 (生成規則が一つしかなく、述語もない非終端記号) の生成規則を求めます。
+	 * 文法記述ファイルのすべての非終端記号は終端記号の列を導出するので、このような非終端記号が互いを含むことはありません。
+	 * @return
+	 * 非終端記号ごとの生成規則の番号です。それ以外の非終端記号は -1 です。
+	 */
+	private static int[] singleProductions() {
+		int[] single = new int[ParserTable.NONTERMINAL_COUNT];
+		
+		for(int nonterminal = 0; nonterminal < ParserTable.NONTERMINAL_COUNT; nonterminal++) {
+			int production = ParserTable.DEFAULTS[nonterminal];
+			for(int tokenID = 0; tokenID < ParserTable.TERMINAL_COUNT && production != -2; tokenID++) {
+				int candidate = ParserTable.PREDICT[nonterminal][tokenID];
+				if(candidate == -1 || candidate == production) continue;
+				production = (production == -1 && candidate >= 0 && ParserTable.PREDICATES[candidate] < 0) ? candidate : -2;
+			}
+			single[nonterminal] = Math.max(production, -1);
+		}
+		
+		return single;
+	}
+	
+	/**
+	 * 先読みトークンの位置をリターンします。
+	 * @return
+	 * 先読みトークンの位置です。直前に照合した終端記号のトークンの位置は {@code getIndex() - 1} です。
+	 */
+	int getIndex() {
+		return index;
+	}
+	
+	/**
+	 * 先読みトークンの位置を一つ進めます。再帰下降で解析する {@link ParserDescent ParserDescent} が終端記号を照合した後に使用します。
+	 */
+	void next() {
+		index++;
+	}
+	
+	/**
+	 * 意味動作 {@code #line} で記録した行番号のうち、最後のものをリターンします。
+	 * {@code #line} と {@code #endLine} は意味動作を呼び出さずに解析器が実行し、行番号をスタックに積み降ろしします。
+	 * @return
+	 * 行番号です。
+	 */
+	int peekLine() {
+		return lines[lineCount - 1];
+	}
+	
+	/**
+	 * 意味動作 {@code #line} で記録した行番号のうち、最後のものを取り除いてリターンします。
+	 * @return
+	 * 行番号です。
+	 */
+	int popLine() {
+		return lines[--lineCount];
+	}
+	
+	/**
+	 * これまでに読み込んだトークンの数をリターンします。
+	 * @return
+	 * トークンの数です。
+	 */
+	int getTokenCount() {
+		if(stream != null)
+			return stream.size();
+		else
+			return tokenCount;
+	}
+	
+	/**
+	 * 先読みトークンより前のトークンを窓から解放します。トークンストリームを解析する場合だけ意味があります。
+	 */
+	void release() {
+		if(stream != null) stream.release(index);
+	}
+	
+	String getString(int index) {
+		if(stream != null)
+			return stream.getString(index);
+		else
+			return (index < tokenCount) ? tokens.getString(index) : null;
+	}
+	
+	int getSymbolID(int index) {
+		if(stream != null)
+			return stream.getSymbolID(index);
+		else
+			return (index < tokenCount) ? tokens.getSymbolID(index) : -1;
+	}
+	
+	int getConstant(int index) {
+		if(stream != null)
+			return stream.getConstant(index);
+		else
+			return (index < tokenCount) ? tokens.getConstant(index) : -1;
+	}
+	
+	int getTokenID() {
+		return getTokenID(index);
+	}
+	
+	int getTokenID(int index) {
+		if(stream != null)
+			return stream.getTokenID(index);
+		else
+			return (index < tokenCount) ? tokens.getTokenID(index) : -1;
+	}
+	
+	int getLineNum() {
+		return getLineNum(index);
+	}
+	
+	int getLineNum(int index) {
+		if(stream != null)
+			return stream.getLineNum(index);
+		else
+			return (index < tokenCount) ? tokens.getLineNum(index) : -1;
+	}
+}
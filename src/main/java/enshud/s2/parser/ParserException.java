@@ -6,7 +6,11 @@ final class ParserException extends Exception {
 	
 	/**Constructor of ParserException*/
 	public ParserException(int lineNum) {
-		super("Syntax error: line " + lineNum);
-		//super((isSyntaxError ? "Syntax error: line " : "Semantic error: line ") + lineNum);
+		this(lineNum, true);
+	}
+	
+	/**Constructor of ParserException*/
+	public ParserException(int lineNum, boolean isSyntaxError) {
+		super((isSyntaxError ? "Syntax error: line " : "Semantic error: line ") + lineNum);
 	}
 }
@@ -0,0 +1,312 @@
+package enshud.s2.parser;
+
+import java.util.*;
+
+/**
+ * 抽象構文木の節のクラスです。
+ * 各節は元のプログラムの行番号を持ち、式の節は意味解析で求めた型 ({@link ParserType ParserType} の番号) を持ちます。
+ * 変数や手続きは名前の代わりに宣言の {@link ParserSymbol ParserSymbol} を参照します。
+ * 節の種類はこのクラスの入れ子クラスで表します。
+ */
+public abstract class ParserNode {
+	private final int lineNum;
+	
+	/**
+	 * ParserNode クラスのコンストラクタです。
+	 * @param lineNum
+	 * 節の最初のトークンの行番号
+	 */
+	ParserNode(int lineNum) {
+		this.lineNum = lineNum;
+	}
+	
+	/**
+	 * 節の最初のトークンの行番号をリターンします。
+	 * @return
+	 * 行番号です。
+	 */
+	public int getLineNum() { return lineNum; }
+	
+	/**
+	 * プログラム全体を表す節です。
+	 */
+	public static final class Program extends ParserNode {
+		private final String name;
+		private final List<ParserSymbol> variables;
+		private final List<Procedure> procedures;
+		private final Block body;
+		
+		Program(int lineNum, String name, List<ParserSymbol> variables, List<Procedure> procedures, Block body) {
+			super(lineNum);
+			this.name = name;
+			this.variables = variables;
+			this.procedures = procedures;
+			this.body = body;
+		}
+		
+		/**プログラム名をリターンします。*/
+		public String getName() { return name; }
+		/**大域変数を宣言の順にリターンします。*/
+		public List<ParserSymbol> getVariables() { return variables; }
+		/**副プログラムを宣言の順にリターンします。*/
+		public List<Procedure> getProcedures() { return procedures; }
+		/**主プログラムの複合文をリターンします。*/
+		public Block getBody() { return body; }
+	}
+	
+	/**
+	 * 副プログラム宣言を表す節です。
+	 */
+	public static final class Procedure extends ParserNode {
+		private final ParserSymbol symbol;
+		private final List<ParserSymbol> parameters;
+		private final List<ParserSymbol> variables;
+		private final Block body;
+		
+		Procedure(int lineNum, ParserSymbol symbol, List<ParserSymbol> parameters, List<ParserSymbol> variables, Block body) {
+			super(lineNum);
+			this.symbol = symbol;
+			this.parameters = parameters;
+			this.variables = variables;
+			this.body = body;
+		}
+		
+		/**手続きの記号をリターンします。*/
+		public ParserSymbol getSymbol() { return symbol; }
+		/**仮パラメータを宣言の順にリターンします。*/
+		public List<ParserSymbol> getParameters() { return parameters; }
+		/**局所変数を宣言の順にリターンします。*/
+		public List<ParserSymbol> getVariables() { return variables; }
+		/**手続きの複合文をリターンします。*/
+		public Block getBody() { return body; }
+	}
+	
+	/**
+	 * 文を表す節です。
+	 */
+	public abstract static class Statement extends ParserNode {
+		Statement(int lineNum) {
+			super(lineNum);
+		}
+	}
+	
+	/**
+	 * 複合文を表す節です。
+	 */
+	public static final class Block extends Statement {
+		private final List<Statement> statements;
+		
+		Block(int lineNum, List<Statement> statements) {
+			super(lineNum);
+			this.statements = statements;
+		}
+		
+		/**文の並びをリターンします。*/
+		public List<Statement> getStatements() { return statements; }
+	}
+	
+	/**
+	 * 代入文を表す節です。
+	 */
+	public static final class Assign extends Statement {
+		private final Variable target;
+		private final Expression value;
+		
+		Assign(int lineNum, Variable target, Expression value) {
+			super(lineNum);
+			this.target = target;
+			this.value = value;
+		}
+		
+		/**左辺の変数をリターンします。*/
+		public Variable getTarget() { return target; }
+		/**右辺の式をリターンします。*/
+		public Expression getValue() { return value; }
+	}
+	
+	/**
+	 * 手続き呼出し文を表す節です。
+	 */
+	public static final class Call extends Statement {
+		private final ParserSymbol procedure;
+		private final List<Expression> arguments;
+		
+		Call(int lineNum, ParserSymbol procedure, List<Expression> arguments) {
+			super(lineNum);
+			this.procedure = procedure;
+			this.arguments = arguments;
+		}
+		
+		/**呼び出す手続きの記号をリターンします。*/
+		public ParserSymbol getProcedure() { return procedure; }
+		/**実引数の式の並びをリターンします。*/
+		public List<Expression> getArguments() { return arguments; }
+	}
+	
+	/**
+	 * if 文を表す節です。
+	 */
+	public static final class If extends Statement {
+		private final Expression condition;
+		private final Block thenBlock;
+		private final Block elseBlock;
+		
+		If(int lineNum, Expression condition, Block thenBlock, Block elseBlock) {
+			super(lineNum);
+			this.condition = condition;
+			this.thenBlock = thenBlock;
+			this.elseBlock = elseBlock;
+		}
+		
+		/**条件式をリターンします。*/
+		public Expression getCondition() { return condition; }
+		/**then 節の複合文をリターンします。*/
+		public Block getThenBlock() { return thenBlock; }
+		/**else 節の複合文をリターンします。else 節がない場合は {@code null} です。*/
+		public Block getElseBlock() { return elseBlock; }
+	}
+	
+	/**
+	 * while 文を表す節です。
+	 */
+	public static final class While extends Statement {
+		private final Expression condition;
+		private final Statement body;
+		
+		While(int lineNum, Expression condition, Statement body) {
+			super(lineNum);
+			this.condition = condition;
+			this.body = body;
+		}
+		
+		/**条件式をリターンします。*/
+		public Expression getCondition() { return condition; }
+		/**繰り返す文をリターンします。*/
+		public Statement getBody() { return body; }
+	}
+	
+	/**
+	 * readln 文を表す節です。
+	 */
+	public static final class Read extends Statement {
+		private final List<Variable> variables;
+		
+		Read(int lineNum, List<Variable> variables) {
+			super(lineNum);
+			this.variables = variables;
+		}
+		
+		/**読み込む変数の並びをリターンします。変数の並びがない場合は空のリストです。*/
+		public List<Variable> getVariables() { return variables; }
+	}
+	
+	/**
+	 * writeln 文を表す節です。
+	 */
+	public static final class Write extends Statement {
+		private final List<Expression> arguments;
+		
+		Write(int lineNum, List<Expression> arguments) {
+			super(lineNum);
+			this.arguments = arguments;
+		}
+		
+		/**書き出す式の並びをリターンします。式の並びがない場合は空のリストです。*/
+		public List<Expression> getArguments() { return arguments; }
+	}
+	
+	/**
+	 * 式を表す節です。
+	 */
+	public abstract static class Expression extends ParserNode {
+		private final int type;
+		
+		Expression(int lineNum, int type) {
+			super(lineNum);
+			this.type = type;
+		}
+		
+		/**式の型 ({@link ParserType ParserType} の番号) をリターンします。*/
+		public int getType() { return type; }
+	}
+	
+	/**
+	 * 変数 (純変数または添字付き変数) を表す節です。
+	 */
+	public static final class Variable extends Expression {
+		private final ParserSymbol symbol;
+		private final Expression index;
+		
+		Variable(int lineNum, int type, ParserSymbol symbol, Expression index) {
+			super(lineNum, type);
+			this.symbol = symbol;
+			this.index = index;
+		}
+		
+		/**変数の記号をリターンします。*/
+		public ParserSymbol getSymbol() { return symbol; }
+		/**添字の式をリターンします。純変数の場合は {@code null} です。*/
+		public Expression getIndex() { return index; }
+	}
+	
+	/**
+	 * 定数を表す節です。
+	 */
+	public static final class Constant extends Expression {
+		private final int value;
+		private final String text;
+		
+		Constant(int lineNum, int type, int value, String text) {
+			super(lineNum, type);
+			this.value = value;
+			this.text = text;
+		}
+		
+		/**定数の値をリターンします。文字は文字コード、真理値は 0 か 1 です。文字列の場合は 0 です。*/
+		public int getValue() { return value; }
+		/**定数のトークン文字列をリターンします。文字・文字列は引用符を含みます。*/
+		public String getText() { return text; }
+	}
+	
+	/**
+	 * 単項演算 (符号 - と not) を表す節です。
+	 */
+	public static final class Unary extends Expression {
+		private final int operator;
+		private final Expression operand;
+		
+		Unary(int lineNum, int type, int operator, Expression operand) {
+			super(lineNum, type);
+			this.operator = operator;
+			this.operand = operand;
+		}
+		
+		/**演算子のトークンID ({@link ParserData#SMINUS SMINUS} か {@link ParserData#SNOT SNOT}) をリターンします。*/
+		public int getOperator() { return operator; }
+		/**被演算子の式をリターンします。*/
+		public Expression getOperand() { return operand; }
+	}
+	
+	/**
+	 * 二項演算 (関係演算子・加法演算子・乗法演算子) を表す節です。
+	 */
+	public static final class Binary extends Expression {
+		private final int operator;
+		private final Expression left;
+		private final Expression right;
+		
+		Binary(int lineNum, int type, int operator, Expression left, Expression right) {
+			super(lineNum, type);
+			this.operator = operator;
+			this.left = left;
+			this.right = right;
+		}
+		
+		/**演算子のトークンID ({@link ParserData ParserData} の番号) をリターンします。*/
+		public int getOperator() { return operator; }
+		/**左の被演算子の式をリターンします。*/
+		public Expression getLeft() { return left; }
+		/**右の被演算子の式をリターンします。*/
+		public Expression getRight() { return right; }
+	}
+}
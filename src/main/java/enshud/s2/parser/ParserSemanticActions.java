@@ -0,0 +1,444 @@
+package enshud.s2.parser;
+
+import java.util.*;
+
+import enshud.s2.parser.ParserNode.*;
+
+/**
+ * 意味解析器とコンパイラのための意味動作と述語です。
+ * <p>
+ * 宣言された識別子を {@link ParserTypeCheck ParserTypeCheck} の記号表に登録して型を確認し、抽象構文木を作成します。
+ * 代入文と手続き呼出し文は識別子の種類で選び、変数の後の {@code "["} は配列型の変数の場合だけ添字とします。
+ * <p>
+ * 抽象構文木の節は値のスタックに、演算子は演算子のスタックに積み、生成規則の最後の意味動作で取り出して親の節を作成します。
+ * 節の行番号は {@link ParserEngine ParserEngine} が記録したものを使用します。
+ * コード生成だけが必要とする型の確認 (関係演算子の被演算子、writeln の引数、readln の変数) で
+ * 見つかった最初のエラーは解析を止めずに記録します。
+ * <p>
+ * 意味モードの解析は {@link ParserDescent ParserDescent} が再帰下降で行い、入れ子の深い文や因子だけを
+ * 記号表を共有するこのクラスとともに {@link ParserEngine ParserEngine} に任せます。
+ */
+final class ParserSemanticActions implements ParserActions {
+	private final ParserEngine engine;
+	private final boolean keepTree;
+	private final ParserTypeCheck typeCheck;
+	
+	/*値のスタック (抽象構文木の節・記号・並び)*/
+	private Object[] values = new Object[64];
+	private int valueCount = 0;
+	/*演算子のスタック*/
+	private int[] operators = new int[64];
+	private int operatorCount = 0;
+	
+	/*宣言*/
+	private String programName;
+	private final List<ParserSymbol> globalVariables = new ArrayList<ParserSymbol>();
+	private final List<Procedure> procedures = new ArrayList<Procedure>();
+	private boolean isGlobal = true;
+	private List<ParserSymbol> parameters;
+	private List<ParserSymbol> localVariables;
+	private ParserSymbol procedureSymbol;
+	
+	private ParserSymbol variableSymbol; //述語・意味動作で見つけた変数
+	
+	private Program program = null;
+	private String strictError = null;
+	
+	/**
+	 * ParserSemanticActions クラスのコンストラクタです。
+	 * @param engine
+	 * トークンの位置や値を参照する解析器
+	 * @param typeCheck
+	 * 識別子を登録し、型を確認する記号表
+	 * @param keepTree
+	 * 抽象構文木を保持する場合は {@code true}。{@code false} の場合は解析の終わった文を捨てます。
+	 */
+	ParserSemanticActions(ParserEngine engine, ParserTypeCheck typeCheck, boolean keepTree) {
+		this.engine = engine;
+		this.typeCheck = typeCheck;
+		this.keepTree = keepTree;
+	}
+	
+	/**
+	 * 作成した抽象構文木をリターンします。
+	 * @return
+	 * プログラムの節です。解析が終わっていない場合は {@code null} をリターンします。
+	 */
+	Program getProgram() {
+		return program;
+	}
+	
+	/**
+	 * コード生成だけが必要とする型の確認で見つかった最初のエラーをリターンします。
+	 * @return
+	 * エラーメッセージです。エラーがない場合は {@code null} をリターンします。
+	 */
+	String getStrictError() {
+		return strictError;
+	}
+	
+	/**
+	 * 先読みトークンの行番号で、コード生成だけが必要とする型の確認のエラーを記録します。すでに記録したエラーがある場合は何もしません。
+	 */
+	void recordStrictError() {
+		if(strictError == null) strictError = new ParserException(engine.getLineNum(), false).getMessage();
+	}
+	
+	/**
+	 * 非終端記号 (文・式・因子) を一つ解析した後に、値のスタックに残った節を取り出します。
+	 * @return
+	 * 抽象構文木の節です。
+	 */
+	ParserNode popNode() {
+		return (ParserNode)pop();
+	}
+	
+	/*stack*/
+	private void push(Object value) {
+		if(valueCount == values.length) growValues();
+		values[valueCount++] = value;
+	}
+	private void growValues() {
+		values = Arrays.copyOf(values, valueCount * 2);
+	}
+	private Object pop() {
+		Object value = values[--valueCount];
+		values[valueCount] = null;
+		return value;
+	}
+	private Object peek() {
+		return values[valueCount - 1];
+	}
+	@SuppressWarnings("unchecked")
+	private <T> List<T> popList() {
+		return (List<T>)pop();
+	}
+	@SuppressWarnings("unchecked")
+	private <T> List<T> peekList() {
+		return (List<T>)peek();
+	}
+	private void pushOperator(int operator) {
+		if(operatorCount == operators.length) growOperators();
+		operators[operatorCount++] = operator;
+	}
+	private void growOperators() {
+		operators = Arrays.copyOf(operators, operatorCount * 2);
+	}
+	private int popOperator() {
+		return operators[--operatorCount];
+	}
+	
+	/*直前に照合した終端記号のトークン*/
+	private int last() {
+		return engine.getIndex() - 1;
+	}
+	
+	/**Exception*/
+	private void throwCheckException() throws ParserException {
+		throw new ParserException(engine.getLineNum(), false);
+	}
+	private void throwCheckExceptionAtLast() throws ParserException {
+		throw new ParserException(engine.getLineNum(last()), false);
+	}
+	
+	private static boolean isWritableType(int type) {
+		return type == ParserType.TYPE_INTEGER || type == ParserType.TYPE_CHAR || type == ParserType.TYPE_ARRAY_CHAR;
+	}
+	
+	@Override
+	public boolean handles(int action) {
+		return action != ParserTable.ACTION_ASSIGN_OPERATOR;
+	}
+	
+	@Override
+	public void action(int action) throws ParserException {
+		switch(action) {
+		/*プログラム*/
+		case ParserTable.ACTION_RELEASE:
+			engine.release();
+			break;
+		case ParserTable.ACTION_PROGRAM_NAME:
+			programName = engine.getString(last());
+			break;
+		case ParserTable.ACTION_PROGRAM: {
+			Block body = (Block)pop();
+			program = new Program(engine.popLine(), programName, globalVariables, procedures, body);
+			break;
+		}
+		
+		/*変数宣言*/
+		case ParserTable.ACTION_ADD_IDENTIFIER:
+			typeCheck.addIdentifier(engine.getSymbolID(last()));
+			break;
+		case ParserTable.ACTION_ADD_VARIABLES:
+			if(isGlobal) {
+				if(!typeCheck.addGlobalIdentifiers(globalVariables)) throwCheckException();
+			}
+			else {
+				if(!typeCheck.addLocalIdentifiers(localVariables)) throwCheckException();
+			}
+			typeCheck.clearIdentifierList();
+			break;
+		case ParserTable.ACTION_STANDARD_TYPE:
+			switch(engine.getTokenID(last())) {
+			case ParserData.SINTEGER: typeCheck.pushType(ParserType.TYPE_INTEGER); break;
+			case ParserData.SCHAR: typeCheck.pushType(ParserType.TYPE_CHAR); break;
+			default: typeCheck.pushType(ParserType.TYPE_BOOLEAN); break;
+			}
+			break;
+		case ParserTable.ACTION_ARRAY_TYPE:
+			typeCheck.fromNormalTypeToArrayType();
+			break;
+		case ParserTable.ACTION_INDEX_MIN:
+			if(!typeCheck.setIndexMin()) throwCheckException();
+			break;
+		case ParserTable.ACTION_INDEX_MAX:
+			if(!typeCheck.setIndexMax()) throwCheckException();
+			break;
+		case ParserTable.ACTION_CHECK_INDEX:
+			if(!typeCheck.checkIndex()) throwCheckException();
+			break;
+		case ParserTable.ACTION_INTEGER:
+			if(!typeCheck.setNumberConstant(engine.getConstant(last()))) throwCheckExceptionAtLast();
+			break;
+		case ParserTable.ACTION_SET_SIGN:
+			typeCheck.setSign((engine.getTokenID(last()) == ParserData.SPLUS) ? '+' : '-');
+			break;
+		case ParserTable.ACTION_NO_SIGN:
+			typeCheck.setSign('\0');
+			break;
+		
+		/*副プログラム宣言*/
+		case ParserTable.ACTION_BEGIN_PROCEDURE:
+			isGlobal = false;
+			parameters = new ArrayList<ParserSymbol>();
+			localVariables = new ArrayList<ParserSymbol>();
+			break;
+		case ParserTable.ACTION_ROUTINE_NAME:
+			typeCheck.setSubroutineIdentifier(engine.getSymbolID(last()));
+			break;
+		case ParserTable.ACTION_ADD_PARAMETERS:
+			typeCheck.addArgumentTypes();
+			if(!typeCheck.addParameterIdentifiers(parameters)) throwCheckException();
+			else typeCheck.clearIdentifierList();
+			break;
+		case ParserTable.ACTION_ADD_PROCEDURE:
+			if(!typeCheck.addGlobalSubroutineIdentifier()) throwCheckException();
+			else typeCheck.clearArgumentTypeList();
+			procedureSymbol = typeCheck.getSubroutineSymbol();
+			break;
+		case ParserTable.ACTION_PROCEDURE: {
+			Block body = (Block)pop();
+			typeCheck.clearLocalIdentifierList();
+			Procedure procedure = new Procedure(engine.popLine(), procedureSymbol, parameters, localVariables, body);
+			if(keepTree) procedures.add(procedure);
+			break;
+		}
+		
+		/*文*/
+		case ParserTable.ACTION_LIST:
+			push(new ArrayList<Object>());
+			break;
+		case ParserTable.ACTION_STATEMENT: {
+			Statement statement = (Statement)pop();
+			if(keepTree) this.<Statement>peekList().add(statement);
+			break;
+		}
+		case ParserTable.ACTION_BLOCK: {
+			List<Statement> statements = popList();
+			push(new Block(engine.popLine(), statements));
+			break;
+		}
+		case ParserTable.ACTION_NO_ELSE:
+			push(null);
+			break;
+		case ParserTable.ACTION_IF: {
+			Block elseBlock = (Block)pop();
+			Block thenBlock = (Block)pop();
+			Expression condition = (Expression)pop();
+			push(new If(engine.popLine(), condition, thenBlock, elseBlock));
+			break;
+		}
+		case ParserTable.ACTION_WHILE: {
+			Statement body = (Statement)pop();
+			Expression condition = (Expression)pop();
+			push(new While(engine.popLine(), condition, body));
+			break;
+		}
+		case ParserTable.ACTION_EXPECT_BOOLEAN:
+			typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+			break;
+		case ParserTable.ACTION_EXPECT_INTEGER:
+			typeCheck.pushType(ParserType.TYPE_INTEGER);
+			break;
+		case ParserTable.ACTION_CHECK_EXPECTED:
+			if(!typeCheck.checkType(true)) throwCheckException();
+			break;
+		case ParserTable.ACTION_ASSIGN_TARGET:
+			if(!ParserType.isNormalType(typeCheck.peekType())) throwCheckException();
+			break;
+		case ParserTable.ACTION_ASSIGN: {
+			if(!typeCheck.checkType(true)) throwCheckException();
+			Expression value = (Expression)pop();
+			Variable target = (Variable)pop();
+			push(new Assign(target.getLineNum(), target, value));
+			break;
+		}
+		case ParserTable.ACTION_CALLEE:
+			if(!typeCheck.pushSubroutineArgumentsType()) throw new ParserException(engine.peekLine(), false);
+			push(typeCheck.getSubroutineSymbol());
+			push(new ArrayList<Object>());
+			break;
+		case ParserTable.ACTION_ARGUMENT: {
+			if(!typeCheck.checkType(true)) throwCheckException();
+			Expression argument = (Expression)pop();
+			this.<Expression>peekList().add(argument);
+			break;
+		}
+		case ParserTable.ACTION_CALL: {
+			if(typeCheck.popType() != ParserType.TYPE_SUBROUTINE) throwCheckException();
+			List<Expression> arguments = popList();
+			ParserSymbol symbol = (ParserSymbol)pop();
+			push(new Call(engine.popLine(), symbol, arguments));
+			break;
+		}
+		case ParserTable.ACTION_READ_VARIABLE: {
+			if(!isWritableType(typeCheck.popType())) recordStrictError();
+			Variable variable = (Variable)pop();
+			this.<Variable>peekList().add(variable);
+			break;
+		}
+		case ParserTable.ACTION_READ: {
+			List<Variable> variables = popList();
+			push(new Read(engine.popLine(), variables));
+			break;
+		}
+		case ParserTable.ACTION_WRITE_ARGUMENT: {
+			if(!isWritableType(typeCheck.popType())) recordStrictError();
+			Expression argument = (Expression)pop();
+			this.<Expression>peekList().add(argument);
+			break;
+		}
+		case ParserTable.ACTION_WRITE: {
+			List<Expression> arguments = popList();
+			push(new Write(engine.popLine(), arguments));
+			break;
+		}
+		
+		/*変数*/
+		case ParserTable.ACTION_FIND_VARIABLE:
+			if((variableSymbol = typeCheck.findVariable(engine.getSymbolID(engine.getIndex()))) == null) throw new ParserException(engine.getLineNum(), true);
+			break;
+		case ParserTable.ACTION_VARIABLE:
+			typeCheck.pushType(variableSymbol.getType());
+			push(variableSymbol);
+			break;
+		case ParserTable.ACTION_NORMAL_VARIABLE: {
+			ParserSymbol symbol = (ParserSymbol)pop();
+			push(new Variable(engine.popLine(), typeCheck.peekType(), symbol, null));
+			break;
+		}
+		case ParserTable.ACTION_INDEXED_VARIABLE: {
+			if(!typeCheck.fromArrayTypeToNormalType()) throwCheckException();
+			Expression index = (Expression)pop();
+			ParserSymbol symbol = (ParserSymbol)pop();
+			push(new Variable(engine.popLine(), typeCheck.peekType(), symbol, index));
+			break;
+		}
+		
+		/*式*/
+		case ParserTable.ACTION_OPERATOR:
+			pushOperator(engine.getTokenID(last()));
+			break;
+		case ParserTable.ACTION_INTEGER_OPERATOR:
+			if(typeCheck.peekType() != ParserType.TYPE_INTEGER) throwCheckExceptionAtLast();
+			pushOperator(engine.getTokenID(last()));
+			break;
+		case ParserTable.ACTION_BOOLEAN_OPERATOR:
+			if(typeCheck.peekType() != ParserType.TYPE_BOOLEAN) throwCheckExceptionAtLast();
+			pushOperator(engine.getTokenID(last()));
+			break;
+		case ParserTable.ACTION_RELATION: {
+			int op = popOperator();
+			if(!ParserType.isNormalType(typeCheck.peekType())) recordStrictError();
+			if(!typeCheck.checkType(true)) throwCheckException();
+			else typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+			Expression right = (Expression)pop();
+			Expression left = (Expression)pop();
+			push(new Binary(engine.peekLine(), ParserType.TYPE_BOOLEAN, op, left, right));
+			break;
+		}
+		case ParserTable.ACTION_APPLY_SIGN: {
+			/*符号は項の中の単純式で上書きされることがあるが、これまでの意味解析器と同じく項の後の値で判断する*/
+			char sign = typeCheck.getSign();
+			if(sign != '\0') {
+				if(typeCheck.peekType() != ParserType.TYPE_INTEGER) throwCheckException();
+				
+				if(sign == '-') push(new Unary(engine.peekLine(), ParserType.TYPE_INTEGER, ParserData.SMINUS, (Expression)pop()));
+			}
+			break;
+		}
+		case ParserTable.ACTION_BINARY: {
+			if(!typeCheck.checkType(false)) throwCheckException();
+			int op = popOperator();
+			Expression right = (Expression)pop();
+			Expression left = (Expression)pop();
+			push(new Binary(engine.peekLine(), typeCheck.peekType(), op, left, right));
+			break;
+		}
+		case ParserTable.ACTION_NOT: {
+			if(typeCheck.peekType() != ParserType.TYPE_BOOLEAN) throwCheckException();
+			Expression operand = (Expression)pop();
+			push(new Unary(engine.popLine(), ParserType.TYPE_BOOLEAN, ParserData.SNOT, operand));
+			break;
+		}
+		
+		/*定数*/
+		case ParserTable.ACTION_INTEGER_CONSTANT: {
+			int index = last();
+			typeCheck.pushType(ParserType.TYPE_INTEGER);
+			if(!typeCheck.setNumberConstant(engine.getConstant(index))) throwCheckExceptionAtLast();
+			push(new Constant(engine.getLineNum(index), ParserType.TYPE_INTEGER, engine.getConstant(index), engine.getString(index)));
+			break;
+		}
+		case ParserTable.ACTION_STRING_CONSTANT: {
+			int index = last();
+			String text = engine.getString(index);
+			if(text.length() == 3) {
+				typeCheck.pushType(ParserType.TYPE_CHAR);
+				push(new Constant(engine.getLineNum(index), ParserType.TYPE_CHAR, text.charAt(1), text));
+			}
+			else {
+				typeCheck.pushType(ParserType.TYPE_ARRAY_CHAR);
+				push(new Constant(engine.getLineNum(index), ParserType.TYPE_ARRAY_CHAR, 0, text));
+			}
+			break;
+		}
+		case ParserTable.ACTION_BOOLEAN_CONSTANT: {
+			int index = last();
+			typeCheck.pushType(ParserType.TYPE_BOOLEAN);
+			if(engine.getTokenID(index) == ParserData.STRUE)
+				push(new Constant(engine.getLineNum(index), ParserType.TYPE_BOOLEAN, 1, "true"));
+			else
+				push(new Constant(engine.getLineNum(index), ParserType.TYPE_BOOLEAN, 0, "false"));
+			break;
+		}
+		default:
+			break;
+		}
+	}
+	
+	@Override
+	public boolean predicate(int predicate) {
+		switch(predicate) {
+		case ParserTable.PREDICATE_ASSIGN:
+			/*変数ならば代入文、それ以外は手続き呼出し文*/
+			return (variableSymbol = typeCheck.findVariable(engine.getSymbolID(engine.getIndex()))) != null;
+		case ParserTable.PREDICATE_INDEXED:
+			/*配列型の変数の場合だけ "[" を添字とする*/
+			return ParserType.isArrayType(((ParserSymbol)peek()).getType());
+		default:
+			return false;
+		}
+	}
+}
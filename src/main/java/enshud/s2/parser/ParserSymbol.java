@@ -0,0 +1,111 @@
+package enshud.s2.parser;
+
+/**
+ * 宣言された変数・仮パラメータ・手続きの情報を保存するクラスです。
+ * 抽象構文木の変数や手続き呼出しは、名前の代わりにこのクラスのインスタンスを参照します。
+ * <p>
+ * 宣言の種類ごとに、宣言の順に記憶域の番号 (スロット) を割り当てます。
+ * <ul>
+ * <li>大域変数: 大域変数の中での順番 (0 から)
+ * <li>局所変数: 手続きの局所変数領域の中での位置 (配列は要素の数だけ領域を使う)
+ * <li>仮パラメータ: 仮パラメータの中での順番 (0 から)
+ * <li>手続き: 手続きの中での順番 (0 から)
+ * </ul>
+ */
+public final class ParserSymbol {
+	/**宣言の種類*/
+	public static final int
+			KIND_GLOBAL = 0,
+			KIND_LOCAL = 1,
+			KIND_PARAMETER = 2,
+			KIND_PROCEDURE = 3;
+	
+	private final int kind;
+	private final int type;
+	private final int slot;
+	private final int[] arguments;
+	private final int indexMin;
+	private final int indexMax;
+	
+	/**
+	 * ParserSymbol クラスのコンストラクタです。
+	 * @param kind
+	 * 宣言の種類
+	 * @param type
+	 * 識別子の型 ({@link ParserType ParserType} の番号)
+	 * @param slot
+	 * 記憶域の番号
+	 * @param arguments
+	 * 手続きの仮パラメータの型の並び (手続き以外は {@code null})
+	 * @param indexMin
+	 * 配列の添字の最小値
+	 * @param indexMax
+	 * 配列の添字の最大値
+	 */
+	ParserSymbol(int kind, int type, int slot, int[] arguments, int indexMin, int indexMax) {
+		this.kind = kind;
+		this.type = type;
+		this.slot = slot;
+		this.arguments = arguments;
+		this.indexMin = indexMin;
+		this.indexMax = indexMax;
+	}
+	
+	/**
+	 * 宣言の種類をリターンします。
+	 * @return
+	 * {@link #KIND_GLOBAL}, {@link #KIND_LOCAL}, {@link #KIND_PARAMETER}, {@link #KIND_PROCEDURE} のいずれかです。
+	 */
+	public int getKind() { return kind; }
+	
+	/**
+	 * 識別子の型をリターンします。
+	 * @return
+	 * {@link ParserType ParserType} の型の番号です。
+	 */
+	public int getType() { return type; }
+	
+	/**
+	 * 記憶域の番号をリターンします。
+	 * @return
+	 * 宣言の種類ごとの記憶域の番号です。
+	 */
+	public int getSlot() { return slot; }
+	
+	/**
+	 * 配列の添字の最小値をリターンします。
+	 * @return
+	 * 添字の最小値です。配列でない場合は 0 をリターンします。
+	 */
+	public int getIndexMin() { return indexMin; }
+	
+	/**
+	 * 変数が占める語数をリターンします。
+	 * @return
+	 * 配列の場合は要素の数、それ以外の場合は 1 です。
+	 */
+	public int getSize() { return indexMax - indexMin + 1; }
+	
+	/**
+	 * 手続きの仮パラメータの数をリターンします。
+	 * @return
+	 * 仮パラメータの数です。手続きでない場合は 0 をリターンします。
+	 */
+	public int getParameterSize() {
+		if(arguments != null) {
+			return arguments.length;
+		}
+		else return 0;
+	}
+	
+	/**
+	 * 手続きの仮パラメータの型をリターンします。
+	 * @param index
+	 * 仮パラメータの位置
+	 * @return
+	 * {@link ParserType ParserType} の型の番号です。
+	 */
+	int getParameterType(int index) {
+		return arguments[index];
+	}
+}
@@ -0,0 +1,58 @@
+package enshud.s2.parser;
+
+/**
+ * 構文解析器 ({@link Parser Parser}) のための意味動作と述語です。
+ * <p>
+ * 文法だけに従って構文解析するので、抽象構文木は作成せず、型も確認しません。
+ * 代入文と手続き呼出し文は識別子の次のトークンで選び、変数の後の {@code "["} は常に添字とします。
+ */
+final class ParserSyntaxActions implements ParserActions {
+	private final ParserEngine engine;
+	
+	private int assignIndex; //代入文の先頭の位置
+	
+	/**
+	 * ParserSyntaxActions クラスのコンストラクタです。
+	 * @param engine
+	 * トークンの位置や値を参照する解析器
+	 */
+	ParserSyntaxActions(ParserEngine engine) {
+		this.engine = engine;
+	}
+	
+	@Override
+	public boolean handles(int action) {
+		return action == ParserTable.ACTION_RELEASE || action == ParserTable.ACTION_ASSIGN_OPERATOR;
+	}
+	
+	@Override
+	public void action(int action) throws ParserException {
+		switch(action) {
+		case ParserTable.ACTION_RELEASE:
+			engine.release();
+			break;
+		case ParserTable.ACTION_ASSIGN_OPERATOR:
+			/*添字付き変数の後に ":=" がない場合は手続き呼出し文の後の "[" を誤りとする*/
+			if(engine.getTokenID() != ParserData.SASSIGN && engine.getTokenID(assignIndex + 1) == ParserData.SLBRACKET)
+				throw new ParserException(engine.getLineNum(assignIndex + 1), true);
+			break;
+		default:
+			break;
+		}
+	}
+	
+	@Override
+	public boolean predicate(int predicate) {
+		switch(predicate) {
+		case ParserTable.PREDICATE_ASSIGN:
+			/*次のトークンが ":=" か "[" ならば代入文*/
+			assignIndex = engine.getIndex();
+			int tokenID = engine.getTokenID(assignIndex + 1);
+			return tokenID == ParserData.SASSIGN || tokenID == ParserData.SLBRACKET;
+		case ParserTable.PREDICATE_INDEXED:
+			return true;
+		default:
+			return false;
+		}
+	}
+}
@@ -0,0 +1,404 @@
+package enshud.s2.parser;
+
+/**
+ * 構文解析の LL(1) 解析表です。{@link ParserEngine ParserEngine} が使用します。
+ * <p>
+ * このファイルは {@code ParserGrammar.txt} から {@link ParserTableGen ParserTableGen} で生成したものです。
+ * 直接編集せず、文法記述ファイルを変更して生成し直してください。
+ * <p>
+ * 生成規則の右辺の記号は、{@link #TERMINAL_COUNT TERMINAL_COUNT} 未満ならば終端記号 (トークンID)、
+ * {@link #ACTION_BASE ACTION_BASE} 未満ならば非終端記号 ({@code TERMINAL_COUNT} + 非終端記号の番号)、
+ * それ以外は意味動作 ({@code ACTION_BASE} + 意味動作の番号) です。
+ */
+final class ParserTable {
+	/**終端記号 (トークンID) の数*/
+	static final int TERMINAL_COUNT = 46;
+	/**非終端記号の数*/
+	static final int NONTERMINAL_COUNT = 65;
+	/**意味動作の記号の最初の値*/
+	static final int ACTION_BASE = 111;
+	/**開始記号*/
+	static final int START = 46;
+	
+	/**規則を定義した非終端記号の記号*/
+	static final int
+			NONTERMINAL_PROGRAM = 46,
+			NONTERMINAL_NAME_LIST = 47,
+			NONTERMINAL_BLOCK = 49,
+			NONTERMINAL_VAR_DECL = 50,
+			NONTERMINAL_VAR_DECL_LIST = 52,
+			NONTERMINAL_VAR_DECL_ITEM = 54,
+			NONTERMINAL_VAR_NAME_LIST = 55,
+			NONTERMINAL_VAR_NAME = 57,
+			NONTERMINAL_TYPE = 58,
+			NONTERMINAL_STANDARD_TYPE = 59,
+			NONTERMINAL_ARRAY_TYPE = 60,
+			NONTERMINAL_INDEX_MIN = 61,
+			NONTERMINAL_INDEX_MAX = 62,
+			NONTERMINAL_INTEGER = 63,
+			NONTERMINAL_SIGN = 64,
+			NONTERMINAL_SUB_PROGRAM_DECLS = 65,
+			NONTERMINAL_SUB_PROGRAM_DECL = 67,
+			NONTERMINAL_SUB_PROGRAM_HEADER = 68,
+			NONTERMINAL_ROUTINE_NAME = 69,
+			NONTERMINAL_PARAM = 70,
+			NONTERMINAL_PARAM_LIST = 72,
+			NONTERMINAL_PARAM_NAME_LIST = 74,
+			NONTERMINAL_PARAM_NAME = 76,
+			NONTERMINAL_COMPOUND_STATEMENT = 77,
+			NONTERMINAL_STATEMENT_LIST = 78,
+			NONTERMINAL_STATEMENT = 80,
+			NONTERMINAL_ELSE_PART = 81,
+			NONTERMINAL_CONDITION = 82,
+			NONTERMINAL_NORMAL_STATEMENT = 83,
+			NONTERMINAL_ASSIGN_STATEMENT = 84,
+			NONTERMINAL_ROUTINE_CALL_STATEMENT = 85,
+			NONTERMINAL_ARGUMENT_LIST = 87,
+			NONTERMINAL_I_O_STATEMENT = 89,
+			NONTERMINAL_VAR_LIST = 92,
+			NONTERMINAL_WRITE_ARGUMENT_LIST = 94,
+			NONTERMINAL_VARIABLE = 96,
+			NONTERMINAL_VARIABLE_REFERENCE = 97,
+			NONTERMINAL_VARIABLE_INDEX = 98,
+			NONTERMINAL_INDEX = 99,
+			NONTERMINAL_EXPRESSION = 100,
+			NONTERMINAL_SIMPLE_EXPRESSION = 102,
+			NONTERMINAL_TERM = 104,
+			NONTERMINAL_FACTOR = 106,
+			NONTERMINAL_RELATIONAL_OP = 107,
+			NONTERMINAL_ADDITIVE_OP = 108,
+			NONTERMINAL_MULTIPLICATIVE_OP = 109,
+			NONTERMINAL_CONSTANT = 110;
+	
+	/**意味動作の番号*/
+	static final int
+			ACTION_LINE = 0,
+			ACTION_PROGRAM_NAME = 1,
+			ACTION_PROGRAM = 2,
+			ACTION_ADD_VARIABLES = 3,
+			ACTION_RELEASE = 4,
+			ACTION_ADD_IDENTIFIER = 5,
+			ACTION_STANDARD_TYPE = 6,
+			ACTION_CHECK_INDEX = 7,
+			ACTION_ARRAY_TYPE = 8,
+			ACTION_INDEX_MIN = 9,
+			ACTION_INDEX_MAX = 10,
+			ACTION_INTEGER = 11,
+			ACTION_SET_SIGN = 12,
+			ACTION_NO_SIGN = 13,
+			ACTION_PROCEDURE = 14,
+			ACTION_BEGIN_PROCEDURE = 15,
+			ACTION_ADD_PROCEDURE = 16,
+			ACTION_ROUTINE_NAME = 17,
+			ACTION_ADD_PARAMETERS = 18,
+			ACTION_LIST = 19,
+			ACTION_BLOCK = 20,
+			ACTION_STATEMENT = 21,
+			ACTION_IF = 22,
+			ACTION_WHILE = 23,
+			ACTION_NO_ELSE = 24,
+			ACTION_EXPECT_BOOLEAN = 25,
+			ACTION_CHECK_EXPECTED = 26,
+			ACTION_ASSIGN_OPERATOR = 27,
+			ACTION_ASSIGN_TARGET = 28,
+			ACTION_ASSIGN = 29,
+			ACTION_CALLEE = 30,
+			ACTION_CALL = 31,
+			ACTION_ARGUMENT = 32,
+			ACTION_READ = 33,
+			ACTION_WRITE = 34,
+			ACTION_READ_VARIABLE = 35,
+			ACTION_WRITE_ARGUMENT = 36,
+			ACTION_FIND_VARIABLE = 37,
+			ACTION_VARIABLE = 38,
+			ACTION_INDEXED_VARIABLE = 39,
+			ACTION_NORMAL_VARIABLE = 40,
+			ACTION_EXPECT_INTEGER = 41,
+			ACTION_RELATION = 42,
+			ACTION_END_LINE = 43,
+			ACTION_APPLY_SIGN = 44,
+			ACTION_BINARY = 45,
+			ACTION_NOT = 46,
+			ACTION_OPERATOR = 47,
+			ACTION_INTEGER_OPERATOR = 48,
+			ACTION_BOOLEAN_OPERATOR = 49,
+			ACTION_INTEGER_CONSTANT = 50,
+			ACTION_STRING_CONSTANT = 51,
+			ACTION_BOOLEAN_CONSTANT = 52;
+	/**意味動作の数*/
+	static final int ACTION_COUNT = 53;
+	
+	/**述語の番号*/
+	static final int
+			PREDICATE_ASSIGN = 0,
+			PREDICATE_INDEXED = 1;
+	
+	/**生成規則の右辺*/
+	static final int[][] RIGHT = {
+			{111, 17, 43, 112, 33, 47, 34, 37, 49, 77, 42, 113}, //0: Program : #line SPROGRAM SIDENTIFIER #programName SLPAREN NameList SRPAREN SSEMICOLON Block CompoundStatement SDOT #program
+			{43, 48}, //1: NameList : SIDENTIFIER NameList.1
+			{41, 43, 48}, //2: NameList.1 : SCOMMA SIDENTIFIER NameList.1
+			{}, //3: NameList.1 : (empty)
+			{50, 65}, //4: Block : VarDecl SubProgramDecls
+			{51}, //5: VarDecl : VarDecl.1
+			{21, 52}, //6: VarDecl.1 : SVAR VarDeclList
+			{}, //7: VarDecl.1 : (empty)
+			{54, 53}, //8: VarDeclList : VarDeclItem VarDeclList.1
+			{54, 53}, //9: VarDeclList.1 : VarDeclItem VarDeclList.1
+			{}, //10: VarDeclList.1 : (empty)
+			{55, 38, 58, 114, 37}, //11: VarDeclItem : VarNameList SCOLON Type #addVariables SSEMICOLON
+			{115, 57, 56}, //12: VarNameList : #release VarName VarNameList.1
+			{41, 57, 56}, //13: VarNameList.1 : SCOMMA VarName VarNameList.1
+			{}, //14: VarNameList.1 : (empty)
+			{43, 116}, //15: VarName : SIDENTIFIER #addIdentifier
+			{59}, //16: Type : StandardType
+			{60}, //17: Type : ArrayType
+			{11, 117}, //18: StandardType : SINTEGER #standardType
+			{4, 117}, //19: StandardType : SCHAR #standardType
+			{3, 117}, //20: StandardType : SBOOLEAN #standardType
+			{1, 35, 61, 39, 62, 118, 36, 14, 59, 119}, //21: ArrayType : SARRAY SLBRACKET IndexMin SRANGE IndexMax #checkIndex SRBRACKET SOF StandardType #arrayType
+			{63, 120}, //22: IndexMin : Integer #indexMin
+			{63, 121}, //23: IndexMax : Integer #indexMax
+			{64, 44, 122}, //24: Integer : Sign SCONSTANT #integer
+			{30, 123}, //25: Sign : SPLUS #setSign
+			{31, 123}, //26: Sign : SMINUS #setSign
+			{124}, //27: Sign : #noSign
+			{66}, //28: SubProgramDecls : SubProgramDecls.1
+			{67, 37, 66}, //29: SubProgramDecls.1 : SubProgramDecl SSEMICOLON SubProgramDecls.1
+			{}, //30: SubProgramDecls.1 : (empty)
+			{115, 111, 68, 50, 77, 125}, //31: SubProgramDecl : #release #line SubProgramHeader VarDecl CompoundStatement #procedure
+			{16, 126, 69, 70, 127, 37}, //32: SubProgramHeader : SPROCEDURE #beginProcedure RoutineName Param #addProcedure SSEMICOLON
+			{43, 128}, //33: RoutineName : SIDENTIFIER #routineName
+			{71}, //34: Param : Param.1
+			{33, 72, 34}, //35: Param.1 : SLPAREN ParamList SRPAREN
+			{}, //36: Param.1 : (empty)
+			{74, 38, 59, 129, 73}, //37: ParamList : ParamNameList SCOLON StandardType #addParameters ParamList.1
+			{37, 74, 38, 59, 129, 73}, //38: ParamList.1 : SSEMICOLON ParamNameList SCOLON StandardType #addParameters ParamList.1
+			{}, //39: ParamList.1 : (empty)
+			{76, 75}, //40: ParamNameList : ParamName ParamNameList.1
+			{41, 76, 75}, //41: ParamNameList.1 : SCOMMA ParamName ParamNameList.1
+			{}, //42: ParamNameList.1 : (empty)
+			{43, 116}, //43: ParamName : SIDENTIFIER #addIdentifier
+			{111, 2, 130, 78, 8, 131}, //44: CompoundStatement : #line SBEGIN #list StatementList SEND #block
+			{80, 132, 79}, //45: StatementList : Statement #statement StatementList.1
+			{37, 80, 132, 79}, //46: StatementList.1 : SSEMICOLON Statement #statement StatementList.1
+			{}, //47: StatementList.1 : (empty)
+			{115, 111, 10, 82, 19, 77, 81, 133}, //48: Statement : #release #line SIF Condition STHEN CompoundStatement ElsePart #if
+			{115, 111, 22, 82, 6, 80, 134}, //49: Statement : #release #line SWHILE Condition SDO Statement #while
+			{115, 83}, //50: Statement : #release NormalStatement
+			{7, 77}, //51: ElsePart : SELSE CompoundStatement
+			{135}, //52: ElsePart : #noElse
+			{136, 100, 137}, //53: Condition : #expectBoolean Expression #checkExpected
+			{84}, //54: NormalStatement : ?assign AssignStatement
+			{85}, //55: NormalStatement : RoutineCallStatement
+			{89}, //56: NormalStatement : IOStatement
+			{77}, //57: NormalStatement : CompoundStatement
+			{97, 138, 40, 139, 100, 140}, //58: AssignStatement : VariableReference #assignOperator SASSIGN #assignTarget Expression #assign
+			{111, 69, 141, 86, 142}, //59: RoutineCallStatement : #line RoutineName #callee RoutineCallStatement.1 #call
+			{33, 87, 34}, //60: RoutineCallStatement.1 : SLPAREN ArgumentList SRPAREN
+			{}, //61: RoutineCallStatement.1 : (empty)
+			{100, 143, 88}, //62: ArgumentList : Expression #argument ArgumentList.1
+			{41, 100, 143, 88}, //63: ArgumentList.1 : SCOMMA Expression #argument ArgumentList.1
+			{}, //64: ArgumentList.1 : (empty)
+			{111, 18, 130, 90, 144}, //65: IOStatement : #line SREADLN #list IOStatement.1 #read
+			{111, 23, 130, 91, 145}, //66: IOStatement : #line SWRITELN #list IOStatement.2 #write
+			{33, 92, 34}, //67: IOStatement.1 : SLPAREN VarList SRPAREN
+			{}, //68: IOStatement.1 : (empty)
+			{33, 94, 34}, //69: IOStatement.2 : SLPAREN WriteArgumentList SRPAREN
+			{}, //70: IOStatement.2 : (empty)
+			{96, 146, 93}, //71: VarList : Variable #readVariable VarList.1
+			{41, 96, 146, 93}, //72: VarList.1 : SCOMMA Variable #readVariable VarList.1
+			{}, //73: VarList.1 : (empty)
+			{100, 147, 95}, //74: WriteArgumentList : Expression #writeArgument WriteArgumentList.1
+			{41, 100, 147, 95}, //75: WriteArgumentList.1 : SCOMMA Expression #writeArgument WriteArgumentList.1
+			{}, //76: WriteArgumentList.1 : (empty)
+			{148, 97}, //77: Variable : #findVariable VariableReference
+			{111, 43, 149, 98}, //78: VariableReference : #line SIDENTIFIER #variable VariableIndex
+			{35, 99, 36, 150}, //79: VariableIndex : ?indexed SLBRACKET Index SRBRACKET #indexedVariable
+			{151}, //80: VariableIndex : #normalVariable
+			{152, 100, 137}, //81: Index : #expectInteger Expression #checkExpected
+			{111, 102, 101, 154}, //82: Expression : #line SimpleExpression Expression.1 #endLine
+			{107, 102, 153}, //83: Expression.1 : RelationalOp SimpleExpression #relation
+			{}, //84: Expression.1 : (empty)
+			{111, 64, 104, 155, 103, 154}, //85: SimpleExpression : #line Sign Term #applySign SimpleExpression.1 #endLine
+			{108, 104, 156, 103}, //86: SimpleExpression.1 : AdditiveOp Term #binary SimpleExpression.1
+			{}, //87: SimpleExpression.1 : (empty)
+			{111, 106, 105, 154}, //88: Term : #line Factor Term.1 #endLine
+			{109, 106, 156, 105}, //89: Term.1 : MultiplicativeOp Factor #binary Term.1
+			{}, //90: Term.1 : (empty)
+			{96}, //91: Factor : Variable
+			{110}, //92: Factor : Constant
+			{33, 100, 34}, //93: Factor : SLPAREN Expression SRPAREN
+			{111, 13, 106, 157}, //94: Factor : #line SNOT Factor #not
+			{24, 158}, //95: RelationalOp : SEQUAL #operator
+			{25, 158}, //96: RelationalOp : SNOTEQUAL #operator
+			{26, 158}, //97: RelationalOp : SLESS #operator
+			{27, 158}, //98: RelationalOp : SLESSEQUAL #operator
+			{29, 158}, //99: RelationalOp : SGREAT #operator
+			{28, 158}, //100: RelationalOp : SGREATEQUAL #operator
+			{30, 159}, //101: AdditiveOp : SPLUS #integerOperator
+			{31, 159}, //102: AdditiveOp : SMINUS #integerOperator
+			{15, 160}, //103: AdditiveOp : SOR #booleanOperator
+			{32, 159}, //104: MultiplicativeOp : SSTAR #integerOperator
+			{5, 159}, //105: MultiplicativeOp : SDIVD #integerOperator
+			{12, 159}, //106: MultiplicativeOp : SMOD #integerOperator
+			{0, 160}, //107: MultiplicativeOp : SAND #booleanOperator
+			{44, 161}, //108: Constant : SCONSTANT #integerConstant
+			{45, 162}, //109: Constant : SSTRING #stringConstant
+			{9, 163}, //110: Constant : SFALSE #booleanConstant
+			{20, 163} //111: Constant : STRUE #booleanConstant
+	};
+	/**生成規則の述語の番号 (述語がない場合は -1)*/
+	static final int[] PREDICATES = {
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1,
+			-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1
+	};
+	/**非終端記号の既定の生成規則 (空になり得る生成規則がない場合は -1)*/
+	static final int[] DEFAULTS = {
+			-1, //Program
+			-1, //NameList
+			3, //NameList.1
+			4, //Block
+			5, //VarDecl
+			7, //VarDecl.1
+			-1, //VarDeclList
+			10, //VarDeclList.1
+			-1, //VarDeclItem
+			-1, //VarNameList
+			14, //VarNameList.1
+			-1, //VarName
+			-1, //Type
+			-1, //StandardType
+			-1, //ArrayType
+			-1, //IndexMin
+			-1, //IndexMax
+			-1, //Integer
+			27, //Sign
+			28, //SubProgramDecls
+			30, //SubProgramDecls.1
+			-1, //SubProgramDecl
+			-1, //SubProgramHeader
+			-1, //RoutineName
+			34, //Param
+			36, //Param.1
+			-1, //ParamList
+			39, //ParamList.1
+			-1, //ParamNameList
+			42, //ParamNameList.1
+			-1, //ParamName
+			-1, //CompoundStatement
+			-1, //StatementList
+			47, //StatementList.1
+			-1, //Statement
+			52, //ElsePart
+			-1, //Condition
+			-1, //NormalStatement
+			-1, //AssignStatement
+			-1, //RoutineCallStatement
+			61, //RoutineCallStatement.1
+			-1, //ArgumentList
+			64, //ArgumentList.1
+			-1, //IOStatement
+			68, //IOStatement.1
+			70, //IOStatement.2
+			-1, //VarList
+			73, //VarList.1
+			-1, //WriteArgumentList
+			76, //WriteArgumentList.1
+			-1, //Variable
+			-1, //VariableReference
+			80, //VariableIndex
+			-1, //Index
+			-1, //Expression
+			84, //Expression.1
+			-1, //SimpleExpression
+			87, //SimpleExpression.1
+			-1, //Term
+			90, //Term.1
+			-1, //Factor
+			-1, //RelationalOp
+			-1, //AdditiveOp
+			-1, //MultiplicativeOp
+			-1 //Constant
+	};
+	
+	/**
+	 * 解析表です。{@code PREDICT[非終端記号の番号][トークンID]} は先読みトークンで選ぶ生成規則です。
+	 * -1 の場合は既定の生成規則を選び、-2 以下の場合は {@code CHOICES[-2 - 値]} の候補から述語で選びます。
+	 */
+	static final int[][] PREDICT = {
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //Program
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1, -1, -1}, //NameList
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 3, -1, -1, -1, -1, -1, -1, 2, -1, -1, -1, -1}, //NameList.1
+			{-1, -1, 4, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 4, -1, -1, -1, -1, 4, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //Block
+			{-1, -1, 5, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 5, -1, -1, -1, -1, 5, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //VarDecl
+			{-1, -1, 7, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 7, -1, -1, -1, -1, 6, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //VarDecl.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 8, -1, -1}, //VarDeclList
+			{-1, -1, 10, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 10, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 9, -1, -1}, //VarDeclList.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 11, -1, -1}, //VarDeclItem
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 12, -1, -1}, //VarNameList
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 14, -1, -1, 13, -1, -1, -1, -1}, //VarNameList.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 15, -1, -1}, //VarName
+			{-1, 17, -1, 16, 16, -1, -1, -1, -1, -1, -1, 16, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //Type
+			{-1, -1, -1, 20, 19, -1, -1, -1, -1, -1, -1, 18, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //StandardType
+			{-1, 21, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //ArrayType
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 22, 22, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 22, -1}, //IndexMin
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 23, 23, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 23, -1}, //IndexMax
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 24, 24, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 24, -1}, //Integer
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 27, -1, -1, -1, 27, -1, -1, -1, -1, -1, -1, 27, -1, -1, -1, -1, -1, -1, -1, -1, -1, 25, 26, -1, 27, -1, -1, -1, -1, -1, -1, -1, -1, -1, 27, 27, 27}, //Sign
+			{-1, -1, 28, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 28, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //SubProgramDecls
+			{-1, -1, 30, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 29, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //SubProgramDecls.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 31, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //SubProgramDecl
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 32, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //SubProgramHeader
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 33, -1, -1}, //RoutineName
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 34, -1, -1, -1, 34, -1, -1, -1, -1, -1, -1, -1, -1}, //Param
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 35, -1, -1, -1, 36, -1, -1, -1, -1, -1, -1, -1, -1}, //Param.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 37, -1, -1}, //ParamList
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 39, -1, -1, 38, -1, -1, -1, -1, -1, -1, -1, -1}, //ParamList.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 40, -1, -1}, //ParamNameList
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 42, -1, -1, 41, -1, -1, -1, -1}, //ParamNameList.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 43, -1, -1}, //ParamName
+			{-1, -1, 44, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //CompoundStatement
+			{-1, -1, 45, -1, -1, -1, -1, -1, -1, -1, 45, -1, -1, -1, -1, -1, -1, -1, 45, -1, -1, -1, 45, 45, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 45, -1, -1}, //StatementList
+			{-1, -1, -1, -1, -1, -1, -1, -1, 47, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 46, -1, -1, -1, -1, -1, -1, -1, -1}, //StatementList.1
+			{-1, -1, 50, -1, -1, -1, -1, -1, -1, -1, 48, -1, -1, -1, -1, -1, -1, -1, 50, -1, -1, -1, 49, 50, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 50, -1, -1}, //Statement
+			{-1, -1, -1, -1, -1, -1, -1, 51, 52, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 52, -1, -1, -1, -1, -1, -1, -1, -1}, //ElsePart
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 53, -1, -1, -1, 53, -1, -1, -1, -1, -1, -1, 53, -1, -1, -1, -1, -1, -1, -1, -1, -1, 53, 53, -1, 53, -1, -1, -1, -1, -1, -1, -1, -1, -1, 53, 53, 53}, //Condition
+			{-1, -1, 57, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 56, -1, -1, -1, -1, 56, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -2, -1, -1}, //NormalStatement
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 58, -1, -1}, //AssignStatement
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 59, -1, -1}, //RoutineCallStatement
+			{-1, -1, -1, -1, -1, -1, -1, -1, 61, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 60, -1, -1, -1, 61, -1, -1, -1, -1, -1, -1, -1, -1}, //RoutineCallStatement.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 62, -1, -1, -1, 62, -1, -1, -1, -1, -1, -1, 62, -1, -1, -1, -1, -1, -1, -1, -1, -1, 62, 62, -1, 62, -1, -1, -1, -1, -1, -1, -1, -1, -1, 62, 62, 62}, //ArgumentList
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 64, -1, -1, -1, -1, -1, -1, 63, -1, -1, -1, -1}, //ArgumentList.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 65, -1, -1, -1, -1, 66, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //IOStatement
+			{-1, -1, -1, -1, -1, -1, -1, -1, 68, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 67, -1, -1, -1, 68, -1, -1, -1, -1, -1, -1, -1, -1}, //IOStatement.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, 70, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 69, -1, -1, -1, 70, -1, -1, -1, -1, -1, -1, -1, -1}, //IOStatement.2
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 71, -1, -1}, //VarList
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 73, -1, -1, -1, -1, -1, -1, 72, -1, -1, -1, -1}, //VarList.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 74, -1, -1, -1, 74, -1, -1, -1, -1, -1, -1, 74, -1, -1, -1, -1, -1, -1, -1, -1, -1, 74, 74, -1, 74, -1, -1, -1, -1, -1, -1, -1, -1, -1, 74, 74, 74}, //WriteArgumentList
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 76, -1, -1, -1, -1, -1, -1, 75, -1, -1, -1, -1}, //WriteArgumentList.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 77, -1, -1}, //Variable
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 78, -1, -1}, //VariableReference
+			{80, -1, -1, -1, -1, 80, 80, -1, 80, -1, -1, -1, 80, -1, -1, 80, -1, -1, -1, 80, -1, -1, -1, -1, 80, 80, 80, 80, 80, 80, 80, 80, 80, -1, 80, 79, 80, 80, -1, -1, 80, 80, -1, -1, -1, -1}, //VariableIndex
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 81, -1, -1, -1, 81, -1, -1, -1, -1, -1, -1, 81, -1, -1, -1, -1, -1, -1, -1, -1, -1, 81, 81, -1, 81, -1, -1, -1, -1, -1, -1, -1, -1, -1, 81, 81, 81}, //Index
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 82, -1, -1, -1, 82, -1, -1, -1, -1, -1, -1, 82, -1, -1, -1, -1, -1, -1, -1, -1, -1, 82, 82, -1, 82, -1, -1, -1, -1, -1, -1, -1, -1, -1, 82, 82, 82}, //Expression
+			{-1, -1, -1, -1, -1, -1, 84, -1, 84, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 84, -1, -1, -1, -1, 83, 83, 83, 83, 83, 83, -1, -1, -1, -1, 84, -1, 84, 84, -1, -1, -1, 84, -1, -1, -1, -1}, //Expression.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 85, -1, -1, -1, 85, -1, -1, -1, -1, -1, -1, 85, -1, -1, -1, -1, -1, -1, -1, -1, -1, 85, 85, -1, 85, -1, -1, -1, -1, -1, -1, -1, -1, -1, 85, 85, 85}, //SimpleExpression
+			{-1, -1, -1, -1, -1, -1, 87, -1, 87, -1, -1, -1, -1, -1, -1, 86, -1, -1, -1, 87, -1, -1, -1, -1, 87, 87, 87, 87, 87, 87, 86, 86, -1, -1, 87, -1, 87, 87, -1, -1, -1, 87, -1, -1, -1, -1}, //SimpleExpression.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 88, -1, -1, -1, 88, -1, -1, -1, -1, -1, -1, 88, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 88, -1, -1, -1, -1, -1, -1, -1, -1, -1, 88, 88, 88}, //Term
+			{89, -1, -1, -1, -1, 89, 90, -1, 90, -1, -1, -1, 89, -1, -1, 90, -1, -1, -1, 90, -1, -1, -1, -1, 90, 90, 90, 90, 90, 90, 90, 90, 89, -1, 90, -1, 90, 90, -1, -1, -1, 90, -1, -1, -1, -1}, //Term.1
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 92, -1, -1, -1, 94, -1, -1, -1, -1, -1, -1, 92, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 93, -1, -1, -1, -1, -1, -1, -1, -1, -1, 91, 92, 92}, //Factor
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 95, 96, 97, 98, 100, 99, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //RelationalOp
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 103, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 101, 102, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //AdditiveOp
+			{107, -1, -1, -1, -1, 105, -1, -1, -1, -1, -1, -1, 106, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 104, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1}, //MultiplicativeOp
+			{-1, -1, -1, -1, -1, -1, -1, -1, -1, 110, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 111, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 108, 109} //Constant
+	};
+	/**述語で選ぶ生成規則の候補の並び (記述順)*/
+	static final int[][] CHOICES = {
+			{54, 55}
+	};
+}
@@ -0,0 +1,655 @@
+package enshud.s2.parser;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * 文法記述ファイルから LL(1) 解析表 {@link ParserTable ParserTable} を生成するクラスです。
+ * <p>
+ * 文法記述ファイルの記法は {@code ParserGrammar.txt} の先頭に書かれています。
+ * 繰り返し {@code { ... }} と省略 {@code [ ... ]} は補助の非終端記号 (規則名.番号) に書き換え、
+ * 空になり得るか (nullable)・FIRST 集合・FOLLOW 集合から各生成規則の予測集合を求めます。
+ * 一つの先読みトークンに複数の生成規則が対応する場合は、最後のもの以外に述語が付いていなければ
+ * LL(1) 文法ではないので {@link IllegalArgumentException IllegalArgumentException} が発生します。
+ * <p>
+ * コマンドラインからは次のように使用します。引数を省略した場合は既定の経路名を使用します。
+ * <pre>
+ * java enshud.s2.parser.ParserTableGen [文法記述ファイル [出力するJavaファイル]]
+ * </pre>
+ */
+public final class ParserTableGen {
+	/**
+	 * 既定の文法記述ファイルの経路名です。
+	 */
+	public static final String GRAMMAR_FILE = "src/main/java/enshud/s2/parser/ParserGrammar.txt";
+	/**
+	 * 既定の出力ファイルの経路名です。
+	 */
+	public static final String TABLE_FILE = "src/main/java/enshud/s2/parser/ParserTable.java";
+	
+	private static final int TERMINAL_COUNT = ParserData.TokenNameData.length;
+	/*FOLLOW 集合で入力の終わりを表す位置*/
+	private static final int EOF = TERMINAL_COUNT;
+	
+	/*右辺の記号の種類 (上位のビット)*/
+	private static final int KIND_SHIFT = 24;
+	private static final int KIND_TERMINAL = 0;
+	private static final int KIND_NONTERMINAL = 1;
+	private static final int KIND_ACTION = 2;
+	
+	/**生成規則*/
+	private static final class Production {
+		private final int left;
+		private final int[] right;
+		private final int predicate;
+		
+		private Production(int left, int[] right, int predicate) {
+			this.left = left;
+			this.right = right;
+			this.predicate = predicate;
+		}
+	}
+	
+	/**選択肢*/
+	private static final class Alternative {
+		private final int[] right;
+		private final int predicate;
+		
+		private Alternative(int[] right, int predicate) {
+			this.right = right;
+			this.predicate = predicate;
+		}
+	}
+	
+	/*文法記述ファイルの字句*/
+	private final List<String> words = new ArrayList<String>();
+	private final List<Integer> wordLines = new ArrayList<Integer>();
+	private int position;
+	
+	/*記号*/
+	private final List<String> nonterminals = new ArrayList<String>();
+	private final Map<String, Integer> nonterminalIDs = new HashMap<String, Integer>();
+	private final List<Integer> nonterminalLines = new ArrayList<Integer>();
+	private final List<Integer> owners = new ArrayList<Integer>(); //補助の非終端記号を書き換えた規則 (規則自身は -1)
+	private final List<String> actions = new ArrayList<String>();
+	private final List<String> predicates = new ArrayList<String>();
+	
+	private final List<Production> productions = new ArrayList<Production>();
+	private final List<Integer> definitions = new ArrayList<Integer>(); //規則の定義順
+	private int groupCount;
+	
+	/*非終端記号の番号の付け替え (定義順、補助の非終端記号は規則の直後)*/
+	private int[] order;
+	private int[] renumber;
+	
+	private boolean[] nullable;
+	private BitSet[] first;
+	private BitSet[] follow;
+	
+	private ParserTableGen() {
+	}
+	
+	/**
+	 * コマンドラインから実行するメソッドです。
+	 */
+	public static void main(final String[] args) throws IOException {
+		String grammarFile = (args.length > 0) ? args[0] : GRAMMAR_FILE;
+		String tableFile = (args.length > 1) ? args[1] : TABLE_FILE;
+		
+		String grammar = new String(Files.readAllBytes(Paths.get(grammarFile)), StandardCharsets.UTF_8);
+		Files.write(Paths.get(tableFile), generate(grammar).getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * 文法記述から解析表の Java ソースを生成します。
+	 * @param grammar
+	 * 文法記述ファイルの内容
+	 * @return
+	 * {@link ParserTable ParserTable} クラスの Java ソースです。
+	 * @throws IllegalArgumentException
+	 * 文法記述に誤りがある場合や、LL(1) 文法でない場合
+	 */
+	public static String generate(String grammar) {
+		ParserTableGen gen = new ParserTableGen();
+		gen.scan(grammar);
+		gen.parseGrammar();
+		gen.computeOrder();
+		gen.checkProductive();
+		gen.computeSets();
+		return gen.write(gen.buildTable());
+	}
+	
+	private static int encode(int kind, int id) {
+		return (kind << KIND_SHIFT) | id;
+	}
+	
+	private static int kindOf(int symbol) {
+		return symbol >>> KIND_SHIFT;
+	}
+	
+	private static int idOf(int symbol) {
+		return symbol & ((1 << KIND_SHIFT) - 1);
+	}
+	
+	private IllegalArgumentException error(String message) {
+		return error(wordLines.get(Math.min(position, wordLines.size() - 1)), message);
+	}
+	
+	private static IllegalArgumentException error(int line, String message) {
+		return new IllegalArgumentException("Grammar error: line " + line + ": " + message);
+	}
+	
+	/**文法記述ファイルの字句への分割*/
+	private void scan(String grammar) {
+		int line = 1;
+		int i = 0;
+		while(i < grammar.length()) {
+			char c = grammar.charAt(i);
+			if(c == '\n') {
+				line++;
+				i++;
+			}
+			else if(Character.isWhitespace(c)) {
+				i++;
+			}
+			else if(c == '/' && i + 1 < grammar.length() && grammar.charAt(i + 1) == '/') {
+				while(i < grammar.length() && grammar.charAt(i) != '\n') i++;
+			}
+			else if(":|;{}[]".indexOf(c) >= 0) {
+				words.add(String.valueOf(c));
+				wordLines.add(line);
+				i++;
+			}
+			else if(c == '#' || c == '?' || Character.isLetter(c)) {
+				int start = i++;
+				while(i < grammar.length() && Character.isLetterOrDigit(grammar.charAt(i))) i++;
+				if(i == start + 1 && !Character.isLetter(c)) throw error(line, "name expected after '" + c + "'");
+				words.add(grammar.substring(start, i));
+				wordLines.add(line);
+			}
+			else {
+				throw error(line, "unexpected character '" + c + "'");
+			}
+		}
+		wordLines.add(line);
+	}
+	
+	private String peekWord() {
+		return (position < words.size()) ? words.get(position) : null;
+	}
+	
+	private void expectWord(String word) {
+		if(!word.equals(peekWord())) throw error("'" + word + "' expected");
+		position++;
+	}
+	
+	private static int tokenIDof(String word) {
+		for(int i = 0; i < TERMINAL_COUNT; i++) {
+			if(ParserData.TokenNameData[i].equals(word)) return i;
+		}
+		return -1;
+	}
+	
+	private int nonterminalOf(String name, int line, int owner) {
+		Integer id = nonterminalIDs.get(name);
+		if(id == null) {
+			id = nonterminals.size();
+			nonterminals.add(name);
+			nonterminalIDs.put(name, id);
+			nonterminalLines.add(line);
+			owners.add(owner);
+		}
+		return id;
+	}
+	
+	private static int indexOf(List<String> names, String name) {
+		int id = names.indexOf(name);
+		if(id < 0) {
+			id = names.size();
+			names.add(name);
+		}
+		return id;
+	}
+	
+	/**規則の並び*/
+	private void parseGrammar() {
+		while(peekWord() != null) {
+			String name = peekWord();
+			if(!Character.isUpperCase(name.charAt(0)) || tokenIDof(name) >= 0) throw error("nonterminal expected");
+			int nonterminal = nonterminalOf(name, wordLines.get(position), -1);
+			if(definitions.contains(nonterminal)) throw error("duplicate rule '" + name + "'");
+			definitions.add(nonterminal);
+			position++;
+			groupCount = 0;
+			
+			expectWord(":");
+			for(Alternative alternative : parseAlternatives(nonterminal, ";")) {
+				productions.add(new Production(nonterminal, alternative.right, alternative.predicate));
+			}
+			expectWord(";");
+		}
+		if(definitions.isEmpty()) throw error("no rules");
+		
+		for(int i = 0; i < nonterminals.size(); i++) {
+			if(owners.get(i) < 0 && !definitions.contains(i)) throw error(nonterminalLines.get(i), "undefined nonterminal '" + nonterminals.get(i) + "'");
+		}
+	}
+	
+	/**選択肢の並び (閉じる記号の前まで)*/
+	private List<Alternative> parseAlternatives(int rule, String close) {
+		List<Alternative> alternatives = new ArrayList<Alternative>();
+		
+		while(true) {
+			int predicate = -1;
+			String word = peekWord();
+			if(word != null && word.startsWith("?")) {
+				predicate = indexOf(predicates, word.substring(1));
+				position++;
+			}
+			alternatives.add(new Alternative(parseSequence(rule), predicate));
+			
+			if("|".equals(peekWord())) position++;
+			else break;
+		}
+		if(!close.equals(peekWord())) throw error("'" + close + "' expected");
+		
+		return alternatives;
+	}
+	
+	/**記号の並び*/
+	private int[] parseSequence(int rule) {
+		List<Integer> symbols = new ArrayList<Integer>();
+		
+		while(true) {
+			String word = peekWord();
+			if(word == null || word.equals("|") || word.equals(";") || word.equals("}") || word.equals("]")) break;
+			
+			int line = wordLines.get(position);
+			if(word.equals("{") || word.equals("[")) {
+				position++;
+				boolean repeat = word.equals("{");
+				int group = nonterminalOf(nonterminals.get(rule) + "." + (++groupCount), line, rule);
+				
+				/*繰り返しは右再帰に、省略は空の選択肢に書き換える*/
+				for(Alternative alternative : parseAlternatives(rule, repeat ? "}" : "]")) {
+					int[] right = alternative.right;
+					if(repeat) {
+						right = Arrays.copyOf(right, right.length + 1);
+						right[right.length - 1] = encode(KIND_NONTERMINAL, group);
+					}
+					productions.add(new Production(group, right, alternative.predicate));
+				}
+				productions.add(new Production(group, new int[0], -1));
+				position++;
+				
+				symbols.add(encode(KIND_NONTERMINAL, group));
+			}
+			else if(word.startsWith("#")) {
+				symbols.add(encode(KIND_ACTION, indexOf(actions, word.substring(1))));
+				position++;
+			}
+			else if(word.startsWith("?")) {
+				throw error("predicate must be at the beginning of an alternative");
+			}
+			else if(tokenIDof(word) >= 0) {
+				symbols.add(encode(KIND_TERMINAL, tokenIDof(word)));
+				position++;
+			}
+			else if(Character.isUpperCase(word.charAt(0))) {
+				symbols.add(encode(KIND_NONTERMINAL, nonterminalOf(word, line, -1)));
+				position++;
+			}
+			else {
+				throw error("unknown symbol '" + word + "'");
+			}
+		}
+		
+		int[] right = new int[symbols.size()];
+		for(int i = 0; i < right.length; i++) right[i] = symbols.get(i);
+		return right;
+	}
+	
+	/**非終端記号の出力順 (規則の定義順、補助の非終端記号は規則の直後)*/
+	private void computeOrder() {
+		order = new int[nonterminals.size()];
+		renumber = new int[nonterminals.size()];
+		
+		int count = 0;
+		for(int rule : definitions) {
+			order[count++] = rule;
+			for(int i = 0; i < nonterminals.size(); i++) {
+				if(owners.get(i) == rule) order[count++] = i;
+			}
+		}
+		for(int i = 0; i < order.length; i++) renumber[order[i]] = i;
+		
+		/*生成規則も左辺の出力順に並べる (同じ左辺の中では記述順)*/
+		List<Production> sorted = new ArrayList<Production>();
+		for(int nonterminal : order) {
+			for(Production production : productions) {
+				if(production.left == nonterminal) sorted.add(production);
+			}
+		}
+		productions.clear();
+		productions.addAll(sorted);
+	}
+	
+	/**すべての非終端記号が終端記号の列を導出することの確認*/
+	private void checkProductive() {
+		boolean[] productive = new boolean[nonterminals.size()];
+		
+		boolean changed = true;
+		while(changed) {
+			changed = false;
+			for(Production production : productions) {
+				if(productive[production.left]) continue;
+				
+				boolean all = true;
+				for(int symbol : production.right) {
+					if(kindOf(symbol) == KIND_NONTERMINAL && !productive[idOf(symbol)]) all = false;
+				}
+				if(all) {
+					productive[production.left] = true;
+					changed = true;
+				}
+			}
+		}
+		
+		for(int nonterminal : order) {
+			if(!productive[nonterminal]) throw error(nonterminalLines.get(nonterminal), "'" + nonterminals.get(nonterminal) + "' derives no terminal string");
+		}
+	}
+	
+	/**nullable・FIRST 集合・FOLLOW 集合*/
+	private void computeSets() {
+		int n = nonterminals.size();
+		nullable = new boolean[n];
+		first = new BitSet[n];
+		follow = new BitSet[n];
+		for(int i = 0; i < n; i++) {
+			first[i] = new BitSet();
+			follow[i] = new BitSet();
+		}
+		follow[definitions.get(0)].set(EOF);
+		
+		boolean changed = true;
+		while(changed) {
+			changed = false;
+			for(Production production : productions) {
+				BitSet set = new BitSet();
+				boolean empty = firstOf(production.right, 0, set);
+				
+				if(empty && !nullable[production.left]) {
+					nullable[production.left] = true;
+					changed = true;
+				}
+				if(!isSubset(set, first[production.left])) {
+					first[production.left].or(set);
+					changed = true;
+				}
+			}
+		}
+		
+		changed = true;
+		while(changed) {
+			changed = false;
+			for(Production production : productions) {
+				for(int i = 0; i < production.right.length; i++) {
+					int symbol = production.right[i];
+					if(kindOf(symbol) != KIND_NONTERMINAL) continue;
+					
+					BitSet set = new BitSet();
+					if(firstOf(production.right, i + 1, set)) set.or(follow[production.left]);
+					if(!isSubset(set, follow[idOf(symbol)])) {
+						follow[idOf(symbol)].or(set);
+						changed = true;
+					}
+				}
+			}
+		}
+	}
+	
+	/**記号の並びの FIRST 集合を加え、並びが空になり得るかをリターンする*/
+	private boolean firstOf(int[] right, int from, BitSet set) {
+		for(int i = from; i < right.length; i++) {
+			int symbol = right[i];
+			switch(kindOf(symbol)) {
+			case KIND_TERMINAL:
+				set.set(idOf(symbol));
+				return false;
+			case KIND_NONTERMINAL:
+				set.or(first[idOf(symbol)]);
+				if(!nullable[idOf(symbol)]) return false;
+				break;
+			default:
+				break;
+			}
+		}
+		return true;
+	}
+	
+	private static boolean isSubset(BitSet set, BitSet of) {
+		BitSet rest = (BitSet)set.clone();
+		rest.andNot(of);
+		return rest.isEmpty();
+	}
+	
+	/**解析表 (候補の並び) の作成と LL(1) 文法の確認*/
+	private int[][][] buildTable() {
+		int n = nonterminals.size();
+		int[][][] table = new int[n][TERMINAL_COUNT + 1][];
+		
+		for(int a = 0; a < n; a++) {
+			List<Integer> candidates = new ArrayList<Integer>();
+			List<Integer> defaults = new ArrayList<Integer>();
+			for(int p = 0; p < productions.size(); p++) {
+				if(productions.get(p).left != a) continue;
+				if(firstOf(productions.get(p).right, 0, new BitSet())) defaults.add(p);
+			}
+			if(defaults.size() > 1) throw error(nonterminalLines.get(a), "more than one empty alternative in '" + nonterminals.get(a) + "'");
+			if(!defaults.isEmpty() && productions.get(defaults.get(0)).predicate >= 0) throw error(nonterminalLines.get(a), "empty alternative with a predicate in '" + nonterminals.get(a) + "'");
+			
+			for(int t = 0; t <= TERMINAL_COUNT; t++) {
+				candidates.clear();
+				for(int p = 0; p < productions.size(); p++) {
+					Production production = productions.get(p);
+					if(production.left != a) continue;
+					
+					BitSet predict = new BitSet();
+					if(firstOf(production.right, 0, predict)) predict.or(follow[a]);
+					if(predict.get(t)) candidates.add(p);
+				}
+				
+				for(int i = 0; i + 1 < candidates.size(); i++) {
+					if(productions.get(candidates.get(i)).predicate < 0) {
+						throw error(nonterminalLines.get(a), "LL(1) conflict in '" + nonterminals.get(a) + "' on "
+								+ ((t == EOF) ? "end of input" : ParserData.TokenNameData[t]) + ": "
+								+ format(candidates.get(i)) + " / " + format(candidates.get(i + 1)));
+					}
+				}
+				
+				table[a][t] = new int[candidates.size()];
+				for(int i = 0; i < candidates.size(); i++) table[a][t][i] = candidates.get(i);
+			}
+		}
+		
+		return table;
+	}
+	
+	/**生成規則の文法記述での表記*/
+	private String format(int p) {
+		Production production = productions.get(p);
+		StringBuilder sb = new StringBuilder(nonterminals.get(production.left)).append(" :");
+		if(production.predicate >= 0) sb.append(" ?").append(predicates.get(production.predicate));
+		for(int symbol : production.right) {
+			sb.append(' ');
+			switch(kindOf(symbol)) {
+			case KIND_TERMINAL: sb.append(ParserData.TokenNameData[idOf(symbol)]); break;
+			case KIND_NONTERMINAL: sb.append(nonterminals.get(idOf(symbol))); break;
+			default: sb.append('#').append(actions.get(idOf(symbol))); break;
+			}
+		}
+		if(production.right.length == 0) sb.append(" (empty)");
+		return sb.toString();
+	}
+	
+	/**名前の定数名 (programName -> PROGRAM_NAME)*/
+	private static String constantName(String prefix, String name) {
+		StringBuilder sb = new StringBuilder(prefix);
+		for(int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if(Character.isUpperCase(c) && i > 0) sb.append('_');
+			sb.append(Character.toUpperCase(c));
+		}
+		return sb.toString();
+	}
+	
+	/**ParserTable クラスの Java ソースの出力*/
+	private String write(int[][][] table) {
+		int n = nonterminals.size();
+		int actionBase = TERMINAL_COUNT + n;
+		
+		/*候補が二つ以上の欄は候補の並びの表に置く*/
+		List<int[]> choices = new ArrayList<int[]>();
+		int[][] predict = new int[n][TERMINAL_COUNT];
+		for(int a = 0; a < n; a++) {
+			for(int t = 0; t < TERMINAL_COUNT; t++) {
+				int[] candidates = table[order[a]][t];
+				if(candidates.length == 0) predict[a][t] = -1;
+				else if(candidates.length == 1) predict[a][t] = candidates[0];
+				else {
+					int c = -1;
+					for(int i = 0; i < choices.size(); i++) {
+						if(Arrays.equals(choices.get(i), candidates)) c = i;
+					}
+					if(c < 0) {
+						c = choices.size();
+						choices.add(candidates);
+					}
+					predict[a][t] = -2 - c;
+				}
+			}
+		}
+		
+		StringWriter buffer = new StringWriter();
+		PrintWriter out = new PrintWriter(buffer);
+		out.print("package enshud.s2.parser;\n");
+		out.print("\n");
+		out.print("/**\n");
+		out.print(" * 構文解析の LL(1) 解析表です。{@link ParserEngine ParserEngine} が使用します。\n");
+		out.print(" * <p>\n");
+		out.print(" * このファイルは {@code ParserGrammar.txt} から {@link ParserTableGen ParserTableGen} で生成したものです。\n");
+		out.print(" * 直接編集せず、文法記述ファイルを変更して生成し直してください。\n");
+		out.print(" * <p>\n");
+		out.print(" * 生成規則の右辺の記号は、{@link #TERMINAL_COUNT TERMINAL_COUNT} 未満ならば終端記号 (トークンID)、\n");
+		out.print(" * {@link #ACTION_BASE ACTION_BASE} 未満ならば非終端記号 ({@code TERMINAL_COUNT} + 非終端記号の番号)、\n");
+		out.print(" * それ以外は意味動作 ({@code ACTION_BASE} + 意味動作の番号) です。\n");
+		out.print(" */\n");
+		out.print("final class ParserTable {\n");
+		out.print("\t/**終端記号 (トークンID) の数*/\n");
+		out.print("\tstatic final int TERMINAL_COUNT = " + TERMINAL_COUNT + ";\n");
+		out.print("\t/**非終端記号の数*/\n");
+		out.print("\tstatic final int NONTERMINAL_COUNT = " + n + ";\n");
+		out.print("\t/**意味動作の記号の最初の値*/\n");
+		out.print("\tstatic final int ACTION_BASE = " + actionBase + ";\n");
+		out.print("\t/**開始記号*/\n");
+		out.print("\tstatic final int START = " + (TERMINAL_COUNT + renumber[definitions.get(0)]) + ";\n");
+		out.print("\t\n");
+		
+		out.print("\t/**規則を定義した非終端記号の記号*/\n");
+		out.print("\tstatic final int\n");
+		for(int i = 0; i < definitions.size(); i++) {
+			int nonterminal = definitions.get(i);
+			out.print("\t\t\t" + constantName("NONTERMINAL_", nonterminals.get(nonterminal)) + " = " + (TERMINAL_COUNT + renumber[nonterminal]) + ((i + 1 < definitions.size()) ? ",\n" : ";\n"));
+		}
+		out.print("\t\n");
+		
+		if(!actions.isEmpty()) {
+			out.print("\t/**意味動作の番号*/\n");
+			out.print("\tstatic final int\n");
+			for(int i = 0; i < actions.size(); i++) {
+				out.print("\t\t\t" + constantName("ACTION_", actions.get(i)) + " = " + i + ((i + 1 < actions.size()) ? ",\n" : ";\n"));
+			}
+		}
+		out.print("\t/**意味動作の数*/\n");
+		out.print("\tstatic final int ACTION_COUNT = " + actions.size() + ";\n");
+		out.print("\t\n");
+		
+		if(!predicates.isEmpty()) {
+			out.print("\t/**述語の番号*/\n");
+			out.print("\tstatic final int\n");
+			for(int i = 0; i < predicates.size(); i++) {
+				out.print("\t\t\t" + constantName("PREDICATE_", predicates.get(i)) + " = " + i + ((i + 1 < predicates.size()) ? ",\n" : ";\n"));
+			}
+			out.print("\t\n");
+		}
+		
+		out.print("\t/**生成規則の右辺*/\n");
+		out.print("\tstatic final int[][] RIGHT = {\n");
+		for(int p = 0; p < productions.size(); p++) {
+			StringBuilder sb = new StringBuilder("\t\t\t{");
+			int[] right = productions.get(p).right;
+			for(int i = 0; i < right.length; i++) {
+				int symbol = right[i];
+				int value;
+				switch(kindOf(symbol)) {
+				case KIND_TERMINAL: value = idOf(symbol); break;
+				case KIND_NONTERMINAL: value = TERMINAL_COUNT + renumber[idOf(symbol)]; break;
+				default: value = actionBase + idOf(symbol); break;
+				}
+				sb.append((i > 0) ? ", " : "").append(value);
+			}
+			sb.append((p + 1 < productions.size()) ? "}, " : "} ").append("//").append(p).append(": ").append(format(p));
+			out.print(sb.append("\n"));
+		}
+		out.print("\t};\n");
+		out.print("\t/**生成規則の述語の番号 (述語がない場合は -1)*/\n");
+		out.print("\tstatic final int[] PREDICATES = {");
+		for(int p = 0; p < productions.size(); p++) {
+			out.print(((p % 20 == 0) ? "\n\t\t\t" : " ") + productions.get(p).predicate + ((p + 1 < productions.size()) ? "," : "\n"));
+		}
+		out.print("\t};\n");
+		out.print("\t/**非終端記号の既定の生成規則 (空になり得る生成規則がない場合は -1)*/\n");
+		out.print("\tstatic final int[] DEFAULTS = {\n");
+		for(int a = 0; a < n; a++) {
+			int d = -1;
+			for(int p = 0; p < productions.size(); p++) {
+				if(productions.get(p).left == order[a] && firstOf(productions.get(p).right, 0, new BitSet())) d = p;
+			}
+			out.print("\t\t\t" + d + ((a + 1 < n) ? ", " : " ") + "//" + nonterminals.get(order[a]) + "\n");
+		}
+		out.print("\t};\n");
+		out.print("\t\n");
+		
+		out.print("\t/**\n");
+		out.print("\t * 解析表です。{@code PREDICT[非終端記号の番号][トークンID]} は先読みトークンで選ぶ生成規則です。\n");
+		out.print("\t * -1 の場合は既定の生成規則を選び、-2 以下の場合は {@code CHOICES[-2 - 値]} の候補から述語で選びます。\n");
+		out.print("\t */\n");
+		out.print("\tstatic final int[][] PREDICT = {\n");
+		for(int a = 0; a < n; a++) {
+			StringBuilder sb = new StringBuilder("\t\t\t{");
+			for(int t = 0; t < TERMINAL_COUNT; t++) {
+				sb.append((t > 0) ? ", " : "").append(predict[a][t]);
+			}
+			sb.append((a + 1 < n) ? "}, " : "} ").append("//").append(nonterminals.get(order[a]));
+			out.print(sb.append("\n"));
+		}
+		out.print("\t};\n");
+		out.print("\t/**述語で選ぶ生成規則の候補の並び (記述順)*/\n");
+		out.print("\tstatic final int[][] CHOICES = {\n");
+		for(int c = 0; c < choices.size(); c++) {
+			StringBuilder sb = new StringBuilder("\t\t\t{");
+			for(int i = 0; i < choices.get(c).length; i++) {
+				sb.append((i > 0) ? ", " : "").append(choices.get(c)[i]);
+			}
+			out.print(sb.append((c + 1 < choices.size()) ? "},\n" : "}\n"));
+		}
+		out.print("\t};\n");
+		out.print("}\n");
+		
+		out.flush();
+		return buffer.toString();
+	}
+}
@@ -0,0 +1,222 @@
+package enshud.s2.parser;
+
+import enshud.s1.lexer.LexerTokenList;
+import enshud.s1.lexer.LexerTokenStream;
+import enshud.s2.parser.ParserNode.Program;
+
+/**
+ * 構文解析器・意味解析器・コンパイラが共有する解析結果のクラスです。
+ * <p>
+ * {@link #parse(LexerTokenList) parse} メソッドはプログラムを一度だけ構文・意味解析して抽象構文木を作成し、
+ * 構文解析器・意味解析器・コンパイラそれぞれの結果を保持します。
+ * {@link Parser Parser}, {@link enshud.s3.checker.Checker Checker}, {@link enshud.s4.compiler.Compiler Compiler} の
+ * {@code run} メソッドに同じインスタンスを渡すと、各段階はプログラムを解析し直さずに結果を出力します。
+ * <p>
+ * 解析器は宣言された識別子の種類に従って構文を選ぶので、意味解析でエラーが見つかった場合は文法だけに従った
+ * 構文解析とはエラーの位置が異なることがあります。この場合の構文解析器の結果は、最初に必要になったときに
+ * 文法だけに従って解析し直して求めます。正しいプログラムを解析し直すことはありません。
+ */
+public final class ParserTree {
+	private final LexerTokenList tokens;
+	private final boolean semantic;
+	private final Program program;
+	private final String error;
+	private final String strictError;
+	private final boolean lexerError;
+	
+	private String syntaxError;
+	private boolean syntaxChecked;
+	
+	/**
+	 * ParserTree クラスのコンストラクタです。解析器で解析を行い、結果を保持します。
+	 * @param tokens
+	 * 構文解析器の結果を求めるために解析し直す場合のトークン列 (解析し直せない場合は {@code null})
+	 * @param pm
+	 * 解析器
+	 * @param semantic
+	 * 解析器が意味モードの場合は {@code true}
+	 */
+	private ParserTree(LexerTokenList tokens, ParserMain pm, boolean semantic) {
+		String result = pm.doParser();
+		
+		this.tokens = tokens;
+		this.semantic = semantic;
+		lexerError = pm.hasLexerError();
+		if(semantic) {
+			program = (result == null) ? pm.getProgram() : null;
+			error = result;
+			strictError = (pm.getStrictError() != null) ? pm.getStrictError() : result;
+			syntaxError = null;
+			syntaxChecked = (result == null);
+		}
+		else {
+			program = null;
+			error = null;
+			strictError = null;
+			syntaxError = result;
+			syntaxChecked = true;
+		}
+	}
+	
+	/**
+	 * トークン列を構文・意味解析して抽象構文木を作成します。
+	 * @param tokens
+	 * {@link enshud.s1.lexer.Lexer#tokenize(String) Lexer.tokenize} メソッドで生成されたトークン列
+	 * @return
+	 * 解析結果です。
+	 */
+	public static ParserTree parse(LexerTokenList tokens) {
+		return new ParserTree(tokens, new ParserMain(tokens, true), true);
+	}
+	
+	/**
+	 * トークン列を構文・意味解析します。
+	 * @param tokens
+	 * {@link enshud.s1.lexer.Lexer#tokenize(String) Lexer.tokenize} メソッドで生成されたトークン列
+	 * @param keepTree
+	 * 抽象構文木を作成する場合は {@code true}、結果だけを求める場合は {@code false}
+	 * @return
+	 * 解析結果です。
+	 */
+	public static ParserTree parse(LexerTokenList tokens, boolean keepTree) {
+		return new ParserTree(tokens, new ParserMain(tokens, true, keepTree), true);
+	}
+	
+	/**
+	 * トークンストリームを構文・意味解析します。
+	 * トークンストリームは解析し直せないので、構文解析器の結果は求められません。
+	 * @param tokens
+	 * {@link enshud.s1.lexer.Lexer#stream(String) Lexer.stream} メソッドで生成されたトークンストリーム
+	 * @param keepTree
+	 * 抽象構文木を作成する場合は {@code true}、結果だけを求める場合は {@code false}。
+	 * {@code false} の場合はプログラムの大きさによらず一定のメモリで解析できます。
+	 * @return
+	 * 解析結果です。
+	 */
+	public static ParserTree parse(LexerTokenStream tokens, boolean keepTree) {
+		return new ParserTree(null, new ParserMain(tokens, true, keepTree), true);
+	}
+	
+	/**
+	 * トークン列を文法だけに従って構文解析します。抽象構文木は作成せず、構文解析器の結果だけを求めます。
+	 * @param tokens
+	 * {@link enshud.s1.lexer.Lexer#tokenize(String) Lexer.tokenize} メソッドで生成されたトークン列
+	 * @return
+	 * 解析結果です。
+	 */
+	public static ParserTree parseSyntax(LexerTokenList tokens) {
+		return new ParserTree(null, new ParserMain(tokens, false), false);
+	}
+	
+	/**
+	 * トークンストリームを文法だけに従って構文解析します。抽象構文木は作成せず、構文解析器の結果だけを求めます。
+	 * @param tokens
+	 * {@link enshud.s1.lexer.Lexer#stream(String) Lexer.stream} メソッドで生成されたトークンストリーム
+	 * @return
+	 * 解析結果です。
+	 */
+	public static ParserTree parseSyntax(LexerTokenStream tokens) {
+		return new ParserTree(null, new ParserMain(tokens, false, false), false);
+	}
+	
+	/**
+	 * 抽象構文木をリターンします。
+	 * @return
+	 * プログラムの節です。意味解析でエラーが見つかった場合や抽象構文木を作成していない場合は {@code null} をリターンします。
+	 */
+	public Program getProgram() {
+		return program;
+	}
+	
+	/**
+	 * トークンストリームの字句解析でエラーが見つかったかどうかをリターンします。
+	 * この場合は字句解析器がエラーメッセージを出力しているので、各段階は何も出力しません。
+	 * @return
+	 * エラーが見つかった場合は {@code true} をリターンします。
+	 */
+	public boolean hasLexerError() {
+		return lexerError;
+	}
+	
+	/**
+	 * 構文解析器の結果をリターンします。
+	 * @return
+	 * 構文が正しい場合は {@code null}、正しくない場合はエラーメッセージです。
+	 * @throws IllegalStateException
+	 * トークンストリームを意味解析してエラーが見つかった場合
+	 */
+	public synchronized String getSyntaxError() {
+		if(!syntaxChecked) {
+			if(tokens == null) throw new IllegalStateException("Cannot parse the token stream again");
+			syntaxError = new ParserMain(tokens, false).doParser();
+			syntaxChecked = true;
+		}
+		return syntaxError;
+	}
+	
+	/**
+	 * 意味解析器の結果をリターンします。
+	 * @return
+	 * 構文・意味が正しい場合は {@code null}、正しくない場合はエラーメッセージです。
+	 * @throws IllegalStateException
+	 * 文法だけに従って構文解析した場合
+	 */
+	public String getError() {
+		if(!semantic) throw new IllegalStateException("Not analyzed semantically");
+		return error;
+	}
+	
+	/**
+	 * コンパイラの結果をリターンします。意味解析器の確認に加えて、
+	 * 関係演算子の被演算子が標準型であること、writeln の引数が整数・文字・文字列であること、
+	 * readln の変数が整数・文字・文字の配列であることを確認した結果です。
+	 * @return
+	 * コンパイルできる場合は {@code null}、できない場合はエラーメッセージです。
+	 * @throws IllegalStateException
+	 * 文法だけに従って構文解析した場合
+	 */
+	public String getStrictError() {
+		if(!semantic) throw new IllegalStateException("Not analyzed semantically");
+		return strictError;
+	}
+	
+	/**
+	 * 構文解析器の結果を出力します。
+	 * @return
+	 * 構文が正しい場合は {@code true} をリターンします。
+	 */
+	public boolean printSyntaxResult() {
+		return printResult(getSyntaxError());
+	}
+	
+	/**
+	 * 意味解析器の結果を出力します。
+	 * @return
+	 * 構文・意味が正しい場合は {@code true} をリターンします。
+	 */
+	public boolean printResult() {
+		return printResult(getError());
+	}
+	
+	/**
+	 * コンパイラの結果を出力します。
+	 * @return
+	 * コンパイルできる場合は {@code true} をリターンします。
+	 */
+	public boolean printStrictResult() {
+		return printResult(getStrictError());
+	}
+	
+	private boolean printResult(String message) {
+		if(lexerError) return false;
+		
+		if(message == null) {
+			System.out.print("OK");
+			return true;
+		}
+		else {
+			System.err.print(message);
+			return false;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package enshud.s2.parser;
+
+/**
+ * 抽象構文木と記号表で使用する型の番号を定義するクラスです。
+ * 配列型の番号は要素の標準型の番号に 10 を加えた値です。
+ */
+public final class ParserType {
+	/**型の番号*/
+	public static final int
+			TYPE_NONE = 0,
+			TYPE_SUBROUTINE = 1,
+			TYPE_INTEGER = 11,
+			TYPE_CHAR = 12,
+			TYPE_BOOLEAN = 13,
+			TYPE_ARRAY_INTEGER = 21,
+			TYPE_ARRAY_CHAR = 22,
+			TYPE_ARRAY_BOOLEAN = 23;
+	
+	private ParserType() {
+	}
+	
+	/**
+	 * 標準型かどうかを判定します。
+	 * @param type
+	 * 型の番号
+	 * @return
+	 * integer, char, boolean のいずれかであれば {@code true} をリターンします。
+	 */
+	public static boolean isNormalType(int type) {
+		if(type >= 11 && type <= 13) return true;
+		else return false;
+	}
+	
+	/**
+	 * 配列型かどうかを判定します。
+	 * @param type
+	 * 型の番号
+	 * @return
+	 * 配列型であれば {@code true} をリターンします。
+	 */
+	public static boolean isArrayType(int type) {
+		if(type >= 21 && type <= 23) return true;
+		else return false;
+	}
+}
@@ -0,0 +1,327 @@
+package enshud.s2.parser;
+
+import java.util.*;
+
+/**
+ * 型整合性を確認する、 {@link ParserMain ParserMain} クラスのヘルパクラスです。
+ * 宣言された識別子は {@link ParserSymbol ParserSymbol} として記号表に登録し、
+ * 式の型は型スタックで確認します。
+ * <p>
+ * 記号表は字句解析器のシンボルIDを添字とする配列で、大域と局所の二つの有効範囲を持ちます。
+ * 局所の有効範囲に登録したシンボルIDは手続きの終わりに取り消します。
+ * 型スタックは {@code int} の配列なので、式の型の確認ではオブジェクトを作成しません。
+ */
+final class ParserTypeCheck {
+	/*Symbol Table (symbol ID -> symbol)*/
+	private ParserSymbol[] globalSymbols;
+	private ParserSymbol[] localSymbols;
+	private int[] localIDs; //symbol IDs in local scope
+	private int localCount;
+	
+	/*Storage Slots*/
+	private int globalSlot;
+	private int procedureSlot;
+	private int localSlot;
+	private int parameterSlot;
+	
+	/*Temporary Variables*/
+	private int[] idTemps; //identifier list
+	private int idTempCount;
+	private int subroutineIDTemp = -1; //subroutine identifier
+	
+	private int[] argTypeTemps; //subroutine parameter(argument)s type list
+	private int argTypeTempCount;
+	
+	private int indexMinTemp = 0; //minimum index
+	private int indexMaxTemp = 0; //maximum index
+	
+	private char signTemp = '\0'; //integer sign
+	private int constantTemp = 0; //integer number
+	
+	private ParserSymbol subroutineSymbol; //last subroutine
+	
+	/*Type Stack*/
+	private int[] typeStack;
+	private int typeCount;
+	
+	/**
+	 * ParserTypeCheck クラスのコンストラクタです。
+	 */
+	ParserTypeCheck() {
+		globalSymbols = new ParserSymbol[64];
+		localSymbols = new ParserSymbol[64];
+		localIDs = new int[16];
+		idTemps = new int[8];
+		argTypeTemps = new int[8];
+		typeStack = new int[32];
+	}
+	
+	/*Identifier*/
+	public void addIdentifier(int id) {
+		if(idTempCount == idTemps.length) idTemps = Arrays.copyOf(idTemps, idTempCount * 2);
+		idTemps[idTempCount++] = id;
+	}
+	
+	public void clearIdentifierList() {
+		idTempCount = 0;
+	}
+	
+	/*Type*/
+	public boolean fromNormalTypeToArrayType() {
+		if(ParserType.isNormalType(peekType())) {
+			pushType(popType()+10);
+			return true;
+		}
+		else return false;
+	}
+	
+	public boolean fromArrayTypeToNormalType() {
+		if(ParserType.isArrayType(peekType())) {
+			pushType(popType()-10);
+			return true;
+		}
+		else return false;
+	}
+	
+	/*Subroutine Name*/
+	public void setSubroutineIdentifier(int id) {
+		subroutineIDTemp = id;
+	}
+	
+	/*Symbol Table*/
+	private static ParserSymbol lookup(ParserSymbol[] symbols, int id) {
+		return (id >= 0 && id < symbols.length) ? symbols[id] : null;
+	}
+	
+	private static ParserSymbol[] register(ParserSymbol[] symbols, int id, ParserSymbol symbol) {
+		if(id >= symbols.length) symbols = Arrays.copyOf(symbols, Math.max(symbols.length * 2, id + 1));
+		symbols[id] = symbol;
+		return symbols;
+	}
+	
+	/*Global Identifiers*/
+	private ParserSymbol addGlobalIdentifier(int id, ParserSymbol symbol) {
+		if(lookup(globalSymbols, id) != null) return null; //already declared
+		else {
+			globalSymbols = register(globalSymbols, id, symbol);
+			return symbol;
+		}
+	}
+	
+	public boolean addGlobalIdentifiers(List<ParserSymbol> declared) {
+		int type = peekType();
+		
+		if(ParserType.isNormalType(type) || ParserType.isArrayType(type)) {
+			int indexMin = ParserType.isArrayType(type) ? indexMinTemp : 0;
+			int indexMax = ParserType.isArrayType(type) ? indexMaxTemp : 0;
+			for(int i = 0; i < idTempCount; i++) {
+				ParserSymbol symbol = new ParserSymbol(ParserSymbol.KIND_GLOBAL, type, globalSlot, null, indexMin, indexMax);
+				if(addGlobalIdentifier(idTemps[i], symbol) == null) return false;
+				globalSlot++;
+				declared.add(symbol);
+			}
+			popType();
+			return true;
+		}
+		else return false;
+	}
+	
+	public boolean addGlobalSubroutineIdentifier() {
+		int[] arguments = (argTypeTempCount > 0) ? Arrays.copyOf(argTypeTemps, argTypeTempCount) : null;
+		subroutineSymbol = addGlobalIdentifier(subroutineIDTemp, new ParserSymbol(ParserSymbol.KIND_PROCEDURE, ParserType.TYPE_SUBROUTINE, procedureSlot, arguments, 0, 0));
+		if(subroutineSymbol != null) procedureSlot++;
+		return (subroutineSymbol != null);
+	}
+	
+	/*Local Identifiers*/
+	private ParserSymbol addLocalIdentifier(int id, ParserSymbol symbol) {
+		if(lookup(localSymbols, id) != null) return null; //already declared
+		else {
+			localSymbols = register(localSymbols, id, symbol);
+			if(localCount == localIDs.length) localIDs = Arrays.copyOf(localIDs, localCount * 2);
+			localIDs[localCount++] = id;
+			return symbol;
+		}
+	}
+	
+	public boolean addLocalIdentifiers(List<ParserSymbol> declared) {
+		int type = peekType();
+		
+		if(ParserType.isNormalType(type) || ParserType.isArrayType(type)) {
+			int indexMin = ParserType.isArrayType(type) ? indexMinTemp : 0;
+			int indexMax = ParserType.isArrayType(type) ? indexMaxTemp : 0;
+			for(int i = 0; i < idTempCount; i++) {
+				ParserSymbol symbol = new ParserSymbol(ParserSymbol.KIND_LOCAL, type, localSlot, null, indexMin, indexMax);
+				if(addLocalIdentifier(idTemps[i], symbol) == null) return false;
+				localSlot += symbol.getSize();
+				declared.add(symbol);
+			}
+			popType();
+			return true;
+		}
+		else return false;
+	}
+	
+	public boolean addParameterIdentifiers(List<ParserSymbol> declared) {
+		int type = peekType();
+		
+		if(ParserType.isNormalType(type)) {
+			for(int i = 0; i < idTempCount; i++) {
+				ParserSymbol symbol = new ParserSymbol(ParserSymbol.KIND_PARAMETER, type, parameterSlot, null, 0, 0);
+				if(addLocalIdentifier(idTemps[i], symbol) == null) return false;
+				parameterSlot++;
+				declared.add(symbol);
+			}
+			popType();
+			return true;
+		}
+		else return false;
+	}
+	
+	public void clearLocalIdentifierList() {
+		for(int i = 0; i < localCount; i++) {
+			localSymbols[localIDs[i]] = null;
+		}
+		localCount = 0;
+		localSlot = 0;
+		parameterSlot = 0;
+	}
+	
+	/*Stack push Type*/
+	public void pushType(int type) {
+		if(typeCount == typeStack.length) growTypeStack();
+		typeStack[typeCount++] = type;
+	}
+	private void growTypeStack() {
+		typeStack = Arrays.copyOf(typeStack, typeCount * 2);
+	}
+	
+	public boolean pushSubroutineArgumentsType() {
+		ParserSymbol symbol = lookup(globalSymbols, subroutineIDTemp);
+		if(symbol != null) {
+			if(symbol.getKind() != ParserSymbol.KIND_PROCEDURE) return false; //not subroutine
+			else {
+				this.pushType(ParserType.TYPE_SUBROUTINE);
+				for(int i = symbol.getParameterSize() - 1; i >= 0; i--) {
+					this.pushType(symbol.getParameterType(i));
+				}
+				subroutineSymbol = symbol;
+				return true;
+			}
+		}
+		else return false; //not declared
+	}
+	
+	/*Variable*/
+	public ParserSymbol findVariable(int id) {
+		ParserSymbol symbol = lookup(localSymbols, id);
+		if(symbol == null) symbol = lookup(globalSymbols, id);
+		
+		if(symbol != null && symbol.getKind() != ParserSymbol.KIND_PROCEDURE)
+			return symbol;
+		else
+			return null; //not declared or not variable
+	}
+	
+	/*Stack pop Type*/
+	public int popType() {
+		if(typeCount > 0)
+			return typeStack[--typeCount];
+		else
+			return ParserType.TYPE_NONE;
+	}
+	
+	/*Stack peek Type*/
+	public int peekType() {
+		if(typeCount > 0)
+			return typeStack[typeCount - 1];
+		else
+			return ParserType.TYPE_NONE;
+	}
+	
+	/*Stack check Type*/
+	public boolean checkType(boolean noLeft) {
+		if(typeCount >= 2) {
+			int type1 = popType();
+			int type2 = peekType();
+			if(type1 == type2) {
+				if(noLeft) popType();
+				return true;
+			}
+			else {
+				pushType(type1);
+				return false;
+			}
+		}
+		else return false;
+	}
+	
+	/*Argument Type*/
+	public void addArgumentTypes() {
+		int type = peekType();
+		
+		for(int i = idTempCount; i > 0; i--) {
+			if(argTypeTempCount == argTypeTemps.length) argTypeTemps = Arrays.copyOf(argTypeTemps, argTypeTempCount * 2);
+			argTypeTemps[argTypeTempCount++] = type;
+		}
+	}
+	
+	public void clearArgumentTypeList() {
+		argTypeTempCount = 0;
+	}
+	
+	/*Constant*/
+	public boolean setNumberConstant(int value) {
+		if(value >= 0 && value < 65536) {
+			this.constantTemp = value;
+			return true;
+		}
+		else {
+			return false;
+		}
+	}
+	
+	public void setSign(char sign) {
+		this.signTemp = sign;
+	}
+	
+	public char getSign() {
+		return signTemp;
+	}
+	
+	/*Index*/
+	private boolean setIndex(boolean isMin) {
+		if(signTemp == '-' && constantTemp <= 32768) {
+			if(isMin)
+				indexMinTemp = -constantTemp;
+			else
+				indexMaxTemp = -constantTemp;
+			return true;
+		}
+		else if((signTemp == '+' || signTemp == '\0') && constantTemp <= 32767) {
+			if(isMin)
+				indexMinTemp = constantTemp;
+			else
+				indexMaxTemp = constantTemp;
+			return true;
+		}
+		else return false;
+	}
+	
+	public boolean setIndexMin() {
+		return setIndex(true);
+	}
+	
+	public boolean setIndexMax() {
+		return setIndex(false);
+	}
+	
+	public boolean checkIndex() {
+		return (indexMinTemp <= indexMaxTemp);
+	}
+	
+	/*Symbols*/
+	public ParserSymbol getSubroutineSymbol() {
+		return subroutineSymbol;
+	}
+}
@@ -1,55 +1,96 @@
-package enshud.s3.checker;
-
-import java.io.FileNotFoundException;
-import java.io.IOException;
-
-public class Checker {
-	/**
-	 * サンプルmainメソッド．
-	 * 単体テストの対象ではないので自由に改変しても良い．
-	 */
-	public static void main(final String[] args) {
-		// normalの確認
-		new Checker().run("data/ts/normal04.ts");
-		new Checker().run("data/ts/normal05.ts");
-
-		// synerrの確認
-		new Checker().run("data/ts/synerr01.ts");
-		new Checker().run("data/ts/synerr07.ts");
-
-		// semerrの確認
-		new Checker().run("data/ts/semerr01.ts");
-		new Checker().run("data/ts/semerr06.ts");
-	}
-
-	/**
-	 * TODO
-	 * 
-	 * 開発対象となるChecker実行メソッド．
-	 * 以下の仕様を満たすこと．
-	 * 
-	 * 仕様:
-	 * 第一引数で指定されたtsファイルを読み込み，意味解析を行う．
-	 * 意味的に正しい場合は標準出力に"OK"を，正しくない場合は"Sematic error: line"という文字列とともに，
-	 * 最初のエラーを見つけた行の番号を標準エラーに出力すること （例: "Semantic error: line 6"）．
-	 * また，構文的なエラーが含まれる場合もエラーメッセージを表示すること（例： "Syntax error: line 1"）．
-	 * 入力ファイル内に複数のエラーが含まれる場合は，最初に見つけたエラーのみを出力すること．
-	 * 入力ファイルが見つからない場合は標準エラーに"File not found"と出力して終了すること．
-	 * 
-	 * @param inputFileName 入力tsファイル名
-	 */
-	public void run(final String inputFileName) {
-		CheckerParseMain cpm = new CheckerParseMain();
-		boolean initialized = false;
-		
-		try {
-			initialized = cpm.Initialize(inputFileName);
-		} catch (FileNotFoundException e) {
-			System.err.print("File not found");
-		} catch (IOException e) {
-			System.err.print("Unexpected IO exception");
-		}
-		
-		if(initialized) cpm.doParser();
-	}
-}
+package enshud.s3.checker;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import enshud.s1.lexer.LexerTokenList;
+import enshud.s1.lexer.LexerTokenReader;
+import enshud.s1.lexer.LexerTokenStream;
+import enshud.s2.parser.ParserTree;
+
+public class Checker {
+	/**
+	 * サンプルmainメソッド．
+	 * 単体テストの対象ではないので自由に改変しても良い．
+	 */
+	public static void main(final String[] args) {
+		// normalの確認
+		new Checker().run("data/ts/normal04.ts");
+		new Checker().run("data/ts/normal05.ts");
+		
+		// synerrの確認
+		new Checker().run("data/ts/synerr01.ts");
+		new Checker().run("data/ts/synerr07.ts");
+		
+		// semerrの確認
+		new Checker().run("data/ts/semerr01.ts");
+		new Checker().run("data/ts/semerr06.ts");
+	}
+	
+	/**
+	 * TODO
+	 * 
+	 * 開発対象となるChecker実行メソッド．
+	 * 以下の仕様を満たすこと．
+	 * 
+	 * 仕様:
+	 * 第一引数で指定されたtsファイルを読み込み，意味解析を行う．
+	 * 意味的に正しい場合は標準出力に"OK"を，正しくない場合は"Sematic error: line"という文字列とともに，
+	 * 最初のエラーを見つけた行の番号を標準エラーに出力すること （例: "Semantic error: line 6"）．
+	 * また，構文的なエラーが含まれる場合もエラーメッセージを表示すること（例： "Syntax error: line 1"）．
+	 * 入力ファイル内に複数のエラーが含まれる場合は，最初に見つけたエラーのみを出力すること．
+	 * 入力ファイルが見つからない場合は標準エラーに"File not found"と出力して終了すること．
+	 * 
+	 * @param inputFileName 入力tsファイル名
+	 */
+	public void run(final String inputFileName) {
+		LexerTokenList tokens = null;
+		
+		try {
+			tokens = LexerTokenReader.read(inputFileName);
+		} catch (FileNotFoundException e) {
+			System.err.print("File not found");
+		} catch (IOException e) {
+			System.err.print("Unexpected IO exception");
+		}
+		
+		if(tokens != null) ParserTree.parse(tokens).printResult();
+	}
+	
+	/**
+	 * 字句解析器のトークン列を直接受け取って意味解析を行うメソッド．
+	 * 出力は {@link #run(String)} と同じであるが，tsファイルの読み込みは行わない．
+	 * 
+	 * @param tokens {@link enshud.s1.lexer.Lexer#tokenize(String)} で生成したトークン列
+	 */
+	public void run(final LexerTokenList tokens) {
+		if(tokens == null) return;
+		
+		ParserTree.parse(tokens).printResult();
+	}
+	
+	/**
+	 * 字句解析器のトークンストリームから必要な分だけトークンを読み進めて意味解析を行うメソッド．
+	 * 出力は {@link #run(String)} と同じであるが，トークン列全体をメモリ上に保持しない．
+	 * 字句解析のエラーが見つかった場合は字句解析器のエラーメッセージのみが出力される．
+	 * 
+	 * @param tokens {@link enshud.s1.lexer.Lexer#stream(String)} で生成したトークンストリーム
+	 */
+	public void run(final LexerTokenStream tokens) {
+		if(tokens == null) return;
+		
+		ParserTree.parse(tokens, false).printResult();
+	}
+	
+	/**
+	 * {@link ParserTree#parse(LexerTokenList)} で解析済みの結果から意味解析の結果を出力するメソッド．
+	 * 出力は {@link #run(String)} と同じであるが，プログラムを解析し直すことはない．
+	 * 
+	 * @param tree {@link ParserTree#parse(LexerTokenList)} で作成した解析結果
+	 */
+	public void run(final ParserTree tree) {
+		if(tree == null) return;
+		
+		tree.printResult();
+	}
+}
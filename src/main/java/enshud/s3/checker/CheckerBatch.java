@@ -0,0 +1,258 @@
+package enshud.s3.checker;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import enshud.s1.lexer.LexerTokenList;
+import enshud.s1.lexer.LexerTokenReader;
+import enshud.s2.parser.ParserTree;
+
+/**
+ * 多数の ts ファイルをまとめて意味解析するクラスです。
+ * <p>
+ * ファイルは固定の数のスレッドを持つスレッドプールで並列に意味解析します。各ファイルの結果は
+ * 標準出力・標準エラー出力には出力せず、{@link Result Result} として別々に保持し、
+ * 最後に {@link #printReport(List, long, PrintStream) printReport} メソッドでファイルごとの結果と時間をまとめて出力します。
+ * 結果のメッセージは {@link Checker#run(String) Checker.run} メソッドが出力する文字列と同じです。
+ * <p>
+ * コマンドラインからは次のように使用します。ディレクトリを指定した場合は、その中の ts ファイル (*.ts, *.tsb) を名前の順に解析します。
+ * <pre>
+ * java enshud.s3.checker.CheckerBatch [-j スレッド数] ディレクトリまたはtsファイル...
+ * </pre>
+ */
+public final class CheckerBatch {
+	private static final String USAGE = "Usage: java enshud.s3.checker.CheckerBatch [-j threads] (directory | file)...";
+	
+	/**
+	 * 一つのファイルの意味解析の結果です。
+	 */
+	public static final class Result {
+		private final String fileName;
+		private final boolean ok;
+		private final String message;
+		private final long nanos;
+		
+		private Result(String fileName, boolean ok, String message, long nanos) {
+			this.fileName = fileName;
+			this.ok = ok;
+			this.message = message;
+			this.nanos = nanos;
+		}
+		
+		/**
+		 * ファイル名をリターンします。
+		 * @return
+		 * 解析したファイル名です。
+		 */
+		public String getFileName() { return fileName; }
+		
+		/**
+		 * 構文・意味が正しいかどうかをリターンします。
+		 * @return
+		 * 正しい場合は {@code true} をリターンします。
+		 */
+		public boolean isOK() { return ok; }
+		
+		/**
+		 * 結果のメッセージをリターンします。
+		 * @return
+		 * {@code "OK"}, {@code "Syntax error: line N"}, {@code "Semantic error: line N"}, {@code "File not found"} などです。
+		 * ts ファイルの形式が正しくない場合は、{@link Checker#run(String) Checker.run} メソッドは何も出力しませんが、
+		 * ここでは {@code "Invalid token file"} をリターンします。
+		 */
+		public String getMessage() { return message; }
+		
+		/**
+		 * ファイルの読み込みと意味解析にかかった時間をリターンします。
+		 * @return
+		 * 時間 (ナノ秒) です。
+		 */
+		public long getNanos() { return nanos; }
+	}
+	
+	private final int threads;
+	
+	/**
+	 * 利用できるプロセッサの数のスレッドで解析する CheckerBatch クラスのコンストラクタです。
+	 */
+	public CheckerBatch() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * CheckerBatch クラスのコンストラクタです。
+	 * @param threads
+	 * 解析に使用するスレッドの数
+	 * @throws IllegalArgumentException
+	 * スレッドの数が 1 未満の場合
+	 */
+	public CheckerBatch(int threads) {
+		if(threads < 1) throw new IllegalArgumentException("threads: " + threads);
+		this.threads = threads;
+	}
+	
+	/**
+	 * コマンドラインから実行するメソッドです。結果をまとめて標準出力に出力します。
+	 * 引数が正しくない場合 (ファイルの指定がない場合、{@code -j} の値がない・整数でない・1 未満の場合) は、
+	 * 使い方を標準エラー出力に出力して終了します。
+	 */
+	public static void main(final String[] args) {
+		int threads = Runtime.getRuntime().availableProcessors();
+		List<String> paths = new ArrayList<String>();
+		
+		for(int i = 0; i < args.length; i++) {
+			if(args[i].equals("-j")) {
+				threads = (i + 1 < args.length) ? parseThreads(args[++i]) : -1;
+				if(threads < 1) {
+					System.err.println(USAGE);
+					return;
+				}
+			}
+			else {
+				paths.add(args[i]);
+			}
+		}
+		if(paths.isEmpty()) {
+			System.err.println(USAGE);
+			return;
+		}
+		
+		CheckerBatch batch = new CheckerBatch(threads);
+		long start = System.nanoTime();
+		List<Result> results = batch.run(listFiles(paths));
+		batch.printReport(results, System.nanoTime() - start, System.out);
+	}
+	
+	/**
+	 * {@code -j} の値をスレッドの数に変換します。
+	 * @return
+	 * スレッドの数です。整数でない場合は -1 をリターンします。
+	 */
+	private static int parseThreads(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+	
+	/**
+	 * ファイルとディレクトリの並びを、解析する ts ファイルの並びに展開します。
+	 * ディレクトリはその中の ts ファイル (*.ts, *.tsb) を名前の順に並べたものに置き換えます。
+	 * ファイルは存在しなくてもそのまま残します。
+	 * @param paths
+	 * ファイル名とディレクトリ名の並び
+	 * @return
+	 * ts ファイル名の並びです。
+	 */
+	public static List<String> listFiles(List<String> paths) {
+		List<String> fileNames = new ArrayList<String>();
+		
+		for(String path : paths) {
+			File file = new File(path);
+			if(file.isDirectory()) {
+				String[] names = file.list((dir, name) -> name.endsWith(".ts") || LexerTokenReader.isBinaryFileName(name));
+				if(names == null) continue;
+				Arrays.sort(names);
+				for(String name : names) {
+					fileNames.add(new File(file, name).getPath());
+				}
+			}
+			else {
+				fileNames.add(path);
+			}
+		}
+		
+		return fileNames;
+	}
+	
+	/**
+	 * ファイルを並列に意味解析します。
+	 * あるファイルの解析で例外やエラーが発生した場合も、そのファイルの結果として記録して残りのファイルの解析を続けます。
+	 * @param fileNames
+	 * ts ファイル名の並び
+	 * @return
+	 * ファイル名の並びと同じ順の結果です。
+	 */
+	public List<Result> run(List<String> fileNames) {
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(fileNames.size(), 1)));
+		try {
+			List<Future<Result>> futures = new ArrayList<Future<Result>>(fileNames.size());
+			for(String fileName : fileNames) {
+				futures.add(pool.submit(() -> check(fileName)));
+			}
+			
+			List<Result> results = new ArrayList<Result>(fileNames.size());
+			for(int i = 0; i < futures.size(); i++) {
+				try { //InterruptedException, ExecutionException
+					results.add(futures.get(i).get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CancellationException("Interrupted");
+				} catch (ExecutionException e) {
+					results.add(new Result(fileNames.get(i), false, "Unexpected exception: " + e.getCause(), 0));
+				}
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * 一つのファイルを意味解析します。例外やエラー ({@link StackOverflowError} など) は結果のメッセージとして記録します。
+	 * @param fileName
+	 * ts ファイル名
+	 * @return
+	 * 結果です。
+	 */
+	public static Result check(String fileName) {
+		long start = System.nanoTime();
+		String message;
+		
+		try {
+			LexerTokenList tokens = LexerTokenReader.read(fileName);
+			if(tokens == null) message = "Invalid token file";
+			else {
+				String error = ParserTree.parse(tokens).getError();
+				message = (error == null) ? "OK" : error;
+			}
+		} catch (FileNotFoundException e) {
+			message = "File not found";
+		} catch (IOException e) {
+			message = "Unexpected IO exception";
+		} catch (RuntimeException | Error e) {
+			message = "Unexpected exception: " + e;
+		}
+		
+		return new Result(fileName, message.equals("OK"), message, System.nanoTime() - start);
+	}
+	
+	/**
+	 * ファイルごとの結果と時間、結果の集計を出力します。
+	 * @param results
+	 * {@link #run(List) run} メソッドの結果
+	 * @param wallNanos
+	 * 全体にかかった時間 (ナノ秒)
+	 * @param out
+	 * 出力先
+	 */
+	public void printReport(List<Result> results, long wallNanos, PrintStream out) {
+		int ok = 0, syntax = 0, semantic = 0, other = 0;
+		long total = 0;
+		
+		for(Result result : results) {
+			out.printf("%s\t%s\t%.3f ms%n", result.getFileName(), result.getMessage(), result.getNanos() / 1e6);
+			
+			if(result.isOK()) ok++;
+			else if(result.getMessage().startsWith("Syntax error")) syntax++;
+			else if(result.getMessage().startsWith("Semantic error")) semantic++;
+			else other++;
+			total += result.getNanos();
+		}
+		
+		out.printf("Files: %d, OK: %d, Syntax error: %d, Semantic error: %d, Other: %d%n", results.size(), ok, syntax, semantic, other);
+		out.printf("Time: %.3f ms (wall), %.3f ms (sum of files), threads: %d%n", wallNanos / 1e6, total / 1e6, threads);
+	}
+}
@@ -18,18 +18,44 @@ final class CaslOptimizer {
 	public static void optimize(String fileI, String fileO) {
 		CaslOptimizer co = new CaslOptimizer(fileI, fileO);
 		co.read();
+		co.optimize();
+		co.write();
+		return;
+	}
+	
+	/**
+	 * メモリ上のCASL IIプログラムの行を、CASファイルを最適化する場合と同じく書き換えます。
+	 * @param lines CASL IIプログラムの行 (書き換えられる)
+	 */
+	public static void optimize(List<String> lines) {
+		CaslOptimizer co = new CaslOptimizer(null, null);
+		co.data = lines;
+		co.optimize();
+	}
+	
+	/**
+	 * CASL IIプログラムを二つの部分に分ける位置かどうかを調べます。
+	 * 最適化は基本ブロックの中だけで命令を書き換え、ラベルの付いた行の前やジャンプ・CALL・RET・SVC命令の後を越えないので、
+	 * この位置で分けた部分をそれぞれ {@link #optimize(List)} で最適化した結果は、全体を最適化した結果と同じになります。
+	 * @param previous 直前の行
+	 * @param line 分ける位置の次の行
+	 * @return 分けてもよい位置なら {@code true} を返します。
+	 */
+	public static boolean isSegmentBoundary(String previous, String line) {
+		return hasLabel(line) || isBranch(previous);
+	}
+	
+	private void optimize() {
 		int count;
 		do {
 			count = 0;
-			count += co.optimize0();
-			count += co.optimize1();
-			count += co.optimize2();
+			count += optimize0();
+			count += optimize1();
+			count += optimize2();
 			//TODO: DEBUG
 			//System.out.println(count);
 		}
 		while(count != 0);
-		co.write();
-		return;
 	}
 	
 	/*static helper methods*/
@@ -93,15 +119,20 @@ final class CaslOptimizer {
 	}
 	
 	private static boolean isBlockDivider(String line) {
+		if(line == null) return false;
+		return (hasLabel(line) || isBranch(line));
+	}
+	
+	private static boolean isBranch(String line) {
 		if(line == null) return false;
 		String inst = getInst(line);
-		return (hasLabel(line) || (inst != null
+		return (inst != null
 				&& (inst.matches("(J|j).*")
 						|| inst.matches("(R|r)(P|p).*")
 						|| inst.equalsIgnoreCase("CALL")
 						|| inst.equalsIgnoreCase("RET")
 						|| inst.equalsIgnoreCase("SVC")
-						)));
+						));
 	}
 	
 	/*constructor*/
@@ -169,7 +200,7 @@ final class CaslOptimizer {
 			String line = data.get(index);
 			if(getInst(line) != null && getInst(line).equalsIgnoreCase("NOP")) {
 				if(hasLabel(line)) {
-					String next = data.get(index + 1);
+					String next = (index + 1 < data.size()) ? data.get(index + 1) : null;
 					if(getInst(next) != null && !hasLabel(next)) {
 						data.remove(index);
 						data.remove(index);
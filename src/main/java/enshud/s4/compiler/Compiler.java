@@ -1,92 +1,266 @@
-package enshud.s4.compiler;
-
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-
-import enshud.casl.CaslSimulator;
-import enshud.s1.lexer.Lexer;
-
-public class Compiler {
-	/**
-	 * サンプルmainメソッド．
-	 * 単体テストの対象ではないので自由に改変しても良い．
-	 */
-	public static void main(final String[] args) {
-		//Pre-processing
-		System.out.print("Executing Lexer...");
-		new Lexer().run("data/pas/normal10.pas", "tmp/custom.ts");
-		System.out.println();
-		
-		// Compilerを実行してcasを生成する
-		System.out.print("Executing Compiler...");
-		new Compiler().run("tmp/custom.ts", "tmp/custom.cas");
-		new Compiler().run("tmp/custom.ts", "tmp/custom.cas.out", false);
-		System.out.println();
-		
-		/*
-		// CaslSimulatorクラスを使ってコンパイルしたcasを，CASLアセンブラ & COMETシミュレータで実行する
-		if((new File("tmp/custom.cas")).isFile()) {
-			CaslSimulator.run("tmp/custom.cas", "tmp/custom.ans", "4gs3f","aaabb");
-			//CaslSimulator.run("data/cas/normal04.cas", "tmp/out.ans", "36", "48");
-		}
-		else {
-			System.err.println("cas is not generated!");
-		}
-		*/
-		
-		/*
-		CaslOptimizer.optimize("data/cas/normal04.cas", "tmp/out.cas");
-		CaslSimulator.run("tmp/out.cas", "tmp/out.ans", "64", "96");
-		*/
-		
-		System.out.println("Done!");
-	}
-
-	/**
-	 * TODO
-	 * 
-	 * 開発対象となるCompiler実行メソッド．
-	 * 以下の仕様を満たすこと．
-	 * 
-	 * 仕様:
-	 * 第一引数で指定されたtsファイルを読み込み，CASL IIプログラムにコンパイルする．
-	 * コンパイル結果のCASL IIプログラムは第二引数で指定されたcasファイルに書き出すこと．
-	 * 構文的もしくは意味的なエラーを発見した場合は標準エラーにエラーメッセージを出力すること．
-	 * （エラーメッセージの内容はChecker.run()の出力に準じるものとする．）
-	 * 入力ファイルが見つからない場合は標準エラーに"File not found"と出力して終了すること．
-	 * 
-	 * @param inputFileName 入力tsファイル名
-	 * @param outputFileName 出力casファイル名
-	 */
-	public void run(final String inputFileName, final String outputFileName) {
-		run(inputFileName, outputFileName, true);
-	}
-	public void run(final String inputFileName, final String outputFileName, boolean doOptimize) {
-		CompilerParseMain cpm = new CompilerParseMain();
-		boolean initialized = false;
-		
-		try {
-			initialized = cpm.Initialize(inputFileName);
-		} catch (FileNotFoundException e) {
-			System.err.print("File not found");
-		} catch (IOException e) {
-			System.err.print("Unexpected IO exception");
-		}
-		
-		if(initialized) {
-			if(!cpm.doParser()) return;
-			else {
-				try {
-					cpm.createCAS(outputFileName);
-				} catch (IOException e) {
-					System.err.print("Unexpected IO exception");
-				}
-				if(doOptimize) {
-					CaslOptimizer.optimize(outputFileName);
-				}
-				CaslSimulator.appendLibcas(outputFileName);
-			}
-		}
-	}
-}
+package enshud.s4.compiler;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import enshud.casl.CaslSimulator;
+import enshud.s1.lexer.Lexer;
+import enshud.s1.lexer.LexerTokenList;
+import enshud.s1.lexer.LexerTokenStream;
+import enshud.s2.parser.ParserTree;
+
+public class Compiler {
+	/**
+	 * サンプルmainメソッド．
+	 * 単体テストの対象ではないので自由に改変しても良い．
+	 */
+	public static void main(final String[] args) {
+		//Pre-processing
+		System.out.print("Executing Lexer...");
+		LexerTokenList tokens = new Lexer().tokenize("data/pas/normal10.pas", "tmp/custom.ts");
+		System.out.println();
+		
+		// Compilerを実行してcasを生成する
+		System.out.print("Executing Compiler...");
+		new Compiler().run(tokens, "tmp/custom.cas");
+		new Compiler().run(tokens, "tmp/custom.cas.out", false);
+		System.out.println();
+		
+		/*
+		// CaslSimulatorクラスを使ってコンパイルしたcasを，CASLアセンブラ & COMETシミュレータで実行する
+		if((new File("tmp/custom.cas")).isFile()) {
+			CaslSimulator.run("tmp/custom.cas", "tmp/custom.ans", "4gs3f","aaabb");
+			//CaslSimulator.run("data/cas/normal04.cas", "tmp/out.ans", "36", "48");
+		}
+		else {
+			System.err.println("cas is not generated!");
+		}
+		*/
+		
+		/*
+		CaslOptimizer.optimize("data/cas/normal04.cas", "tmp/out.cas");
+		CaslSimulator.run("tmp/out.cas", "tmp/out.ans", "64", "96");
+		*/
+		
+		System.out.println("Done!");
+	}
+	
+	/**
+	 * TODO
+	 * 
+	 * 開発対象となるCompiler実行メソッド．
+	 * 以下の仕様を満たすこと．
+	 * 
+	 * 仕様:
+	 * 第一引数で指定されたtsファイルを読み込み，CASL IIプログラムにコンパイルする．
+	 * コンパイル結果のCASL IIプログラムは第二引数で指定されたcasファイルに書き出すこと．
+	 * 構文的もしくは意味的なエラーを発見した場合は標準エラーにエラーメッセージを出力すること．
+	 * （エラーメッセージの内容はChecker.run()の出力に準じるものとする．）
+	 * 入力ファイルが見つからない場合は標準エラーに"File not found"と出力して終了すること．
+	 * 
+	 * @param inputFileName 入力tsファイル名
+	 * @param outputFileName 出力casファイル名
+	 */
+	public void run(final String inputFileName, final String outputFileName) {
+		run(inputFileName, outputFileName, true);
+	}
+	public void run(final String inputFileName, final String outputFileName, boolean doOptimize) {
+		CompilerParseMain cpm = new CompilerParseMain();
+		boolean initialized = false;
+		
+		try {
+			initialized = cpm.Initialize(inputFileName);
+		} catch (FileNotFoundException e) {
+			System.err.print("File not found");
+		} catch (IOException e) {
+			System.err.print("Unexpected IO exception");
+		}
+		
+		if(initialized) compile(cpm, outputFileName, doOptimize);
+	}
+	
+	/**
+	 * 字句解析器のトークン列を直接受け取ってコンパイルを行うメソッド．
+	 * 出力は {@link #run(String, String)} と同じであるが，tsファイルの読み込みは行わない．
+	 * 
+	 * @param tokens {@link enshud.s1.lexer.Lexer#tokenize(String)} で生成したトークン列
+	 * @param outputFileName 出力casファイル名
+	 */
+	public void run(final LexerTokenList tokens, final String outputFileName) {
+		run(tokens, outputFileName, true);
+	}
+	public void run(final LexerTokenList tokens, final String outputFileName, boolean doOptimize) {
+		if(tokens == null) return;
+		
+		CompilerParseMain cpm = new CompilerParseMain();
+		
+		if(cpm.Initialize(tokens)) compile(cpm, outputFileName, doOptimize);
+	}
+	
+	/**
+	 * 字句解析器のトークンストリームから必要な分だけトークンを読み進めてコンパイルを行うメソッド．
+	 * 出力は {@link #run(String, String)} と同じであるが，トークン列全体をメモリ上に保持しない．
+	 * 字句解析のエラーが見つかった場合は字句解析器のエラーメッセージのみが出力される．
+	 * 
+	 * @param tokens {@link enshud.s1.lexer.Lexer#stream(String)} で生成したトークンストリーム
+	 * @param outputFileName 出力casファイル名
+	 */
+	public void run(final LexerTokenStream tokens, final String outputFileName) {
+		run(tokens, outputFileName, true);
+	}
+	public void run(final LexerTokenStream tokens, final String outputFileName, boolean doOptimize) {
+		if(tokens == null) return;
+		
+		CompilerParseMain cpm = new CompilerParseMain();
+		
+		if(cpm.Initialize(tokens)) compile(cpm, outputFileName, doOptimize);
+	}
+	
+	/**
+	 * 構文解析器・意味解析器と共有する解析結果からコンパイルを行うメソッド．
+	 * 出力は {@link #run(String, String)} と同じであるが，プログラムの解析は行わず抽象構文木からコードを生成する．
+	 * 
+	 * @param tree {@link ParserTree#parse(LexerTokenList)} で作成した解析結果
+	 * @param outputFileName 出力casファイル名
+	 */
+	public void run(final ParserTree tree, final String outputFileName) {
+		run(tree, outputFileName, true);
+	}
+	public void run(final ParserTree tree, final String outputFileName, boolean doOptimize) {
+		if(tree == null) return;
+		
+		CompilerParseMain cpm = new CompilerParseMain();
+		
+		if(cpm.Initialize(tree)) compile(cpm, outputFileName, doOptimize);
+	}
+	
+	/**
+	 * 字句解析・構文解析とコード生成・CASファイルの書き込みを別々のスレッドで並行して行うコンパイルメソッド．
+	 * 第一引数で指定されたpasファイルを読み込み，{@link enshud.s1.lexer.Lexer#tokenize(String)} で生成したトークン列を
+	 * {@link #run(LexerTokenList, String)} でコンパイルした場合と同じcasファイルを書き出す．
+	 * 
+	 * 字句解析のスレッドはトークンを，構文解析とコード生成を行うこのスレッドはコードの行を，
+	 * それぞれ一定数ずつ容量の決まったキューで次の段階に渡す．
+	 * 最適化は基本ブロックの区切りで分けたコードの部分ごとにcasファイルの書き込みのスレッドで行う．
+	 * 抽象構文木から中間表現への変換はプログラム全体の解析が終わってから始まる．
+	 * 入力ファイルが見つからない場合は標準エラーに"File not found"と出力して終了する．
+	 * 
+	 * @param inputFileName 入力pasファイル名
+	 * @param outputFileName 出力casファイル名
+	 */
+	public void runPipelined(final String inputFileName, final String outputFileName) {
+		runPipelined(inputFileName, outputFileName, true);
+	}
+	public void runPipelined(final String inputFileName, final String outputFileName, boolean doOptimize) {
+		LexerTokenStream tokens = new Lexer().streamAsync(inputFileName);
+		if(tokens == null) return;
+		
+		try {
+			runPipelined(tokens, outputFileName, doOptimize);
+		} finally {
+			tokens.close();
+		}
+	}
+	
+	/**
+	 * 字句解析器のトークンストリームを構文解析とコード生成を行うこのスレッドで読み進め，
+	 * CASファイルの書き込みを別のスレッドで並行して行うコンパイルメソッド．
+	 * 出力は {@link #run(LexerTokenStream, String, boolean)} と同じである．
+	 * 構文解析やコード生成で例外が発生した場合も，書き込みのスレッドを終わらせてから例外を投げる．
+	 * 書き込みのスレッドでも例外が発生した場合は，その例外を抑制された例外として加える．
+	 * 
+	 * @param tokens {@link enshud.s1.lexer.Lexer#stream(String)} または {@link enshud.s1.lexer.Lexer#streamAsync(String)} で生成したトークンストリーム
+	 * @param outputFileName 出力casファイル名
+	 * @param doOptimize 最適化する場合は true
+	 */
+	public void runPipelined(final LexerTokenStream tokens, final String outputFileName, boolean doOptimize) {
+		if(tokens == null) return;
+		
+		CompilerParseMain cpm = new CompilerParseMain();
+		CompilerCasWriter writer = new CompilerCasWriter(outputFileName, doOptimize);
+		writer.start();
+		
+		boolean generated;
+		try {
+			generated = cpm.Initialize(tokens) && cpm.doParser(new CompilerCodeGen(writer));
+		} catch (RuntimeException | Error e) {
+			//the writer thread must end, but its failure must not hide this exception
+			try {
+				writer.finish();
+			} catch (RuntimeException f) {
+				e.addSuppressed(f);
+			}
+			throw e;
+		}
+		
+		if(!writer.finish()) System.err.print("Unexpected IO exception");
+		else if(generated) CaslSimulator.appendLibcas(outputFileName);
+	}
+	
+	/**
+	 * 意味解析だけを行うメソッド．
+	 * 第一引数で指定されたtsファイルを読み込み，{@link enshud.s3.checker.Checker#run(String)} と同じ結果を出力する．
+	 * 抽象構文木の作成とCASL IIプログラムの生成は行わず，casファイルも書き出さない．
+	 * 
+	 * @param inputFileName 入力tsファイル名
+	 */
+	public void check(final String inputFileName) {
+		CompilerParseMain cpm = new CompilerParseMain();
+		boolean initialized = false;
+		
+		try {
+			initialized = cpm.Initialize(inputFileName);
+		} catch (FileNotFoundException e) {
+			System.err.print("File not found");
+		} catch (IOException e) {
+			System.err.print("Unexpected IO exception");
+		}
+		
+		if(initialized) cpm.doCheck();
+	}
+	
+	/**
+	 * 字句解析器のトークン列を直接受け取って意味解析だけを行うメソッド．
+	 * 出力は {@link #check(String)} と同じであるが，tsファイルの読み込みは行わない．
+	 * 
+	 * @param tokens {@link enshud.s1.lexer.Lexer#tokenize(String)} で生成したトークン列
+	 */
+	public void check(final LexerTokenList tokens) {
+		if(tokens == null) return;
+		
+		CompilerParseMain cpm = new CompilerParseMain();
+		
+		if(cpm.Initialize(tokens)) cpm.doCheck();
+	}
+	
+	/**
+	 * 字句解析器のトークンストリームから必要な分だけトークンを読み進めて意味解析だけを行うメソッド．
+	 * 出力は {@link #check(String)} と同じであるが，トークン列全体をメモリ上に保持しない．
+	 * 字句解析のエラーが見つかった場合は字句解析器のエラーメッセージのみが出力される．
+	 * 
+	 * @param tokens {@link enshud.s1.lexer.Lexer#stream(String)} で生成したトークンストリーム
+	 */
+	public void check(final LexerTokenStream tokens) {
+		if(tokens == null) return;
+		
+		CompilerParseMain cpm = new CompilerParseMain();
+		
+		if(cpm.Initialize(tokens)) cpm.doCheck();
+	}
+	
+	private void compile(CompilerParseMain cpm, final String outputFileName, boolean doOptimize) {
+		if(!cpm.doParser()) return;
+		else {
+			try {
+				cpm.createCAS(outputFileName);
+			} catch (IOException e) {
+				System.err.print("Unexpected IO exception");
+			}
+			if(doOptimize) {
+				CaslOptimizer.optimize(outputFileName);
+			}
+			CaslSimulator.appendLibcas(outputFileName);
+		}
+	}
+}
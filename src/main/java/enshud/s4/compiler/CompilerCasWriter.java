@@ -0,0 +1,166 @@
+package enshud.s4.compiler;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <p><b>名前</b>: <b>{@code CompilerCasWriter} クラス</b>
+ * <p><b>説明</b>: コード生成と並行して、CASL IIアセンブリコードを別のスレッドで最適化しCASファイルに書き込む、 {@link CompilerCodeGen} クラスのヘルパクラスです。
+ * <p><b>生成子</b>:
+ * <ul>
+ * <li>{@link #CompilerCasWriter(String, boolean)}
+ * </ul>
+ * <p><b>詳細</b>: コードの行は {@link #write(List)} メソッドで一定数ずつまとめて受け取り、容量の決まったキューで書き込みのスレッドに渡します。
+ * キューが一杯の場合はコード生成が書き込みを待ちます。<br>
+ * 最適化する場合は、コードを {@link CaslOptimizer#isSegmentBoundary(String, String)} メソッドの位置で部分に分け、部分ごとに最適化してから書き込みます。
+ * 最適化の結果はCASファイル全体を {@link CaslOptimizer#optimize(String)} メソッドで最適化した場合と同じです。<br>
+ * CASファイルは最初の行を受け取ったときに作成するので、コードが生成されなかった場合はCASファイルを作成しません。
+ */
+final class CompilerCasWriter implements Runnable {
+	
+	private static final int QUEUE_CAPACITY = 16;
+	private static final List<String> END = Collections.emptyList();
+	
+	private String outputFileName;
+	private boolean doOptimize;
+	private BlockingQueue<List<String>> queue;
+	private Thread thread;
+	
+	/*Writer Thread*/
+	private BufferedWriter out;
+	private ArrayList<String> segment;
+	private boolean ioError;
+	private RuntimeException failure;	//exception thrown in the writer thread
+	
+	/*Code Generation Thread*/
+	private boolean dropped;	//lines that were not passed to the writer thread
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code CompilerCasWriter(String, boolean)} 生成子</b>
+	 * <p><b>階層</b>: {@link CompilerCasWriter}.<b>{@code CompilerCasWriter(String, boolean)}</b>
+	 * <p><b>説明</b>: {@link CompilerCasWriter} クラスのインスタンスを初期化する生成子です。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code outputFileName}</b>: CASファイルの経路名</li>
+	 * <li><b>{@code doOptimize}</b>: 最適化する場合は {@code true}</li>
+	 * </ul>
+	 */
+	public CompilerCasWriter(String outputFileName, boolean doOptimize) {
+		this.outputFileName = outputFileName;
+		this.doOptimize = doOptimize;
+		queue = new ArrayBlockingQueue<List<String>>(QUEUE_CAPACITY);
+		segment = new ArrayList<String>();
+		ioError = false;
+		dropped = false;
+	}
+	
+	/**
+	 * 書き込みのスレッドを開始します。
+	 */
+	public void start() {
+		thread = new Thread(this, "cas-writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * コードの行を書き込みのスレッドに渡します。渡したリストは変更しないでください。
+	 * 割り込まれて渡せなかった場合は、 {@link #finish()} メソッドで書き込みの失敗として報告します。
+	 * @param lines コードの行
+	 */
+	public void write(List<String> lines) {
+		if(lines.isEmpty()) return;
+		try {
+			queue.put(lines);
+		} catch (InterruptedException e) {
+			dropped = true;
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * 書き込みのスレッドに終わりを知らせ、残りのコードを書き込んでCASファイルを閉じるまで待ちます。
+	 * 書き込みのスレッドで実行時例外が発生した場合は、その例外をこのスレッドで投げます。
+	 * 割り込まれた場合は、残りのコードを書き込まずに書き込みのスレッドを終わらせます。
+	 * @return 書き込みが成功したら {@code true} を返し、入出力例外が発生したか、渡せなかったコードがあれば {@code false} を返します。
+	 */
+	public boolean finish() {
+		try {
+			queue.put(END);
+			thread.join();
+		} catch (InterruptedException e) {
+			thread.interrupt();	//the writer thread may still wait for END
+			try {
+				thread.join();
+			} catch (InterruptedException f) {
+				//the writer thread closes the file by itself
+			}
+			Thread.currentThread().interrupt();
+			return false;
+		}
+		if(failure != null) throw failure;
+		return !ioError && !dropped;
+	}
+	
+	@Override
+	public void run() {
+		try {
+			List<String> lines;
+			while((lines = queue.take()) != END) {
+				if(failure == null) {
+					try {
+						writeLines(lines);
+					} catch (RuntimeException e) {
+						failure = e;	//keep taking lines so that the code generation does not block
+					}
+				}
+			}
+			if(failure == null) writeSegment();
+		} catch (RuntimeException e) {
+			failure = e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				if(out != null) out.close();
+			} catch (IOException e) {
+				ioError = true;
+			}
+		}
+	}
+	
+	/**行の振り分け*/
+	private void writeLines(List<String> lines) {
+		for(String line : lines) {
+			if(!doOptimize) writeLine(line);
+			else {
+				if(!segment.isEmpty() && CaslOptimizer.isSegmentBoundary(segment.get(segment.size() - 1), line)) writeSegment();
+				segment.add(line);
+			}
+		}
+	}
+	
+	/**部分の最適化*/
+	private void writeSegment() {
+		if(segment.isEmpty()) return;
+		CaslOptimizer.optimize(segment);
+		for(String line : segment) {
+			writeLine(line);
+		}
+		segment.clear();
+	}
+	
+	/**行の書き込み*/
+	private void writeLine(String line) {
+		if(ioError) return;
+		try {
+			if(out == null) out = new BufferedWriter(new FileWriter(outputFileName));
+			out.write(line);
+			out.newLine();
+		} catch (IOException e) {
+			ioError = true;
+		}
+	}
+}
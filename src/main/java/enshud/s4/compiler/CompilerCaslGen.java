@@ -0,0 +1,765 @@
+package enshud.s4.compiler;
+
+import java.util.*;
+
+/**
+ * <p><b>名前</b>: <b>{@code CompilerCaslGen} クラス</b>
+ * <p><b>説明</b>: 中間表現(三番地コード)からCASL IIアセンブリコードを生成する、 {@link CompilerParseMain} クラスのヘルパクラスです。
+ * <p><b>生成子</b>:
+ * <ul>
+ * <li>{@link #CompilerCaslGen(CompilerCodeGen, CompilerLabelGen)}
+ * </ul>
+ * <p><b>詳細</b>: 一時変数は {@link CompilerRegAlloc} クラスで副プログラムごとに割り当てたレジスタに置き、
+ * 定数や変数の番地・値は使う命令の被演算子に畳み込みます。レジスタが足りずスタックに置いた一時変数は、
+ * 定義する命令で結果をスタックに積み、使う命令で空いているレジスタに降ろします。
+ * GR0 は割り当てに使わず、レジスタ間の値の入れ替えなどの作業用に使います。<br>
+ * 乗除算と入出力のサブルーチンを呼び出す命令は、被演算子を GR1, GR2 に移し、
+ * 呼び出しをまたいで生きる一時変数のレジスタのうちサブルーチンが使うものをスタックに退避します。<br>
+ * 定数の乗数・除数の多く (2の累乗とその符号を反転した値、二進数の {@code 1} が少ない乗数) はサブルーチンを呼び出さず、
+ * シフトと足し算・引き算で計算します ({@link #generateReducedOp(CompilerIRCode, int)})。<br>
+ * 条件分岐は {@code CPA} の結果で分岐し、{@code 0} との比較は {@code LD} や直前の演算が設定したフラグで分岐します。<br>
+ * 中間表現のラベルは、最初に出力されるときにCASL IIのラベル {@code L1, L2, ...} に対応付けます。
+ */
+final class CompilerCaslGen {
+	
+	private CompilerCodeGen codeGen;
+	private CompilerLabelGen labelGen;
+	
+	private int[] labelList;	//CASL label number for each IR label (0: not yet numbered)
+	
+	private CompilerRegAlloc regAlloc;
+	private int[] registerList;	//register holding each temp while it is alive
+	private String[] dispList;	//displacement of an address held in a register
+	private int occupied;	//registers holding live temps
+	private int flagTemp;	//temp whose value the flags were last set by (-1: none)
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code CompilerCaslGen(CompilerCodeGen, CompilerLabelGen)} 生成子</b>
+	 * <p><b>階層</b>: {@link CompilerCaslGen}.<b>{@code CompilerCaslGen(CompilerCodeGen, CompilerLabelGen)}</b>
+	 * <p><b>説明</b>: {@link CompilerCaslGen} クラスのインスタンスを初期化する生成子です。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code codeGen}</b>: CASL IIアセンブリコードを保存するインスタンス</li>
+	 * <li><b>{@code labelGen}</b>: ラベルを生成するインスタンス</li>
+	 * </ul>
+	 */
+	public CompilerCaslGen(CompilerCodeGen codeGen, CompilerLabelGen labelGen) {
+		this.codeGen = codeGen;
+		this.labelGen = labelGen;
+	}
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code generate(CompilerIR)} メソッド</b>
+	 * <p><b>階層</b>: {@link CompilerCaslGen}.<b>{@code generate(CompilerIR)}</b>
+	 * <p><b>説明</b>: プログラムの中間表現からCASL IIアセンブリコードを生成します。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code ir}</b>: {@link CompilerIRGen#generate(enshud.s2.parser.ParserNode.Program)} メソッドで生成された中間表現</li>
+	 * </ul>
+	 * <p><b>戻り値</b>: 無し
+	 */
+	public void generate(CompilerIR ir) {
+		codeGen.add("START\tBEGIN", "MAIN");
+		codeGen.add("LAD\tGR6, 0", "BEGIN");
+		codeGen.add("LAD\tGR7, LIBBUF");
+		codeGen.flush(true);
+		
+		CompilerIR.Function main = null;
+		codeGen.setFlush(false);
+		for(CompilerIR.Function function : ir.getFunctionList()) {
+			if(function.isMain()) main = function;
+			else generateFunction(function);
+		}
+		codeGen.setFlush(true);
+		
+		generateFunction(main);
+		
+		codeGen.appendSub();
+		
+		codeGen.add("DS\t256", "LIBBUF");
+		codeGen.flush(true);
+		
+		generateMemoryLabel(ir);
+		
+		codeGen.add("END");
+		codeGen.flush(true);
+	}
+	
+	/**メモリラベル*/
+	private void generateMemoryLabel(CompilerIR ir) {
+		ArrayList<Integer> varSizeList = ir.getVarSizeList();
+		for(int i = 0; i < varSizeList.size(); i++) {
+			int size = varSizeList.get(i);
+			if(size > 0) {
+				codeGen.add("DS\t" + size, "VAR" + (i + 1));
+			}
+		}
+		
+		ArrayList<String> strDataList = ir.getStrDataList();
+		for(int i = 0; i < strDataList.size(); i++) {
+			String strData = strDataList.get(i);
+			if(strData != null) {
+				codeGen.add("DC\t" + strData, "STR" + (i + 1));
+			}
+		}
+		
+		codeGen.flush(true);
+	}
+	
+	/**副プログラム*/
+	private void generateFunction(CompilerIR.Function function) {
+		labelList = new int[function.getLabelSize()];
+		regAlloc = new CompilerRegAlloc(function);
+		registerList = new int[function.getTempSize()];
+		dispList = new String[function.getTempSize()];
+		occupied = 0;
+		flagTemp = -1;
+		
+		if(!function.isMain()) {
+			codeGen.add("NOP", function.getLabel());
+			if(function.getParamSize() > 0) {
+				codeGen.add("LAD\tGR4, 1, GR8");
+			}
+			if(function.getLocalSize() > 0) {
+				codeGen.add("SUBL\tGR8, =" + function.getLocalSize());
+				codeGen.add("LAD\tGR5, 0, GR8");
+			}
+			codeGen.flush();
+		}
+		
+		for(CompilerIRCode code : function.getCodeList()) {
+			generateCode(code);
+			codeGen.flush();
+		}
+		
+		if(function.getLocalSize() > 0) {
+			codeGen.add("ADDL\tGR8, =" + function.getLocalSize());
+		}
+		codeGen.add("RET");
+		codeGen.flush();
+	}
+	
+	/**ラベル*/
+	private String getLabel(int label) {
+		if(labelList[label] == 0) {
+			labelList[label] = labelGen.genNormalLabel();
+		}
+		return "L" + labelList[label];
+	}
+	
+	/**番地*/
+	private String getAddress(CompilerIRCode code) {
+		if(code.getBase() != null)
+			return code.getName() + ", " + code.getBase();
+		else
+			return code.getName();
+	}
+	
+	/**命令*/
+	private void generateCode(CompilerIRCode code) {
+		int op = code.getOp();
+		int dest = code.getDest();
+		
+		if(dest >= 0 && regAlloc.isFolded(dest)) return; //read by the user
+		if(op == CompilerIRCode.ARG) {
+			generateArgument(code.getLeft());
+			return;
+		}
+		
+		ArrayList<Integer> operandList = new ArrayList<Integer>();
+		addOperand(code.getLeft(), operandList);
+		addOperand(code.getRight(), operandList);
+		popSpilled(code, operandList);
+		
+		int operandMask = 0;
+		for(int temp : operandList) {
+			operandMask |= (1 << registerList[temp]);
+		}
+		int live = occupied & ~operandMask;	//registers of temps alive across this code
+		
+		int flagged = flagTemp;
+		flagTemp = -1;
+		
+		int work = 0;	//register for the result
+		if(dest >= 0 && !regAlloc.isFolded(dest)) {
+			work = regAlloc.getLocation(dest);
+			if(work == CompilerRegAlloc.SPILLED && !isLibraryCall(code)) work = getWorkRegister(code, live | operandMask);
+		}
+		
+		switch(op) {
+		case CompilerIRCode.CONST:
+			codeGen.add("LAD\tGR" + work + ", " + code.getValue());
+			break;
+		case CompilerIRCode.STRING:
+		case CompilerIRCode.ADDR:
+			codeGen.add("LAD\tGR" + work + ", " + getAddress(code));
+			dispList[dest] = "0";
+			break;
+		case CompilerIRCode.BASE:
+			break; //folded into INDEX
+		case CompilerIRCode.INDEX:
+			generateIndex(code, work);
+			break;
+		case CompilerIRCode.LOAD:
+			codeGen.add("LD\tGR" + work + ", " + getAddress(code.getLeft()));
+			break;
+		case CompilerIRCode.STORE:
+			codeGen.add("ST\tGR" + registerList[code.getRight()] + ", " + getAddress(code.getLeft()));
+			break;
+		case CompilerIRCode.NEG:
+			if(registerList[code.getLeft()] == work) {
+				generateNegate("GR" + work);
+			}
+			else {
+				codeGen.add("LAD\tGR" + work + ", 0");
+				codeGen.add("SUBA\tGR" + work + ", GR" + registerList[code.getLeft()]);
+			}
+			break;
+		case CompilerIRCode.NOT:
+			move(work, registerList[code.getLeft()]);
+			codeGen.add("XOR\tGR" + work + ", =#0001");
+			break;
+		case CompilerIRCode.ADD:
+		case CompilerIRCode.SUB:
+		case CompilerIRCode.OR:
+		case CompilerIRCode.AND:
+			generateAdditiveOp(code, work);
+			break;
+		case CompilerIRCode.MUL:
+		case CompilerIRCode.DIV:
+		case CompilerIRCode.MOD:
+			if(regAlloc.getReducedOperand(code) >= 0)
+				generateReducedOp(code, work);
+			else
+				generateMultiplicativeOp(code, live);
+			break;
+		case CompilerIRCode.EQ:
+		case CompilerIRCode.NE:
+		case CompilerIRCode.LT:
+		case CompilerIRCode.LE:
+		case CompilerIRCode.GT:
+		case CompilerIRCode.GE:
+			generateRelativeOp(code, work);
+			break;
+		case CompilerIRCode.LABEL:
+			codeGen.add("NOP", getLabel(code.getValue()));
+			break;
+		case CompilerIRCode.JUMP:
+			codeGen.add("JUMP\t" + getLabel(code.getValue()));
+			break;
+		case CompilerIRCode.JUMPEQ:
+		case CompilerIRCode.JUMPNE:
+		case CompilerIRCode.JUMPLT:
+		case CompilerIRCode.JUMPLE:
+		case CompilerIRCode.JUMPGT:
+		case CompilerIRCode.JUMPGE:
+			generateJump(code, flagged);
+			break;
+		case CompilerIRCode.SAVE:
+			codeGen.add("PUSH\t0, GR4");
+			codeGen.add("PUSH\t0, GR5");
+			break;
+		case CompilerIRCode.CALL:
+			codeGen.add("CALL\t" + code.getName());
+			if(code.getValue() > 0) {
+				codeGen.add("ADDL\tGR8, =" + code.getValue());
+			}
+			codeGen.add("POP\tGR5");
+			codeGen.add("POP\tGR4");
+			break;
+		case CompilerIRCode.READINT:
+		case CompilerIRCode.READCH:
+		case CompilerIRCode.READSTR:
+		case CompilerIRCode.READLN:
+		case CompilerIRCode.WRITEINT:
+		case CompilerIRCode.WRITECH:
+		case CompilerIRCode.WRITESTR:
+		case CompilerIRCode.WRITELN:
+			generateIOCall(code, live);
+			break;
+		default: //TODO: error-check
+			codeGen.addComment("UNREACHABLE: check your code!");
+		}
+		
+		if(work > 0 && regAlloc.getLocation(dest) == CompilerRegAlloc.SPILLED) {
+			codeGen.add("PUSH\t0, GR" + work);
+		}
+		
+		occupied = live;
+		if(work > 0 && regAlloc.getLocation(dest) > 0) {
+			registerList[dest] = work;
+			occupied |= (1 << work);
+		}
+		if(work > 0 && setsFlags(op)) flagTemp = dest;
+	}
+	
+	/**最後の命令 (LD, ADDA, SUBA, AND, OR, XOR) が結果でフラグを設定する演算*/
+	private static boolean setsFlags(int op) {
+		switch(op) {
+		case CompilerIRCode.LOAD:
+		case CompilerIRCode.NEG:
+		case CompilerIRCode.NOT:
+		case CompilerIRCode.ADD:
+		case CompilerIRCode.SUB:
+		case CompilerIRCode.AND:
+		case CompilerIRCode.OR:
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+	private boolean isLibraryCall(CompilerIRCode code) {
+		return regAlloc.getLibraryMask(code) != 0;
+	}
+	
+	/**命令が値を読む一時変数 (畳み込まれた被演算子の番地の一時変数を含む)*/
+	private void addOperand(int temp, List<Integer> operandList) {
+		if(temp < 0) return;
+		if(regAlloc.isFolded(temp)) {
+			CompilerIRCode code = regAlloc.getDefinition(temp);
+			addOperand(code.getLeft(), operandList);
+			addOperand(code.getRight(), operandList);
+		}
+		else {
+			if(regAlloc.getLocation(temp) > 0) registerList[temp] = regAlloc.getLocation(temp);
+			operandList.add(temp);
+		}
+	}
+	
+	/**スタックに置いた被演算子を後に積んだものから順に降ろす*/
+	private void popSpilled(CompilerIRCode code, List<Integer> operandList) {
+		int dest = code.getDest();
+		int destRegister = (dest >= 0 && regAlloc.getLocation(dest) > 0) ? regAlloc.getLocation(dest) : 0;
+		int reusable = regAlloc.getReusableOperand(code);
+		int used = occupied;
+		
+		for(int i = operandList.size() - 1; i >= 0; i--) {
+			int temp = operandList.get(i);
+			if(regAlloc.getLocation(temp) != CompilerRegAlloc.SPILLED) continue;
+			
+			int preferred = 0;
+			if(isLibraryCall(code)) preferred = (temp == code.getLeft() && code.getRight() >= 0) ? 1 : 2;
+			else if(temp == reusable) preferred = destRegister;
+			
+			int register = getFreeRegister(preferred, used | ((temp == reusable) ? 0 : (1 << destRegister)));
+			codeGen.add("POP\tGR" + register);
+			registerList[temp] = register;
+			used |= (1 << register);
+		}
+	}
+	
+	/**スタックに置く結果を求めるレジスタ*/
+	private int getWorkRegister(CompilerIRCode code, int used) {
+		int reusable = regAlloc.getReusableOperand(code);
+		if(reusable >= 0 && !regAlloc.isFolded(reusable)) return registerList[reusable];
+		return getFreeRegister(0, used);
+	}
+	
+	/**空いているレジスタ*/
+	private int getFreeRegister(int preferred, int used) {
+		int free = regAlloc.getAvailable() & ~used;
+		if(preferred > 0 && ((free >> preferred) & 1) != 0) return preferred;
+		for(int register = 1; register < 8; register++) {
+			if(((free >> register) & 1) != 0) return register;
+		}
+		throw new IllegalStateException("no free register");
+	}
+	
+	/**レジスタ間の転送*/
+	private void move(int to, int from) {
+		if(to != from) codeGen.add("LD\tGR" + to + ", GR" + from);
+	}
+	
+	/**番地 (一時変数)*/
+	private String getAddress(int temp) {
+		CompilerIRCode code = regAlloc.getDefinition(temp);
+		if(!regAlloc.isFolded(temp)) {
+			return dispList[temp] + ", GR" + registerList[temp];
+		}
+		if(code.getOp() == CompilerIRCode.INDEX) {
+			CompilerIRCode base = regAlloc.getDefinition(code.getLeft());
+			int index = regAlloc.getDefinition(code.getRight()).getValue();
+			if(base.getBase() != null)
+				return (Integer.parseInt(base.getName()) + index - base.getValue()) + ", " + base.getBase();
+			else
+				return base.getName();
+		}
+		return getAddress(code);
+	}
+	
+	/**加法演算子・関係演算子の右の被演算子 (レジスタ、定数または変数の番地)*/
+	private String getOperand(int temp) {
+		if(!regAlloc.isFolded(temp)) return "GR" + registerList[temp];
+		CompilerIRCode code = regAlloc.getDefinition(temp);
+		if(code.getOp() == CompilerIRCode.CONST)
+			return "=" + code.getValue();
+		else
+			return getAddress(code.getLeft());
+	}
+	
+	/**被演算子が読むレジスタ*/
+	private int getOperandMask(int temp) {
+		if(!regAlloc.isFolded(temp)) return (1 << registerList[temp]);
+		CompilerIRCode code = regAlloc.getDefinition(temp);
+		if(code.getOp() == CompilerIRCode.LOAD && !regAlloc.isFolded(code.getLeft())) return (1 << registerList[code.getLeft()]);
+		return 0;
+	}
+	
+	/**引数*/
+	private void generateArgument(int temp) {
+		switch(regAlloc.getLocation(temp)) {
+		case CompilerRegAlloc.FOLDED:
+			codeGen.add("PUSH\t" + regAlloc.getDefinition(temp).getValue());
+			break;
+		case CompilerRegAlloc.SPILLED:
+			break; //the argument is already on the stack
+		default:
+			codeGen.add("PUSH\t0, GR" + regAlloc.getLocation(temp));
+			occupied &= ~(1 << regAlloc.getLocation(temp));
+		}
+	}
+	
+	/**配列の要素の番地 (レジスタの値と変位の和)*/
+	private void generateIndex(CompilerIRCode code, int work) {
+		CompilerIRCode base = regAlloc.getDefinition(code.getLeft());
+		int index = code.getRight();
+		
+		if(base.getBase() == null) {
+			if(regAlloc.isFolded(index))
+				codeGen.add("LAD\tGR" + work + ", " + (regAlloc.getDefinition(index).getValue() - base.getValue()));
+			else if(base.getValue() != 0)
+				codeGen.add("LAD\tGR" + work + ", " + (-base.getValue()) + ", GR" + registerList[index]);
+			else
+				move(work, registerList[index]);
+			dispList[code.getDest()] = base.getName();
+		}
+		else {
+			int offset = Integer.parseInt(base.getName()) - base.getValue();
+			if(regAlloc.isFolded(index)) {
+				codeGen.add("LAD\tGR" + work + ", " + (offset + regAlloc.getDefinition(index).getValue()) + ", " + base.getBase());
+				dispList[code.getDest()] = "0";
+			}
+			else {
+				move(work, registerList[index]);
+				codeGen.add("ADDL\tGR" + work + ", " + base.getBase());
+				dispList[code.getDest()] = String.valueOf(offset);
+			}
+		}
+	}
+	
+	/**加法演算子 (and を含む)*/
+	private void generateAdditiveOp(CompilerIRCode code, int work) {
+		int op = code.getOp();
+		int left = code.getLeft();
+		int right = code.getRight();
+		if(regAlloc.isSwapped(code)) {
+			left = code.getRight();
+			right = code.getLeft();
+		}
+		
+		String inst;
+		switch(op) {
+		case CompilerIRCode.ADD:
+			inst = "ADDA";
+			break;
+		case CompilerIRCode.SUB:
+			inst = "SUBA";
+			break;
+		case CompilerIRCode.OR:
+			inst = "OR";
+			break;
+		default:
+			inst = "AND";
+			break;
+		}
+		
+		if(((getOperandMask(right) >> work) & 1) != 0 && registerList[left] != work) {
+			if(op != CompilerIRCode.SUB && !regAlloc.isFolded(right)) {
+				int temp = left;
+				left = right;
+				right = temp;
+			}
+			else {
+				codeGen.add("LD\tGR0, GR" + registerList[left]);
+				codeGen.add(inst + "\tGR0, " + getOperand(right));
+				codeGen.add("LD\tGR" + work + ", GR0");
+				return;
+			}
+		}
+		move(work, registerList[left]);
+		codeGen.add(inst + "\tGR" + work + ", " + getOperand(right));
+	}
+	
+	/**乗法演算子*/
+	private void generateMultiplicativeOp(CompilerIRCode code, int live) {
+		int op = code.getOp();
+		int save = live & regAlloc.getLibraryMask(code);
+		pushRegisters(save);
+		
+		int left = registerList[code.getLeft()];
+		int right = registerList[code.getRight()];
+		if(left == 2 && right == 1) {
+			codeGen.add("LD\tGR0, GR1");
+			codeGen.add("LD\tGR1, GR2");
+			codeGen.add("LD\tGR2, GR0");
+		}
+		else if(right == 1) {
+			move(2, right);
+			move(1, left);
+		}
+		else {
+			move(1, left);
+			move(2, right);
+		}
+		
+		if(op == CompilerIRCode.MUL)
+			codeGen.add("CALL\tMULT");
+		else
+			codeGen.add("CALL\tDIV");
+		
+		int result = (op == CompilerIRCode.MOD) ? 1 : 2;
+		int location = regAlloc.getLocation(code.getDest());
+		if(location == CompilerRegAlloc.SPILLED) {
+			if(save != 0) throw new IllegalStateException("spilled result across saved registers");
+			codeGen.add("PUSH\t0, GR" + result);
+		}
+		else {
+			move(location, result);
+		}
+		
+		popRegisters(save);
+	}
+	
+	/**
+	 * 定数の乗数・除数の乗法演算子をサブルーチンを呼び出さずにシフトで計算します。
+	 * 乗算は結果の下位16ビットが {@code MULT} と同じになるように、 {@code SLA} ではなく {@code SLL} で桁を上げます。
+	 * 除算は負の被除数に {@code 2^k-1} を足してから {@code SRA} で桁を下げ、 {@code 0} の方向に切り捨てます。
+	 * 剰余は被除数から商に {@code 2^k} を掛けた値 ({@code AND} で下位の桁を落とした値) を引きます。
+	 */
+	private void generateReducedOp(CompilerIRCode code, int work) {
+		int constant = regAlloc.getReducedOperand(code);
+		int operand = (constant == code.getLeft()) ? code.getRight() : code.getLeft();
+		int value = regAlloc.getDefinition(constant).getValue();
+		String register = "GR" + work;
+		move(work, registerList[operand]);
+		
+		if(code.getOp() == CompilerIRCode.MUL) {
+			generateShiftMultiply(register, value);
+			return;
+		}
+		
+		//GR0 = (dividend < 0) ? 2^k-1 : 0
+		int shift = Integer.numberOfTrailingZeros(Math.abs(value));
+		codeGen.add("LD\tGR0, " + register);
+		if(shift > 1) codeGen.add("SRA\tGR0, 15");
+		codeGen.add("SRL\tGR0, " + (16 - shift));
+		
+		if(code.getOp() == CompilerIRCode.DIV) {
+			codeGen.add("ADDA\t" + register + ", GR0");
+			codeGen.add("SRA\t" + register + ", " + shift);
+			if(value < 0) generateNegate(register);
+		}
+		else {
+			codeGen.add("ADDA\tGR0, " + register);
+			codeGen.add("AND\tGR0, =#" + String.format("%04X", -(1 << shift) & 0xFFFF));
+			codeGen.add("SUBA\t" + register + ", GR0");
+		}
+	}
+	
+	/**定数の乗算 (シフトと足し算・引き算)*/
+	private void generateShiftMultiply(String register, int value) {
+		int multiplier = Math.abs(value) & 0xFFFF;	//-32768: x * 32768
+		int zeros = Integer.numberOfTrailingZeros(multiplier);
+		int bits = multiplier >> zeros;
+		int high = 31 - Integer.numberOfLeadingZeros(bits);
+		boolean negative = value < 0 && value != -32768;
+		
+		if(Integer.bitCount(bits) > 2 && (bits & (bits + 1)) == 0) {
+			//x * (2^n-1) = (x << n) - x
+			codeGen.add("LD\tGR0, " + register);
+			if(negative) {
+				codeGen.add("SLL\tGR0, " + (high + 1));
+				codeGen.add("SUBA\t" + register + ", GR0");
+				negative = false;
+			}
+			else {
+				codeGen.add("SLL\t" + register + ", " + (high + 1));
+				codeGen.add("SUBA\t" + register + ", GR0");
+			}
+		}
+		else if(bits > 1) {
+			//x * bits by Horner's method, adding x for each bit
+			codeGen.add("LD\tGR0, " + register);
+			int previous = high;
+			for(int bit = high - 1; bit >= 0; bit--) {
+				if(((bits >> bit) & 1) == 0) continue;
+				codeGen.add("SLL\t" + register + ", " + (previous - bit));
+				codeGen.add("ADDA\t" + register + ", GR0");
+				previous = bit;
+			}
+		}
+		
+		if(zeros > 0) codeGen.add("SLL\t" + register + ", " + zeros);
+		if(negative) generateNegate(register);
+	}
+	
+	private void generateNegate(String register) {
+		codeGen.add("XOR\t" + register + ", =#FFFF");
+		codeGen.add("ADDA\t" + register + ", =1");
+	}
+	
+	/**関係演算子*/
+	private void generateRelativeOp(CompilerIRCode code, int work) {
+		int op = code.getOp();
+		int left = code.getLeft();
+		int right = code.getRight();
+		if(regAlloc.isSwapped(code)) {
+			left = code.getRight();
+			right = code.getLeft();
+			op = CompilerIRCode.mirror(op);
+		}
+		
+		codeGen.add("CPA\tGR" + registerList[left] + ", " + getOperand(right));
+		String label = "L" + labelGen.genNormalLabel();
+		String jump = null;
+		boolean reverse = false;
+		switch(op) {
+		case CompilerIRCode.EQ:
+			jump = "JZE";
+			break;
+		case CompilerIRCode.NE:
+			jump = "JNZ";
+			break;
+		case CompilerIRCode.LT:
+			jump = "JMI";
+			break;
+		case CompilerIRCode.LE:
+			jump = "JPL";
+			reverse = true;
+			break;
+		case CompilerIRCode.GT:
+			jump = "JPL";
+			break;
+		case CompilerIRCode.GE:
+			jump = "JMI";
+			reverse = true;
+			break;
+		}
+		codeGen.add("LAD\tGR" + work + ", " + (reverse ? "0" : "1"));
+		codeGen.add(jump + "\t" + label);
+		codeGen.add("LAD\tGR" + work + ", " + (reverse ? "1" : "0"));
+		codeGen.add("NOP", label);
+	}
+	
+	/**
+	 * 条件分岐を出力します。{@code 0} との比較は、左の被演算子の値でフラグが設定されていなければ {@code LD} で設定して分岐します。
+	 * {@code <=}, {@code >=} は {@code JMI}, {@code JPL} と {@code JZE} の二つの分岐になります。
+	 * 被演算子の一方が定数の場合は {@link CompilerIRGen} クラスが定数をずらして一つの分岐にするので、
+	 * 二つの分岐が残るのは、変数同士の比較で分岐する条件が {@code <=}, {@code >=} になる場合
+	 * (while 文の {@code i <= n} や、否定して分岐する if 文の {@code i > n} など) だけです。
+	 * @param code 分岐の命令
+	 * @param flagged 直前の命令がフラグを設定した一時変数
+	 */
+	private void generateJump(CompilerIRCode code, int flagged) {
+		int op = CompilerIRCode.getRelativeOp(code.getOp());
+		int left = code.getLeft();
+		int right = code.getRight();
+		
+		if(regAlloc.isZeroCompare(code)) {
+			if(regAlloc.isFolded(left))
+				codeGen.add("LD\tGR0, " + getAddress(regAlloc.getDefinition(left).getLeft()));
+			else if(left != flagged)
+				codeGen.add("LD\tGR" + registerList[left] + ", GR" + registerList[left]);
+		}
+		else {
+			if(regAlloc.isSwapped(code)) {
+				left = code.getRight();
+				right = code.getLeft();
+				op = CompilerIRCode.mirror(op);
+			}
+			codeGen.add("CPA\tGR" + registerList[left] + ", " + getOperand(right));
+		}
+		
+		String label = getLabel(code.getValue());
+		switch(op) {
+		case CompilerIRCode.EQ:
+			codeGen.add("JZE\t" + label);
+			break;
+		case CompilerIRCode.NE:
+			codeGen.add("JNZ\t" + label);
+			break;
+		case CompilerIRCode.LT:
+			codeGen.add("JMI\t" + label);
+			break;
+		case CompilerIRCode.LE:
+			codeGen.add("JMI\t" + label);
+			codeGen.add("JZE\t" + label);
+			break;
+		case CompilerIRCode.GT:
+			codeGen.add("JPL\t" + label);
+			break;
+		case CompilerIRCode.GE:
+			codeGen.add("JPL\t" + label);
+			codeGen.add("JZE\t" + label);
+			break;
+		}
+	}
+	
+	/**入出力*/
+	private void generateIOCall(CompilerIRCode code, int live) {
+		int op = code.getOp();
+		int save = live & regAlloc.getLibraryMask(code);
+		pushRegisters(save);
+		
+		switch(op) {
+		case CompilerIRCode.READINT:
+			codeGen.add("LAD\tGR2, " + getAddress(code.getLeft()));
+			codeGen.add("CALL\tRDINT");
+			break;
+		case CompilerIRCode.READCH:
+			codeGen.add("LAD\tGR2, " + getAddress(code.getLeft()));
+			codeGen.add("CALL\tRDCH");
+			break;
+		case CompilerIRCode.READSTR:
+			codeGen.add("LAD\tGR2, " + getAddress(code.getLeft()));
+			codeGen.add("LAD\tGR1, " + regAlloc.getDefinition(code.getLeft()).getValue());
+			codeGen.add("CALL\tRDSTR");
+			break;
+		case CompilerIRCode.READLN:
+			codeGen.add("CALL\tRDLN");
+			break;
+		case CompilerIRCode.WRITEINT:
+			move(2, registerList[code.getLeft()]);
+			codeGen.add("CALL\tWRTINT");
+			break;
+		case CompilerIRCode.WRITECH:
+			move(2, registerList[code.getLeft()]);
+			codeGen.add("CALL\tWRTCH");
+			break;
+		case CompilerIRCode.WRITESTR:
+			codeGen.add("LAD\tGR2, " + getAddress(code.getLeft()));
+			codeGen.add("LAD\tGR1, " + regAlloc.getDefinition(code.getLeft()).getValue());
+			codeGen.add("CALL\tWRTSTR");
+			break;
+		case CompilerIRCode.WRITELN:
+			codeGen.add("CALL\tWRTLN");
+			break;
+		}
+		
+		popRegisters(save);
+	}
+	
+	/**サブルーチンが使うレジスタの退避*/
+	private void pushRegisters(int mask) {
+		for(int register = 1; register < 8; register++) {
+			if(((mask >> register) & 1) != 0) codeGen.add("PUSH\t0, GR" + register);
+		}
+	}
+	
+	private void popRegisters(int mask) {
+		for(int register = 7; register >= 1; register--) {
+			if(((mask >> register) & 1) != 0) codeGen.add("POP\tGR" + register);
+		}
+	}
+}
@@ -8,16 +8,22 @@ import java.util.*;
  * <p><b>生成子</b>:
  * <ul>
  * <li>{@link #CompilerCodeGen()}
+ * <li>{@link #CompilerCodeGen(CompilerCasWriter)}
  * </ul>
+ * <p><b>詳細</b>: 主プログラムのコードリストはCASファイルに書き込む順に並びます。
+ * 書き込み先の {@link CompilerCasWriter} がある場合は、主プログラムのコードリストが一定の長さになるたびに書き込み先に渡します。
  */
 final class CompilerCodeGen {
-
+	
 	private ArrayList<String> mainCodeList;
 	private ArrayList<String> subCodeList;
 	private ArrayList<String> tempCodeList;
 	
 	private boolean isMain;
 	
+	private static final int WRITE_SIZE = 1024;
+	private CompilerCasWriter writer;	//null: keep all code in mainCodeList
+	
 	/**
 	 * <p><b>名前</b>: <b>{@code CompilerCodeGen()} 生成子</b>
 	 * <p><b>階層</b>: {@link CompilerCodeGen}.<b>{@code CompilerCodeGen()}</b>
@@ -29,6 +35,21 @@ final class CompilerCodeGen {
 		subCodeList = new ArrayList<String>();
 		tempCodeList = new ArrayList<String>();
 		isMain = false;
+		writer = null;
+	}
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code CompilerCodeGen(CompilerCasWriter)} 生成子</b>
+	 * <p><b>階層</b>: {@link CompilerCodeGen}.<b>{@code CompilerCodeGen(CompilerCasWriter)}</b>
+	 * <p><b>説明</b>: 生成したコードを書き込み先に渡す {@link CompilerCodeGen} クラスのインスタンスを初期化する生成子です。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code writer}</b>: 書き込みのスレッドを開始した {@link CompilerCasWriter} のインスタンス</li>
+	 * </ul>
+	 */
+	public CompilerCodeGen(CompilerCasWriter writer) {
+		this();
+		this.writer = writer;
 	}
 	
 	public void add(String code, String label) {
@@ -48,8 +69,10 @@ final class CompilerCodeGen {
 	}
 	
 	public void flush(boolean isMain) {
-		if(isMain)
+		if(isMain) {
 			mainCodeList.addAll(tempCodeList);
+			if(writer != null && mainCodeList.size() >= WRITE_SIZE) flushWriter();
+		}
 		else
 			subCodeList.addAll(tempCodeList);
 		tempCodeList.clear();
@@ -57,6 +80,15 @@ final class CompilerCodeGen {
 	
 	public void appendSub() {
 		mainCodeList.addAll(subCodeList);
+		if(writer != null && mainCodeList.size() >= WRITE_SIZE) flushWriter();
+	}
+	
+	/**主プログラムのコードリストを書き込み先に渡す*/
+	public void flushWriter() {
+		if(writer != null && !mainCodeList.isEmpty()) {
+			writer.write(mainCodeList);
+			mainCodeList = new ArrayList<String>();
+		}
 	}
 	
 	public void clear() {
@@ -0,0 +1,166 @@
+package enshud.s4.compiler;
+
+import java.util.*;
+
+/**
+ * <p><b>名前</b>: <b>{@code CompilerIR} クラス</b>
+ * <p><b>説明</b>: プログラム全体の中間表現を保存する、 {@link CompilerIRGen} クラスと {@link CompilerCaslGen} クラスのヘルパクラスです。
+ * <p><b>詳細</b>: 中間表現は副プログラムごとの命令の並び {@link Function} と、大域変数の大きさ、文字列定数からなります。
+ * 副プログラムは宣言の順に並び、最後が主プログラムです。
+ * <p><b>生成子</b>:
+ * <ul>
+ * <li>{@link #CompilerIR()}
+ * </ul>
+ */
+final class CompilerIR {
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code Function} クラス</b>
+	 * <p><b>説明</b>: 一つの副プログラム(または主プログラム)の中間表現です。
+	 * 副プログラムのラベル、仮パラメータの数、局所変数の大きさと命令の並びを保存します。
+	 */
+	static final class Function {
+		private String label;	//null for the main program
+		private int paramSize;
+		private int localSize;
+		private ArrayList<CompilerIRCode> codeList;
+		private int nTemp;
+		private int nLabel;
+		
+		public Function(String label, int paramSize, int localSize) {
+			this.label = label;
+			this.paramSize = paramSize;
+			this.localSize = localSize;
+			codeList = new ArrayList<CompilerIRCode>();
+			nTemp = nLabel = 0;
+		}
+		
+		/*Code List*/
+		public void add(CompilerIRCode code) {
+			codeList.add(code);
+		}
+		
+		public int add(int op, int left, int right, int value, String name, String base) {
+			int dest = nTemp++;
+			codeList.add(new CompilerIRCode(op, dest, left, right, value, name, base));
+			return dest;
+		}
+		
+		public void addStatement(int op, int left, int right, int value, String name) {
+			codeList.add(new CompilerIRCode(op, -1, left, right, value, name, null));
+		}
+		
+		/**
+		 * 命令の並びを先頭から {@code size} 個に切り詰めます。取り除いた命令が定義した一時変数の番号は再び使います。
+		 * @param size 残す命令の数
+		 */
+		public void truncate(int size) {
+			while(codeList.size() > size) {
+				CompilerIRCode code = codeList.remove(codeList.size() - 1);
+				if(code.getDest() >= 0) nTemp = code.getDest();
+			}
+		}
+		
+		public int genLabel() {
+			return nLabel++;
+		}
+		
+		/*Getters*/
+		public String getLabel() {
+			return label;
+		}
+		
+		public boolean isMain() {
+			return label == null;
+		}
+		
+		public int getParamSize() {
+			return paramSize;
+		}
+		
+		public int getLocalSize() {
+			return localSize;
+		}
+		
+		public ArrayList<CompilerIRCode> getCodeList() {
+			return codeList;
+		}
+		
+		public int getCodeSize() {
+			return codeList.size();
+		}
+		
+		public CompilerIRCode getLastCode() {
+			return codeList.isEmpty() ? null : codeList.get(codeList.size() - 1);
+		}
+		
+		public int getTempSize() {
+			return nTemp;
+		}
+		
+		public int getLabelSize() {
+			return nLabel;
+		}
+		
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			sb.append(isMain() ? "MAIN" : label).append(" (params: ").append(paramSize).append(", locals: ").append(localSize).append(")\n");
+			for(CompilerIRCode code : codeList) {
+				if(code.getOp() != CompilerIRCode.LABEL) sb.append('\t');
+				sb.append(code).append('\n');
+			}
+			return sb.toString();
+		}
+	}
+	
+	private ArrayList<Function> functionList;
+	private ArrayList<Integer> varSizeList;	//Size of global variables (VAR1, VAR2, ...)
+	private ArrayList<String> strDataList;	//Const string data (STR1, STR2, ...)
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code CompilerIR()} 生成子</b>
+	 * <p><b>階層</b>: {@link CompilerIR}.<b>{@code CompilerIR()}</b>
+	 * <p><b>説明</b>: {@link CompilerIR} クラスのインスタンスを初期化する生成子です。
+	 * <p><b>引数</b>: 無し
+	 */
+	public CompilerIR() {
+		functionList = new ArrayList<Function>();
+		varSizeList = new ArrayList<Integer>();
+		strDataList = new ArrayList<String>();
+	}
+	
+	public void addFunction(Function function) {
+		functionList.add(function);
+	}
+	
+	public void addVarSize(int size) {
+		varSizeList.add(size);
+	}
+	
+	public void setStrDataList(List<String> strDataList) {
+		this.strDataList = new ArrayList<String>(strDataList);
+	}
+	
+	/*Getters*/
+	public ArrayList<Function> getFunctionList() {
+		return functionList;
+	}
+	
+	public ArrayList<Integer> getVarSizeList() {
+		return varSizeList;
+	}
+	
+	public ArrayList<String> getStrDataList() {
+		return strDataList;
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for(Function function : functionList) {
+			sb.append(function);
+		}
+		return sb.toString();
+	}
+}
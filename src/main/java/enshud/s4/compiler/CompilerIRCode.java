@@ -0,0 +1,244 @@
+package enshud.s4.compiler;
+
+/**
+ * <p><b>名前</b>: <b>{@code CompilerIRCode} クラス</b>
+ * <p><b>説明</b>: 中間表現(三番地コード)の一命令を表す、 {@link CompilerIRGen} クラスと {@link CompilerCaslGen} クラスのヘルパクラスです。
+ * <p><b>詳細</b>: 命令は演算の種類 {@link #getOp()} と、結果の一時変数 {@link #getDest()}、
+ * 被演算子の一時変数 {@link #getLeft()}, {@link #getRight()} を持ちます。一時変数は {@code t0, t1, ...} の番号で表し、使わない場合は {@code -1} です。
+ * 定数の値・ラベルの番号・引数の数は {@link #getValue()} に、番地の名前とベースレジスタは {@link #getName()}, {@link #getBase()} に保存します。<br>
+ * 一時変数は一度だけ定義され、定義された順と逆の順に一度だけ使われます。
+ * <p><b>生成子</b>:
+ * <ul>
+ * <li>{@link #CompilerIRCode(int, int, int, int, int, String, String)}
+ * </ul>
+ */
+final class CompilerIRCode {
+	/*Values*/
+	public static final int CONST = 0;	//dest = value
+	public static final int STRING = 1;	//dest = name (length: value)
+	public static final int ADDR = 2;	//dest = &name[base] (array length: value)
+	public static final int BASE = 3;	//dest = &name[base] - value
+	public static final int INDEX = 4;	//dest = left +l right
+	public static final int LOAD = 5;	//dest = *left
+	public static final int STORE = 6;	//*left = right
+	
+	/*Operators*/
+	public static final int NEG = 10;	//dest = -left
+	public static final int NOT = 11;	//dest = not left
+	public static final int ADD = 12;	//dest = left + right
+	public static final int SUB = 13;
+	public static final int MUL = 14;
+	public static final int DIV = 15;
+	public static final int MOD = 16;
+	public static final int AND = 17;
+	public static final int OR = 18;
+	public static final int EQ = 20;	//dest = left = right
+	public static final int NE = 21;
+	public static final int LT = 22;
+	public static final int LE = 23;
+	public static final int GT = 24;
+	public static final int GE = 25;
+	
+	/*Control*/
+	public static final int LABEL = 30;	//L<value>:
+	public static final int JUMP = 31;	//goto L<value>
+	public static final int SAVE = 33;	//save frame registers
+	public static final int ARG = 34;	//argument left
+	public static final int CALL = 35;	//call name (arguments: value)
+	
+	/*Input/Output*/
+	public static final int READINT = 40;	//readln *left
+	public static final int READCH = 41;
+	public static final int READSTR = 42;
+	public static final int READLN = 43;
+	public static final int WRITEINT = 44;	//write left
+	public static final int WRITECH = 45;
+	public static final int WRITESTR = 46;
+	public static final int WRITELN = 47;
+	
+	/*Conditional Jumps*/
+	public static final int JUMPEQ = 50;	//if left = right goto L<value>
+	public static final int JUMPNE = 51;
+	public static final int JUMPLT = 52;
+	public static final int JUMPLE = 53;
+	public static final int JUMPGT = 54;
+	public static final int JUMPGE = 55;
+	
+	private static final String[] OP_NAMES = {
+		"const", "string", "addr", "base", "index", "load", "store", null, null, null,
+		"-", "not", "+", "-", "*", "div", "mod", "and", "or", null,
+		"=", "<>", "<", "<=", ">", ">=", null, null, null, null,
+		"label", "goto", null, "save", "arg", "call", null, null, null, null,
+		"readint", "readch", "readstr", "readln", "writeint", "writech", "writestr", "writeln", null, null,
+		"=", "<>", "<", "<=", ">", ">="
+	};
+	
+	private int op;
+	private int dest;
+	private int left;
+	private int right;
+	private int value;
+	private String name;
+	private String base;
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code CompilerIRCode(int, int, int, int, int, String, String)} 生成子</b>
+	 * <p><b>階層</b>: {@link CompilerIRCode}.<b>{@code CompilerIRCode(int, int, int, int, int, String, String)}</b>
+	 * <p><b>説明</b>: {@link CompilerIRCode} クラスのインスタンスを初期化する生成子です。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code op}</b>: 演算の種類</li>
+	 * <li><b>{@code dest}</b>: 結果の一時変数</li>
+	 * <li><b>{@code left}</b>: 左の被演算子の一時変数</li>
+	 * <li><b>{@code right}</b>: 右の被演算子の一時変数</li>
+	 * <li><b>{@code value}</b>: 定数の値・ラベルの番号・引数の数</li>
+	 * <li><b>{@code name}</b>: 番地の名前</li>
+	 * <li><b>{@code base}</b>: 番地のベースレジスタ</li>
+	 * </ul>
+	 */
+	public CompilerIRCode(int op, int dest, int left, int right, int value, String name, String base) {
+		this.op = op;
+		this.dest = dest;
+		this.left = left;
+		this.right = right;
+		this.value = value;
+		this.name = name;
+		this.base = base;
+	}
+	
+	/*Getters*/
+	public int getOp() {
+		return op;
+	}
+	
+	public int getDest() {
+		return dest;
+	}
+	
+	public int getLeft() {
+		return left;
+	}
+	
+	public int getRight() {
+		return right;
+	}
+	
+	public int getValue() {
+		return value;
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public String getBase() {
+		return base;
+	}
+	
+	/*Predicates*/
+	public static boolean isBinaryOp(int op) {
+		return (ADD <= op && op <= OR) || isRelativeOp(op);
+	}
+	
+	public static boolean isRelativeOp(int op) {
+		return EQ <= op && op <= GE;
+	}
+	
+	public static boolean isJumpOp(int op) {
+		return JUMPEQ <= op && op <= JUMPGE;
+	}
+	
+	/**関係演算子の結果で分岐する命令*/
+	public static int getJumpOp(int relativeOp) {
+		return relativeOp - EQ + JUMPEQ;
+	}
+	
+	/**分岐する命令の関係演算子*/
+	public static int getRelativeOp(int jumpOp) {
+		return jumpOp - JUMPEQ + EQ;
+	}
+	
+	/**否定した関係演算子 (= と <>, < と >=, <= と >)*/
+	public static int negate(int relativeOp) {
+		switch(relativeOp) {
+		case EQ:
+			return NE;
+		case NE:
+			return EQ;
+		case LT:
+			return GE;
+		case LE:
+			return GT;
+		case GT:
+			return LE;
+		default:
+			return LT;
+		}
+	}
+	
+	/**左右の被演算子を入れ替えた関係演算子 (< と >, <= と >=)*/
+	public static int mirror(int relativeOp) {
+		switch(relativeOp) {
+		case LT:
+			return GT;
+		case LE:
+			return GE;
+		case GT:
+			return LT;
+		case GE:
+			return LE;
+		default:
+			return relativeOp;
+		}
+	}
+	
+	/**シフトで割り切れる除数 (2 から 16384 までの2の累乗と、その符号を反転した値)*/
+	public static boolean isShiftDivisor(int value) {
+		int divisor = Math.abs(value);
+		return 2 <= divisor && divisor <= 16384 && (divisor & (divisor - 1)) == 0;
+	}
+	
+	@Override
+	public String toString() {
+		String t = "t" + dest + " = ";
+		switch(op) {
+		case CONST:
+			return t + value;
+		case STRING:
+			return t + name;
+		case ADDR:
+			return t + "&" + name + (base != null ? "[" + base + "]" : "");
+		case BASE:
+			return t + "&" + name + (base != null ? "[" + base + "]" : "") + " - " + value;
+		case INDEX:
+			return t + "t" + left + " +l t" + right;
+		case LOAD:
+			return t + "*t" + left;
+		case STORE:
+			return "*t" + left + " = t" + right;
+		case NEG:
+		case NOT:
+			return t + OP_NAMES[op] + " t" + left;
+		case LABEL:
+			return "L" + value + ":";
+		case JUMP:
+			return "goto L" + value;
+		case JUMPEQ:
+		case JUMPNE:
+		case JUMPLT:
+		case JUMPLE:
+		case JUMPGT:
+		case JUMPGE:
+			return "if t" + left + " " + OP_NAMES[op] + " t" + right + " goto L" + value;
+		case SAVE:
+		case READLN:
+		case WRITELN:
+			return OP_NAMES[op];
+		case CALL:
+			return "call " + name + ", " + value;
+		default:
+			if(isBinaryOp(op)) return t + "t" + left + " " + OP_NAMES[op] + " t" + right;
+			else return OP_NAMES[op] + " t" + left;
+		}
+	}
+}
@@ -0,0 +1,739 @@
+package enshud.s4.compiler;
+
+import java.util.*;
+
+import enshud.s2.parser.ParserData;
+import enshud.s2.parser.ParserSymbol;
+import enshud.s2.parser.ParserType;
+import enshud.s2.parser.ParserNode.*;
+
+/**
+ * <p><b>名前</b>: <b>{@code CompilerIRGen} クラス</b>
+ * <p><b>説明</b>: 抽象構文木を中間表現(三番地コード)に変換する、 {@link CompilerParseMain} クラスのヘルパクラスです。
+ * <p><b>生成子</b>:
+ * <ul>
+ * <li>{@link #CompilerIRGen(CompilerLabelGen)}
+ * </ul>
+ * <p><b>詳細</b>: 変数の番地(大域変数のラベル、局所変数と仮パラメータのフレーム上の位置)と副プログラムのラベルは、
+ * 意味解析で記号に割り当てた記憶域の番号 ({@link ParserSymbol#getSlot()}) から決めます。文字列定数のラベルは
+ * 変換の間に {@link CompilerLabelGen} クラスで決めます。if 文・while 文のラベルは副プログラムごとの番号で表し、
+ * CASL IIのラベルの番号は {@link CompilerCaslGen} クラスが出力の順に決めます。<br>
+ * 被演算子が定数になる演算は、CASL IIと同じ16ビットの値で計算して定数に置き換えます(定数の畳み込み)。
+ * {@code x * 0}, {@code x mod 1} は定数 {@code 0} に、 {@code x * 1}, {@code x div 1} は {@code x} に、
+ * {@code -1} の場合は符号の反転に置き換えます。その他の定数の乗数・除数は {@link CompilerCaslGen} クラスがシフトにします。
+ * 単純変数に定数を代入した場合は、基本ブロックの中(if 文の合流では両方の経路で同じ値の場合)で
+ * その変数の値を定数として使います(定数の伝播)。条件が定数の if 文・while 文は、実行されない部分を出力しません。<br>
+ * if 文・while 文の条件は真理値を求めずに、比較と条件分岐、and, or, not は分岐の組合せにします。
+ * while 文は条件を繰り返しの最後で調べ、最初の判定が真と分かっている場合は最初の判定を省きます。
+ * and, or は右の被演算子が必要な場合だけ評価します(短絡評価)。値を代入する and, or も、右の被演算子が
+ * 単純変数や定数でなければ条件分岐にして、真または偽を代入します。
+ */
+final class CompilerIRGen {
+	
+	private CompilerLabelGen labelGen;
+	private CompilerIR ir;
+	private CompilerIR.Function function;
+	private HashMap<ParserSymbol, Integer> constantMap;	//value of simple variables known at this point
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code CompilerIRGen(CompilerLabelGen)} 生成子</b>
+	 * <p><b>階層</b>: {@link CompilerIRGen}.<b>{@code CompilerIRGen(CompilerLabelGen)}</b>
+	 * <p><b>説明</b>: {@link CompilerIRGen} クラスのインスタンスを初期化する生成子です。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code labelGen}</b>: ラベルを生成するインスタンス</li>
+	 * </ul>
+	 */
+	public CompilerIRGen(CompilerLabelGen labelGen) {
+		this.labelGen = labelGen;
+	}
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code generate(Program)} メソッド</b>
+	 * <p><b>階層</b>: {@link CompilerIRGen}.<b>{@code generate(Program)}</b>
+	 * <p><b>説明</b>: プログラムの抽象構文木を中間表現に変換します。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code program}</b>: 意味解析が成功したプログラムの抽象構文木</li>
+	 * </ul>
+	 * <p><b>戻り値</b>: プログラムの中間表現を返します。
+	 */
+	public CompilerIR generate(Program program) {
+		ir = new CompilerIR();
+		
+		for(ParserSymbol variable : program.getVariables()) {
+			ir.addVarSize(variable.getSize());
+		}
+		
+		for(Procedure procedure : program.getProcedures()) {
+			generateProcedure(procedure);
+		}
+		
+		function = new CompilerIR.Function(null, 0, 0);
+		constantMap = new HashMap<ParserSymbol, Integer>();
+		generateBody(program.getBody());
+		ir.addFunction(function);
+		
+		ir.setStrDataList(labelGen.getStrDataLabelList());
+		return ir;
+	}
+	
+	/**副プログラム宣言*/
+	private void generateProcedure(Procedure procedure) {
+		int localSize = 0;
+		for(ParserSymbol variable : procedure.getVariables()) {
+			localSize += variable.getSize();
+		}
+		
+		function = new CompilerIR.Function(getSubLabel(procedure.getSymbol()), procedure.getParameters().size(), localSize);
+		constantMap = new HashMap<ParserSymbol, Integer>();
+		generateBody(procedure.getBody());
+		ir.addFunction(function);
+	}
+	
+	/**副プログラムのラベル*/
+	private String getSubLabel(ParserSymbol procedure) {
+		return "SUB" + (procedure.getSlot() + 1);
+	}
+	
+	/**大域変数のラベル*/
+	private String getVarLabel(ParserSymbol variable) {
+		return "VAR" + (variable.getSlot() + 1);
+	}
+	
+	/**副プログラム(または主プログラム)の本体 (入れ子の文は再帰せずに作業スタックで変換する)*/
+	private void generateBody(Block body) {
+		ArrayDeque<Runnable> work = new ArrayDeque<Runnable>();
+		pushBlock(body, work);
+		while(!work.isEmpty()) {
+			work.pop().run();
+		}
+	}
+	
+	/**複合文 (文を先頭から順に変換するように積む)*/
+	private void pushBlock(Block block, Deque<Runnable> work) {
+		List<Statement> statements = block.getStatements();
+		for(int i = statements.size() - 1; i >= 0; i--) {
+			Statement statement = statements.get(i);
+			work.push(() -> generateStatement(statement, work));
+		}
+	}
+	
+	/**
+	 * 文を変換します。入れ子の文と、その後に出力するラベルなどの処理は {@code work} に積みます。
+	 * @param statement 文
+	 * @param work 作業スタック
+	 */
+	private void generateStatement(Statement statement, Deque<Runnable> work) {
+		if(statement instanceof If) {
+			If ifStatement = (If)statement;
+			
+			Integer value = evaluate(ifStatement.getCondition());
+			if(value != null) {
+				if(value != 0) pushBlock(ifStatement.getThenBlock(), work);
+				else if(ifStatement.getElseBlock() != null) pushBlock(ifStatement.getElseBlock(), work);
+				return;
+			}
+			
+			int label1 = function.genLabel();
+			generateCondition(ifStatement.getCondition(), false, label1);
+			HashMap<ParserSymbol, Integer> savedMap = new HashMap<ParserSymbol, Integer>(constantMap);
+			
+			if(ifStatement.getElseBlock() != null) {
+				work.push(() -> {
+					int label2 = function.genLabel();
+					function.addStatement(CompilerIRCode.JUMP, -1, -1, label2, null);
+					function.addStatement(CompilerIRCode.LABEL, -1, -1, label1, null);
+					HashMap<ParserSymbol, Integer> thenMap = constantMap;
+					constantMap = savedMap;
+					
+					work.push(() -> {
+						function.addStatement(CompilerIRCode.LABEL, -1, -1, label2, null);
+						mergeConstants(thenMap);
+					});
+					pushBlock(ifStatement.getElseBlock(), work);
+				});
+			}
+			else {
+				work.push(() -> {
+					function.addStatement(CompilerIRCode.LABEL, -1, -1, label1, null);
+					mergeConstants(savedMap);
+				});
+			}
+			pushBlock(ifStatement.getThenBlock(), work);
+		}
+		else if(statement instanceof While) {
+			While whileStatement = (While)statement;
+			Expression cond = whileStatement.getCondition();
+			
+			//the condition is tested at the bottom of the loop, and the first test is skipped when it is known to be true
+			Integer first = evaluate(cond);
+			if(first != null && first == 0) return;
+			constantMap.clear();	//the loop may change any variable
+			Integer always = evaluate(cond);
+			
+			int label1 = function.genLabel();
+			int label2 = function.genLabel();
+			if(first == null) function.addStatement(CompilerIRCode.JUMP, -1, -1, label2, null);
+			function.addStatement(CompilerIRCode.LABEL, -1, -1, label1, null);
+			
+			work.push(() -> {
+				if(always == null) {
+					if(first == null) function.addStatement(CompilerIRCode.LABEL, -1, -1, label2, null);
+					constantMap.clear();
+					generateCondition(cond, true, label1);
+				}
+				else {
+					function.addStatement(CompilerIRCode.JUMP, -1, -1, label1, null);
+				}
+				constantMap.clear();
+			});
+			work.push(() -> generateStatement(whileStatement.getBody(), work));
+		}
+		else if(statement instanceof Assign) {
+			Assign assign = (Assign)statement;
+			
+			if(isShortCircuit(assign.getValue()) && evaluate(assign.getValue()) == null) {
+				//store true or false after branching on the condition, so that the right operand of and/or is evaluated only if needed
+				int label1 = function.genLabel();
+				int label2 = function.genLabel();
+				generateCondition(assign.getValue(), false, label1);
+				generateStore(assign.getTarget(), 1);
+				function.addStatement(CompilerIRCode.JUMP, -1, -1, label2, null);
+				function.addStatement(CompilerIRCode.LABEL, -1, -1, label1, null);
+				generateStore(assign.getTarget(), 0);
+				function.addStatement(CompilerIRCode.LABEL, -1, -1, label2, null);
+				
+				if(assign.getTarget().getIndex() == null) constantMap.remove(assign.getTarget().getSymbol());
+				return;
+			}
+			
+			int address = generateVariable(assign.getTarget());
+			int value = generateExpression(assign.getValue());
+			Integer constant = getConstant(value);
+			function.addStatement(CompilerIRCode.STORE, address, value, 0, null);
+			
+			if(assign.getTarget().getIndex() == null) {
+				if(constant != null)
+					constantMap.put(assign.getTarget().getSymbol(), constant);
+				else
+					constantMap.remove(assign.getTarget().getSymbol());
+			}
+		}
+		else if(statement instanceof Call) {
+			Call call = (Call)statement;
+			
+			function.addStatement(CompilerIRCode.SAVE, -1, -1, 0, null);
+			for(Expression argument : call.getArguments()) {
+				int value = generateExpression(argument);
+				function.addStatement(CompilerIRCode.ARG, value, -1, 0, null);
+			}
+			function.addStatement(CompilerIRCode.CALL, -1, -1, call.getProcedure().getParameterSize(), getSubLabel(call.getProcedure()));
+			constantMap.keySet().removeIf(symbol -> symbol.getKind() == ParserSymbol.KIND_GLOBAL);	//may be changed by the procedure
+		}
+		else if(statement instanceof Read) {
+			Read read = (Read)statement;
+			
+			if(read.getVariables().isEmpty()) {
+				function.addStatement(CompilerIRCode.READLN, -1, -1, 0, null);
+			}
+			for(Variable variable : read.getVariables()) {
+				int address = generateVariable(variable);
+				function.addStatement(getIOOp(variable.getType(), CompilerIRCode.READINT), address, -1, 0, null);
+				if(variable.getIndex() == null) constantMap.remove(variable.getSymbol());
+			}
+		}
+		else if(statement instanceof Write) {
+			Write write = (Write)statement;
+			
+			for(Expression argument : write.getArguments()) {
+				int value = generateExpression(argument);
+				function.addStatement(getIOOp(argument.getType(), CompilerIRCode.WRITEINT), value, -1, 0, null);
+			}
+			function.addStatement(CompilerIRCode.WRITELN, -1, -1, 0, null);
+		}
+		else if(statement instanceof Block) {
+			pushBlock((Block)statement, work);
+		}
+	}
+	
+	/**定数の代入*/
+	private void generateStore(Variable target, int value) {
+		int address = generateVariable(target);
+		int constant = function.add(CompilerIRCode.CONST, -1, -1, value, null, null);
+		function.addStatement(CompilerIRCode.STORE, address, constant, 0, null);
+	}
+	
+	/**
+	 * 値を求める and, or を、条件分岐にして右の被演算子の評価を省けるようにするかどうかを調べます。
+	 * 右の被演算子が単純変数や定数の場合は、両方を求めて {@code AND}, {@code OR} で計算する方が速いので分岐にしません。
+	 * @param expression 式
+	 * @return 条件分岐にする場合は {@code true} を返します。
+	 */
+	private static boolean isShortCircuit(Expression expression) {
+		while(expression instanceof Unary) {
+			Unary unary = (Unary)expression;
+			if(unary.getOperator() != ParserData.SNOT) return false;
+			expression = unary.getOperand();
+		}
+		if(!(expression instanceof Binary)) return false;
+		
+		Binary binary = (Binary)expression;
+		if(binary.getOperator() != ParserData.SAND && binary.getOperator() != ParserData.SOR) return false;
+		Expression right = binary.getRight();
+		return !(right instanceof Constant) && !(right instanceof Variable && ((Variable)right).getIndex() == null);
+	}
+	
+	/**入出力の命令 (READINT, READCH, READSTR または WRITEINT, WRITECH, WRITESTR)*/
+	private int getIOOp(int type, int intOp) {
+		switch(type) {
+		case ParserType.TYPE_CHAR:
+			return intOp + 1;
+		case ParserType.TYPE_ARRAY_CHAR:
+			return intOp + 2;
+		default:
+			return intOp;
+		}
+	}
+	
+	/**変数 (番地を求める)*/
+	private int generateVariable(Variable variable) {
+		ParserSymbol symbol = variable.getSymbol();
+		
+		if(variable.getIndex() == null) {
+			int size = ParserType.isArrayType(variable.getType()) ? symbol.getSize() : 0;
+			
+			switch(symbol.getKind()) {
+			case ParserSymbol.KIND_PARAMETER:
+				return function.add(CompilerIRCode.ADDR, -1, -1, size, String.valueOf(function.getParamSize() - symbol.getSlot() - 1), "GR4");
+			case ParserSymbol.KIND_LOCAL:
+				return function.add(CompilerIRCode.ADDR, -1, -1, size, String.valueOf(symbol.getSlot()), "GR5");
+			default:
+				return function.add(CompilerIRCode.ADDR, -1, -1, size, getVarLabel(symbol), null);
+			}
+		}
+		else {
+			int base = generateBase(variable);
+			int index = generateExpression(variable.getIndex());
+			return function.add(CompilerIRCode.INDEX, base, index, 0, null, null);
+		}
+	}
+	
+	/**配列の要素の番地の基準 (添字が0の要素の番地)*/
+	private int generateBase(Variable variable) {
+		ParserSymbol symbol = variable.getSymbol();
+		if(symbol.getKind() == ParserSymbol.KIND_LOCAL)
+			return function.add(CompilerIRCode.BASE, -1, -1, symbol.getIndexMin(), String.valueOf(symbol.getSlot()), "GR5");
+		else
+			return function.add(CompilerIRCode.BASE, -1, -1, symbol.getIndexMin(), getVarLabel(symbol), null);
+	}
+	
+	/**式の変換の途中の状態 (作業スタックの要素)*/
+	private static final class Frame {
+		private Expression expression;
+		private int state;	//0: not started, 1: left operand (or index), 2: right operand, 3: right operand of 1 * x
+		private int mark;	//code size before the expression
+		private int left;	//temp of the left operand, or the base of an array element
+		private Integer leftValue;
+		
+		private Frame(Expression expression) {
+			this.expression = expression;
+		}
+	}
+	
+	/**
+	 * 式を変換します。長い式や深く入れ子になった式でもスタックが溢れないように、
+	 * 部分式は再帰せずに作業スタックに積んで、被演算子を求めてから演算子を出力します。
+	 * @param expression 式
+	 * @return 式の値の一時変数を返します。
+	 */
+	private int generateExpression(Expression expression) {
+		ArrayDeque<Frame> frames = new ArrayDeque<Frame>();
+		ArrayDeque<Integer> results = new ArrayDeque<Integer>();	//temps of the generated operands
+		frames.push(new Frame(expression));
+		
+		while(true) {
+			Frame frame = frames.peek();
+			if(frame.state == 0) frame.mark = function.getCodeSize();
+			Expression operand = null;	//next operand to generate
+			int result = -1;
+			
+			if(frame.expression instanceof Variable) {
+				Variable variable = (Variable)frame.expression;
+				if(frame.state == 0 && variable.getIndex() != null) {
+					frame.left = generateBase(variable);
+					frame.state = 1;
+					operand = variable.getIndex();
+				}
+				else if(frame.state == 0 && constantMap.containsKey(variable.getSymbol())) {
+					result = function.add(CompilerIRCode.CONST, -1, -1, constantMap.get(variable.getSymbol()), null, null);
+				}
+				else {
+					int address = (frame.state == 0) ? generateVariable(variable)
+							: function.add(CompilerIRCode.INDEX, frame.left, results.pop(), 0, null, null);
+					
+					if(ParserType.isNormalType(variable.getType()))
+						result = function.add(CompilerIRCode.LOAD, address, -1, 0, null, null);
+					else
+						result = address;
+				}
+			}
+			else if(frame.expression instanceof Constant) {
+				Constant constant = (Constant)frame.expression;
+				
+				if(constant.getType() == ParserType.TYPE_ARRAY_CHAR) {
+					int label = labelGen.getStrDataLabel(constant.getText());
+					result = function.add(CompilerIRCode.STRING, -1, -1, constant.getText().length() - 2, "STR" + label, null);
+				}
+				else {
+					result = function.add(CompilerIRCode.CONST, -1, -1, constant.getValue(), null, null);
+				}
+			}
+			else if(frame.expression instanceof Unary) {
+				Unary unary = (Unary)frame.expression;
+				
+				if(frame.state == 0) {
+					frame.state = 1;
+					operand = unary.getOperand();
+				}
+				else {
+					int temp = results.pop();
+					int op = (unary.getOperator() == ParserData.SNOT) ? CompilerIRCode.NOT : CompilerIRCode.NEG;
+					
+					Integer value = fold(op, getConstant(temp), null);
+					if(value != null) {
+						function.truncate(frame.mark);
+						result = function.add(CompilerIRCode.CONST, -1, -1, value, null, null);
+					}
+					else {
+						result = function.add(op, temp, -1, 0, null, null);
+					}
+				}
+			}
+			else {
+				Binary binary = (Binary)frame.expression;
+				int op = getBinaryOp(binary.getOperator());
+				
+				if(frame.state == 0) {
+					frame.state = 1;
+					operand = binary.getLeft();
+				}
+				else if(frame.state == 1) {
+					frame.left = results.pop();
+					frame.leftValue = getConstant(frame.left);
+					frame.state = 2;
+					if(op == CompilerIRCode.MUL && frame.leftValue != null && Math.abs(frame.leftValue) == 1) {
+						//1 * x, -1 * x: generate only x
+						function.truncate(frame.mark);
+						frame.state = 3;
+					}
+					operand = binary.getRight();
+				}
+				else if(frame.state == 2) {
+					result = generateBinary(op, frame.left, frame.leftValue, results.pop(), frame.mark);
+				}
+				else {
+					int temp = results.pop();
+					Integer value = fold(op, frame.leftValue, getConstant(temp));
+					if(value != null) {
+						function.truncate(frame.mark);
+						result = function.add(CompilerIRCode.CONST, -1, -1, value, null, null);
+					}
+					else {
+						result = (frame.leftValue == 1) ? temp : function.add(CompilerIRCode.NEG, temp, -1, 0, null, null);
+					}
+				}
+			}
+			
+			if(operand != null) {
+				frames.push(new Frame(operand));
+				continue;
+			}
+			frames.pop();
+			if(frames.isEmpty()) return result;
+			results.push(result);
+		}
+	}
+	
+	/**二項演算子 (被演算子を求めた後)*/
+	private int generateBinary(int op, int left, Integer leftValue, int right, int mark) {
+		Integer rightValue = getConstant(right);
+		
+		Integer value = fold(op, leftValue, rightValue);
+		if(value != null) {
+			function.truncate(mark);
+			return function.add(CompilerIRCode.CONST, -1, -1, value, null, null);
+		}
+		
+		if((op == CompilerIRCode.MUL || op == CompilerIRCode.DIV) && rightValue != null && Math.abs(rightValue) == 1) {
+			//x * 1, x * -1, x div 1, x div -1
+			function.truncate(function.getCodeSize() - 1);
+			return (rightValue == 1) ? left : function.add(CompilerIRCode.NEG, left, -1, 0, null, null);
+		}
+		return function.add(op, left, right, 0, null, null);
+	}
+	
+	/**
+	 * 条件式の値が {@code jump} と一致する場合に {@code label} に分岐し、一致しない場合は次の命令に進むコードを出力します。
+	 * 関係演算子は比較と分岐に、and, or, not は分岐の組合せにして、条件式の値を求めません。
+	 * 長い and, or の並びでもスタックが溢れないように、部分式は作業スタックに積んで変換します。
+	 * @param expression 条件式
+	 * @param jump 分岐する条件式の値
+	 * @param label 分岐先のラベル
+	 */
+	private void generateCondition(Expression expression, boolean jump, int label) {
+		IdentityHashMap<Expression, Integer> values = evaluateAll(expression);
+		ArrayDeque<Runnable> work = new ArrayDeque<Runnable>();
+		work.push(() -> generateCondition(expression, jump, label, values, work));
+		while(!work.isEmpty()) {
+			work.pop().run();
+		}
+	}
+	
+	private void generateCondition(Expression expression, boolean jump, int label, Map<Expression, Integer> values, Deque<Runnable> work) {
+		Integer value = values.get(expression);
+		if(value != null) {
+			if((value != 0) == jump) function.addStatement(CompilerIRCode.JUMP, -1, -1, label, null);
+			return;
+		}
+		
+		if(expression instanceof Unary && ((Unary)expression).getOperator() == ParserData.SNOT) {
+			Expression operand = ((Unary)expression).getOperand();
+			work.push(() -> generateCondition(operand, !jump, label, values, work));
+			return;
+		}
+		
+		if(expression instanceof Binary) {
+			Binary binary = (Binary)expression;
+			int op = getBinaryOp(binary.getOperator());
+			
+			if(op == CompilerIRCode.AND || op == CompilerIRCode.OR) {
+				if((op == CompilerIRCode.AND) != jump) {
+					//"a and b" is false if a is false, "a or b" is true if a is true
+					work.push(() -> generateCondition(binary.getRight(), jump, label, values, work));
+					work.push(() -> generateCondition(binary.getLeft(), jump, label, values, work));
+				}
+				else {
+					int skip = function.genLabel();
+					work.push(() -> function.addStatement(CompilerIRCode.LABEL, -1, -1, skip, null));
+					work.push(() -> generateCondition(binary.getRight(), jump, label, values, work));
+					work.push(() -> generateCondition(binary.getLeft(), !jump, skip, values, work));
+				}
+				return;
+			}
+			
+			if(CompilerIRCode.isRelativeOp(op)) {
+				generateJump(binary, jump ? op : CompilerIRCode.negate(op), label, values);
+				return;
+			}
+		}
+		
+		int temp = generateExpression(expression);
+		int zero = function.add(CompilerIRCode.CONST, -1, -1, 0, null, null);
+		function.addStatement(jump ? CompilerIRCode.JUMPNE : CompilerIRCode.JUMPEQ, temp, zero, label, null);
+	}
+	
+	/**
+	 * 関係演算子の条件分岐を出力します。
+	 * {@code <=}, {@code >=} の分岐は二つの分岐命令になるので、被演算子の一方が定数の場合は
+	 * 定数を一つずらして {@code <}, {@code >} の分岐にします ({@code x <= 9} は {@code x < 10}、{@code 1 <= x} は {@code x > 0})。
+	 * 定数は右の被演算子にして、{@code 0} との比較になる場合は {@code LD} のフラグで分岐できるようにします。
+	 * @param binary 関係演算子の式
+	 * @param op 分岐する条件の関係演算子
+	 * @param label 分岐先のラベル
+	 * @param values 定数になる式と部分式の値
+	 */
+	private void generateJump(Binary binary, int op, int label, Map<Expression, Integer> values) {
+		Expression leftOperand = binary.getLeft();
+		Expression rightOperand = binary.getRight();
+		if(values.get(rightOperand) == null && values.get(leftOperand) != null) {
+			leftOperand = binary.getRight();
+			rightOperand = binary.getLeft();
+			op = CompilerIRCode.mirror(op);
+		}
+		
+		Integer constant = values.get(rightOperand);
+		int left = generateExpression(leftOperand);
+		int right;
+		if(constant != null && constant != 0 && op == CompilerIRCode.LE && constant < Short.MAX_VALUE) {
+			right = function.add(CompilerIRCode.CONST, -1, -1, constant + 1, null, null);
+			op = CompilerIRCode.LT;
+		}
+		else if(constant != null && constant != 0 && op == CompilerIRCode.GE && constant > Short.MIN_VALUE) {
+			right = function.add(CompilerIRCode.CONST, -1, -1, constant - 1, null, null);
+			op = CompilerIRCode.GT;
+		}
+		else {
+			right = generateExpression(rightOperand);
+		}
+		function.addStatement(CompilerIRCode.getJumpOp(op), left, right, label, null);
+	}
+	
+	/**
+	 * 式の値を、出力せずに求めます。
+	 * @param expression 式
+	 * @return 定数になる式の値を返します。定数にならない場合は {@code null} を返します。
+	 */
+	private Integer evaluate(Expression expression) {
+		return evaluateAll(expression).get(expression);
+	}
+	
+	/**
+	 * 式とその部分式の値を、出力せずに求めます。部分式は再帰せずに、被演算子から順に求めます。
+	 * @param expression 式
+	 * @return 定数になる式と部分式の値を返します。
+	 */
+	private IdentityHashMap<Expression, Integer> evaluateAll(Expression expression) {
+		//operators come before their operands in this list
+		ArrayList<Expression> order = new ArrayList<Expression>();
+		order.add(expression);
+		for(int i = 0; i < order.size(); i++) {
+			Expression node = order.get(i);
+			if(node instanceof Unary) {
+				order.add(((Unary)node).getOperand());
+			}
+			else if(node instanceof Binary) {
+				order.add(((Binary)node).getLeft());
+				order.add(((Binary)node).getRight());
+			}
+		}
+		
+		IdentityHashMap<Expression, Integer> values = new IdentityHashMap<Expression, Integer>();
+		for(int i = order.size() - 1; i >= 0; i--) {
+			Expression node = order.get(i);
+			Integer value;
+			if(node instanceof Variable) {
+				Variable variable = (Variable)node;
+				value = (variable.getIndex() == null) ? constantMap.get(variable.getSymbol()) : null;
+			}
+			else if(node instanceof Constant) {
+				Constant constant = (Constant)node;
+				value = (constant.getType() != ParserType.TYPE_ARRAY_CHAR) ? constant.getValue() : null;
+			}
+			else if(node instanceof Unary) {
+				Unary unary = (Unary)node;
+				int op = (unary.getOperator() == ParserData.SNOT) ? CompilerIRCode.NOT : CompilerIRCode.NEG;
+				value = fold(op, values.get(unary.getOperand()), null);
+			}
+			else {
+				Binary binary = (Binary)node;
+				value = fold(getBinaryOp(binary.getOperator()), values.get(binary.getLeft()), values.get(binary.getRight()));
+			}
+			if(value != null) values.put(node, value);
+		}
+		return values;
+	}
+	
+	/**
+	 * 直前に定義した一時変数が定数の場合に、その値を返します。
+	 * @param temp 一時変数
+	 * @return 定数の値を返します。定数でない場合は {@code null} を返します。
+	 */
+	private Integer getConstant(int temp) {
+		CompilerIRCode code = function.getLastCode();
+		if(code != null && code.getDest() == temp && code.getOp() == CompilerIRCode.CONST)
+			return code.getValue();
+		else
+			return null;
+	}
+	
+	/**if 文の合流 (両方の経路で同じ値の変数だけを残す)*/
+	private void mergeConstants(HashMap<ParserSymbol, Integer> otherMap) {
+		constantMap.entrySet().removeIf(entry -> !entry.getValue().equals(otherMap.get(entry.getKey())));
+	}
+	
+	/**
+	 * 演算の結果を16ビットの値で計算します。割り算は実行時と同じく0の方向に切り捨てます。
+	 * ライブラリの {@code DIV} を呼び出す除数では、被除数が {@code -32768} の場合も {@code DIV} と同じ値にします。
+	 * and, or と {@code x * 0}, {@code x mod 1} は一方の被演算子だけで結果が決まる場合も計算します(式に副作用はありません)。
+	 * @param op 演算の種類
+	 * @param left 左の被演算子の値 (定数でない場合は {@code null})
+	 * @param right 右の被演算子の値 (単項演算子と定数でない場合は {@code null})
+	 * @return 結果の値を返します。計算できない場合は {@code null} を返します。
+	 */
+	private static Integer fold(int op, Integer left, Integer right) {
+		if(op == CompilerIRCode.AND && (isFalse(left) || isFalse(right))) return 0;
+		if(op == CompilerIRCode.OR && (isTrue(left) || isTrue(right))) return 1;
+		if(op == CompilerIRCode.MUL && (isFalse(left) || isFalse(right))) return 0;
+		if(op == CompilerIRCode.MOD && right != null && Math.abs(right) == 1) return 0;
+		if(left == null) return null;
+		
+		int l = (short)(int)left;
+		if(op == CompilerIRCode.NEG) return (int)(short)-l;
+		if(op == CompilerIRCode.NOT) return l ^ 1;
+		if(right == null) return null;
+		
+		int r = (short)(int)right;
+		switch(op) {
+		case CompilerIRCode.ADD:
+			return (int)(short)(l + r);
+		case CompilerIRCode.SUB:
+			return (int)(short)(l - r);
+		case CompilerIRCode.MUL:
+			return (int)(short)(l * r);
+		case CompilerIRCode.DIV:
+		case CompilerIRCode.MOD:
+			if(r == 0 || r == Short.MIN_VALUE) return null;	//left to the library at run time
+			if(l == Short.MIN_VALUE && Math.abs(r) != 1 && !CompilerIRCode.isShiftDivisor(r)) {
+				return (op == CompilerIRCode.DIV) ? 0 : l;	//same as DIV in lib.cas
+			}
+			return (op == CompilerIRCode.DIV) ? (int)(short)(l / r) : l % r;	//-32768 div -1 = -32768
+		case CompilerIRCode.AND:
+			return l & r;
+		case CompilerIRCode.OR:
+			return l | r;
+		case CompilerIRCode.EQ:
+			return (l == r) ? 1 : 0;
+		case CompilerIRCode.NE:
+			return (l != r) ? 1 : 0;
+		case CompilerIRCode.LT:
+			return (l < r) ? 1 : 0;
+		case CompilerIRCode.LE:
+			return (l <= r) ? 1 : 0;
+		case CompilerIRCode.GT:
+			return (l > r) ? 1 : 0;
+		default:
+			return (l >= r) ? 1 : 0;
+		}
+	}
+	
+	private static boolean isTrue(Integer value) {
+		return value != null && value == 1;
+	}
+	
+	private static boolean isFalse(Integer value) {
+		return value != null && value == 0;
+	}
+	
+	/**二項演算子*/
+	private int getBinaryOp(int operator) {
+		switch(operator) {
+		case ParserData.SEQUAL:
+			return CompilerIRCode.EQ;
+		case ParserData.SNOTEQUAL:
+			return CompilerIRCode.NE;
+		case ParserData.SLESS:
+			return CompilerIRCode.LT;
+		case ParserData.SLESSEQUAL:
+			return CompilerIRCode.LE;
+		case ParserData.SGREAT:
+			return CompilerIRCode.GT;
+		case ParserData.SGREATEQUAL:
+			return CompilerIRCode.GE;
+		case ParserData.SPLUS:
+			return CompilerIRCode.ADD;
+		case ParserData.SMINUS:
+			return CompilerIRCode.SUB;
+		case ParserData.SOR:
+			return CompilerIRCode.OR;
+		case ParserData.SSTAR:
+			return CompilerIRCode.MUL;
+		case ParserData.SDIVD:
+			return CompilerIRCode.DIV;
+		case ParserData.SMOD:
+			return CompilerIRCode.MOD;
+		default:
+			return CompilerIRCode.AND;
+		}
+	}
+}
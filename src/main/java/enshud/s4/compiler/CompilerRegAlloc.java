@@ -0,0 +1,440 @@
+package enshud.s4.compiler;
+
+import java.util.*;
+
+/**
+ * <p><b>名前</b>: <b>{@code CompilerRegAlloc} クラス</b>
+ * <p><b>説明</b>: 副プログラムの中間表現(三番地コード)の一時変数にレジスタを割り当てる、 {@link CompilerCaslGen} クラスのヘルパクラスです。
+ * <p><b>生成子</b>:
+ * <ul>
+ * <li>{@link #CompilerRegAlloc(CompilerIR.Function)}
+ * </ul>
+ * <p><b>詳細</b>: 一時変数は次の三つのいずれかに置きます。
+ * <ul>
+ * <li>畳み込み ({@link #FOLDED}): 値をどこにも置かず、使う命令が定義する命令を直接参照します。
+ * 定数は {@code =値} や {@code LAD} の即値に、変数の番地は {@code LD}, {@code ST} などの番地に、
+ * 変数の値は {@code ADDA GR1, VAR1} のような加法演算子・関係演算子(条件分岐を含む)の被演算子になります。
+ * シフトで計算できる定数の乗数・除数 ({@link #isReducible(int, int)}) も畳み込みます。</li>
+ * <li>レジスタ ({@code 1} から {@code 5}): GR1 から GR3 と、副プログラムが使わない GR4 (仮パラメータ)・GR5 (局所変数) の番号です。</li>
+ * <li>スタック ({@link #SPILLED}): レジスタが足りない場合に限り、定義してから使うまで GR8 のスタックに置きます。</li>
+ * </ul>
+ * 割り当ては線形走査法で行います。一時変数は定義された順と逆の順に使われるので、生存区間は入れ子になります。
+ * レジスタが足りない場合は使う位置の最も遠い(最も外側の)一時変数をスタックに置くので、
+ * スタックに置いた一時変数より前に定義され、まだ使われていない一時変数もスタックにあります。<br>
+ * 乗除算と入出力のサブルーチン ({@link #getLibraryMask(CompilerIRCode)}) は決まったレジスタで値を受け渡すので、
+ * 被演算子にはそのレジスタを、呼び出しをまたいで生きる一時変数にはそれ以外のレジスタを優先して割り当てます。
+ */
+final class CompilerRegAlloc {
+	
+	/*Locations*/
+	public static final int FOLDED = -1;	//read directly from the defining code
+	public static final int SPILLED = 0;	//kept on the stack (GR8)
+	
+	private static final int REGISTER_SIZE = 6;	//GR0 - GR5 (GR0: scratch, never allocated)
+	
+	private ArrayList<CompilerIRCode> codeList;
+	private int available;	//mask of allocatable registers
+	
+	private CompilerIRCode[] defList;	//defining code of each temp
+	private int[] defIndexList;	//index of the defining code
+	private int[] useIndexList;	//index of the code that reads the value (after folding)
+	private boolean[] foldedList;
+	private int[] hintList;	//preferred register (0: none)
+	private int[] locationList;
+	
+	/**
+	 * <p><b>名前</b>: <b>{@code CompilerRegAlloc(CompilerIR.Function)} 生成子</b>
+	 * <p><b>階層</b>: {@link CompilerRegAlloc}.<b>{@code CompilerRegAlloc(CompilerIR.Function)}</b>
+	 * <p><b>説明</b>: 副プログラムの一時変数にレジスタを割り当てて、 {@link CompilerRegAlloc} クラスのインスタンスを初期化する生成子です。
+	 * <p><b>引数</b>:
+	 * <ul>
+	 * <li><b>{@code function}</b>: 副プログラム(または主プログラム)の中間表現</li>
+	 * </ul>
+	 */
+	public CompilerRegAlloc(CompilerIR.Function function) {
+		codeList = function.getCodeList();
+		available = (1 << 1) | (1 << 2) | (1 << 3);
+		if(function.getParamSize() == 0) available |= (1 << 4);
+		if(function.getLocalSize() == 0) available |= (1 << 5);
+		
+		int size = function.getTempSize();
+		defList = new CompilerIRCode[size];
+		defIndexList = new int[size];
+		useIndexList = new int[size];
+		foldedList = new boolean[size];
+		hintList = new int[size];
+		locationList = new int[size];
+		
+		fold();
+		hint();
+		allocate();
+	}
+	
+	/*Getters*/
+	public CompilerIRCode getDefinition(int temp) {
+		return defList[temp];
+	}
+	
+	public boolean isFolded(int temp) {
+		return foldedList[temp];
+	}
+	
+	/**
+	 * 一時変数を置く場所を返します。
+	 * @param temp 一時変数
+	 * @return レジスタの番号、 {@link #FOLDED} または {@link #SPILLED} を返します。
+	 */
+	public int getLocation(int temp) {
+		return locationList[temp];
+	}
+	
+	/**
+	 * 割り当てに使うレジスタを返します。
+	 * @return レジスタの番号のビットの集合を返します。
+	 */
+	public int getAvailable() {
+		return available;
+	}
+	
+	/**
+	 * 命令が呼び出すサブルーチンが値の受け渡しに使うか、値を壊すレジスタを返します。
+	 * @param code 命令
+	 * @return レジスタの番号のビットの集合を返します。サブルーチンを呼び出さない命令は {@code 0} です。
+	 */
+	public int getLibraryMask(CompilerIRCode code) {
+		if(getReducedOperand(code) >= 0) return 0;
+		switch(code.getOp()) {
+		case CompilerIRCode.MUL:	//GR1 * GR2 -> GR2
+		case CompilerIRCode.DIV:	//GR1 / GR2 -> GR2, GR1
+		case CompilerIRCode.MOD:
+		case CompilerIRCode.READCH:	//*GR2 (GR1: broken)
+		case CompilerIRCode.READSTR:	//GR2[0..GR1-1]
+		case CompilerIRCode.WRITESTR:
+			return (1 << 1) | (1 << 2);
+		case CompilerIRCode.READINT:	//*GR2
+		case CompilerIRCode.WRITEINT:	//GR2
+		case CompilerIRCode.WRITECH:
+			return (1 << 2);
+		default:
+			return 0;
+		}
+	}
+	
+	/**
+	 * 乗除算の命令がサブルーチンを呼び出さずにシフトで計算する定数の被演算子を返します。
+	 * @param code 命令
+	 * @return 畳み込まれた定数の一時変数を返します。サブルーチンを呼び出す場合は {@code -1} を返します。
+	 */
+	public int getReducedOperand(CompilerIRCode code) {
+		switch(code.getOp()) {
+		case CompilerIRCode.MUL:
+			if(foldedList[code.getLeft()]) return code.getLeft();
+			return foldedList[code.getRight()] ? code.getRight() : -1;
+		case CompilerIRCode.DIV:
+		case CompilerIRCode.MOD:
+			return foldedList[code.getRight()] ? code.getRight() : -1;
+		default:
+			return -1;
+		}
+	}
+	
+	/**
+	 * 定数の乗数・除数をシフトで計算するかどうかを調べます。
+	 * 乗数は二進数の {@code 1} が四つ以下か、 {@code 1} が一続きの場合に、足し算・引き算とシフトで計算します。
+	 * 除数は {@link CompilerIRCode#isShiftDivisor(int)} の場合に、符号を補正してシフトで計算します。
+	 * @param op 乗除算の種類
+	 * @param value 定数の乗数・除数
+	 * @return シフトで計算する場合は {@code true} を返します。
+	 */
+	public static boolean isReducible(int op, int value) {
+		if(op != CompilerIRCode.MUL) return CompilerIRCode.isShiftDivisor(value);
+		if(value == 0) return false;
+		int multiplier = Math.abs(value) & 0xFFFF;	//-32768: x * 32768
+		int bits = multiplier >> Integer.numberOfTrailingZeros(multiplier);
+		return Integer.bitCount(multiplier) <= 4 || (bits & (bits + 1)) == 0;
+	}
+	
+	/**
+	 * 加法演算子・関係演算子・分岐(とシフトで計算する乗算)の左右の被演算子を入れ替えるかどうかを調べます。左の被演算子が畳み込まれている場合に入れ替えます。
+	 * @param code 加法演算子・関係演算子・分岐の命令
+	 * @return 入れ替える場合は {@code true} を返します。
+	 */
+	public boolean isSwapped(CompilerIRCode code) {
+		return code.getLeft() >= 0 && foldedList[code.getLeft()] && !isZeroCompare(code);
+	}
+	
+	/**
+	 * 分岐が {@code 0} との比較かどうかを調べます。この場合は比較せずに、左の被演算子を {@code LD} した結果のフラグで分岐します。
+	 * @param code 命令
+	 * @return 右の被演算子が定数 {@code 0} の分岐の場合は {@code true} を返します。
+	 */
+	public boolean isZeroCompare(CompilerIRCode code) {
+		return CompilerIRCode.isJumpOp(code.getOp()) && isZero(code.getRight());
+	}
+	
+	private boolean isZero(int temp) {
+		return defList[temp].getOp() == CompilerIRCode.CONST && defList[temp].getValue() == 0;
+	}
+	
+	/**畳み込み*/
+	private void fold() {
+		for(int index = 0; index < codeList.size(); index++) {
+			CompilerIRCode code = codeList.get(index);
+			if(code.getDest() >= 0) {
+				defList[code.getDest()] = code;
+				defIndexList[code.getDest()] = index;
+				useIndexList[code.getDest()] = index;	//unused temp
+			}
+			if(code.getLeft() >= 0) useIndexList[code.getLeft()] = index;
+			if(code.getRight() >= 0) useIndexList[code.getRight()] = index;
+		}
+		
+		for(int temp = 0; temp < defList.length; temp++) {
+			CompilerIRCode code = defList[temp];
+			if(code == null || useIndexList[temp] == defIndexList[temp]) continue;
+			CompilerIRCode user = codeList.get(useIndexList[temp]);
+			
+			switch(code.getOp()) {
+			case CompilerIRCode.BASE:
+				foldedList[temp] = true;
+				break;
+			case CompilerIRCode.CONST:
+				foldedList[temp] = user.getOp() == CompilerIRCode.INDEX || user.getOp() == CompilerIRCode.ARG || isFoldableOperand(user, temp) || isReducibleOperand(user, temp);
+				break;
+			case CompilerIRCode.STRING:
+			case CompilerIRCode.ADDR:
+				foldedList[temp] = isAddressUse(user, temp);
+				break;
+			case CompilerIRCode.INDEX:
+				foldedList[temp] = isAddressUse(user, temp) && isConstantIndex(code);
+				break;
+			case CompilerIRCode.LOAD:
+				foldedList[temp] = isFoldableOperand(user, temp);
+				break;
+			}
+		}
+		
+		//the value of a folded temp is read where its user's value is read
+		for(int temp = defList.length - 1; temp >= 0; temp--) {
+			if(defList[temp] == null || useIndexList[temp] == defIndexList[temp]) continue;
+			int user = codeList.get(useIndexList[temp]).getDest();
+			if(user >= 0 && foldedList[user]) useIndexList[temp] = useIndexList[user];
+		}
+	}
+	
+	/**番地として使う命令*/
+	private static boolean isAddressUse(CompilerIRCode user, int temp) {
+		switch(user.getOp()) {
+		case CompilerIRCode.LOAD:
+		case CompilerIRCode.READINT:
+		case CompilerIRCode.READCH:
+		case CompilerIRCode.READSTR:
+		case CompilerIRCode.WRITESTR:
+			return true;
+		case CompilerIRCode.STORE:
+			return user.getLeft() == temp;
+		default:
+			return false;
+		}
+	}
+	
+	/**番地が定数になる添字*/
+	private boolean isConstantIndex(CompilerIRCode code) {
+		CompilerIRCode base = defList[code.getLeft()];
+		CompilerIRCode index = defList[code.getRight()];
+		if(index.getOp() != CompilerIRCode.CONST) return false;
+		return base.getBase() != null || index.getValue() == base.getValue();
+	}
+	
+	/**加法演算子・関係演算子・分岐の畳み込める被演算子 (定数または変数の値)*/
+	private boolean isFoldableOperand(CompilerIRCode user, int temp) {
+		switch(user.getOp()) {
+		case CompilerIRCode.ADD:
+		case CompilerIRCode.AND:
+		case CompilerIRCode.OR:
+		case CompilerIRCode.EQ:
+		case CompilerIRCode.NE:
+		case CompilerIRCode.LT:
+		case CompilerIRCode.LE:
+		case CompilerIRCode.GT:
+		case CompilerIRCode.GE:
+			return user.getRight() == temp || !isMemoryOperand(user.getRight());
+		case CompilerIRCode.JUMPEQ:
+		case CompilerIRCode.JUMPNE:
+		case CompilerIRCode.JUMPLT:
+		case CompilerIRCode.JUMPLE:
+		case CompilerIRCode.JUMPGT:
+		case CompilerIRCode.JUMPGE:
+			return user.getRight() == temp || !isMemoryOperand(user.getRight()) || isZero(user.getRight());
+		case CompilerIRCode.SUB:
+			return user.getRight() == temp;
+		default:
+			return false;
+		}
+	}
+	
+	/**シフトで計算する乗除算の定数の被演算子*/
+	private boolean isReducibleOperand(CompilerIRCode user, int temp) {
+		int op = user.getOp();
+		if(op != CompilerIRCode.MUL && op != CompilerIRCode.DIV && op != CompilerIRCode.MOD) return false;
+		if(user.getRight() != temp && op != CompilerIRCode.MUL) return false;	//constant dividend
+		int other = (user.getRight() == temp) ? user.getLeft() : user.getRight();
+		if(defList[other].getOp() == CompilerIRCode.CONST) return false;
+		return isReducible(op, defList[temp].getValue());
+	}
+	
+	private boolean isMemoryOperand(int temp) {
+		int op = defList[temp].getOp();
+		return op == CompilerIRCode.CONST || op == CompilerIRCode.LOAD;
+	}
+	
+	/**希望するレジスタ*/
+	private void hint() {
+		for(int index = codeList.size() - 1; index >= 0; index--) {
+			CompilerIRCode code = codeList.get(index);
+			int dest = code.getDest();
+			int left = code.getLeft();
+			int right = code.getRight();
+			
+			if(getReducedOperand(code) >= 0) {
+				setHint(isSwapped(code) ? right : left, hintList[dest]);
+				continue;
+			}
+			
+			switch(code.getOp()) {
+			case CompilerIRCode.MUL:
+			case CompilerIRCode.DIV:
+				if(hintList[dest] == 0) hintList[dest] = 2;
+				setHint(left, 1);
+				setHint(right, 2);
+				break;
+			case CompilerIRCode.MOD:
+				if(hintList[dest] == 0) hintList[dest] = 1;
+				setHint(left, 1);
+				setHint(right, 2);
+				break;
+			case CompilerIRCode.WRITEINT:
+			case CompilerIRCode.WRITECH:
+				setHint(left, 2);
+				break;
+			case CompilerIRCode.ADD:
+			case CompilerIRCode.SUB:
+			case CompilerIRCode.AND:
+			case CompilerIRCode.OR:
+				setHint(isSwapped(code) ? right : left, hintList[dest]);
+				break;
+			case CompilerIRCode.NEG:
+			case CompilerIRCode.NOT:
+			case CompilerIRCode.LOAD:
+				if(!foldedList[dest]) setHint(left, hintList[dest]);
+				break;
+			case CompilerIRCode.INDEX:
+				if(!foldedList[dest]) setHint(right, hintList[dest]);
+				break;
+			}
+		}
+	}
+	
+	private void setHint(int temp, int register) {
+		if(temp >= 0 && !foldedList[temp]) hintList[temp] = register;
+	}
+	
+	/**線形走査*/
+	private void allocate() {
+		//number of library calls before each code, for each register
+		int[][] callCount = new int[REGISTER_SIZE][codeList.size() + 1];
+		for(int index = 0; index < codeList.size(); index++) {
+			int mask = getLibraryMask(codeList.get(index));
+			for(int register = 1; register < REGISTER_SIZE; register++) {
+				callCount[register][index + 1] = callCount[register][index] + (((mask >> register) & 1) != 0 ? 1 : 0);
+			}
+		}
+		
+		int[] owner = new int[REGISTER_SIZE];
+		Arrays.fill(owner, -1);
+		
+		for(int index = 0; index < codeList.size(); index++) {
+			for(int register = 1; register < REGISTER_SIZE; register++) {
+				if(owner[register] >= 0 && useIndexList[owner[register]] <= index) owner[register] = -1;
+			}
+			
+			CompilerIRCode code = codeList.get(index);
+			int dest = code.getDest();
+			if(dest < 0) continue;
+			if(foldedList[dest]) {
+				locationList[dest] = FOLDED;
+				continue;
+			}
+			
+			int free = 0;
+			for(int register = 1; register < REGISTER_SIZE; register++) {
+				if(((available >> register) & 1) != 0 && owner[register] < 0) free |= (1 << register);
+			}
+			
+			//registers used by library calls while the temp is alive
+			int avoid = 0;
+			for(int register = 1; register < REGISTER_SIZE; register++) {
+				if(callCount[register][useIndexList[dest]] - callCount[register][index + 1] > 0) avoid |= (1 << register);
+			}
+			
+			int[] candidates = { hintList[dest], getReusable(code) };
+			int register = choose(candidates, free & ~avoid);
+			if(register == 0) register = choose(candidates, free);
+			
+			if(register == 0) {
+				//spill the temp whose value is read last (the outermost one)
+				int spill = -1;
+				for(int r = 1; r < REGISTER_SIZE; r++) {
+					int temp = owner[r];
+					if(temp < 0) continue;
+					if(spill < 0 || useIndexList[temp] > useIndexList[spill]
+							|| (useIndexList[temp] == useIndexList[spill] && defIndexList[temp] < defIndexList[spill])) spill = temp;
+				}
+				register = locationList[spill];
+				locationList[spill] = SPILLED;
+			}
+			
+			locationList[dest] = register;
+			owner[register] = dest;
+		}
+	}
+	
+	/**
+	 * 結果を同じレジスタに求められる被演算子 (二番地の命令の左の被演算子、番地や添字の一時変数) を返します。
+	 * @param code 命令
+	 * @return 一時変数を返します。無い場合は {@code -1} を返します。
+	 */
+	public int getReusableOperand(CompilerIRCode code) {
+		if(getReducedOperand(code) >= 0) return isSwapped(code) ? code.getRight() : code.getLeft();
+		switch(code.getOp()) {
+		case CompilerIRCode.ADD:
+		case CompilerIRCode.SUB:
+		case CompilerIRCode.AND:
+		case CompilerIRCode.OR:
+			return isSwapped(code) ? code.getRight() : code.getLeft();
+		case CompilerIRCode.NEG:
+		case CompilerIRCode.NOT:
+		case CompilerIRCode.LOAD:
+			return code.getLeft();
+		case CompilerIRCode.INDEX:
+			return code.getRight();
+		default:
+			return -1;
+		}
+	}
+	
+	private int getReusable(CompilerIRCode code) {
+		int temp = getReusableOperand(code);
+		return (temp >= 0 && locationList[temp] > 0) ? locationList[temp] : 0;
+	}
+	
+	private static int choose(int[] candidates, int free) {
+		for(int register : candidates) {
+			if(register > 0 && ((free >> register) & 1) != 0) return register;
+		}
+		for(int register = 1; register < REGISTER_SIZE; register++) {
+			if(((free >> register) & 1) != 0) return register;
+		}
+		return 0;
+	}
+}
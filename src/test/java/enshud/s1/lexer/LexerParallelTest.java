@@ -0,0 +1,149 @@
+package enshud.s1.lexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * 大きなpasファイルを区間に分けて並列に字句解析するLexer.tokenizeParallel()のテストクラス．
+ *
+ * 1 MiBを超え，区間の境界をまたぐ注釈や，注釈の記号を含む文字列が多数あるpasファイルについて，
+ * 4スレッドのプールで字句解析した結果（トークン文字列・トークンID・行番号・シンボルID）と
+ * エラーの出力が，逐次のtokenize()と一致するかを確認する．
+ */
+public class LexerParallelTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(60);
+
+	private static final String TMP_PAS = "tmp/parallel.pas";
+	private static final int MIN_LENGTH = 3 << 19;
+
+	private PrintStream savedErr;
+	private ByteArrayOutputStream err;
+	private ForkJoinPool pool;
+
+	@Before
+	public void before() {
+		new File(TMP_PAS).getParentFile().mkdirs();
+		savedErr = System.err;
+		err = new ByteArrayOutputStream();
+		System.setErr(new PrintStream(err));
+		pool = new ForkJoinPool(4);
+	}
+
+	@After
+	public void after() {
+		pool.shutdownNow();
+		System.setErr(savedErr);
+		new File(TMP_PAS).delete();
+	}
+
+	@Test
+	public void testLargeProgram() throws IOException {
+		final StringBuilder sb = largeProgram();
+		sb.append("end.\n");
+
+		assertSameAsSequential(sb.toString(), true);
+	}
+
+	@Test
+	public void testLongComment() throws IOException {
+		// 区間より長い注釈は必ず区間の境界をまたぐ
+		final StringBuilder sb = largeProgram();
+		sb.append("    { long comment\n");
+		for (int i = 0; i < 20000; i++) {
+			sb.append("      x := 'not a string; begin end\n");
+		}
+		sb.append("    } x := 0\n");
+		sb.append("end.\n");
+
+		assertSameAsSequential(sb.toString(), true);
+	}
+
+	@Test
+	public void testErrorAfterBoundary() throws IOException {
+		final StringBuilder sb = largeProgram();
+		sb.append("    x := 1 # 2\n");
+		sb.append("end.\n");
+
+		assertSameAsSequential(sb.toString(), false);
+	}
+
+	@Test
+	public void testUnclosedComment() throws IOException {
+		final StringBuilder sb = largeProgram();
+		sb.append("    { unclosed\n");
+		sb.append("end.\n");
+
+		assertSameAsSequential(sb.toString(), false);
+	}
+
+	/**
+	 * 1 MiBを超える長さのプログラムの先頭部分を作る．
+	 * 行をまたぐ注釈，文字列の記号を含む注釈，注釈の記号を含む文字列を繰り返し含む．
+	 */
+	private static StringBuilder largeProgram() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program parallel(output);\n");
+		sb.append("var x, y : integer; c : char;\n");
+		sb.append("begin\n");
+		for (int i = 0; sb.length() < MIN_LENGTH; i++) {
+			sb.append("    x := x + ").append(i).append("; { x := 'inline' }\n");
+			sb.append("    writeln('{ not a comment } ', x);\n");
+			sb.append("    y").append(i % 100).append(" := 'it''s';\n");
+			sb.append("    {\n");
+			for (int j = 0; j < i % 40; j++) {
+				sb.append("      begin x := 'comment line ").append(j).append(" end\n");
+			}
+			sb.append("    }\n");
+			sb.append("    if x <= y then c := '}' else c := '{';\n");
+		}
+		return sb;
+	}
+
+	/**
+	 * 並列と逐次の字句解析で，トークン列とエラーの出力が一致することを確認する．
+	 */
+	private void assertSameAsSequential(final String program, final boolean valid) throws IOException {
+		assertThat(program.length()).isGreaterThan(1 << 20);
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(program);
+		}
+
+		err.reset();
+		final LexerTokenList expected = new Lexer().tokenize(TMP_PAS);
+		final String sequentialErr = err.toString();
+
+		err.reset();
+		final LexerTokenList actual = new Lexer().tokenizeParallel(TMP_PAS, pool);
+		assertThat(err.toString()).isEqualTo(sequentialErr);
+
+		if (!valid) {
+			assertThat(sequentialErr).isNotEmpty();
+			assertThat(expected).isNull();
+			assertThat(actual).isNull();
+			return;
+		}
+		assertThat(sequentialErr).isEmpty();
+		assertThat(actual).isNotNull();
+		assertThat(actual.size()).isEqualTo(expected.size());
+		assertThat(actual.getSymbolCount()).isEqualTo(expected.getSymbolCount());
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.getString(i)).as("token %d", i).isEqualTo(expected.getString(i));
+			assertThat(actual.getTokenID(i)).as("token %d", i).isEqualTo(expected.getTokenID(i));
+			assertThat(actual.getLineNum(i)).as("token %d", i).isEqualTo(expected.getLineNum(i));
+			assertThat(actual.getSymbolID(i)).as("token %d", i).isEqualTo(expected.getSymbolID(i));
+		}
+	}
+}
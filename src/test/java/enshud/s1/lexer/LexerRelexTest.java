@@ -0,0 +1,172 @@
+package enshud.s1.lexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * 編集された部分だけを字句解析し直すLexer.relex()のテストクラス．
+ *
+ * 注釈の中・文字列の中・トークンの境界を編集したpasファイルについて，
+ * relex()の結果（トークン文字列・トークンID・行番号とエラーの出力）が，
+ * 編集後のファイルをtokenize()で字句解析し直した結果と一致するかを確認する．
+ */
+public class LexerRelexTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(30);
+
+	private static final String TMP_PAS = "tmp/relex.pas";
+	private static final String PROGRAM = ""
+			+ "program relex(output);\n"
+			+ "var x, count : integer;\n"
+			+ "{ comment with 'quote' and\n"
+			+ "  begin end on two lines }\n"
+			+ "begin\n"
+			+ "    x := 10; { inline }\n"
+			+ "    count := x + 1;\n"
+			+ "    writeln('hello world', x);\n"
+			+ "    writeln('it''s {not} a comment')\n"
+			+ "end.\n";
+
+	private PrintStream savedErr;
+	private ByteArrayOutputStream err;
+
+	@Before
+	public void before() {
+		new File(TMP_PAS).getParentFile().mkdirs();
+		savedErr = System.err;
+		err = new ByteArrayOutputStream();
+		System.setErr(new PrintStream(err));
+	}
+
+	@After
+	public void after() {
+		System.setErr(savedErr);
+		new File(TMP_PAS).delete();
+	}
+
+	@Test
+	public void testEditInComment() throws IOException {
+		assertRelex("comment with", 8, 0, "more text ");
+		assertRelex("on two lines", 0, 0, "\n\n");
+		assertRelex("two lines", 0, 4, "");
+		assertRelex("inline", 0, 6, "x := 1; begin");
+		// 注釈を途中で閉じる，注釈の終わりを消す
+		assertRelex("comment with", 8, 0, "} x := 1; {");
+		assertRelex("comment with", 8, 0, "}");
+		assertRelex("inline }", 7, 1, "");
+	}
+
+	@Test
+	public void testEditInString() throws IOException {
+		assertRelex("hello world", 5, 0, "xy");
+		assertRelex("hello world", 5, 0, "{");
+		assertRelex("hello world", 5, 0, "}");
+		assertRelex("hello world", 5, 0, "''");
+		// 文字列を途中で閉じる，文字列の終わりを消す
+		assertRelex("hello world", 5, 0, "', '");
+		assertRelex("hello world", 5, 0, "'");
+		assertRelex("world'", 5, 1, "");
+		assertRelex("it''s", 2, 1, "");
+	}
+
+	@Test
+	public void testEditAtTokenBoundary() throws IOException {
+		// 識別子をつなげる・分ける
+		assertRelex("x := 10", 1, 0, "1");
+		assertRelex("var x", 3, 1, "");
+		assertRelex("count :=", 3, 0, " ");
+		// 記号を分ける・つなげる
+		assertRelex(":= 10", 1, 0, " ");
+		assertRelex("x + 1", 1, 0, "<");
+		assertRelex("10;", 2, 0, ".");
+		// 注釈を開く・注釈の始まりを消す
+		assertRelex("begin\n    x", 0, 0, "{");
+		assertRelex("{ comment", 0, 1, "");
+		assertRelex("count :=", 0, 0, "{ ");
+		// ファイルの先頭と最後
+		assertRelex("program", 0, 0, "{ head }\n");
+		assertRelex("program", 0, 7, "");
+		assertRelex("end.\n", 5, 0, "{ tail }\n");
+		assertRelex("end.\n", 3, 2, "");
+		// 行をまたぐ編集
+		assertRelex("integer;\n", 8, 20, "\n\n\n");
+	}
+
+	@Test
+	public void testSuccessiveEdits() throws IOException {
+		String text = PROGRAM;
+		LexerTokenList tokens = tokenize(text);
+		final String[][] edits = {
+			{ "x := 10", "5", "0", "0" },
+			{ "{ inline }", "2", "6", "block\n comment" },
+			{ "hello", "0", "5", "goodbye" },
+			{ "count := x", "0", "0", "{ count := 0 } " },
+			{ "{ count := 0 }", "13", "1", "; x := 1 }" },
+		};
+
+		for (final String[] edit : edits) {
+			final int offset = text.indexOf(edit[0]) + Integer.parseInt(edit[1]);
+			final int removed = Integer.parseInt(edit[2]);
+			text = text.substring(0, offset) + edit[3] + text.substring(offset + removed);
+
+			final LexerTokenList relexed = new Lexer().relex(tokens, offset, removed, edit[3]);
+			assertSameTokens(relexed, tokenize(text));
+			tokens = relexed;
+		}
+	}
+
+	/**
+	 * 元のプログラムのanchorが現れる位置からdeltaだけ進んだ位置を編集し，
+	 * relex()とtokenize()の結果が一致することを確認する．
+	 */
+	private void assertRelex(final String anchor, final int delta, final int removed, final String inserted) throws IOException {
+		assertThat(PROGRAM).contains(anchor);
+		final int offset = PROGRAM.indexOf(anchor) + delta;
+		final String edited = PROGRAM.substring(0, offset) + inserted + PROGRAM.substring(offset + removed);
+
+		final LexerTokenList previous = tokenize(PROGRAM);
+		err.reset();
+		final LexerTokenList relexed = new Lexer().relex(previous, offset, removed, inserted);
+		final String relexErr = err.toString();
+
+		final LexerTokenList expected = tokenize(edited);
+		assertThat(relexErr).as(edited).isEqualTo(err.toString());
+		assertSameTokens(relexed, expected);
+	}
+
+	/**
+	 * プログラムをファイルに書き出してtokenize()で字句解析する．
+	 */
+	private LexerTokenList tokenize(final String text) throws IOException {
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(text);
+		}
+		err.reset();
+		return new Lexer().tokenize(TMP_PAS);
+	}
+
+	private static void assertSameTokens(final LexerTokenList actual, final LexerTokenList expected) {
+		if (expected == null) {
+			assertThat(actual).isNull();
+			return;
+		}
+		assertThat(actual).isNotNull();
+		assertThat(actual.size()).isEqualTo(expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.getString(i)).as("token %d", i).isEqualTo(expected.getString(i));
+			assertThat(actual.getTokenID(i)).as("token %d", i).isEqualTo(expected.getTokenID(i));
+			assertThat(actual.getLineNum(i)).as("token %d", i).isEqualTo(expected.getLineNum(i));
+		}
+	}
+}
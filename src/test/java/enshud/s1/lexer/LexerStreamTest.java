@@ -0,0 +1,231 @@
+package enshud.s1.lexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import enshud.s4.compiler.Compiler;
+
+/**
+ * pasファイルを必要な分だけ字句解析するLexer.stream()とLexer.streamAsync()のテストクラス．
+ *
+ * - ストリームから読んだトークンが，tokenize()のトークン列と一致するか，
+ * - 行をまたぐ注釈や文字バッファより長い行も，tokenize()と同じく字句解析するか，
+ * - 字句解析のエラーの出力が，tokenize()と一致するか，
+ * - 途中で読むのをやめてclose()した場合に，字句解析のスレッドが終わるか，
+ * - 字句解析のスレッドで発生した例外を，トークンを読むスレッドで投げ直すか，
+ * を確認する．
+ */
+public class LexerStreamTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(30);
+
+	private static final String TMP_PAS = "tmp/stream.pas";
+	private static final String TMP_CAS = "tmp/stream.cas";
+
+	private PrintStream savedErr;
+	private ByteArrayOutputStream err;
+
+	@Before
+	public void before() {
+		new File(TMP_PAS).getParentFile().mkdirs();
+		savedErr = System.err;
+		err = new ByteArrayOutputStream();
+		System.setErr(new PrintStream(err));
+	}
+
+	@After
+	public void after() {
+		System.setErr(savedErr);
+		new File(TMP_PAS).delete();
+		new File(TMP_CAS).delete();
+	}
+
+	@Test
+	public void testSamples() {
+		for (final String kind : new String[] { "normal", "synerr", "semerr" }) {
+			for (int i = 1; i <= 8; i++) {
+				assertSameAsTokenize(String.format("data/pas/%s%02d.pas", kind, i));
+			}
+		}
+	}
+
+	@Test
+	public void testLargeProgram() throws IOException {
+		// キューを何度も満たし，文字バッファを何度も読み直す大きさのプログラム
+		writeProgram(20000, "");
+		assertSameAsTokenize(TMP_PAS);
+	}
+
+	@Test
+	public void testLexicalError() throws IOException {
+		writeProgram(2000, "    x := 1 # 2;\n");
+		assertSameAsTokenize(TMP_PAS);
+		assertThat(err.toString()).isNotEmpty();
+	}
+
+	@Test
+	public void testMultiLineComment() throws IOException {
+		// 文字バッファより長い注釈と行は，何度読み込んでも一つの注釈・一つの行として字句解析する
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			sb.append("    x := 'in comment ").append(i).append("'; {\n");
+		}
+		sb.append("    } x := 1;\n    writeln(x");
+		for (int i = 0; i < 2000; i++) {
+			sb.append(", 'long line'");
+		}
+		sb.append(");\n    { ").append(sb.length()).append(" }\n    x := 2;\n");
+		writeProgram(200, "    {\n" + sb);
+		assertSameAsTokenize(TMP_PAS);
+	}
+
+	@Test
+	public void testUnclosedComment() throws IOException {
+		writeProgram(2000, "    x := 1; {\n    x := 2;\n");
+		assertSameAsTokenize(TMP_PAS);
+		assertThat(err.toString()).isNotEmpty();
+	}
+
+	@Test
+	public void testCloseStopsLexerThread() throws IOException {
+		writeProgram(20000, "");
+		final long before = countLexerThreads();
+
+		final LexerTokenStream tokens = new Lexer().streamAsync(TMP_PAS);
+		assertThat(tokens.getString(0)).isEqualTo("program");
+		assertThat(countLexerThreads()).isEqualTo(before + 1);
+
+		// 字句解析のスレッドはキューが一杯になったところで待っている
+		tokens.close();
+		assertThat(countLexerThreads()).isEqualTo(before);
+		assertThat(tokens.getTokenID(tokens.size())).isEqualTo(-1);
+		assertThat(err.toString()).isEmpty();
+	}
+
+	@Test
+	public void testCloseStream() throws IOException {
+		writeProgram(2000, "");
+		final LexerTokenStream tokens = new Lexer().stream(TMP_PAS);
+		assertThat(tokens.getString(0)).isEqualTo("program");
+
+		tokens.close();
+		assertThat(tokens.getTokenID(tokens.size())).isEqualTo(-1);
+		assertThat(tokens.drain()).isTrue();
+		assertThat(err.toString()).isEmpty();
+	}
+
+	@Test
+	public void testFailureInLexerThread() throws IOException {
+		writeProgram(20000, "");
+		final long before = countLexerThreads();
+		final RuntimeException failure = new IllegalStateException("lexer failure");
+
+		// 途中まで読んだトークンは受け取り，その後で字句解析のスレッドの例外を投げる
+		final LexerTokenStream tokens = failingLexer(1000, failure).streamAsync(TMP_PAS);
+		assertThat(tokens.getString(0)).isEqualTo("program");
+		assertThatThrownBy(() -> tokens.drain()).isSameAs(failure);
+		assertThat(tokens.hasError()).isTrue();
+		tokens.close();
+		assertThat(countLexerThreads()).isEqualTo(before);
+
+		// パイプライン化したコンパイルは待ち続けずに例外を投げ，casファイルを書き出さない
+		final LexerTokenStream compiled = failingLexer(1000, failure).streamAsync(TMP_PAS);
+		assertThatThrownBy(() -> new Compiler().runPipelined(compiled, TMP_CAS, true)).isSameAs(failure);
+		compiled.close();
+		assertThat(countLexerThreads()).isEqualTo(before);
+		assertThat(new File(TMP_CAS)).doesNotExist();
+	}
+
+	/**
+	 * limit個のトークンを字句解析した後にfailureを投げる字句解析器を作る．
+	 */
+	private static Lexer failingLexer(final int limit, final RuntimeException failure) {
+		return new Lexer() {
+			private int count = 0;
+
+			@Override
+			int analyzeToken(final LexerHelper lh) throws IOException {
+				if (++count > limit) {
+					throw failure;
+				}
+				return super.analyzeToken(lh);
+			}
+		};
+	}
+
+	/**
+	 * stream()とstreamAsync()で読んだトークンと，エラーの出力がtokenize()と一致することを確認する．
+	 * tokenize()がエラーでnullを返す場合は，エラーの出力とエラーが発生したことだけを確かめる．
+	 */
+	private void assertSameAsTokenize(final String pas) {
+		err.reset();
+		final LexerTokenList expected = new Lexer().tokenize(pas);
+		final String expectedErr = err.toString();
+
+		err.reset();
+		assertSameTokens(new Lexer().stream(pas), expected, expectedErr);
+		err.reset();
+		assertSameTokens(new Lexer().streamAsync(pas), expected, expectedErr);
+	}
+
+	private void assertSameTokens(final LexerTokenStream actual, final LexerTokenList expected, final String expectedErr) {
+		assertThat(actual).isNotNull();
+		if (expected == null) {
+			assertThat(actual.drain()).isFalse();
+			assertThat(actual.hasError()).isTrue();
+			assertThat(err.toString()).isEqualTo(expectedErr);
+			return;
+		}
+
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.getString(i)).as("token %d", i).isEqualTo(expected.getString(i));
+			assertThat(actual.getTokenID(i)).as("token %d", i).isEqualTo(expected.getTokenID(i));
+			assertThat(actual.getLineNum(i)).as("token %d", i).isEqualTo(expected.getLineNum(i));
+			assertThat(actual.getSymbolID(i)).as("token %d", i).isEqualTo(expected.getSymbolID(i));
+			assertThat(actual.getConstant(i)).as("token %d", i).isEqualTo(expected.getConstant(i));
+			actual.release(i);
+		}
+		assertThat(actual.getTokenID(expected.size())).isEqualTo(-1);
+		assertThat(actual.size()).isEqualTo(expected.size());
+		assertThat(actual.hasError()).isFalse();
+		assertThat(err.toString()).isEqualTo(expectedErr);
+	}
+
+	/**
+	 * 文の数がstatementsのプログラムを書き出す．最後の文の前にextraを挿入する．
+	 */
+	private static void writeProgram(final int statements, final String extra) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program stream(output);\nvar x : integer;\nbegin\n");
+		for (int i = 0; i < statements; i++) {
+			sb.append("    x := x + ").append(i).append("; { comment ").append(i).append(" }\n");
+			sb.append("    writeln('line ").append(i).append("', x);\n");
+		}
+		sb.append(extra);
+		sb.append("    x := 0\nend.\n");
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(sb.toString());
+		}
+	}
+
+	/**
+	 * 動いている字句解析のスレッドの数を数える．
+	 */
+	private static long countLexerThreads() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.isAlive() && thread.getName().equals("lexer"))
+				.count();
+	}
+}
@@ -0,0 +1,143 @@
+package enshud.s1.lexer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * バイナリ形式のトークン列ファイル（*.tsb）を読み書きするLexerTokenReaderのテストクラス．
+ *
+ * - Lexer.run()で書き出した.tsbファイルを読み込んだ結果が，.tsファイルを読み込んだ結果と一致するか，
+ * - 途中で切れた.tsbファイルや，壊れた.tsbファイルを例外を投げずにnullとして読み込むか，
+ * を確認する．
+ */
+public class LexerTokenReaderTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(30);
+
+	private static final String TMP_TS = "tmp/reader.ts";
+	private static final String TMP_TSB = "tmp/reader.tsb";
+
+	private PrintStream savedOut;
+
+	@Before
+	public void before() {
+		new File(TMP_TS).getParentFile().mkdirs();
+		savedOut = System.out;
+		System.setOut(new PrintStream(new ByteArrayOutputStream()));
+	}
+
+	@After
+	public void after() {
+		System.setOut(savedOut);
+		new File(TMP_TS).delete();
+		new File(TMP_TSB).delete();
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		for (final String kind : new String[] { "normal", "synerr", "semerr" }) {
+			for (int i = 1; i <= 8; i++) {
+				final String pas = String.format("data/pas/%s%02d.pas", kind, i);
+				new Lexer().run(pas, TMP_TS);
+				new Lexer().run(pas, TMP_TSB);
+
+				assertThat(Arrays.copyOf(Files.readAllBytes(Paths.get(TMP_TSB)), 4)).isEqualTo(LexerTokenReader.MAGIC);
+				assertSameTokens(LexerTokenReader.read(TMP_TSB), LexerTokenReader.read(TMP_TS));
+			}
+		}
+	}
+
+	@Test
+	public void testBinaryWithTextExtension() throws IOException {
+		// 形式は拡張子ではなくファイルの先頭で判別する
+		new Lexer().run("data/pas/normal10.pas", TMP_TSB);
+		Files.copy(Paths.get(TMP_TSB), Paths.get(TMP_TS), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+
+		assertSameTokens(LexerTokenReader.read(TMP_TS), LexerTokenReader.read("data/ts/normal10.ts"));
+	}
+
+	@Test
+	public void testTruncated() throws IOException {
+		new Lexer().run("data/pas/normal05.pas", TMP_TSB);
+		final byte[] data = Files.readAllBytes(Paths.get(TMP_TSB));
+
+		for (int length = LexerTokenReader.MAGIC.length; length < data.length; length++) {
+			Files.write(Paths.get(TMP_TSB), Arrays.copyOf(data, length));
+			assertThat(LexerTokenReader.read(TMP_TSB)).as("length %d", length).isNull();
+		}
+	}
+
+	@Test
+	public void testCorrupt() throws IOException {
+		new Lexer().run("data/pas/normal05.pas", TMP_TSB);
+		final byte[] data = Files.readAllBytes(Paths.get(TMP_TSB));
+
+		// 未知のバージョン，末尾の余分なバイト
+		final byte[] version = data.clone();
+		version[4] = (byte) (LexerTokenReader.VERSION + 1);
+		assertInvalid(version);
+		assertInvalid(Arrays.copyOf(data, data.length + 1));
+
+		// 35ビットを超える可変長整数
+		assertInvalid(bytes(0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0x01, 0x00));
+		// 範囲外のトークンID
+		assertInvalid(bytes(1, 1, 99, 1, 'x', 0));
+		// 範囲外の字句表の位置
+		assertInvalid(bytes(1, 1, LexerData.IDENTIFIER_ID, 1, 'x', 1 << 1));
+		// 残りのバイト数より多いトークンの数
+		assertInvalid(bytes(100, 1, LexerData.IDENTIFIER_ID, 1, 'x', 0));
+
+		// どのバイトが壊れていても例外を投げない
+		for (int i = LexerTokenReader.MAGIC.length; i < data.length; i++) {
+			for (final int mask : new int[] { 0x01, 0x80, 0xFF }) {
+				final byte[] corrupt = data.clone();
+				corrupt[i] ^= mask;
+				Files.write(Paths.get(TMP_TSB), corrupt);
+				LexerTokenReader.read(TMP_TSB);
+			}
+		}
+	}
+
+	/**
+	 * マジックナンバーとバージョンに続くバイト列を作る．
+	 */
+	private static byte[] bytes(final int... values) {
+		final byte[] data = Arrays.copyOf(LexerTokenReader.MAGIC, LexerTokenReader.MAGIC.length + 1 + values.length);
+		data[LexerTokenReader.MAGIC.length] = (byte) LexerTokenReader.VERSION;
+		for (int i = 0; i < values.length; i++) {
+			data[LexerTokenReader.MAGIC.length + 1 + i] = (byte) values[i];
+		}
+		return data;
+	}
+
+	private void assertInvalid(final byte[] data) throws IOException {
+		Files.write(Paths.get(TMP_TSB), data);
+		assertThat(LexerTokenReader.read(TMP_TSB)).isNull();
+	}
+
+	private static void assertSameTokens(final LexerTokenList actual, final LexerTokenList expected) {
+		assertThat(expected).isNotNull();
+		assertThat(actual).isNotNull();
+		assertThat(actual.size()).isEqualTo(expected.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.getString(i)).as("token %d", i).isEqualTo(expected.getString(i));
+			assertThat(actual.getTokenID(i)).as("token %d", i).isEqualTo(expected.getTokenID(i));
+			assertThat(actual.getLineNum(i)).as("token %d", i).isEqualTo(expected.getLineNum(i));
+			assertThat(actual.getSymbolID(i)).as("token %d", i).isEqualTo(expected.getSymbolID(i));
+			assertThat(actual.getConstant(i)).as("token %d", i).isEqualTo(expected.getConstant(i));
+		}
+	}
+}
@@ -0,0 +1,188 @@
+package enshud.s2.parser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import enshud.s1.lexer.Lexer;
+import enshud.s1.lexer.LexerTokenList;
+import enshud.s1.lexer.LexerTokenReader;
+import enshud.s4.compiler.Compiler;
+
+/**
+ * 文法記述ファイルから生成した解析表と，解析表に従う構文解析器のテストクラス．
+ *
+ * - 文法記述ファイルから生成した解析表が ParserTable.java と一致するか，
+ * - LL(1) でない文法や終端記号の列を導出しない非終端記号をエラーにするか，
+ * - 深く入れ子になった複合文や式でスタックが溢れずに解析し，コンパイルしてcasファイルを書き出せるか，
+ * - 意味モードの再帰下降の解析器が文や因子をどの深さで解析表の解析器に任せても，解析表だけで解析した場合と同じエラーを見つけるか，
+ * を確認する．
+ */
+public class ParserTableTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(60);
+
+	private static final String TMP_PAS = "tmp/deep.pas";
+	private static final String TMP_CAS = "tmp/deep.cas";
+	private static final int DEPTH = 100000;
+
+	@After
+	public void after() {
+		new File(TMP_PAS).delete();
+		new File(TMP_CAS).delete();
+	}
+
+	@Test
+	public void testTableIsUpToDate() throws IOException {
+		final String grammar = new String(Files.readAllBytes(Paths.get(ParserTableGen.GRAMMAR_FILE)), StandardCharsets.UTF_8);
+		final String table = new String(Files.readAllBytes(Paths.get(ParserTableGen.TABLE_FILE)), StandardCharsets.UTF_8);
+		assertThat(ParserTableGen.generate(grammar)).isEqualTo(table);
+	}
+
+	@Test
+	public void testInvalidGrammar() {
+		// 先読みトークン SPROGRAM で二つの選択肢を選べる
+		assertThatThrownBy(() -> ParserTableGen.generate("S : SPROGRAM | SPROGRAM SDOT ;"))
+				.isInstanceOf(IllegalArgumentException.class);
+		// 終端記号の列を導出しない
+		assertThatThrownBy(() -> ParserTableGen.generate("S : SPROGRAM T ;\nT : SDOT T ;"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testDeepCompoundStatement() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program deep(output);\nvar x : integer;\nbegin\n");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append("begin ");
+		}
+		sb.append("x := 1");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append(" end");
+		}
+		sb.append("\nend.\n");
+
+		assertCompile(sb.toString());
+	}
+
+	@Test
+	public void testDeepExpression() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program deep(output);\nvar x : integer;\nbegin\nx := ");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append("(1 + ");
+		}
+		sb.append("1");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append(")");
+		}
+		sb.append("\nend.\n");
+
+		assertCompile(sb.toString());
+	}
+
+	@Test
+	public void testDeepFactor() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program deep(output);\nvar b : boolean; a : array [1..10] of integer;\nbegin\nb := ");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append("not ");
+		}
+		sb.append("(a[");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append("a[");
+		}
+		sb.append("1");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append("]");
+		}
+		sb.append("] = 1)\nend.\n");
+
+		assertParse(sb.toString());
+	}
+
+	@Test
+	public void testDescentMatchesEngine() throws IOException {
+		final File[] files = new File("data/ts").listFiles((dir, name) -> name.endsWith(".ts"));
+		Arrays.sort(files);
+		assertThat(files).isNotEmpty();
+
+		for (final File file : files) {
+			final LexerTokenList tokens = LexerTokenReader.read(file.getPath());
+			final String expected = parseByEngine(tokens);
+
+			for (final int depthLimit : new int[] { 0, 1, 2, ParserDescent.DEPTH_LIMIT }) {
+				assertThat(parseByDescent(tokens, depthLimit)).as(file.getName() + " (depth limit " + depthLimit + ")").isEqualTo(expected);
+			}
+		}
+	}
+
+	/**
+	 * 解析表の解析器だけで意味モードの解析を行い，最初のエラーとコード生成だけが必要とするエラーをリターンする．
+	 */
+	private static String parseByEngine(final LexerTokenList tokens) {
+		final ParserEngine engine = new ParserEngine(tokens);
+		final ParserSemanticActions actions = new ParserSemanticActions(engine, new ParserTypeCheck(), true);
+		String error = null;
+		try {
+			engine.parse(actions);
+			assertThat(actions.getProgram()).isNotNull();
+		} catch (final ParserException e) {
+			error = e.getMessage();
+		}
+		return error + " / " + actions.getStrictError();
+	}
+
+	/**
+	 * 再帰下降の解析器で意味モードの解析を行い，最初のエラーとコード生成だけが必要とするエラーをリターンする．
+	 */
+	private static String parseByDescent(final LexerTokenList tokens, final int depthLimit) {
+		final ParserDescent descent = new ParserDescent(new ParserEngine(tokens), true, depthLimit);
+		String error = null;
+		try {
+			assertThat(descent.parse()).isNotNull();
+		} catch (final ParserException e) {
+			error = e.getMessage();
+		}
+		return error + " / " + descent.getStrictError();
+	}
+
+	/**
+	 * 構文モードと意味モードのどちらでもエラーなく解析でき，コンパイラがcasファイルを書き出すことを確認する．
+	 */
+	private void assertCompile(final String program) throws IOException {
+		final LexerTokenList tokens = assertParse(program);
+
+		new Compiler().run(tokens, TMP_CAS);
+		assertThat(new File(TMP_CAS)).exists();
+		assertThat(new File(TMP_CAS).length()).isPositive();
+	}
+
+	/**
+	 * 構文モードと意味モードのどちらでもエラーなく解析できることを確認し，トークン列をリターンする．
+	 */
+	private LexerTokenList assertParse(final String program) throws IOException {
+		new File(TMP_PAS).getParentFile().mkdirs();
+		new File(TMP_CAS).delete();
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(program);
+		}
+		final LexerTokenList tokens = new Lexer().tokenize(TMP_PAS);
+
+		assertThat(new ParserMain(tokens, false).doParser()).isNull();
+		assertThat(new ParserMain(tokens, true, false).doParser()).isNull();
+		return tokens;
+	}
+}
@@ -0,0 +1,101 @@
+package enshud.s3.checker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * 多数のtsファイルをまとめて意味解析するCheckerBatchのテストクラス．
+ *
+ * - ファイルごとの結果のメッセージが，Checker.run()の出力とファイルごとに一致するか，
+ * - -j の値がない・整数でない・0の場合に，使い方を出力して終了するか，
+ * を確認する．
+ */
+public class CheckerBatchTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(30);
+
+	private PrintStream savedOut;
+	private PrintStream savedErr;
+	private ByteArrayOutputStream out;
+	private ByteArrayOutputStream err;
+
+	@Before
+	public void before() {
+		savedOut = System.out;
+		savedErr = System.err;
+		out = new ByteArrayOutputStream();
+		err = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(out));
+		System.setErr(new PrintStream(err));
+	}
+
+	@After
+	public void after() {
+		System.setOut(savedOut);
+		System.setErr(savedErr);
+	}
+
+	@Test
+	public void testSameAsChecker() {
+		final List<String> fileNames = new ArrayList<>(CheckerBatch.listFiles(Arrays.asList("data/ts")));
+		fileNames.add("data/ts/dummy.ts");
+		assertThat(fileNames).hasSize(27);
+
+		final List<CheckerBatch.Result> results = new CheckerBatch(4).run(fileNames);
+		assertThat(results).hasSize(fileNames.size());
+
+		for (int i = 0; i < fileNames.size(); i++) {
+			final CheckerBatch.Result result = results.get(i);
+			assertThat(result.getFileName()).isEqualTo(fileNames.get(i));
+			assertThat(result.getMessage()).as(fileNames.get(i)).isEqualTo(runChecker(fileNames.get(i)));
+			assertThat(result.isOK()).isEqualTo(result.getMessage().equals("OK"));
+		}
+	}
+
+	@Test
+	public void testMissingThreads() {
+		assertUsage("data/ts", "-j");
+	}
+
+	@Test
+	public void testInvalidThreads() {
+		assertUsage("-j", "four", "data/ts");
+	}
+
+	@Test
+	public void testZeroThreads() {
+		assertUsage("-j", "0", "data/ts");
+	}
+
+	/**
+	 * Checker.run()が標準出力と標準エラーに出力した文字列を返す．
+	 */
+	private String runChecker(final String fileName) {
+		out.reset();
+		err.reset();
+		new Checker().run(fileName);
+		return (out.toString() + err.toString()).trim();
+	}
+
+	/**
+	 * 解析を行わずに使い方だけを標準エラーに出力することを確認する．
+	 */
+	private void assertUsage(final String... args) {
+		out.reset();
+		err.reset();
+		CheckerBatch.main(args);
+		assertThat(out.toString()).isEmpty();
+		assertThat(err.toString()).startsWith("Usage: ");
+	}
+}
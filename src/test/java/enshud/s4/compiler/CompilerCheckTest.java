@@ -0,0 +1,105 @@
+package enshud.s4.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import enshud.s1.lexer.Lexer;
+import enshud.s3.checker.Checker;
+
+/**
+ * 意味解析だけを行うCompiler.check()のテストクラス．
+ *
+ * data/tsとdata/pasの各ファイル（normal, synerr, semerr）について，
+ * Compiler.check()が標準出力・標準エラーに出力する結果が，Checker.run()の出力とファイルごとに一致するかを確認する．
+ */
+public class CompilerCheckTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(30);
+
+	private PrintStream savedOut;
+	private PrintStream savedErr;
+	private ByteArrayOutputStream out;
+	private ByteArrayOutputStream err;
+
+	@Before
+	public void before() {
+		savedOut = System.out;
+		savedErr = System.err;
+		out = new ByteArrayOutputStream();
+		err = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(out));
+		System.setErr(new PrintStream(err));
+	}
+
+	@After
+	public void after() {
+		System.setOut(savedOut);
+		System.setErr(savedErr);
+	}
+
+	@Test
+	public void testNormal() {
+		assertSameAsChecker("normal", 10);
+	}
+
+	@Test
+	public void testSynerr() {
+		assertSameAsChecker("synerr", 8);
+	}
+
+	@Test
+	public void testSemerr() {
+		assertSameAsChecker("semerr", 8);
+	}
+
+	@Test
+	public void testFileNotFound() {
+		new Checker().run("data/ts/dummy.ts");
+		final String expected = output();
+
+		new Compiler().check("data/ts/dummy.ts");
+		assertThat(output()).isEqualTo(expected).isEqualTo("\nFile not found");
+	}
+
+	/**
+	 * tsファイルとpasファイルのトークン列・トークンストリームのそれぞれについて，
+	 * Compiler.check()とChecker.run()の出力が一致することを確認する．
+	 */
+	private void assertSameAsChecker(final String kind, final int count) {
+		for (int i = 1; i <= count; i++) {
+			final String ts = String.format("data/ts/%s%02d.ts", kind, i);
+			final String pas = String.format("data/pas/%s%02d.pas", kind, i);
+
+			new Checker().run(ts);
+			final String expected = output();
+			assertThat(expected).as(ts).startsWith(kind.equals("normal") ? "OK" : "\n");
+
+			new Compiler().check(ts);
+			assertThat(output()).as(ts).isEqualTo(expected);
+
+			new Compiler().check(new Lexer().tokenize(pas));
+			assertThat(output()).as(pas).isEqualTo(expected);
+
+			new Compiler().check(new Lexer().stream(pas));
+			assertThat(output()).as(pas).isEqualTo(expected);
+		}
+	}
+
+	/**
+	 * 標準出力と標準エラーへの出力を改行で区切って返し，空にする．
+	 */
+	private String output() {
+		final String result = out.toString() + "\n" + err.toString();
+		out.reset();
+		err.reset();
+		return result;
+	}
+}
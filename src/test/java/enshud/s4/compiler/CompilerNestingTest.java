@@ -0,0 +1,136 @@
+package enshud.s4.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import enshud.casl.CaslSimulator;
+import enshud.s1.lexer.Lexer;
+
+/**
+ * 長い式や深く入れ子になった文を持つプログラムを，スタックを溢れさせずにコンパイルできることを確認するテストクラス．
+ *
+ * 抽象構文木から中間表現への変換が再帰呼び出しで部分木をたどると，
+ * 構文解析と意味解析が成功した後に StackOverflowError が発生し，casファイルが書き出されない．
+ * ここでは Compiler.run() でcasファイルが書き出され，実行結果が正しいことを確認する．
+ */
+public class CompilerNestingTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(60);
+
+	private static final String TMP_PAS = "tmp/nesting.pas";
+	private static final String TMP_CAS = "tmp/nesting.cas";
+	private static final String TMP_ANS = "tmp/nesting.ans";
+	private static final int TERMS = 20000;
+	private static final int CONDITIONS = 5000;
+	private static final int DEPTH = 100000;
+
+	private PrintStream savedOut;
+	private PrintStream savedErr;
+	private ByteArrayOutputStream err;
+
+	@Before
+	public void before() {
+		new File(TMP_PAS).getParentFile().mkdirs();
+		new File(TMP_CAS).delete();
+		savedOut = System.out;
+		savedErr = System.err;
+		err = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(new ByteArrayOutputStream()));
+		System.setErr(new PrintStream(err));
+	}
+
+	@After
+	public void after() {
+		System.setOut(savedOut);
+		System.setErr(savedErr);
+		new File(TMP_PAS).delete();
+		new File(TMP_CAS).delete();
+		new File(TMP_ANS).delete();
+	}
+
+	@Test
+	public void testLongConstantExpression() throws IOException {
+		// x := 0 + 1 + 1 + ... (左に深い二項演算子の並び，定数に畳み込まれる)
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program flat(output);\nvar x : integer;\nbegin\n    x := 0");
+		for (int i = 0; i < TERMS; i++) {
+			sb.append(" + 1");
+		}
+		sb.append(";\n    writeln(x)\nend.\n");
+
+		assertCompiled(sb.toString(), "20000");
+	}
+
+	@Test
+	public void testLongExpression() throws IOException {
+		// x := y + y + ... (定数にならない二項演算子の並び)
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program flat(output);\nvar x : integer;\n");
+		sb.append("procedure p(y : integer);\nbegin\n    x := y");
+		for (int i = 1; i <= TERMS; i++) {
+			sb.append(i % 2 == 0 ? " + y" : " - y");
+		}
+		sb.append("\nend;\nbegin\n    p(3);\n    writeln(x)\nend.\n");
+
+		assertCompiled(sb.toString(), "3");
+	}
+
+	@Test
+	public void testDeepCompoundStatement() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program deep(output);\nvar x : integer;\nbegin\n    x := 0;\n");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append("begin ");
+		}
+		sb.append("x := x + 1");
+		for (int i = 0; i < DEPTH; i++) {
+			sb.append(" end");
+		}
+		sb.append(";\n    writeln(x)\nend.\n");
+
+		assertCompiled(sb.toString(), "1");
+	}
+
+	@Test
+	public void testLongCondition() throws IOException {
+		// if (x < y) and (x < y) and ... (条件分岐の組合せになる and の並び)
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program cond(output);\nvar x : integer;\n");
+		sb.append("procedure p(y : integer);\nbegin\n    if (x < y)");
+		for (int i = 1; i < CONDITIONS; i++) {
+			sb.append(" and (x < y)");
+		}
+		sb.append(" then begin writeln('then') end else begin writeln('else') end\nend;\n");
+		sb.append("begin\n    x := 0;\n    p(1);\n    p(0)\nend.\n");
+
+		assertCompiled(sb.toString(), "then", "else");
+	}
+
+	/**
+	 * エラーなくコンパイルしてcasファイルを書き出し，実行結果が一致することを確認する．
+	 */
+	private void assertCompiled(final String program, final String... expected) throws IOException {
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(program);
+		}
+		new Compiler().run(new Lexer().tokenize(TMP_PAS), TMP_CAS);
+		assertThat(err.toString()).isEmpty();
+		assertThat(new File(TMP_CAS)).exists();
+
+		CaslSimulator.run(TMP_CAS, TMP_ANS);
+		assertThat(Files.readAllLines(Paths.get(TMP_ANS))).containsExactly(expected);
+	}
+}
@@ -0,0 +1,179 @@
+package enshud.s4.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import enshud.s1.lexer.Lexer;
+import enshud.s1.lexer.LexerTokenStream;
+
+/**
+ * 字句解析・コード生成・casファイルの書き込みを並行して行うCompiler.runPipelined()のテストクラス．
+ *
+ * 同じpasファイルを逐次にコンパイルした結果と比べて，
+ * - 書き出したcasファイルが（最適化の有無によらず）一致するか，
+ * - 構文・意味エラーのメッセージが一致し，casファイルを書き出さないか，
+ * - 構文解析中に例外が発生しても，casファイルの書き込みのスレッドが終わるか，
+ * - 割り込まれてコードの行を書き込みのスレッドに渡せなかった場合に，書き込みの失敗として報告するか，
+ * を確認する．
+ */
+public class CompilerPipelineTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(60);
+
+	private static final String TMP_PAS = "tmp/pipeline.pas";
+	private static final String SEQUENTIAL_CAS = "tmp/sequential.cas";
+	private static final String PIPELINED_CAS = "tmp/pipelined.cas";
+
+	private PrintStream savedOut;
+	private PrintStream savedErr;
+	private ByteArrayOutputStream err;
+
+	@Before
+	public void before() {
+		new File(TMP_PAS).getParentFile().mkdirs();
+		savedOut = System.out;
+		savedErr = System.err;
+		err = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(new ByteArrayOutputStream()));
+		System.setErr(new PrintStream(err));
+	}
+
+	@After
+	public void after() {
+		System.setOut(savedOut);
+		System.setErr(savedErr);
+		new File(TMP_PAS).delete();
+		new File(SEQUENTIAL_CAS).delete();
+		new File(PIPELINED_CAS).delete();
+	}
+
+	@Test
+	public void testNormal() throws IOException {
+		for (int i = 1; i <= 10; i++) {
+			final String pas = String.format("data/pas/normal%02d.pas", i);
+			assertSameOutput(pas, true);
+			assertSameOutput(pas, false);
+		}
+	}
+
+	@Test
+	public void testError() throws IOException {
+		for (int i = 1; i <= 8; i++) {
+			assertSameOutput(String.format("data/pas/synerr%02d.pas", i), true);
+			assertSameOutput(String.format("data/pas/semerr%02d.pas", i), true);
+		}
+		assertThat(new File(PIPELINED_CAS)).doesNotExist();
+	}
+
+	@Test
+	public void testFileNotFound() throws IOException {
+		new Compiler().runPipelined("data/pas/dummy.pas", PIPELINED_CAS);
+		assertThat(err.toString()).isEqualTo("File not found");
+		assertThat(new File(PIPELINED_CAS)).doesNotExist();
+	}
+
+	@Test
+	public void testExceptionStopsWriter() throws IOException {
+		// 先頭のトークンを解放したストリームは，構文解析器が最初のトークンを読むときに例外を投げる
+		final LexerTokenStream tokens = new Lexer().stream("data/pas/normal01.pas");
+		tokens.getTokenID(8);
+		tokens.release(8);
+
+		assertThatThrownBy(() -> new Compiler().runPipelined(tokens, PIPELINED_CAS, true))
+				.isInstanceOf(IndexOutOfBoundsException.class);
+		assertThat(countWriterThreads()).isZero();
+		assertThat(new File(PIPELINED_CAS)).doesNotExist();
+	}
+
+	@Test
+	public void testInterruptedWrite() throws IOException {
+		final CompilerCasWriter writer = new CompilerCasWriter(PIPELINED_CAS, false);
+		writer.start();
+		writer.write(Arrays.asList("CASL\tSTART", "\tRET"));
+
+		Thread.currentThread().interrupt();
+		writer.write(Arrays.asList("\tEND"));
+		final boolean written = writer.finish();
+		assertThat(Thread.interrupted()).isTrue();
+
+		assertThat(written).isFalse();
+		assertThat(countWriterThreads()).isZero();
+	}
+
+	@Test
+	public void testLargeProgram() throws IOException {
+		// トークンとコードの行が何度もキューを通り，最適化が多くの部分に分かれる大きさのプログラム
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program large(output);\n");
+		sb.append("var x, y : integer; a : array[1..10] of integer;\n");
+		sb.append("procedure p(m : integer);\n");
+		sb.append("begin\n");
+		sb.append("    if m > 5 then begin writeln('big', m) end else begin x := x + m end\n");
+		sb.append("end;\n");
+		sb.append("begin\n");
+		for (int i = 0; i < 200; i++) {
+			sb.append("    x := (x + ").append(i).append(") mod 7;\n");
+			sb.append("    a[x + 1] := x * y - ").append(i).append(";\n");
+			sb.append("    while y > x do begin y := y - 1 end;\n");
+			sb.append("    p(a[x + 1]);\n");
+			sb.append("    writeln('s").append(i).append("', x, y);\n");
+		}
+		sb.append("    y := x\n");
+		sb.append("end.\n");
+
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(sb.toString());
+		}
+		assertSameOutput(TMP_PAS, true);
+		assertSameOutput(TMP_PAS, false);
+	}
+
+	/**
+	 * 動いているcasファイルの書き込みのスレッドの数を数える．
+	 */
+	private static long countWriterThreads() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.isAlive() && thread.getName().equals("cas-writer"))
+				.count();
+	}
+
+	/**
+	 * 逐次のコンパイルと並行のコンパイルで，標準エラーへの出力とcasファイルが一致することを確認する．
+	 */
+	private void assertSameOutput(final String pas, final boolean doOptimize) throws IOException {
+		new File(SEQUENTIAL_CAS).delete();
+		new File(PIPELINED_CAS).delete();
+
+		err.reset();
+		new Compiler().run(new Lexer().tokenize(pas), SEQUENTIAL_CAS, doOptimize);
+		final String sequentialErr = err.toString();
+
+		err.reset();
+		new Compiler().runPipelined(pas, PIPELINED_CAS, doOptimize);
+		assertThat(err.toString()).isEqualTo(sequentialErr);
+
+		if (new File(SEQUENTIAL_CAS).exists()) {
+			final List<String> expected = Files.readAllLines(Paths.get(SEQUENTIAL_CAS));
+			assertThat(Files.readAllLines(Paths.get(PIPELINED_CAS))).isEqualTo(expected);
+		}
+		else {
+			assertThat(new File(PIPELINED_CAS)).doesNotExist();
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package enshud.s4.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import enshud.s1.lexer.Lexer;
+import enshud.s1.lexer.LexerTokenList;
+
+/**
+ * 大域変数と文字列定数の多いプログラムでコンパイル時間が線形に増えることを確認するテストクラス．
+ *
+ * 大域変数と文字列定数の数を4倍にしたプログラムのコンパイル時間が，
+ * 元のプログラムのコンパイル時間の6倍未満であることを確認する．
+ * ラベルの探索が線形探索の場合は，コンパイル時間はおよそ16倍になる．
+ */
+public class CompilerScalingTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(60);
+
+	private static final String TMP_PAS = "tmp/scaling.pas";
+	private static final String TMP_CAS = "tmp/scaling.cas";
+	private static final int SMALL = 4000;
+	private static final int RUNS = 3;
+
+	private PrintStream savedOut;
+
+	@Before
+	public void before() {
+		new File(TMP_CAS).getParentFile().mkdirs();
+		savedOut = System.out;
+		System.setOut(new PrintStream(new ByteArrayOutputStream()));
+	}
+
+	@After
+	public void after() {
+		System.setOut(savedOut);
+		new File(TMP_PAS).delete();
+		new File(TMP_CAS).delete();
+	}
+
+	@Test
+	public void testLabelNumbering() throws IOException {
+		compile(tokenize(10));
+
+		// 文字列定数は最初に現れた順に番号が付き，同じ文字列は一度だけ定義される
+		final List<String> lines = Files.readAllLines(Paths.get(TMP_CAS));
+		assertThat(lines).contains("STR1\tDC\t'same'", "STR2\tDC\t's0'", "STR11\tDC\t's9'");
+		assertThat(lines.stream().filter(line -> line.startsWith("STR"))).hasSize(11);
+		assertThat(lines).contains("VAR1\tDS\t1", "VAR10\tDS\t1");
+	}
+
+	@Test
+	public void testLinearCompileTime() throws IOException {
+		final LexerTokenList small = tokenize(SMALL);
+		final LexerTokenList large = tokenize(SMALL * 4);
+
+		// JIT コンパイルのためにあらかじめ実行する
+		compile(small);
+		compile(large);
+
+		final long smallTime = bestTime(small);
+		final long largeTime = bestTime(large);
+		assertThat(largeTime).isLessThan(smallTime * 6);
+	}
+
+	private long bestTime(final LexerTokenList tokens) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < RUNS; i++) {
+			final long start = System.nanoTime();
+			compile(tokens);
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	private void compile(final LexerTokenList tokens) {
+		new Compiler().run(tokens, TMP_CAS, false);
+	}
+
+	/**
+	 * n 個の大域変数と n+1 種類の文字列定数を持つプログラムを生成して字句解析する．
+	 */
+	private LexerTokenList tokenize(final int n) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program scaling(output);\n");
+		sb.append("var ");
+		for (int i = 0; i < n; i++) {
+			sb.append(i > 0 ? ", g" : "g").append(i);
+		}
+		sb.append(" : integer;\n");
+		sb.append("begin\n");
+		for (int i = 0; i < n; i++) {
+			sb.append("    g").append(i).append(" := ").append(i % 100).append(";\n");
+			sb.append("    writeln('same');\n");
+			sb.append("    writeln('s").append(i).append("', g").append(i).append(");\n");
+		}
+		sb.append("    writeln('same')\n");
+		sb.append("end.\n");
+
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(sb.toString());
+		}
+		return new Lexer().tokenize(TMP_PAS);
+	}
+}
@@ -0,0 +1,134 @@
+package enshud.s4.compiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import enshud.casl.CaslSimulator;
+import enshud.s1.lexer.Lexer;
+
+/**
+ * 論理演算子 and, or の評価の仕方を確認するテストクラス．
+ *
+ * - 代入文の右辺の and, or は条件分岐にして，右の被演算子を必要な場合だけ評価するか，
+ * - 手続き呼出しの実引数の and, or は両方の被演算子を評価してから AND, OR 命令で計算するか，
+ * - どちらの場合も実行結果が正しいか，
+ * を確認する．
+ */
+public class CompilerShortCircuitTest {
+	@Rule
+	public final Timeout globalTimeout = Timeout.seconds(60);
+
+	private static final String TMP_PAS = "tmp/shortcircuit.pas";
+	private static final String TMP_CAS = "tmp/shortcircuit.cas";
+	private static final String TMP_ANS = "tmp/shortcircuit.ans";
+	private static final String TMP_COM = "tmp/shortcircuit.com";
+
+	private PrintStream savedOut;
+	private PrintStream savedErr;
+	private ByteArrayOutputStream err;
+
+	@Before
+	public void before() {
+		new File(TMP_PAS).getParentFile().mkdirs();
+		new File(TMP_CAS).delete();
+		savedOut = System.out;
+		savedErr = System.err;
+		err = new ByteArrayOutputStream();
+		System.setOut(new PrintStream(new ByteArrayOutputStream()));
+		System.setErr(new PrintStream(err));
+	}
+
+	@After
+	public void after() {
+		System.setOut(savedOut);
+		System.setErr(savedErr);
+		new File(TMP_PAS).delete();
+		new File(TMP_CAS).delete();
+		new File(TMP_ANS).delete();
+		new File(TMP_COM).delete();
+	}
+
+	@Test
+	public void testAnd() throws IOException {
+		final List<String> cas = compile("(i <= n) and (s[i] <> 0)");
+		assertEvaluation(cas, "\tAND\t");
+
+		assertRun("1", "true");
+		assertRun("2", "false");
+		assertRun("21", "false");
+	}
+
+	@Test
+	public void testOr() throws IOException {
+		final List<String> cas = compile("(i > n) or (s[i] = 0)");
+		assertEvaluation(cas, "\tOR\t");
+
+		assertRun("1", "false");
+		assertRun("2", "true");
+		assertRun("21", "true");
+	}
+
+	/**
+	 * 同じ条件を代入文の右辺と手続き呼出しの実引数に持つプログラムをコンパイルし，casファイルの行をリターンする．
+	 */
+	private List<String> compile(final String condition) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("program shortcircuit(input, output);\n");
+		sb.append("var i, n : integer;\n    ok : boolean;\n    s : array [1..20] of integer;\n");
+		sb.append("procedure p(b : boolean);\nbegin\n");
+		sb.append("    if b then begin writeln('true') end else begin writeln('false') end\nend;\n");
+		sb.append("begin\n    readln(i, n);\n    s[1] := 1;\n");
+		sb.append("    ok := ").append(condition).append(";\n");
+		sb.append("    p(").append(condition).append(");\n");
+		sb.append("    p(ok)\nend.\n");
+		try (FileWriter out = new FileWriter(TMP_PAS)) {
+			out.write(sb.toString());
+		}
+
+		new Compiler().run(new Lexer().tokenize(TMP_PAS), TMP_CAS);
+		assertThat(err.toString()).isEmpty();
+		return Files.readAllLines(Paths.get(TMP_CAS));
+	}
+
+	/**
+	 * 代入文は演算子の命令を使わずに条件分岐で，最初の手続き呼出しの実引数は演算子の命令で計算することを確認する．
+	 */
+	private static void assertEvaluation(final List<String> cas, final String instruction) {
+		final int save = indexOf(cas, "\tPUSH\t0, GR4", 0);
+		final int call = indexOf(cas, "\tCALL\tSUB1", save);
+
+		assertThat(cas.subList(0, save)).filteredOn(line -> line.contains(instruction)).isEmpty();
+		assertThat(cas.subList(save, call)).filteredOn(line -> line.contains(instruction)).hasSize(1);
+	}
+
+	private static int indexOf(final List<String> cas, final String instruction, final int from) {
+		for (int i = from; i < cas.size(); i++) {
+			if (cas.get(i).endsWith(instruction)) {
+				return i;
+			}
+		}
+		throw new AssertionError(instruction + " not found");
+	}
+
+	/**
+	 * n を20として実行し，代入した値と実引数の値がどちらも期待した値になることを確認する．
+	 */
+	private void assertRun(final String i, final String expected) throws IOException {
+		CaslSimulator.run(TMP_CAS, TMP_ANS, i, "20");
+		assertThat(Files.readAllLines(Paths.get(TMP_ANS))).containsExactly(expected, expected);
+	}
+}
@@ -0,0 +1,328 @@
+program	SPROGRAM	17	1
+magicSquare	SIDENTIFIER	43	1
+(	SLPAREN	33	1
+output	SIDENTIFIER	43	1
+)	SRPAREN	34	1
+;	SSEMICOLON	37	1
+var	SVAR	21	2
+x	SIDENTIFIER	43	2
+:	SCOLON	38	2
+integer	SINTEGER	11	2
+;	SSEMICOLON	37	2
+y	SIDENTIFIER	43	3
+:	SCOLON	38	3
+integer	SINTEGER	11	3
+;	SSEMICOLON	37	3
+a	SIDENTIFIER	43	4
+:	SCOLON	38	4
+integer	SINTEGER	11	4
+;	SSEMICOLON	37	4
+i	SIDENTIFIER	43	5
+:	SCOLON	38	5
+integer	SINTEGER	11	5
+;	SSEMICOLON	37	5
+n	SIDENTIFIER	43	6
+:	SCOLON	38	6
+integer	SINTEGER	11	6
+;	SSEMICOLON	37	6
+max	SIDENTIFIER	43	7
+:	SCOLON	38	7
+integer	SINTEGER	11	7
+;	SSEMICOLON	37	7
+s	SIDENTIFIER	43	8
+:	SCOLON	38	8
+array	SARRAY	1	8
+[	SLBRACKET	35	8
+1	SCONSTANT	44	8
+..	SRANGE	39	8
+25	SCONSTANT	44	8
+]	SRBRACKET	36	8
+of	SOF	14	8
+integer	SINTEGER	11	8
+;	SSEMICOLON	37	8
+sum	SIDENTIFIER	43	9
+:	SCOLON	38	9
+integer	SINTEGER	11	9
+;	SSEMICOLON	37	9
+begin	SBEGIN	2	10
+a	SIDENTIFIER	43	11
+:=	SASSIGN	40	11
+5	SCONSTANT	44	11
+;	SSEMICOLON	37	11
+max	SIDENTIFIER	43	12
+:=	SASSIGN	40	12
+25	SCONSTANT	44	12
+;	SSEMICOLON	37	12
+n	SIDENTIFIER	43	13
+:=	SASSIGN	40	13
+1	SCONSTANT	44	13
+;	SSEMICOLON	37	13
+x	SIDENTIFIER	43	14
+:=	SASSIGN	40	14
+(	SLPAREN	33	14
+a	SIDENTIFIER	43	14
++	SPLUS	30	14
+1	SCONSTANT	44	14
+)	SRPAREN	34	14
+div	SDIVD	5	14
+2	SCONSTANT	44	14
+;	SSEMICOLON	37	14
+y	SIDENTIFIER	43	15
+:=	SASSIGN	40	15
+x	SIDENTIFIER	43	15
++	SPLUS	30	15
+1	SCONSTANT	44	15
+-	SMINUS	31	15
+a	SIDENTIFIER	43	15
+;	SSEMICOLON	37	15
+while	SWHILE	22	16
+n	SIDENTIFIER	43	16
+<=	SLESSEQUAL	27	16
+max	SIDENTIFIER	43	16
+do	SDO	6	16
+begin	SBEGIN	2	17
+i	SIDENTIFIER	43	18
+:=	SASSIGN	40	18
+1	SCONSTANT	44	18
+;	SSEMICOLON	37	18
+while	SWHILE	22	19
+i	SIDENTIFIER	43	19
+<=	SLESSEQUAL	27	19
+a	SIDENTIFIER	43	19
+do	SDO	6	19
+begin	SBEGIN	2	20
+if	SIF	10	21
+x	SIDENTIFIER	43	21
+<	SLESS	26	21
+1	SCONSTANT	44	21
+then	STHEN	19	21
+begin	SBEGIN	2	22
+x	SIDENTIFIER	43	23
+:=	SASSIGN	40	23
+x	SIDENTIFIER	43	23
++	SPLUS	30	23
+a	SIDENTIFIER	43	23
+end	SEND	8	24
+else	SELSE	7	25
+begin	SBEGIN	2	26
+if	SIF	10	27
+x	SIDENTIFIER	43	27
+>	SGREAT	29	27
+a	SIDENTIFIER	43	27
+then	STHEN	19	27
+begin	SBEGIN	2	28
+x	SIDENTIFIER	43	29
+:=	SASSIGN	40	29
+x	SIDENTIFIER	43	29
+-	SMINUS	31	29
+a	SIDENTIFIER	43	29
+end	SEND	8	30
+end	SEND	8	31
+;	SSEMICOLON	37	31
+if	SIF	10	32
+y	SIDENTIFIER	43	32
+<	SLESS	26	32
+1	SCONSTANT	44	32
+then	STHEN	19	32
+begin	SBEGIN	2	33
+y	SIDENTIFIER	43	34
+:=	SASSIGN	40	34
+y	SIDENTIFIER	43	34
++	SPLUS	30	34
+a	SIDENTIFIER	43	34
+end	SEND	8	35
+else	SELSE	7	36
+begin	SBEGIN	2	37
+if	SIF	10	38
+y	SIDENTIFIER	43	38
+>	SGREAT	29	38
+a	SIDENTIFIER	43	38
+then	STHEN	19	38
+begin	SBEGIN	2	39
+y	SIDENTIFIER	43	40
+:=	SASSIGN	40	40
+y	SIDENTIFIER	43	40
+-	SMINUS	31	40
+a	SIDENTIFIER	43	40
+end	SEND	8	41
+end	SEND	8	42
+;	SSEMICOLON	37	42
+s	SIDENTIFIER	43	43
+[	SLBRACKET	35	43
+x	SIDENTIFIER	43	43
++	SPLUS	30	43
+(	SLPAREN	33	43
+y	SIDENTIFIER	43	43
+-	SMINUS	31	43
+1	SCONSTANT	44	43
+)	SRPAREN	34	43
+*	SSTAR	32	43
+a	SIDENTIFIER	43	43
+]	SRBRACKET	36	43
+:=	SASSIGN	40	43
+n	SIDENTIFIER	43	43
+;	SSEMICOLON	37	43
+x	SIDENTIFIER	43	44
+:=	SASSIGN	40	44
+x	SIDENTIFIER	43	44
+-	SMINUS	31	44
+1	SCONSTANT	44	44
+;	SSEMICOLON	37	44
+y	SIDENTIFIER	43	45
+:=	SASSIGN	40	45
+y	SIDENTIFIER	43	45
++	SPLUS	30	45
+1	SCONSTANT	44	45
+;	SSEMICOLON	37	45
+i	SIDENTIFIER	43	46
+:=	SASSIGN	40	46
+i	SIDENTIFIER	43	46
++	SPLUS	30	46
+1	SCONSTANT	44	46
+;	SSEMICOLON	37	46
+n	SIDENTIFIER	43	47
+:=	SASSIGN	40	47
+n	SIDENTIFIER	43	47
++	SPLUS	30	47
+1	SCONSTANT	44	47
+end	SEND	8	48
+;	SSEMICOLON	37	48
+x	SIDENTIFIER	43	49
+:=	SASSIGN	40	49
+x	SIDENTIFIER	43	49
++	SPLUS	30	49
+1	SCONSTANT	44	49
+;	SSEMICOLON	37	49
+y	SIDENTIFIER	43	50
+:=	SASSIGN	40	50
+y	SIDENTIFIER	43	50
++	SPLUS	30	50
+1	SCONSTANT	44	50
+end	SEND	8	51
+;	SSEMICOLON	37	51
+i	SIDENTIFIER	43	52
+:=	SASSIGN	40	52
+0	SCONSTANT	44	52
+;	SSEMICOLON	37	52
+writeln	SWRITELN	23	53
+(	SLPAREN	33	53
+'               **** magic square ****'	SSTRING	45	53
+)	SRPAREN	34	53
+;	SSEMICOLON	37	53
+while	SWHILE	22	54
+i	SIDENTIFIER	43	54
+<	SLESS	26	54
+a	SIDENTIFIER	43	54
+do	SDO	6	54
+begin	SBEGIN	2	55
+writeln	SWRITELN	23	56
+(	SLPAREN	33	56
+'      +-------+-------+-------+-------+-------+'	SSTRING	45	56
+)	SRPAREN	34	56
+;	SSEMICOLON	37	56
+writeln	SWRITELN	23	57
+(	SLPAREN	33	57
+'      |       |       |       |       |       |'	SSTRING	45	57
+)	SRPAREN	34	57
+;	SSEMICOLON	37	57
+writeln	SWRITELN	23	58
+(	SLPAREN	33	58
+'      |  '	SSTRING	45	58
+,	SCOMMA	41	58
+s	SIDENTIFIER	43	58
+[	SLBRACKET	35	58
+1	SCONSTANT	44	58
++	SPLUS	30	58
+i	SIDENTIFIER	43	58
+*	SSTAR	32	58
+a	SIDENTIFIER	43	58
+]	SRBRACKET	36	58
+,	SCOMMA	41	58
+'   |  '	SSTRING	45	58
+,	SCOMMA	41	58
+s	SIDENTIFIER	43	58
+[	SLBRACKET	35	58
+2	SCONSTANT	44	58
++	SPLUS	30	58
+i	SIDENTIFIER	43	58
+*	SSTAR	32	58
+a	SIDENTIFIER	43	58
+]	SRBRACKET	36	58
+,	SCOMMA	41	58
+'   |  '	SSTRING	45	58
+,	SCOMMA	41	58
+s	SIDENTIFIER	43	58
+[	SLBRACKET	35	58
+3	SCONSTANT	44	58
++	SPLUS	30	58
+i	SIDENTIFIER	43	58
+*	SSTAR	32	58
+a	SIDENTIFIER	43	58
+]	SRBRACKET	36	58
+,	SCOMMA	41	58
+'   |  '	SSTRING	45	59
+,	SCOMMA	41	59
+s	SIDENTIFIER	43	59
+[	SLBRACKET	35	59
+4	SCONSTANT	44	59
++	SPLUS	30	59
+i	SIDENTIFIER	43	59
+*	SSTAR	32	59
+a	SIDENTIFIER	43	59
+]	SRBRACKET	36	59
+,	SCOMMA	41	59
+'   |  '	SSTRING	45	59
+,	SCOMMA	41	59
+s	SIDENTIFIER	43	59
+[	SLBRACKET	35	59
+5	SCONSTANT	44	59
++	SPLUS	30	59
+i	SIDENTIFIER	43	59
+*	SSTAR	32	59
+a	SIDENTIFIER	43	59
+]	SRBRACKET	36	59
+,	SCOMMA	41	59
+'   |'	SSTRING	45	59
+)	SRPAREN	34	59
+;	SSEMICOLON	37	59
+writeln	SWRITELN	23	60
+(	SLPAREN	33	60
+'      |       |       |       |       |       |'	SSTRING	45	60
+)	SRPAREN	34	60
+;	SSEMICOLON	37	60
+i	SIDENTIFIER	43	61
+:=	SASSIGN	40	61
+i	SIDENTIFIER	43	61
++	SPLUS	30	61
+1	SCONSTANT	44	61
+end	SEND	8	62
+;	SSEMICOLON	37	62
+writeln	SWRITELN	23	63
+(	SLPAREN	33	63
+'      +-------+-------+-------+-------+-------+'	SSTRING	45	63
+)	SRPAREN	34	63
+;	SSEMICOLON	37	63
+sum	SIDENTIFIER	43	64
+:=	SASSIGN	40	64
+(	SLPAREN	33	64
+1	SCONSTANT	44	64
++	SPLUS	30	64
+max	SIDENTIFIER	43	64
+)	SRPAREN	34	64
+*	SSTAR	32	64
+max	SIDENTIFIER	43	64
+div	SDIVD	5	64
+(	SLPAREN	33	64
+2	SCONSTANT	44	64
+*	SSTAR	32	64
+a	SIDENTIFIER	43	64
+)	SRPAREN	34	64
+;	SSEMICOLON	37	64
+writeln	SWRITELN	23	65
+(	SLPAREN	33	65
+'sum of integers of lines, columns, or diagonals  = '	SSTRING	45	65
+,	SCOMMA	41	65
+sum	SIDENTIFIER	43	65
+)	SRPAREN	34	65
+end	SEND	8	66
+.	SDOT	42	66